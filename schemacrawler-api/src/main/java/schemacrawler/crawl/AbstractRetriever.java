@@ -35,6 +35,7 @@ import static sf.util.Utility.isBlank;
 import java.sql.Connection;
 import java.sql.DatabaseMetaData;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.Arrays;
 import java.util.Optional;
 import java.util.function.Supplier;
@@ -46,6 +47,7 @@ import schemacrawler.schema.Schema;
 import schemacrawler.schema.SchemaReference;
 import schemacrawler.schemacrawler.InclusionRule;
 import schemacrawler.schemacrawler.SchemaCrawlerOptions;
+import schemacrawler.utility.Query;
 import schemacrawler.utility.TypeMap;
 import sf.util.SchemaCrawlerLogger;
 
@@ -117,6 +119,33 @@ abstract class AbstractRetriever
     return belongsToCatalog && belongsToSchema;
   }
 
+  /**
+   * Executes a data dictionary query, restricted to the schemas that
+   * have already been retrieved. The schema names are pushed down into
+   * the query, so that rows from excluded schemas are filtered on the
+   * database server. Rows transferred are counted for the crawl.
+   *
+   * @param query
+   *        Data dictionary query
+   * @param statement
+   *        Statement to execute the query with
+   * @return Results of the query
+   * @throws SQLException
+   *         On an exception
+   */
+  final MetadataResultSet executeAgainstSchemas(final Query query,
+                                                final Statement statement)
+    throws SQLException
+  {
+    final MetadataResultSet results = new MetadataResultSet(query,
+                                                            statement,
+                                                            getSchemaInclusionRule(),
+                                                            getAllSchemas().values());
+    results
+      .setRowCountListener(retrieverConnection::addDataDictionaryRowCount);
+    return results;
+  }
+
   final NamedObjectList<SchemaReference> getAllSchemas()
   {
     return catalog.getAllSchemas();
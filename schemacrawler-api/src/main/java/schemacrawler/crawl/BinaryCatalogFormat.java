@@ -0,0 +1,79 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2018, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+package schemacrawler.crawl;
+
+
+/**
+ * Tags used in binary catalog snapshots, shared by the reader and the
+ * writer.
+ *
+ * @author Sualeh Fatehi
+ */
+final class BinaryCatalogFormat
+{
+
+  static final int TABLE = 0;
+  static final int VIEW = 1;
+
+  static final int PROCEDURE = 0;
+  static final int FUNCTION = 1;
+
+  static final int NO_OBJECT = 0;
+  static final int TABLE_OBJECT = 1;
+  static final int ROUTINE_OBJECT = 2;
+  static final int OTHER_OBJECT = 3;
+
+  static final int NULL_VALUE = 0;
+  static final int STRING_VALUE = 1;
+  static final int BOOLEAN_VALUE = 2;
+  static final int INTEGER_VALUE = 3;
+  static final int LONG_VALUE = 4;
+  static final int SHORT_VALUE = 5;
+  static final int BYTE_VALUE = 6;
+  static final int DOUBLE_VALUE = 7;
+  static final int FLOAT_VALUE = 8;
+  static final int BIG_DECIMAL_VALUE = 9;
+  static final int BIG_INTEGER_VALUE = 10;
+  static final int LIST_VALUE = 11;
+  static final int CHARACTER_VALUE = 12;
+  static final int BYTES_VALUE = 13;
+  static final int ENUM_VALUE = 14;
+  static final int DATE_VALUE = 15;
+  static final int TEMPORAL_VALUE = 16;
+  static final int ARRAY_VALUE = 17;
+  static final int SET_VALUE = 18;
+  static final int SORTED_SET_VALUE = 19;
+  static final int MAP_VALUE = 20;
+  static final int SORTED_MAP_VALUE = 21;
+
+  private BinaryCatalogFormat()
+  {
+    // Prevent instantiation
+  }
+
+}
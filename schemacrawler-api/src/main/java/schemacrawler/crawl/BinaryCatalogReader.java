@@ -0,0 +1,1296 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2018, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+package schemacrawler.crawl;
+
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Objects.requireNonNull;
+import static schemacrawler.crawl.BinaryCatalogFormat.ARRAY_VALUE;
+import static schemacrawler.crawl.BinaryCatalogFormat.BIG_DECIMAL_VALUE;
+import static schemacrawler.crawl.BinaryCatalogFormat.BIG_INTEGER_VALUE;
+import static schemacrawler.crawl.BinaryCatalogFormat.BOOLEAN_VALUE;
+import static schemacrawler.crawl.BinaryCatalogFormat.BYTES_VALUE;
+import static schemacrawler.crawl.BinaryCatalogFormat.BYTE_VALUE;
+import static schemacrawler.crawl.BinaryCatalogFormat.CHARACTER_VALUE;
+import static schemacrawler.crawl.BinaryCatalogFormat.DATE_VALUE;
+import static schemacrawler.crawl.BinaryCatalogFormat.DOUBLE_VALUE;
+import static schemacrawler.crawl.BinaryCatalogFormat.ENUM_VALUE;
+import static schemacrawler.crawl.BinaryCatalogFormat.FLOAT_VALUE;
+import static schemacrawler.crawl.BinaryCatalogFormat.FUNCTION;
+import static schemacrawler.crawl.BinaryCatalogFormat.INTEGER_VALUE;
+import static schemacrawler.crawl.BinaryCatalogFormat.LIST_VALUE;
+import static schemacrawler.crawl.BinaryCatalogFormat.LONG_VALUE;
+import static schemacrawler.crawl.BinaryCatalogFormat.MAP_VALUE;
+import static schemacrawler.crawl.BinaryCatalogFormat.NULL_VALUE;
+import static schemacrawler.crawl.BinaryCatalogFormat.OTHER_OBJECT;
+import static schemacrawler.crawl.BinaryCatalogFormat.ROUTINE_OBJECT;
+import static schemacrawler.crawl.BinaryCatalogFormat.SET_VALUE;
+import static schemacrawler.crawl.BinaryCatalogFormat.SHORT_VALUE;
+import static schemacrawler.crawl.BinaryCatalogFormat.SORTED_MAP_VALUE;
+import static schemacrawler.crawl.BinaryCatalogFormat.SORTED_SET_VALUE;
+import static schemacrawler.crawl.BinaryCatalogFormat.STRING_VALUE;
+import static schemacrawler.crawl.BinaryCatalogFormat.TABLE_OBJECT;
+import static schemacrawler.crawl.BinaryCatalogFormat.TEMPORAL_VALUE;
+import static schemacrawler.crawl.BinaryCatalogFormat.VIEW;
+import static schemacrawler.filter.FilterFactory.routineFilter;
+import static schemacrawler.filter.FilterFactory.schemaFilter;
+import static schemacrawler.filter.FilterFactory.sequenceFilter;
+import static schemacrawler.filter.FilterFactory.synonymFilter;
+import static schemacrawler.filter.FilterFactory.tableFilter;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Serializable;
+import java.lang.reflect.Array;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.sql.DriverPropertyInfo;
+import java.sql.SQLType;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.OffsetTime;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.Predicate;
+
+import schemacrawler.schema.ActionOrientationType;
+import schemacrawler.schema.Catalog;
+import schemacrawler.schema.CheckOptionType;
+import schemacrawler.schema.Column;
+import schemacrawler.schema.ConditionTimingType;
+import schemacrawler.schema.DatabaseObject;
+import schemacrawler.schema.EventManipulationType;
+import schemacrawler.schema.ForeignKeyDeferrability;
+import schemacrawler.schema.ForeignKeyUpdateRule;
+import schemacrawler.schema.FunctionColumnType;
+import schemacrawler.schema.FunctionReturnType;
+import schemacrawler.schema.IndexColumnSortSequence;
+import schemacrawler.schema.IndexType;
+import schemacrawler.schema.JavaSqlType;
+import schemacrawler.schema.JavaSqlTypeGroup;
+import schemacrawler.schema.ProcedureColumnType;
+import schemacrawler.schema.ProcedureReturnType;
+import schemacrawler.schema.Routine;
+import schemacrawler.schema.RoutineBodyType;
+import schemacrawler.schema.Schema;
+import schemacrawler.schema.SchemaReference;
+import schemacrawler.schema.SearchableType;
+import schemacrawler.schema.Sequence;
+import schemacrawler.schema.Synonym;
+import schemacrawler.schema.Table;
+import schemacrawler.schema.TableConstraintType;
+import schemacrawler.schema.TableType;
+import schemacrawler.schemacrawler.SchemaCrawlerOptions;
+import schemacrawler.utility.JavaSqlTypes;
+
+/**
+ * Reads a catalog from a binary snapshot written by a
+ * {@link BinaryCatalogWriter}. Catalog objects are constructed
+ * directly, in the same way that they are when a database is crawled.
+ *
+ * @author Sualeh Fatehi
+ */
+public final class BinaryCatalogReader
+{
+
+  /**
+   * SQL type for vendor specific types, which are not known to the JDBC
+   * driver that is available when the snapshot is read.
+   */
+  private static final class SnapshotSqlType
+    implements SQLType, Serializable
+  {
+
+    private static final long serialVersionUID = -3212480924565436284L;
+
+    private final String name;
+    private final String vendor;
+    private final Integer vendorTypeNumber;
+
+    SnapshotSqlType(final String name,
+                    final String vendor,
+                    final Integer vendorTypeNumber)
+    {
+      this.name = name;
+      this.vendor = vendor;
+      this.vendorTypeNumber = vendorTypeNumber;
+    }
+
+    @Override
+    public String getName()
+    {
+      return name;
+    }
+
+    @Override
+    public String getVendor()
+    {
+      return vendor;
+    }
+
+    @Override
+    public Integer getVendorTypeNumber()
+    {
+      return vendorTypeNumber;
+    }
+
+  }
+
+  private static final int NULL_REFERENCE = -1;
+
+  private final DataInputStream in;
+  private final JavaSqlTypes javaSqlTypes = new JavaSqlTypes();
+  private final List<String> strings = new ArrayList<>();
+  private final List<Schema> schemas = new ArrayList<>();
+  private final List<MutableColumnDataType> columnDataTypes = new ArrayList<>();
+  private final List<Table> tables = new ArrayList<>();
+  private final List<Column> columns = new ArrayList<>();
+  private final List<MutableRoutine> routines = new ArrayList<>();
+  private final Set<Schema> excludedSchemas = new HashSet<>();
+  private final Predicate<Schema> selectedSchemas;
+  private final Predicate<Table> selectedTables;
+  private final Predicate<Routine> selectedRoutines;
+  private final Predicate<Sequence> selectedSequences;
+  private final Predicate<Synonym> selectedSynonyms;
+  private final boolean isGrepOnlyMatching;
+
+  public BinaryCatalogReader(final InputStream inputStream)
+  {
+    requireNonNull(inputStream, "No input stream provided");
+    in = new DataInputStream(inputStream);
+
+    selectedSchemas = null;
+    selectedTables = null;
+    selectedRoutines = null;
+    selectedSequences = null;
+    selectedSynonyms = null;
+    isGrepOnlyMatching = false;
+  }
+
+  /**
+   * Reads a catalog, only keeping the schemas, tables, routines,
+   * sequences and synonyms that are selected by the SchemaCrawler
+   * options. Database objects are referenced by index in the snapshot,
+   * so objects that are not selected are still decoded, but they are
+   * not added to the catalog. Tables are only selected while the
+   * snapshot is read if no parent or child tables are needed, and
+   * tables that are dropped are marked in the same way as tables that
+   * are reduced out of the catalog, since they can still be referenced
+   * by foreign keys of selected tables.
+   *
+   * @param inputStream
+   *        Input stream
+   * @param options
+   *        Options used to select database objects
+   */
+  public BinaryCatalogReader(final InputStream inputStream,
+                             final SchemaCrawlerOptions options)
+  {
+    requireNonNull(inputStream, "No input stream provided");
+    requireNonNull(options, "No SchemaCrawler options provided");
+    in = new DataInputStream(inputStream);
+
+    selectedSchemas = schemaFilter(options);
+    if (options.getChildTableFilterDepth() == 0
+        && options.getParentTableFilterDepth() == 0)
+    {
+      selectedTables = tableFilter(options);
+    }
+    else
+    {
+      selectedTables = null;
+    }
+    selectedRoutines = routineFilter(options);
+    selectedSequences = sequenceFilter(options);
+    selectedSynonyms = synonymFilter(options);
+    isGrepOnlyMatching = options.isGrepOnlyMatching();
+  }
+
+  /**
+   * Reads a catalog from the input stream. The input stream is not
+   * closed.
+   *
+   * @return Catalog
+   * @throws IOException
+   *         On an exception, or if the input is not a valid binary
+   *         snapshot
+   */
+  public Catalog read()
+    throws IOException
+  {
+    final MutableCatalog catalog = new MutableCatalog(readString());
+    catalog.setRemarks(readString());
+    catalog.addAttributes(readAttributes());
+
+    readCrawlInfo(catalog);
+    readDatabaseInfo(catalog.getDatabaseInfo());
+    readJdbcDriverInfo(catalog.getJdbcDriverInfo());
+
+    final int schemaCount = readCount();
+    for (int i = 0; i < schemaCount; i++)
+    {
+      final Schema schema = readSchema();
+      if (selectedSchemas == null || selectedSchemas.test(schema))
+      {
+        catalog.addSchema((SchemaReference) schema);
+      }
+      else
+      {
+        excludedSchemas.add(schema);
+      }
+    }
+
+    final int columnDataTypeCount = readCount();
+    for (int i = 0; i < columnDataTypeCount; i++)
+    {
+      final MutableColumnDataType columnDataType = readColumnDataType();
+      if (isSelected(null, columnDataType))
+      {
+        catalog.addColumnDataType(columnDataType);
+      }
+    }
+
+    final int tableCount = readCount();
+    for (int i = 0; i < tableCount; i++)
+    {
+      final MutableTable table = readTableDefinition();
+      if (isSelected(selectedTables, table))
+      {
+        catalog.addTable(table);
+      }
+      else
+      {
+        markTableFilteredOut(table);
+      }
+    }
+
+    final int foreignKeyCount = readCount();
+    for (int i = 0; i < foreignKeyCount; i++)
+    {
+      readForeignKey();
+    }
+
+    final int routineCount = readCount();
+    for (int i = 0; i < routineCount; i++)
+    {
+      final MutableRoutine routine = readRoutine();
+      if (isSelected(selectedRoutines, routine))
+      {
+        catalog.addRoutine(routine);
+      }
+    }
+
+    final int synonymCount = readCount();
+    for (int i = 0; i < synonymCount; i++)
+    {
+      final MutableSynonym synonym = readSynonym();
+      if (isSelected(selectedSynonyms, synonym))
+      {
+        catalog.addSynonym(synonym);
+      }
+    }
+
+    final int sequenceCount = readCount();
+    for (int i = 0; i < sequenceCount; i++)
+    {
+      final MutableSequence sequence = readSequence();
+      if (isSelected(selectedSequences, sequence))
+      {
+        catalog.addSequence(sequence);
+      }
+    }
+
+    return catalog;
+  }
+
+  private <D extends DatabaseObject> boolean isSelected(final Predicate<? super D> selection,
+                                                        final D databaseObject)
+  {
+    return !excludedSchemas.contains(databaseObject.getSchema())
+           && (selection == null || selection.test(databaseObject));
+  }
+
+  /**
+   * Marks tables that are dropped while the snapshot is read in the
+   * same way as tables that are reduced out of the catalog.
+   */
+  private void markTableFilteredOut(final Table table)
+  {
+    table.setAttribute("schemacrawler.table.filtered_out", true);
+    if (isGrepOnlyMatching)
+    {
+      table.setAttribute("schemacrawler.table.no_grep_match", true);
+    }
+  }
+
+  private Object readArrayValue()
+    throws IOException
+  {
+    final Class<?> componentType = loadValueClass(readString());
+    final List<Object> values = readValues(new ArrayList<>());
+    final Object array = Array.newInstance(componentType, values.size());
+    for (int i = 0; i < values.size(); i++)
+    {
+      Array.set(array, i, values.get(i));
+    }
+    return array;
+  }
+
+  private Object readDateValue()
+    throws IOException
+  {
+    final String className = readString();
+    final long time = readLong();
+    if (Timestamp.class.getName().equals(className))
+    {
+      final Timestamp timestamp = new Timestamp(time);
+      timestamp.setNanos((int) readLong());
+      return timestamp;
+    }
+    else if (java.sql.Date.class.getName().equals(className))
+    {
+      return new java.sql.Date(time);
+    }
+    else if (Time.class.getName().equals(className))
+    {
+      return new Time(time);
+    }
+    else if (Date.class.getName().equals(className))
+    {
+      return new Date(time);
+    }
+    else
+    {
+      throw new IOException("Invalid date type, " + className);
+    }
+  }
+
+  private Object readEnumValue()
+    throws IOException
+  {
+    final Class<?> enumClass = loadValueClass(readString());
+    final String name = readString();
+    if (enumClass.isEnum())
+    {
+      for (final Object enumConstant: enumClass.getEnumConstants())
+      {
+        if (((Enum<?>) enumConstant).name().equals(name))
+        {
+          return enumConstant;
+        }
+      }
+    }
+    throw new IOException(String.format("Invalid enum value, %s.%s",
+                                        enumClass.getName(),
+                                        name));
+  }
+
+  private Map<String, Object> readAttributes()
+    throws IOException
+  {
+    final int count = readCount();
+    final Map<String, Object> attributes = new HashMap<>();
+    for (int i = 0; i < count; i++)
+    {
+      attributes.put(readString(), readValue());
+    }
+    return attributes;
+  }
+
+  private void readColumn(final MutableTable table, final boolean isHidden)
+    throws IOException
+  {
+    final MutableColumn column = new MutableColumn(table, readString());
+    columns.add(column);
+
+    column.setOrdinalPosition(readInt());
+    column.setSize(readInt());
+    column.setDecimalDigits(readInt());
+    column.setNullable(in.readBoolean());
+    column.setColumnDataType(readColumnDataType());
+    column.setDefaultValue(readString());
+    column.setAutoIncremented(in.readBoolean());
+    column.setGenerated(in.readBoolean());
+    column.setHidden(in.readBoolean());
+    if (in.readBoolean())
+    {
+      column.markAsPartOfPrimaryKey();
+    }
+    if (in.readBoolean())
+    {
+      column.markAsPartOfUniqueIndex();
+    }
+    if (in.readBoolean())
+    {
+      column.markAsPartOfIndex();
+    }
+
+    final int privilegeCount = readCount();
+    for (int i = 0; i < privilegeCount; i++)
+    {
+      final MutablePrivilege<Column> privilege = new MutablePrivilege<>(new ColumnReference(column),
+                                                                        readString());
+      readPrivilege(privilege);
+      column.addPrivilege(privilege);
+    }
+
+    column.setRemarks(readString());
+    column.addAttributes(readAttributes());
+
+    if (isHidden)
+    {
+      table.addHiddenColumn(column);
+    }
+    else
+    {
+      table.addColumn(column);
+    }
+  }
+
+  private MutableColumnDataType readColumnDataType()
+    throws IOException
+  {
+    final int index = readReference(columnDataTypes);
+    if (index == NULL_REFERENCE)
+    {
+      return null;
+    }
+    else if (index < columnDataTypes.size())
+    {
+      return columnDataTypes.get(index);
+    }
+
+    final Schema schema = readSchema();
+    final MutableColumnDataType columnDataType = new MutableColumnDataType(schema,
+                                                                          readString());
+    columnDataTypes.add(columnDataType);
+
+    final int vendorTypeNumber = readInt();
+    final String javaSqlTypeName = readString();
+    final String vendor = readString();
+    final String defaultMappedClassName = readString();
+    final JavaSqlTypeGroup javaSqlTypeGroup = readEnum(JavaSqlTypeGroup.class,
+                                                       JavaSqlTypeGroup.unknown);
+    final JavaSqlType knownJavaSqlType = javaSqlTypes.valueOf(vendorTypeNumber);
+    if (knownJavaSqlType.getName().equals(javaSqlTypeName))
+    {
+      columnDataType.setJavaSqlType(knownJavaSqlType);
+    }
+    else
+    {
+      columnDataType
+        .setJavaSqlType(new JavaSqlType(new SnapshotSqlType(javaSqlTypeName,
+                                                            vendor,
+                                                            vendorTypeNumber),
+                                        loadClass(defaultMappedClassName),
+                                        javaSqlTypeGroup));
+    }
+
+    final String typeMappedClassName = readString();
+    if (!Object.class.getName().equals(typeMappedClassName))
+    {
+      columnDataType.setTypeMappedClass(typeMappedClassName);
+    }
+    columnDataType.setUserDefined(in.readBoolean());
+    columnDataType.setPrecision(readLong());
+    columnDataType.setLiteralPrefix(readString());
+    columnDataType.setLiteralSuffix(readString());
+    columnDataType.setCreateParameters(readString());
+    columnDataType.setNullable(in.readBoolean());
+    columnDataType.setCaseSensitive(in.readBoolean());
+    columnDataType
+      .setSearchable(readEnum(SearchableType.class, SearchableType.unknown));
+    columnDataType.setUnsigned(in.readBoolean());
+    columnDataType.setFixedPrecisionScale(in.readBoolean());
+    columnDataType.setAutoIncrementable(in.readBoolean());
+    columnDataType.setLocalTypeName(readString());
+    columnDataType.setMinimumScale(readInt());
+    columnDataType.setMaximumScale(readInt());
+    columnDataType.setNumPrecisionRadix(readInt());
+    columnDataType.setRemarks(readString());
+    columnDataType.addAttributes(readAttributes());
+
+    columnDataType.setBaseType(readColumnDataType());
+
+    return columnDataType;
+  }
+
+  /**
+   * Reads a reference to a column. Columns that are not in the catalog
+   * are created as partial columns, in the same way as they are when
+   * foreign keys are retrieved.
+   */
+  private Column readColumnReference()
+    throws IOException
+  {
+    final int index = readReference(columns);
+    if (index == NULL_REFERENCE)
+    {
+      return null;
+    }
+    else if (index < columns.size())
+    {
+      return columns.get(index);
+    }
+
+    final Schema schema = readSchema();
+    final TablePartial table = new TablePartial(schema, readString());
+    table.addAttributes(readAttributes());
+    final ColumnPartial column = new ColumnPartial(table, readString());
+    column.addAttributes(readAttributes());
+    table.addColumn(column);
+    columns.add(column);
+
+    return column;
+  }
+
+  private int readCount()
+    throws IOException
+  {
+    final long count = readUnsigned();
+    if (count > Integer.MAX_VALUE)
+    {
+      throw new IOException("Invalid count, " + count);
+    }
+    return (int) count;
+  }
+
+  private void readCrawlInfo(final MutableCatalog catalog)
+    throws IOException
+  {
+    if (!in.readBoolean())
+    {
+      return;
+    }
+
+    final String schemaCrawlerInfo = readString();
+    final String jdbcDriverInfo = readString();
+    final String databaseInfo = readString();
+    final String osInfo = readString();
+    final String jvmInfo = readString();
+    final String title = readString();
+    final LocalDateTime crawlTimestamp = LocalDateTime.parse(readString());
+    final long dataDictionaryRowCount = readLong();
+    catalog.setCrawlInfo(new ImmutableCrawlInfo(schemaCrawlerInfo,
+                                                jdbcDriverInfo,
+                                                databaseInfo,
+                                                osInfo,
+                                                jvmInfo,
+                                                title,
+                                                crawlTimestamp,
+                                                dataDictionaryRowCount));
+  }
+
+  private void readDatabaseInfo(final MutableDatabaseInfo databaseInfo)
+    throws IOException
+  {
+    databaseInfo.setUserName(readString());
+    databaseInfo.setProductName(readString());
+    databaseInfo.setProductVersion(readString());
+
+    final int count = readCount();
+    final List<ImmutableDatabaseProperty> properties = new ArrayList<>(count);
+    for (int i = 0; i < count; i++)
+    {
+      properties.add(new ImmutableDatabaseProperty(readString(), readValue()));
+    }
+    databaseInfo.addAll(properties);
+  }
+
+  private <E extends Enum<E>> E readEnum(final Class<E> enumClass,
+                                         final E defaultValue)
+    throws IOException
+  {
+    final String name = readString();
+    if (name == null)
+    {
+      return null;
+    }
+    try
+    {
+      return Enum.valueOf(enumClass, name);
+    }
+    catch (final IllegalArgumentException e)
+    {
+      return defaultValue;
+    }
+  }
+
+  private void readForeignKey()
+    throws IOException
+  {
+    final MutableForeignKey foreignKey = new MutableForeignKey(readString());
+    foreignKey.setSpecificName(readString());
+    foreignKey.setUpdateRule(readEnum(ForeignKeyUpdateRule.class,
+                                      ForeignKeyUpdateRule.unknown));
+    foreignKey.setDeleteRule(readEnum(ForeignKeyUpdateRule.class,
+                                      ForeignKeyUpdateRule.unknown));
+    foreignKey.setDeferrability(readEnum(ForeignKeyDeferrability.class,
+                                         ForeignKeyDeferrability.unknown));
+    foreignKey.appendDefinition(readString());
+    foreignKey.setRemarks(readString());
+    foreignKey.addAttributes(readAttributes());
+
+    final int count = readCount();
+    for (int i = 0; i < count; i++)
+    {
+      final int keySequence = readInt();
+      final Column fkColumn = readColumnReference();
+      final Column pkColumn = readColumnReference();
+      foreignKey.addColumnReference(keySequence, pkColumn, fkColumn);
+
+      // Link the foreign key to tables and columns in the same way as
+      // when foreign keys are retrieved
+      if (fkColumn instanceof MutableColumn)
+      {
+        ((MutableColumn) fkColumn).setReferencedColumn(pkColumn);
+        ((MutableTable) fkColumn.getParent()).addForeignKey(foreignKey);
+      }
+      else if (fkColumn instanceof ColumnPartial)
+      {
+        ((ColumnPartial) fkColumn).setReferencedColumn(pkColumn);
+        ((TablePartial) fkColumn.getParent()).addForeignKey(foreignKey);
+      }
+
+      if (pkColumn instanceof MutableColumn)
+      {
+        ((MutableTable) pkColumn.getParent()).addForeignKey(foreignKey);
+      }
+      else if (pkColumn instanceof ColumnPartial)
+      {
+        ((TablePartial) pkColumn.getParent()).addForeignKey(foreignKey);
+      }
+    }
+  }
+
+  private void readIndex(final MutableTable table, final MutableIndex index)
+    throws IOException
+  {
+    index.setUnique(in.readBoolean());
+    index.setIndexType(readEnum(IndexType.class, IndexType.unknown));
+    index.setCardinality(readInt());
+    index.setPages(readInt());
+    index.appendDefinition(readString());
+    index.setRemarks(readString());
+    index.addAttributes(readAttributes());
+
+    final int count = readCount();
+    for (int i = 0; i < count; i++)
+    {
+      final MutableColumn column = lookupColumn(table, readString());
+      final MutableIndexColumn indexColumn = new MutableIndexColumn(index,
+                                                                    column);
+      indexColumn.setIndexOrdinalPosition(readInt());
+      indexColumn.setSortSequence(readEnum(IndexColumnSortSequence.class,
+                                           IndexColumnSortSequence.unknown));
+      indexColumn.appendDefinition(readString());
+      index.addColumn(indexColumn);
+    }
+  }
+
+  private int readInt()
+    throws IOException
+  {
+    return (int) readLong();
+  }
+
+  private void readJdbcDriverInfo(final MutableJdbcDriverInfo jdbcDriverInfo)
+    throws IOException
+  {
+    jdbcDriverInfo.setDriverName(readString());
+    jdbcDriverInfo.setDriverVersion(readString());
+    jdbcDriverInfo.setJdbcDriverClassName(readString());
+    jdbcDriverInfo.setConnectionUrl(readString());
+    jdbcDriverInfo.setJdbcCompliant(in.readBoolean());
+
+    final int count = readCount();
+    for (int i = 0; i < count; i++)
+    {
+      final DriverPropertyInfo driverPropertyInfo = new DriverPropertyInfo(readString(),
+                                                                           readString());
+      driverPropertyInfo.description = readString();
+      driverPropertyInfo.required = in.readBoolean();
+      final int choiceCount = readCount();
+      if (choiceCount > 0)
+      {
+        driverPropertyInfo.choices = new String[choiceCount];
+        for (int j = 0; j < choiceCount; j++)
+        {
+          driverPropertyInfo.choices[j] = readString();
+        }
+      }
+      jdbcDriverInfo
+        .addJdbcDriverProperty(new ImmutableJdbcDriverProperty(driverPropertyInfo));
+    }
+  }
+
+  private long readLong()
+    throws IOException
+  {
+    final long value = readUnsigned();
+    return value >>> 1 ^ -(value & 1);
+  }
+
+  private <D extends DatabaseObject> void readPrivilege(final MutablePrivilege<D> privilege)
+    throws IOException
+  {
+    privilege.setRemarks(readString());
+    privilege.addAttributes(readAttributes());
+
+    final int count = readCount();
+    for (int i = 0; i < count; i++)
+    {
+      privilege.addGrant(readString(), readString(), in.readBoolean());
+    }
+  }
+
+  /**
+   * Reads a reference to an object.
+   *
+   * @return Index of the referenced object, which is the size of the
+   *         list of references if the object is defined next, or
+   *         NULL_REFERENCE
+   */
+  private int readReference(final List<?> references)
+    throws IOException
+  {
+    final long index = readUnsigned() - 1;
+    if (index > references.size())
+    {
+      throw new IOException("Invalid reference, " + index);
+    }
+    return (int) index;
+  }
+
+  private MutableRoutine readRoutine()
+    throws IOException
+  {
+    final int routineKind = readCount();
+    final Schema schema = readSchema();
+    final String name = readString();
+
+    final MutableRoutine routine;
+    if (routineKind == FUNCTION)
+    {
+      routine = new MutableFunction(schema, name);
+    }
+    else
+    {
+      routine = new MutableProcedure(schema, name);
+    }
+    routines.add(routine);
+
+    routine.setSpecificName(readString());
+    routine.setRoutineBodyType(readEnum(RoutineBodyType.class,
+                                        RoutineBodyType.unknown));
+    if (routine instanceof MutableFunction)
+    {
+      ((MutableFunction) routine)
+        .setReturnType(readEnum(FunctionReturnType.class,
+                                FunctionReturnType.unknown));
+    }
+    else
+    {
+      ((MutableProcedure) routine)
+        .setReturnType(readEnum(ProcedureReturnType.class,
+                                ProcedureReturnType.unknown));
+    }
+    routine.appendDefinition(readString());
+    routine.setRemarks(readString());
+    routine.addAttributes(readAttributes());
+
+    final int count = readCount();
+    for (int i = 0; i < count; i++)
+    {
+      final String columnName = readString();
+      final MutableRoutineColumn<?> routineColumn;
+      if (routine instanceof MutableFunction)
+      {
+        final MutableFunction function = (MutableFunction) routine;
+        final MutableFunctionColumn functionColumn = new MutableFunctionColumn(function,
+                                                                               columnName);
+        functionColumn.setOrdinalPosition(readInt());
+        functionColumn
+          .setFunctionColumnType(readEnum(FunctionColumnType.class,
+                                          FunctionColumnType.unknown));
+        function.addColumn(functionColumn);
+        routineColumn = functionColumn;
+      }
+      else
+      {
+        final MutableProcedure procedure = (MutableProcedure) routine;
+        final MutableProcedureColumn procedureColumn = new MutableProcedureColumn(procedure,
+                                                                                  columnName);
+        procedureColumn.setOrdinalPosition(readInt());
+        procedureColumn
+          .setProcedureColumnType(readEnum(ProcedureColumnType.class,
+                                           ProcedureColumnType.unknown));
+        procedure.addColumn(procedureColumn);
+        routineColumn = procedureColumn;
+      }
+      routineColumn.setColumnDataType(readColumnDataType());
+      routineColumn.setSize(readInt());
+      routineColumn.setPrecision(readInt());
+      routineColumn.setNullable(in.readBoolean());
+      routineColumn.setRemarks(readString());
+      routineColumn.addAttributes(readAttributes());
+    }
+
+    return routine;
+  }
+
+  private Schema readSchema()
+    throws IOException
+  {
+    final int index = readReference(schemas);
+    if (index == NULL_REFERENCE)
+    {
+      return null;
+    }
+    else if (index < schemas.size())
+    {
+      return schemas.get(index);
+    }
+
+    final SchemaReference schema = new SchemaReference(readString(),
+                                                       readString());
+    schemas.add(schema);
+    for (final Map.Entry<String, Object> attribute: readAttributes()
+      .entrySet())
+    {
+      schema.setAttribute(attribute.getKey(), attribute.getValue());
+    }
+    return schema;
+  }
+
+  private MutableSequence readSequence()
+    throws IOException
+  {
+    final Schema schema = readSchema();
+    final MutableSequence sequence = new MutableSequence(schema, readString());
+    sequence.setIncrement(readLong());
+    sequence.setMinimumValue((BigInteger) readValue());
+    sequence.setMaximumValue((BigInteger) readValue());
+    sequence.setCycle(in.readBoolean());
+    sequence.setRemarks(readString());
+    sequence.addAttributes(readAttributes());
+    return sequence;
+  }
+
+  private String readString()
+    throws IOException
+  {
+    final int index = readReference(strings);
+    if (index == NULL_REFERENCE)
+    {
+      return null;
+    }
+    else if (index < strings.size())
+    {
+      return strings.get(index);
+    }
+
+    final byte[] bytes = new byte[readCount()];
+    in.readFully(bytes);
+    final String string = new String(bytes, UTF_8);
+    strings.add(string);
+    return string;
+  }
+
+  private MutableSynonym readSynonym()
+    throws IOException
+  {
+    final Schema schema = readSchema();
+    final MutableSynonym synonym = new MutableSynonym(schema, readString());
+    synonym.setRemarks(readString());
+    synonym.addAttributes(readAttributes());
+
+    final DatabaseObject referencedObject;
+    final int objectKind = readCount();
+    switch (objectKind)
+    {
+      case TABLE_OBJECT:
+        referencedObject = readTableReference();
+        break;
+      case ROUTINE_OBJECT:
+        referencedObject = routines.get(readCount());
+        break;
+      case OTHER_OBJECT:
+        referencedObject = new AbstractDatabaseObject(readSchema(),
+                                                      readString())
+        {
+
+          private static final long serialVersionUID = -2212843304418302122L;
+        };
+        break;
+      default:
+        referencedObject = null;
+        break;
+    }
+    synonym.setReferencedObject(referencedObject);
+
+    return synonym;
+  }
+
+  private MutableTable readTableDefinition()
+    throws IOException
+  {
+    final int tableKind = readCount();
+    final Schema schema = readSchema();
+    final String name = readString();
+
+    final MutableTable table;
+    if (tableKind == VIEW)
+    {
+      table = new MutableView(schema, name);
+    }
+    else
+    {
+      table = new MutableTable(schema, name);
+    }
+    tables.add(table);
+
+    table.setTableType(new TableType(readString()));
+    table.setSortIndex(readInt());
+    if (table instanceof MutableView)
+    {
+      final MutableView view = (MutableView) table;
+      view.setCheckOption(readEnum(CheckOptionType.class,
+                                   CheckOptionType.unknown));
+      view.setUpdatable(in.readBoolean());
+    }
+    table.appendDefinition(readString());
+    table.setRemarks(readString());
+    table.addAttributes(readAttributes());
+
+    final int columnCount = readCount();
+    for (int i = 0; i < columnCount; i++)
+    {
+      readColumn(table, false);
+    }
+    final int hiddenColumnCount = readCount();
+    for (int i = 0; i < hiddenColumnCount; i++)
+    {
+      readColumn(table, true);
+    }
+
+    final int indexCount = readCount();
+    for (int i = 0; i < indexCount; i++)
+    {
+      final MutableIndex index = new MutableIndex(table, readString());
+      readIndex(table, index);
+      table.addIndex(index);
+    }
+
+    if (in.readBoolean())
+    {
+      final MutablePrimaryKey primaryKey = new MutablePrimaryKey(table,
+                                                                 readString());
+      readIndex(table, primaryKey);
+      table.setPrimaryKeyAndReplaceIndex(primaryKey);
+    }
+
+    final int tableConstraintCount = readCount();
+    for (int i = 0; i < tableConstraintCount; i++)
+    {
+      final MutableTableConstraint tableConstraint = new MutableTableConstraint(table,
+                                                                                readString());
+      tableConstraint
+        .setTableConstraintType(readEnum(TableConstraintType.class,
+                                         TableConstraintType.unknown));
+      tableConstraint.setDeferrable(in.readBoolean());
+      tableConstraint.setInitiallyDeferred(in.readBoolean());
+      tableConstraint.appendDefinition(readString());
+      tableConstraint.setRemarks(readString());
+      tableConstraint.addAttributes(readAttributes());
+
+      final int constraintColumnCount = readCount();
+      for (int j = 0; j < constraintColumnCount; j++)
+      {
+        final MutableColumn column = lookupColumn(table, readString());
+        final MutableTableConstraintColumn constraintColumn = new MutableTableConstraintColumn(tableConstraint,
+                                                                                             column);
+        constraintColumn.setTableConstraintOrdinalPosition(readInt());
+        tableConstraint.addColumn(constraintColumn);
+      }
+      table.addTableConstraint(tableConstraint);
+    }
+
+    final int triggerCount = readCount();
+    for (int i = 0; i < triggerCount; i++)
+    {
+      final MutableTrigger trigger = new MutableTrigger(table, readString());
+      trigger
+        .setEventManipulationType(readEnum(EventManipulationType.class,
+                                           EventManipulationType.unknown));
+      trigger.setActionOrder(readInt());
+      trigger.appendActionCondition(readString());
+      trigger.appendActionStatement(readString());
+      trigger
+        .setActionOrientation(readEnum(ActionOrientationType.class,
+                                       ActionOrientationType.unknown));
+      trigger.setConditionTiming(readEnum(ConditionTimingType.class,
+                                          ConditionTimingType.unknown));
+      trigger.setRemarks(readString());
+      trigger.addAttributes(readAttributes());
+      table.addTrigger(trigger);
+    }
+
+    final int privilegeCount = readCount();
+    for (int i = 0; i < privilegeCount; i++)
+    {
+      final MutablePrivilege<Table> privilege = new MutablePrivilege<>(new TableReference(table),
+                                                                       readString());
+      readPrivilege(privilege);
+      table.addPrivilege(privilege);
+    }
+
+    return table;
+  }
+
+  /**
+   * Reads a reference to a table. Tables that are not in the catalog
+   * are created as partial tables.
+   */
+  private Table readTableReference()
+    throws IOException
+  {
+    final int index = readReference(tables);
+    if (index == NULL_REFERENCE)
+    {
+      return null;
+    }
+    else if (index < tables.size())
+    {
+      return tables.get(index);
+    }
+
+    final Schema schema = readSchema();
+    final TablePartial table = new TablePartial(schema, readString());
+    tables.add(table);
+    table.addAttributes(readAttributes());
+    return table;
+  }
+
+  private long readUnsigned()
+    throws IOException
+  {
+    long value = 0;
+    for (int shift = 0; shift < 64; shift = shift + 7)
+    {
+      final int b = in.readUnsignedByte();
+      value = value | (long) (b & 0x7F) << shift;
+      if ((b & 0x80) == 0)
+      {
+        return value;
+      }
+    }
+    throw new IOException("Invalid variable length integer");
+  }
+
+  private Object readTemporalValue()
+    throws IOException
+  {
+    final String className = readString();
+    final String text = readString();
+    try
+    {
+      if (Instant.class.getName().equals(className))
+      {
+        return Instant.parse(text);
+      }
+      else if (LocalDate.class.getName().equals(className))
+      {
+        return LocalDate.parse(text);
+      }
+      else if (LocalDateTime.class.getName().equals(className))
+      {
+        return LocalDateTime.parse(text);
+      }
+      else if (LocalTime.class.getName().equals(className))
+      {
+        return LocalTime.parse(text);
+      }
+      else if (OffsetDateTime.class.getName().equals(className))
+      {
+        return OffsetDateTime.parse(text);
+      }
+      else if (OffsetTime.class.getName().equals(className))
+      {
+        return OffsetTime.parse(text);
+      }
+      else if (ZonedDateTime.class.getName().equals(className))
+      {
+        return ZonedDateTime.parse(text);
+      }
+    }
+    catch (final DateTimeParseException e)
+    {
+      throw new IOException("Invalid " + className + " value, " + text, e);
+    }
+    throw new IOException("Invalid temporal type, " + className);
+  }
+
+  private Object readValue()
+    throws IOException
+  {
+    final int tag = readCount();
+    switch (tag)
+    {
+      case NULL_VALUE:
+        return null;
+      case STRING_VALUE:
+        return readString();
+      case BOOLEAN_VALUE:
+        return in.readBoolean();
+      case INTEGER_VALUE:
+        return readInt();
+      case LONG_VALUE:
+        return readLong();
+      case SHORT_VALUE:
+        return (short) readLong();
+      case BYTE_VALUE:
+        return (byte) readLong();
+      case DOUBLE_VALUE:
+        return in.readDouble();
+      case FLOAT_VALUE:
+        return in.readFloat();
+      case BIG_DECIMAL_VALUE:
+        return new BigDecimal(readString());
+      case BIG_INTEGER_VALUE:
+        return new BigInteger(readString());
+      case CHARACTER_VALUE:
+        return in.readChar();
+      case BYTES_VALUE:
+        final byte[] bytes = new byte[readCount()];
+        in.readFully(bytes);
+        return bytes;
+      case ENUM_VALUE:
+        return readEnumValue();
+      case DATE_VALUE:
+        return readDateValue();
+      case TEMPORAL_VALUE:
+        return readTemporalValue();
+      case ARRAY_VALUE:
+        return readArrayValue();
+      case LIST_VALUE:
+        return readValues(new ArrayList<>());
+      case SET_VALUE:
+        return readValues(new LinkedHashSet<>());
+      case SORTED_SET_VALUE:
+        return readValues(new TreeSet<>());
+      case MAP_VALUE:
+        return readValues(new LinkedHashMap<>());
+      case SORTED_MAP_VALUE:
+        return readValues(new TreeMap<>());
+      default:
+        throw new IOException("Invalid value tag, " + tag);
+    }
+  }
+
+  private <C extends Collection<Object>> C readValues(final C values)
+    throws IOException
+  {
+    final int count = readCount();
+    for (int i = 0; i < count; i++)
+    {
+      values.add(readValue());
+    }
+    return values;
+  }
+
+  private <M extends Map<Object, Object>> M readValues(final M values)
+    throws IOException
+  {
+    final int count = readCount();
+    for (int i = 0; i < count; i++)
+    {
+      values.put(readValue(), readValue());
+    }
+    return values;
+  }
+
+  private Class<?> loadClass(final String className)
+  {
+    try
+    {
+      return Class.forName(className);
+    }
+    catch (final ClassNotFoundException e)
+    {
+      return Object.class;
+    }
+  }
+
+  private Class<?> loadValueClass(final String className)
+    throws IOException
+  {
+    try
+    {
+      return Class.forName(className);
+    }
+    catch (final ClassNotFoundException e)
+    {
+      throw new IOException("Cannot load class, " + className, e);
+    }
+  }
+
+  private MutableColumn lookupColumn(final MutableTable table,
+                                     final String columnName)
+    throws IOException
+  {
+    final Optional<MutableColumn> column = table.lookupColumn(columnName);
+    if (!column.isPresent())
+    {
+      throw new IOException(String.format("Column <%s> not found in table <%s>",
+                                          columnName,
+                                          table.getFullName()));
+    }
+    return column.get();
+  }
+
+}
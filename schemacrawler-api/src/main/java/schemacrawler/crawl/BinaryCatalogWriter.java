@@ -0,0 +1,1047 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2018, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+package schemacrawler.crawl;
+
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Objects.requireNonNull;
+import static schemacrawler.crawl.BinaryCatalogFormat.ARRAY_VALUE;
+import static schemacrawler.crawl.BinaryCatalogFormat.BIG_DECIMAL_VALUE;
+import static schemacrawler.crawl.BinaryCatalogFormat.BIG_INTEGER_VALUE;
+import static schemacrawler.crawl.BinaryCatalogFormat.BOOLEAN_VALUE;
+import static schemacrawler.crawl.BinaryCatalogFormat.BYTES_VALUE;
+import static schemacrawler.crawl.BinaryCatalogFormat.BYTE_VALUE;
+import static schemacrawler.crawl.BinaryCatalogFormat.CHARACTER_VALUE;
+import static schemacrawler.crawl.BinaryCatalogFormat.DATE_VALUE;
+import static schemacrawler.crawl.BinaryCatalogFormat.DOUBLE_VALUE;
+import static schemacrawler.crawl.BinaryCatalogFormat.ENUM_VALUE;
+import static schemacrawler.crawl.BinaryCatalogFormat.FLOAT_VALUE;
+import static schemacrawler.crawl.BinaryCatalogFormat.FUNCTION;
+import static schemacrawler.crawl.BinaryCatalogFormat.INTEGER_VALUE;
+import static schemacrawler.crawl.BinaryCatalogFormat.LIST_VALUE;
+import static schemacrawler.crawl.BinaryCatalogFormat.LONG_VALUE;
+import static schemacrawler.crawl.BinaryCatalogFormat.MAP_VALUE;
+import static schemacrawler.crawl.BinaryCatalogFormat.NO_OBJECT;
+import static schemacrawler.crawl.BinaryCatalogFormat.NULL_VALUE;
+import static schemacrawler.crawl.BinaryCatalogFormat.OTHER_OBJECT;
+import static schemacrawler.crawl.BinaryCatalogFormat.PROCEDURE;
+import static schemacrawler.crawl.BinaryCatalogFormat.ROUTINE_OBJECT;
+import static schemacrawler.crawl.BinaryCatalogFormat.SET_VALUE;
+import static schemacrawler.crawl.BinaryCatalogFormat.SHORT_VALUE;
+import static schemacrawler.crawl.BinaryCatalogFormat.SORTED_MAP_VALUE;
+import static schemacrawler.crawl.BinaryCatalogFormat.SORTED_SET_VALUE;
+import static schemacrawler.crawl.BinaryCatalogFormat.STRING_VALUE;
+import static schemacrawler.crawl.BinaryCatalogFormat.TABLE;
+import static schemacrawler.crawl.BinaryCatalogFormat.TABLE_OBJECT;
+import static schemacrawler.crawl.BinaryCatalogFormat.TEMPORAL_VALUE;
+import static schemacrawler.crawl.BinaryCatalogFormat.VIEW;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.OffsetTime;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.logging.Level;
+
+import schemacrawler.schema.AttributedObject;
+import schemacrawler.schema.Catalog;
+import schemacrawler.schema.Column;
+import schemacrawler.schema.ColumnDataType;
+import schemacrawler.schema.CrawlInfo;
+import schemacrawler.schema.DatabaseInfo;
+import schemacrawler.schema.DatabaseObject;
+import schemacrawler.schema.DatabaseProperty;
+import schemacrawler.schema.ForeignKey;
+import schemacrawler.schema.ForeignKeyColumnReference;
+import schemacrawler.schema.Function;
+import schemacrawler.schema.Grant;
+import schemacrawler.schema.Index;
+import schemacrawler.schema.IndexColumn;
+import schemacrawler.schema.JavaSqlType;
+import schemacrawler.schema.JdbcDriverInfo;
+import schemacrawler.schema.JdbcDriverProperty;
+import schemacrawler.schema.PrimaryKey;
+import schemacrawler.schema.Privilege;
+import schemacrawler.schema.Procedure;
+import schemacrawler.schema.Routine;
+import schemacrawler.schema.RoutineColumn;
+import schemacrawler.schema.Schema;
+import schemacrawler.schema.Sequence;
+import schemacrawler.schema.Synonym;
+import schemacrawler.schema.Table;
+import schemacrawler.schema.TableConstraint;
+import schemacrawler.schema.TableConstraintColumn;
+import schemacrawler.schema.Trigger;
+import schemacrawler.schema.View;
+import sf.util.SchemaCrawlerLogger;
+import sf.util.StringFormat;
+
+/**
+ * Writes a catalog as a compact binary snapshot, which can be read
+ * back with a {@link BinaryCatalogReader}. Strings are written once
+ * into a string table, and schemas, column data types, tables and
+ * columns are defined the first time they are written, and referenced
+ * by index thereafter. Integers are written as variable length
+ * integers.
+ * <p>
+ * Attribute values are written with their types, so that they are read
+ * back as they were. Attributes with values of types that cannot be
+ * written this way, such as other database objects, are not written.
+ *
+ * @author Sualeh Fatehi
+ */
+public final class BinaryCatalogWriter
+{
+
+  private static final SchemaCrawlerLogger LOGGER = SchemaCrawlerLogger
+    .getLogger(BinaryCatalogWriter.class.getName());
+
+  private static final Set<Class<?>> NUMBER_CLASSES = new HashSet<>(Arrays
+    .asList(Integer.class,
+            Long.class,
+            Short.class,
+            Byte.class,
+            Double.class,
+            Float.class));
+  private static final Set<Class<?>> DATE_CLASSES = new HashSet<>(Arrays
+    .asList(Date.class,
+            java.sql.Date.class,
+            Time.class,
+            Timestamp.class));
+  private static final Set<Class<?>> TEMPORAL_CLASSES = new HashSet<>(Arrays
+    .asList(Instant.class,
+            LocalDate.class,
+            LocalDateTime.class,
+            LocalTime.class,
+            OffsetDateTime.class,
+            OffsetTime.class,
+            ZonedDateTime.class));
+
+  private final DataOutputStream out;
+  private final Map<AttributedObject, Map<String, Object>> attributes;
+  private final Map<String, Integer> strings = new HashMap<>();
+  private final Map<List<String>, Integer> schemas = new HashMap<>();
+  private final Map<ColumnDataType, Integer> columnDataTypes = new IdentityHashMap<>();
+  private final Map<Table, Integer> tables = new IdentityHashMap<>();
+  private final Map<Column, Integer> columns = new IdentityHashMap<>();
+  private final Map<Routine, Integer> routines = new IdentityHashMap<>();
+
+  public BinaryCatalogWriter(final OutputStream outputStream)
+  {
+    this(outputStream, new IdentityHashMap<>());
+  }
+
+  /**
+   * Writes a catalog, with attributes that are written in place of the
+   * attributes of some objects, so that derived data such as
+   * fingerprints can be saved without changing the catalog.
+   *
+   * @param outputStream
+   *        Output stream
+   * @param attributes
+   *        Attributes to write for objects, by object identity
+   */
+  public BinaryCatalogWriter(final OutputStream outputStream,
+                             final Map<AttributedObject, Map<String, Object>> attributes)
+  {
+    requireNonNull(outputStream, "No output stream provided");
+    requireNonNull(attributes, "No attributes provided");
+    out = new DataOutputStream(outputStream);
+    this.attributes = attributes;
+  }
+
+  /**
+   * Writes the catalog to the output stream. The output stream is
+   * flushed, but not closed.
+   *
+   * @param catalog
+   *        Catalog to write
+   * @throws IOException
+   *         On an exception
+   */
+  public void write(final Catalog catalog)
+    throws IOException
+  {
+    requireNonNull(catalog, "No catalog provided");
+
+    writeString(catalog.getName());
+    writeString(catalog.getRemarks());
+    writeAttributes(catalog);
+
+    writeCrawlInfo(catalog.getCrawlInfo());
+    writeDatabaseInfo(catalog.getDatabaseInfo());
+    writeJdbcDriverInfo(catalog.getJdbcDriverInfo());
+
+    final Collection<Schema> catalogSchemas = catalog.getSchemas();
+    writeUnsigned(catalogSchemas.size());
+    for (final Schema schema: catalogSchemas)
+    {
+      writeSchema(schema);
+    }
+
+    final Collection<ColumnDataType> catalogColumnDataTypes = catalog
+      .getColumnDataTypes();
+    writeUnsigned(catalogColumnDataTypes.size());
+    for (final ColumnDataType columnDataType: catalogColumnDataTypes)
+    {
+      writeColumnDataType(columnDataType);
+    }
+
+    final Collection<Table> catalogTables = catalog.getTables();
+    writeUnsigned(catalogTables.size());
+    for (final Table table: catalogTables)
+    {
+      writeTableDefinition(table);
+    }
+
+    // Foreign keys are shared by the referencing and referenced
+    // tables, so write each one only once
+    final Map<ForeignKey, Boolean> foreignKeys = new IdentityHashMap<>();
+    final List<ForeignKey> foreignKeysList = new ArrayList<>();
+    for (final Table table: catalogTables)
+    {
+      for (final ForeignKey foreignKey: table.getForeignKeys())
+      {
+        if (foreignKeys.put(foreignKey, Boolean.TRUE) == null)
+        {
+          foreignKeysList.add(foreignKey);
+        }
+      }
+    }
+    writeUnsigned(foreignKeysList.size());
+    for (final ForeignKey foreignKey: foreignKeysList)
+    {
+      writeForeignKey(foreignKey);
+    }
+
+    final Collection<Routine> catalogRoutines = catalog.getRoutines();
+    writeUnsigned(catalogRoutines.size());
+    for (final Routine routine: catalogRoutines)
+    {
+      writeRoutine(routine);
+    }
+
+    final Collection<Synonym> synonyms = catalog.getSynonyms();
+    writeUnsigned(synonyms.size());
+    for (final Synonym synonym: synonyms)
+    {
+      writeSynonym(synonym);
+    }
+
+    final Collection<Sequence> sequences = catalog.getSequences();
+    writeUnsigned(sequences.size());
+    for (final Sequence sequence: sequences)
+    {
+      writeSequence(sequence);
+    }
+
+    out.flush();
+  }
+
+  /**
+   * Checks whether a value can be written to a binary snapshot, and
+   * read back with the same type. Values of other types are not
+   * written, rather than being changed into strings.
+   *
+   * @param value
+   *        Attribute or property value
+   * @return Whether the value can be written
+   */
+  private boolean isSupportedValue(final Object value)
+  {
+    if (value == null || value instanceof String || value instanceof Boolean
+        || value instanceof Character || value instanceof byte[]
+        || value instanceof Enum || value instanceof BigDecimal
+        || value instanceof BigInteger)
+    {
+      return true;
+    }
+    final Class<?> valueClass = value.getClass();
+    if (NUMBER_CLASSES.contains(valueClass)
+        || DATE_CLASSES.contains(valueClass)
+        || TEMPORAL_CLASSES.contains(valueClass))
+    {
+      return true;
+    }
+    if (value instanceof Object[])
+    {
+      return areSupportedValues(Arrays.asList((Object[]) value));
+    }
+    if (value instanceof List || value instanceof Set)
+    {
+      return !(value instanceof SortedSet
+               && ((SortedSet<?>) value).comparator() != null)
+             && areSupportedValues((Collection<?>) value);
+    }
+    if (value instanceof Map)
+    {
+      final Map<?, ?> map = (Map<?, ?>) value;
+      return !(value instanceof SortedMap
+               && ((SortedMap<?, ?>) value).comparator() != null)
+             && areSupportedValues(map.keySet())
+             && areSupportedValues(map.values());
+    }
+    return false;
+  }
+
+  private boolean areSupportedValues(final Collection<?> values)
+  {
+    for (final Object value: values)
+    {
+      if (!isSupportedValue(value))
+      {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private void writeAttributes(final AttributedObject object)
+    throws IOException
+  {
+    final Map<String, Object> objectAttributes = attributes
+      .getOrDefault(object, object.getAttributes());
+    if (objectAttributes == null)
+    {
+      writeUnsigned(0);
+      return;
+    }
+
+    final Map<String, Object> supportedAttributes = new LinkedHashMap<>();
+    for (final Map.Entry<String, Object> attribute: objectAttributes
+      .entrySet())
+    {
+      if (isSupportedValue(attribute.getValue()))
+      {
+        supportedAttributes.put(attribute.getKey(), attribute.getValue());
+      }
+      else
+      {
+        LOGGER.log(Level.WARNING,
+                   new StringFormat("Not writing attribute <%s> to binary snapshot, since values of type <%s> are not supported",
+                                    attribute.getKey(),
+                                    attribute.getValue().getClass()
+                                      .getName()));
+      }
+    }
+
+    writeUnsigned(supportedAttributes.size());
+    for (final Map.Entry<String, Object> attribute: supportedAttributes
+      .entrySet())
+    {
+      writeString(attribute.getKey());
+      writeValue(attribute.getValue());
+    }
+  }
+
+  private void writeColumn(final Column column)
+    throws IOException
+  {
+    // Columns are referenced by foreign keys, so remember them
+    columns.put(column, columns.size());
+
+    writeString(column.getName());
+    writeSigned(column.getOrdinalPosition());
+    writeSigned(column.getSize());
+    writeSigned(column.getDecimalDigits());
+    out.writeBoolean(column.isNullable());
+    writeColumnDataType(column.getColumnDataType());
+    writeString(column.getDefaultValue());
+    out.writeBoolean(column.isAutoIncremented());
+    out.writeBoolean(column.isGenerated());
+    out.writeBoolean(column.isHidden());
+    out.writeBoolean(column.isPartOfPrimaryKey());
+    out.writeBoolean(column.isPartOfUniqueIndex());
+    out.writeBoolean(column.isPartOfIndex());
+    writePrivileges(column.getPrivileges());
+    writeString(column.getRemarks());
+    writeAttributes(column);
+  }
+
+  private void writeColumnDataType(final ColumnDataType columnDataType)
+    throws IOException
+  {
+    if (!writeReference(columnDataTypes, columnDataType))
+    {
+      return;
+    }
+
+    writeSchema(columnDataType.getSchema());
+    writeString(columnDataType.getName());
+
+    final JavaSqlType javaSqlType = columnDataType.getJavaSqlType();
+    writeSigned(javaSqlType.getVendorTypeNumber());
+    writeString(javaSqlType.getName());
+    writeString(javaSqlType.getVendor());
+    writeString(javaSqlType.getDefaultMappedClass().getName());
+    writeEnum(javaSqlType.getJavaSqlTypeGroup());
+
+    writeString(columnDataType.getTypeMappedClass().getName());
+    out.writeBoolean(columnDataType.isUserDefined());
+    writeSigned(columnDataType.getPrecision());
+    writeString(columnDataType.getLiteralPrefix());
+    writeString(columnDataType.getLiteralSuffix());
+    writeString(columnDataType.getCreateParameters());
+    out.writeBoolean(columnDataType.isNullable());
+    out.writeBoolean(columnDataType.isCaseSensitive());
+    writeEnum(columnDataType.getSearchable());
+    out.writeBoolean(columnDataType.isUnsigned());
+    out.writeBoolean(columnDataType.isFixedPrecisionScale());
+    out.writeBoolean(columnDataType.isAutoIncrementable());
+    writeString(columnDataType.getLocalTypeName());
+    writeSigned(columnDataType.getMinimumScale());
+    writeSigned(columnDataType.getMaximumScale());
+    writeSigned(columnDataType.getNumPrecisionRadix());
+    writeString(columnDataType.getRemarks());
+    writeAttributes(columnDataType);
+
+    writeColumnDataType(columnDataType.getBaseType());
+  }
+
+  /**
+   * Writes a reference to a column, which is either a column of a table
+   * that has already been written, or a column that was not loaded.
+   * Columns that were not loaded are written as partial columns.
+   */
+  private void writeColumnReference(final Column column)
+    throws IOException
+  {
+    if (!writeReference(columns, column))
+    {
+      return;
+    }
+
+    final Table parent = column.getParent();
+    writeSchema(parent.getSchema());
+    writeString(parent.getName());
+    writeAttributes(parent);
+    writeString(column.getName());
+    writeAttributes(column);
+  }
+
+  private void writeCrawlInfo(final CrawlInfo crawlInfo)
+    throws IOException
+  {
+    out.writeBoolean(crawlInfo != null);
+    if (crawlInfo == null)
+    {
+      return;
+    }
+
+    writeString(crawlInfo.getSchemaCrawlerInfo());
+    writeString(crawlInfo.getJdbcDriverInfo());
+    writeString(crawlInfo.getDatabaseInfo());
+    writeString(crawlInfo.getOperatingSystemInfo());
+    writeString(crawlInfo.getJvmSystemInfo());
+    writeString(crawlInfo.getTitle());
+    writeString(crawlInfo.getCrawlTimestamp().toString());
+    writeSigned(crawlInfo.getDataDictionaryRowCount());
+  }
+
+  private void writeDatabaseInfo(final DatabaseInfo databaseInfo)
+    throws IOException
+  {
+    writeString(databaseInfo.getUserName());
+    writeString(databaseInfo.getProductName());
+    writeString(databaseInfo.getProductVersion());
+
+    final List<DatabaseProperty> properties = new ArrayList<>();
+    for (final DatabaseProperty property: databaseInfo.getProperties())
+    {
+      if (isSupportedValue(property.getValue()))
+      {
+        properties.add(property);
+      }
+      else
+      {
+        LOGGER.log(Level.WARNING,
+                   new StringFormat("Not writing database property <%s> to binary snapshot, since values of type <%s> are not supported",
+                                    property.getName(),
+                                    property.getValue().getClass()
+                                      .getName()));
+      }
+    }
+    writeUnsigned(properties.size());
+    for (final DatabaseProperty property: properties)
+    {
+      writeString(property.getName());
+      writeValue(property.getValue());
+    }
+  }
+
+  private void writeEnum(final Enum<?> value)
+    throws IOException
+  {
+    writeString(value == null? null: value.name());
+  }
+
+  private void writeForeignKey(final ForeignKey foreignKey)
+    throws IOException
+  {
+    writeString(foreignKey.getName());
+    writeString(foreignKey.getSpecificName());
+    writeEnum(foreignKey.getUpdateRule());
+    writeEnum(foreignKey.getDeleteRule());
+    writeEnum(foreignKey.getDeferrability());
+    writeString(foreignKey.getDefinition());
+    writeString(foreignKey.getRemarks());
+    writeAttributes(foreignKey);
+
+    final List<ForeignKeyColumnReference> columnReferences = foreignKey
+      .getColumnReferences();
+    writeUnsigned(columnReferences.size());
+    for (final ForeignKeyColumnReference columnReference: columnReferences)
+    {
+      writeSigned(columnReference.getKeySequence());
+      writeColumnReference(columnReference.getForeignKeyColumn());
+      writeColumnReference(columnReference.getPrimaryKeyColumn());
+    }
+  }
+
+  private void writeIndex(final Index index)
+    throws IOException
+  {
+    writeString(index.getName());
+    out.writeBoolean(index.isUnique());
+    writeEnum(index.getIndexType());
+    writeSigned(index.getCardinality());
+    writeSigned(index.getPages());
+    writeString(index.getDefinition());
+    writeString(index.getRemarks());
+    writeAttributes(index);
+
+    final List<IndexColumn> indexColumns = index.getColumns();
+    writeUnsigned(indexColumns.size());
+    for (final IndexColumn indexColumn: indexColumns)
+    {
+      writeString(indexColumn.getName());
+      writeSigned(indexColumn.getIndexOrdinalPosition());
+      writeEnum(indexColumn.getSortSequence());
+      writeString(indexColumn.getDefinition());
+    }
+  }
+
+  private void writeJdbcDriverInfo(final JdbcDriverInfo jdbcDriverInfo)
+    throws IOException
+  {
+    writeString(jdbcDriverInfo.getProductName());
+    writeString(jdbcDriverInfo.getProductVersion());
+    writeString(jdbcDriverInfo.getDriverClassName());
+    writeString(jdbcDriverInfo.getConnectionUrl());
+    out.writeBoolean(jdbcDriverInfo.isJdbcCompliant());
+
+    final Collection<JdbcDriverProperty> properties = jdbcDriverInfo
+      .getDriverProperties();
+    writeUnsigned(properties.size());
+    for (final JdbcDriverProperty property: properties)
+    {
+      writeString(property.getName());
+      writeString(property.getValue());
+      writeString(property.getDescription());
+      out.writeBoolean(property.isRequired());
+      final Collection<String> choices = property.getChoices();
+      writeUnsigned(choices.size());
+      for (final String choice: choices)
+      {
+        writeString(choice);
+      }
+    }
+  }
+
+  private <D extends DatabaseObject> void writePrivileges(final Collection<Privilege<D>> privileges)
+    throws IOException
+  {
+    writeUnsigned(privileges.size());
+    for (final Privilege<D> privilege: privileges)
+    {
+      writeString(privilege.getName());
+      writeString(privilege.getRemarks());
+      writeAttributes(privilege);
+
+      final Collection<Grant<D>> grants = privilege.getGrants();
+      writeUnsigned(grants.size());
+      for (final Grant<D> grant: grants)
+      {
+        writeString(grant.getGrantor());
+        writeString(grant.getGrantee());
+        out.writeBoolean(grant.isGrantable());
+      }
+    }
+  }
+
+  /**
+   * Writes a reference to an object. If the object has not been seen
+   * before, it is assigned the next index, and the caller needs to
+   * write the definition.
+   *
+   * @return True if the definition of the object needs to be written
+   */
+  private <T> boolean writeReference(final Map<T, Integer> references,
+                                     final T object)
+    throws IOException
+  {
+    if (object == null)
+    {
+      writeUnsigned(0);
+      return false;
+    }
+    final Integer index = references.get(object);
+    if (index != null)
+    {
+      writeUnsigned(index + 1);
+      return false;
+    }
+    final int newIndex = references.size();
+    references.put(object, newIndex);
+    writeUnsigned(newIndex + 1);
+    return true;
+  }
+
+  private void writeRoutine(final Routine routine)
+    throws IOException
+  {
+    routines.put(routine, routines.size());
+
+    if (routine instanceof Function)
+    {
+      writeUnsigned(FUNCTION);
+    }
+    else
+    {
+      writeUnsigned(PROCEDURE);
+    }
+    writeSchema(routine.getSchema());
+    writeString(routine.getName());
+    writeString(routine.getSpecificName());
+    writeEnum(routine.getRoutineBodyType());
+    if (routine instanceof Function)
+    {
+      writeEnum(((Function) routine).getReturnType());
+    }
+    else
+    {
+      writeEnum(((Procedure) routine).getReturnType());
+    }
+    writeString(routine.getDefinition());
+    writeString(routine.getRemarks());
+    writeAttributes(routine);
+
+    final List<? extends RoutineColumn<? extends Routine>> routineColumns = routine
+      .getColumns();
+    writeUnsigned(routineColumns.size());
+    for (final RoutineColumn<? extends Routine> routineColumn: routineColumns)
+    {
+      writeString(routineColumn.getName());
+      writeSigned(routineColumn.getOrdinalPosition());
+      writeEnum((Enum<?>) routineColumn.getColumnType());
+      writeColumnDataType(routineColumn.getColumnDataType());
+      writeSigned(routineColumn.getSize());
+      writeSigned(routineColumn.getDecimalDigits());
+      out.writeBoolean(routineColumn.isNullable());
+      writeString(routineColumn.getRemarks());
+      writeAttributes(routineColumn);
+    }
+  }
+
+  private void writeSchema(final Schema schema)
+    throws IOException
+  {
+    final List<String> key = schema == null? null: Arrays
+      .asList(schema.getCatalogName(), schema.getName());
+    if (!writeReference(schemas, key))
+    {
+      return;
+    }
+
+    writeString(schema.getCatalogName());
+    writeString(schema.getName());
+    writeAttributes(schema);
+  }
+
+  private void writeSequence(final Sequence sequence)
+    throws IOException
+  {
+    writeSchema(sequence.getSchema());
+    writeString(sequence.getName());
+    writeSigned(sequence.getIncrement());
+    writeValue(sequence.getMinimumValue());
+    writeValue(sequence.getMaximumValue());
+    out.writeBoolean(sequence.isCycle());
+    writeString(sequence.getRemarks());
+    writeAttributes(sequence);
+  }
+
+  private void writeSigned(final long value)
+    throws IOException
+  {
+    // Zig-zag encoding, so that small negative numbers stay small
+    writeUnsigned(value << 1 ^ value >> 63);
+  }
+
+  private void writeString(final String string)
+    throws IOException
+  {
+    if (!writeReference(strings, string))
+    {
+      return;
+    }
+
+    final byte[] bytes = string.getBytes(UTF_8);
+    writeUnsigned(bytes.length);
+    out.write(bytes);
+  }
+
+  private void writeSynonym(final Synonym synonym)
+    throws IOException
+  {
+    writeSchema(synonym.getSchema());
+    writeString(synonym.getName());
+    writeString(synonym.getRemarks());
+    writeAttributes(synonym);
+
+    final DatabaseObject referencedObject = synonym.getReferencedObject();
+    if (referencedObject == null)
+    {
+      writeUnsigned(NO_OBJECT);
+    }
+    else if (referencedObject instanceof Table)
+    {
+      writeUnsigned(TABLE_OBJECT);
+      writeTableReference((Table) referencedObject);
+    }
+    else if (routines.containsKey(referencedObject))
+    {
+      writeUnsigned(ROUTINE_OBJECT);
+      writeUnsigned(routines.get(referencedObject));
+    }
+    else
+    {
+      writeUnsigned(OTHER_OBJECT);
+      writeSchema(referencedObject.getSchema());
+      writeString(referencedObject.getName());
+    }
+  }
+
+  private void writeTableDefinition(final Table table)
+    throws IOException
+  {
+    tables.put(table, tables.size());
+
+    if (table instanceof View)
+    {
+      writeUnsigned(VIEW);
+    }
+    else
+    {
+      writeUnsigned(TABLE);
+    }
+    writeSchema(table.getSchema());
+    writeString(table.getName());
+    writeString(table.getTableType().getTableType());
+    if (table instanceof MutableTable)
+    {
+      writeSigned(((MutableTable) table).getSortIndex());
+    }
+    else
+    {
+      writeSigned(0);
+    }
+    if (table instanceof View)
+    {
+      final View view = (View) table;
+      writeEnum(view.getCheckOption());
+      out.writeBoolean(view.isUpdatable());
+    }
+    writeString(table.getDefinition());
+    writeString(table.getRemarks());
+    writeAttributes(table);
+
+    final List<Column> tableColumns = table.getColumns();
+    writeUnsigned(tableColumns.size());
+    for (final Column column: tableColumns)
+    {
+      writeColumn(column);
+    }
+    final Collection<Column> hiddenColumns = table.getHiddenColumns();
+    writeUnsigned(hiddenColumns.size());
+    for (final Column column: hiddenColumns)
+    {
+      writeColumn(column);
+    }
+
+    final Collection<Index> indexes = table.getIndexes();
+    writeUnsigned(indexes.size());
+    for (final Index index: indexes)
+    {
+      writeIndex(index);
+    }
+
+    final PrimaryKey primaryKey = table.getPrimaryKey();
+    out.writeBoolean(primaryKey != null);
+    if (primaryKey != null)
+    {
+      writeIndex(primaryKey);
+    }
+
+    final Collection<TableConstraint> tableConstraints = table
+      .getTableConstraints();
+    writeUnsigned(tableConstraints.size());
+    for (final TableConstraint tableConstraint: tableConstraints)
+    {
+      writeString(tableConstraint.getName());
+      writeEnum(tableConstraint.getConstraintType());
+      out.writeBoolean(tableConstraint.isDeferrable());
+      out.writeBoolean(tableConstraint.isInitiallyDeferred());
+      writeString(tableConstraint.getDefinition());
+      writeString(tableConstraint.getRemarks());
+      writeAttributes(tableConstraint);
+
+      final List<TableConstraintColumn> constraintColumns = tableConstraint
+        .getColumns();
+      writeUnsigned(constraintColumns.size());
+      for (final TableConstraintColumn constraintColumn: constraintColumns)
+      {
+        writeString(constraintColumn.getName());
+        writeSigned(constraintColumn.getTableConstraintOrdinalPosition());
+      }
+    }
+
+    final Collection<Trigger> triggers = table.getTriggers();
+    writeUnsigned(triggers.size());
+    for (final Trigger trigger: triggers)
+    {
+      writeString(trigger.getName());
+      writeEnum(trigger.getEventManipulationType());
+      writeSigned(trigger.getActionOrder());
+      writeString(trigger.getActionCondition());
+      writeString(trigger.getActionStatement());
+      writeEnum(trigger.getActionOrientation());
+      writeEnum(trigger.getConditionTiming());
+      writeString(trigger.getRemarks());
+      writeAttributes(trigger);
+    }
+
+    writePrivileges(table.getPrivileges());
+  }
+
+  /**
+   * Writes a reference to a table, which is either a table that has
+   * already been written, or a table that was not loaded. Tables that
+   * were not loaded are written as partial tables.
+   */
+  private void writeTableReference(final Table table)
+    throws IOException
+  {
+    if (!writeReference(tables, table))
+    {
+      return;
+    }
+
+    writeSchema(table.getSchema());
+    writeString(table.getName());
+    writeAttributes(table);
+  }
+
+  private void writeUnsigned(final long value)
+    throws IOException
+  {
+    long remaining = value;
+    while ((remaining & ~0x7FL) != 0)
+    {
+      out.writeByte((int) (remaining & 0x7F | 0x80));
+      remaining = remaining >>> 7;
+    }
+    out.writeByte((int) remaining);
+  }
+
+  private void writeValue(final Object value)
+    throws IOException
+  {
+    if (value == null)
+    {
+      writeUnsigned(NULL_VALUE);
+    }
+    else if (value instanceof Boolean)
+    {
+      writeUnsigned(BOOLEAN_VALUE);
+      out.writeBoolean((Boolean) value);
+    }
+    else if (value instanceof Integer)
+    {
+      writeUnsigned(INTEGER_VALUE);
+      writeSigned((Integer) value);
+    }
+    else if (value instanceof Long)
+    {
+      writeUnsigned(LONG_VALUE);
+      writeSigned((Long) value);
+    }
+    else if (value instanceof Short)
+    {
+      writeUnsigned(SHORT_VALUE);
+      writeSigned((Short) value);
+    }
+    else if (value instanceof Byte)
+    {
+      writeUnsigned(BYTE_VALUE);
+      writeSigned((Byte) value);
+    }
+    else if (value instanceof Double)
+    {
+      writeUnsigned(DOUBLE_VALUE);
+      out.writeDouble((Double) value);
+    }
+    else if (value instanceof Float)
+    {
+      writeUnsigned(FLOAT_VALUE);
+      out.writeFloat((Float) value);
+    }
+    else if (value instanceof BigDecimal)
+    {
+      writeUnsigned(BIG_DECIMAL_VALUE);
+      writeString(value.toString());
+    }
+    else if (value instanceof BigInteger)
+    {
+      writeUnsigned(BIG_INTEGER_VALUE);
+      writeString(value.toString());
+    }
+    else if (value instanceof Character)
+    {
+      writeUnsigned(CHARACTER_VALUE);
+      out.writeChar((Character) value);
+    }
+    else if (value instanceof String)
+    {
+      writeUnsigned(STRING_VALUE);
+      writeString((String) value);
+    }
+    else if (value instanceof byte[])
+    {
+      final byte[] bytes = (byte[]) value;
+      writeUnsigned(BYTES_VALUE);
+      writeUnsigned(bytes.length);
+      out.write(bytes);
+    }
+    else if (value instanceof Enum)
+    {
+      final Enum<?> enumValue = (Enum<?>) value;
+      writeUnsigned(ENUM_VALUE);
+      writeString(enumValue.getDeclaringClass().getName());
+      writeString(enumValue.name());
+    }
+    else if (DATE_CLASSES.contains(value.getClass()))
+    {
+      writeUnsigned(DATE_VALUE);
+      writeString(value.getClass().getName());
+      writeSigned(((Date) value).getTime());
+      if (value instanceof Timestamp)
+      {
+        writeSigned(((Timestamp) value).getNanos());
+      }
+    }
+    else if (TEMPORAL_CLASSES.contains(value.getClass()))
+    {
+      writeUnsigned(TEMPORAL_VALUE);
+      writeString(value.getClass().getName());
+      writeString(value.toString());
+    }
+    else if (value instanceof Object[])
+    {
+      final Object[] values = (Object[]) value;
+      writeUnsigned(ARRAY_VALUE);
+      writeString(values.getClass().getComponentType().getName());
+      writeValues(Arrays.asList(values));
+    }
+    else if (value instanceof List)
+    {
+      writeUnsigned(LIST_VALUE);
+      writeValues((List<?>) value);
+    }
+    else if (value instanceof SortedSet)
+    {
+      writeUnsigned(SORTED_SET_VALUE);
+      writeValues((SortedSet<?>) value);
+    }
+    else if (value instanceof Set)
+    {
+      writeUnsigned(SET_VALUE);
+      writeValues((Set<?>) value);
+    }
+    else if (value instanceof Map)
+    {
+      final Map<?, ?> map = (Map<?, ?>) value;
+      writeUnsigned(value instanceof SortedMap? SORTED_MAP_VALUE: MAP_VALUE);
+      writeUnsigned(map.size());
+      for (final Map.Entry<?, ?> entry: map.entrySet())
+      {
+        writeValue(entry.getKey());
+        writeValue(entry.getValue());
+      }
+    }
+    else
+    {
+      throw new IOException(String
+        .format("Cannot write value of type <%s> to a binary snapshot",
+                value.getClass().getName()));
+    }
+  }
+
+  private void writeValues(final Collection<?> values)
+    throws IOException
+  {
+    writeUnsigned(values.size());
+    for (final Object element: values)
+    {
+      writeValue(element);
+    }
+  }
+
+}
@@ -106,9 +106,8 @@ final class ForeignKeyRetriever
       .getExtForeignKeysSql();
 
     try (final Statement statement = connection.createStatement();
-        final MetadataResultSet results = new MetadataResultSet(extForeignKeysSql,
-                                                                statement,
-                                                                getSchemaInclusionRule());)
+        final MetadataResultSet results = executeAgainstSchemas(extForeignKeysSql,
+                                                                statement);)
     {
       while (results.next())
       {
@@ -338,9 +337,8 @@ final class ForeignKeyRetriever
     final Query fkSql = informationSchemaViews.getForeignKeysSql();
     final Connection connection = getDatabaseConnection();
     try (final Statement statement = connection.createStatement();
-        final MetadataResultSet results = new MetadataResultSet(fkSql,
-                                                                statement,
-                                                                getSchemaInclusionRule());)
+        final MetadataResultSet results = executeAgainstSchemas(fkSql,
+                                                                statement);)
     {
       results.setDescription("retrieveForeignKeysUsingSql");
       createForeignKeys(results, foreignKeys);
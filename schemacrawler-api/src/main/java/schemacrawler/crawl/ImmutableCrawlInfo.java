@@ -61,6 +61,7 @@ final class ImmutableCrawlInfo
   private final ProductVersion jvmInfo;
   private final String title;
   private final LocalDateTime crawlTimestamp;
+  private final long dataDictionaryRowCount;
 
   ImmutableCrawlInfo(final JdbcDriverInfo jdbcDriverInfo,
                      final DatabaseInfo databaseInfo,
@@ -78,6 +79,42 @@ final class ImmutableCrawlInfo
 
     this.title = title;
     crawlTimestamp = LocalDateTime.now();
+    dataDictionaryRowCount = 0;
+  }
+
+  ImmutableCrawlInfo(final ImmutableCrawlInfo crawlInfo,
+                     final long dataDictionaryRowCount)
+  {
+    requireNonNull(crawlInfo, "No crawl information provided");
+    schemaCrawlerInfo = crawlInfo.schemaCrawlerInfo;
+    osInfo = crawlInfo.osInfo;
+    jvmInfo = crawlInfo.jvmInfo;
+    jdbcDriverInfo = crawlInfo.jdbcDriverInfo;
+    databaseInfo = crawlInfo.databaseInfo;
+    title = crawlInfo.title;
+    crawlTimestamp = crawlInfo.crawlTimestamp;
+
+    this.dataDictionaryRowCount = dataDictionaryRowCount;
+  }
+
+  ImmutableCrawlInfo(final String schemaCrawlerInfo,
+                     final String jdbcDriverInfo,
+                     final String databaseInfo,
+                     final String osInfo,
+                     final String jvmInfo,
+                     final String title,
+                     final LocalDateTime crawlTimestamp,
+                     final long dataDictionaryRowCount)
+  {
+    this.schemaCrawlerInfo = toProductVersion(schemaCrawlerInfo);
+    this.jdbcDriverInfo = toProductVersion(jdbcDriverInfo);
+    this.databaseInfo = toProductVersion(databaseInfo);
+    this.osInfo = toProductVersion(osInfo);
+    this.jvmInfo = toProductVersion(jvmInfo);
+    this.title = title;
+    this.crawlTimestamp = requireNonNull(crawlTimestamp,
+                                         "No crawl timestamp provided");
+    this.dataDictionaryRowCount = dataDictionaryRowCount;
   }
 
   @Override
@@ -92,6 +129,12 @@ final class ImmutableCrawlInfo
     return databaseInfo.toString();
   }
 
+  @Override
+  public long getDataDictionaryRowCount()
+  {
+    return dataDictionaryRowCount;
+  }
+
   @Override
   public String getJdbcDriverInfo()
   {
@@ -147,4 +190,20 @@ final class ImmutableCrawlInfo
     return info.toString();
   }
 
+  /**
+   * Product versions are only ever shown as "name version", so the
+   * string form is split at the last space to restore them.
+   */
+  private static ProductVersion toProductVersion(final String productVersion)
+  {
+    requireNonNull(productVersion, "No product version provided");
+    final int index = productVersion.lastIndexOf(' ');
+    if (index < 0)
+    {
+      return new BaseProductVersion(productVersion, "");
+    }
+    return new BaseProductVersion(productVersion.substring(0, index),
+                                  productVersion.substring(index + 1));
+  }
+
 }
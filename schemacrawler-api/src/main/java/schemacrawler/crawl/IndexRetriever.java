@@ -301,9 +301,8 @@ final class IndexRetriever
     final Query indexesSql = informationSchemaViews.getIndexesSql();
     final Connection connection = getDatabaseConnection();
     try (final Statement statement = connection.createStatement();
-        final MetadataResultSet results = new MetadataResultSet(indexesSql,
-                                                                statement,
-                                                                getSchemaInclusionRule());)
+        final MetadataResultSet results = executeAgainstSchemas(indexesSql,
+                                                                statement);)
     {
       results.setDescription("retrieveIndexesFromDataDictionary");
       while (results.next())
@@ -412,9 +411,8 @@ final class IndexRetriever
     final Query pkSql = informationSchemaViews.getPrimaryKeysSql();
     final Connection connection = getDatabaseConnection();
     try (final Statement statement = connection.createStatement();
-        final MetadataResultSet results = new MetadataResultSet(pkSql,
-                                                                statement,
-                                                                getSchemaInclusionRule());)
+        final MetadataResultSet results = executeAgainstSchemas(pkSql,
+                                                                statement);)
     {
       results.setDescription("retrievePrimaryKeysFromDataDictionary");
       while (results.next())
@@ -30,7 +30,7 @@ package schemacrawler.crawl;
 
 
 import static java.util.Objects.requireNonNull;
-import static schemacrawler.utility.QueryUtility.executeAgainstSchema;
+import static schemacrawler.utility.QueryUtility.executeAgainstSchemas;
 import static sf.util.DatabaseUtility.logSQLWarnings;
 import static sf.util.Utility.enumValue;
 import static sf.util.Utility.enumValueFromId;
@@ -43,6 +43,7 @@ import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -50,8 +51,10 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.LongConsumer;
 import java.util.logging.Level;
 
+import schemacrawler.schema.Schema;
 import schemacrawler.schemacrawler.InclusionRule;
 import schemacrawler.utility.Query;
 import sf.util.IdentifiedEnum;
@@ -81,13 +84,26 @@ final class MetadataResultSet
   private Set<String> readColumns;
 
   private int rowCount;
+  private LongConsumer rowCountListener;
 
   MetadataResultSet(final Query query,
                     final Statement statement,
                     final InclusionRule schemaInclusionRule)
     throws SQLException
   {
-    this(executeAgainstSchema(query, statement, schemaInclusionRule));
+    this(query, statement, schemaInclusionRule, null);
+  }
+
+  MetadataResultSet(final Query query,
+                    final Statement statement,
+                    final InclusionRule schemaInclusionRule,
+                    final Collection<? extends Schema> schemas)
+    throws SQLException
+  {
+    this(executeAgainstSchemas(query,
+                               statement,
+                               schemaInclusionRule,
+                               schemas));
     if (query.hasName())
     {
       description = query.getName();
@@ -145,6 +161,11 @@ final class MetadataResultSet
   {
     results.close();
 
+    if (rowCountListener != null)
+    {
+      rowCountListener.accept(rowCount);
+    }
+
     if (LOGGER.isLoggable(Level.INFO) && !isBlank(description))
     {
       LOGGER.log(Level.INFO,
@@ -507,6 +528,18 @@ final class MetadataResultSet
     this.description = description;
   }
 
+  /**
+   * Sets a listener that is notified of the number of rows processed,
+   * when the results are closed.
+   *
+   * @param rowCountListener
+   *        Listener for the row count
+   */
+  void setRowCountListener(final LongConsumer rowCountListener)
+  {
+    this.rowCountListener = rowCountListener;
+  }
+
   private boolean useColumn(final String columnName)
   {
     final boolean useColumn = columnName != null
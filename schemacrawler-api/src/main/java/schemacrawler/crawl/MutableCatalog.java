@@ -501,9 +501,22 @@ final class MutableCatalog
     return routines.lookup(routineLookupKey);
   }
 
+  void setCrawlInfo(final ImmutableCrawlInfo crawlInfo)
+  {
+    this.crawlInfo = crawlInfo;
+  }
+
   void setCrawlInfo(final String title)
   {
     crawlInfo = new ImmutableCrawlInfo(jdbcDriverInfo, databaseInfo, title);
   }
 
+  void setDataDictionaryRowCount(final long dataDictionaryRowCount)
+  {
+    if (crawlInfo != null)
+    {
+      crawlInfo = new ImmutableCrawlInfo(crawlInfo, dataDictionaryRowCount);
+    }
+  }
+
 }
@@ -34,6 +34,7 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.SortedSet;
 import java.util.TreeSet;
+import java.util.function.UnaryOperator;
 
 import schemacrawler.schema.BaseForeignKey;
 import schemacrawler.schema.Column;
@@ -216,6 +217,29 @@ final class MutableForeignKey
     }
   }
 
+  /**
+   * Replaces the columns in the column references, such as partial
+   * columns that stand in for columns that were loaded separately.
+   */
+  void replaceColumns(final UnaryOperator<Column> replaceColumn)
+  {
+    final List<MutableForeignKeyColumnReference> replacedColumnReferences = new ArrayList<>();
+    for (final MutableForeignKeyColumnReference columnReference: columnReferences)
+    {
+      replacedColumnReferences
+        .add(new MutableForeignKeyColumnReference(columnReference
+          .getKeySequence(),
+                                                  replaceColumn
+                                                    .apply(columnReference
+                                                      .getPrimaryKeyColumn()),
+                                                  replaceColumn
+                                                    .apply(columnReference
+                                                      .getForeignKeyColumn())));
+    }
+    columnReferences.clear();
+    columnReferences.addAll(replacedColumnReferences);
+  }
+
   final void setDeferrability(final ForeignKeyDeferrability deferrability)
   {
     this.deferrability = deferrability;
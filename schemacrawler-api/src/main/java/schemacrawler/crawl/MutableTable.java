@@ -416,6 +416,11 @@ class MutableTable
     }
   }
 
+  final int getSortIndex()
+  {
+    return sortIndex;
+  }
+
   final void setSortIndex(final int sortIndex)
   {
     this.sortIndex = sortIndex;
@@ -0,0 +1,295 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2018, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+package schemacrawler.crawl;
+
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import schemacrawler.schema.Column;
+import schemacrawler.schema.DatabaseObject;
+import schemacrawler.schema.ForeignKey;
+import schemacrawler.schema.ForeignKeyColumnReference;
+import schemacrawler.schema.NamedObject;
+import schemacrawler.schema.PartialDatabaseObject;
+import schemacrawler.schema.Routine;
+
+/**
+ * Replaces partial tables, columns and routines with the database
+ * objects they stand in for, as database objects are loaded in
+ * batches, such as one schema at a time. Each batch is resolved once,
+ * against the objects loaded so far. References from earlier batches
+ * to objects that had not been loaded are remembered, and are linked
+ * when the objects that they reference are loaded. A foreign key is
+ * read once with each of its tables, so the copies are replaced with
+ * a single foreign key that is shared by both tables.
+ * <p>
+ * The resolver is not thread-safe.
+ *
+ * @author Sualeh Fatehi
+ */
+public final class PartialDatabaseObjectResolver
+{
+
+  /**
+   * Foreign keys are named within a table, so they are looked up by
+   * the table that contains the foreign key columns, as well as by
+   * name.
+   */
+  private static List<String> foreignKeyLookupKey(final ForeignKey foreignKey)
+  {
+    final List<String> lookupKey = new ArrayList<>(foreignKey
+      .toUniqueLookupKey());
+    if (!foreignKey.getColumnReferences().isEmpty())
+    {
+      lookupKey.addAll(foreignKey.getColumnReferences().get(0)
+        .getForeignKeyColumn().getParent().toUniqueLookupKey());
+    }
+    return lookupKey;
+  }
+
+  /**
+   * Partial routines do not carry a specific name, so routines are
+   * looked up by schema and name.
+   */
+  private static List<String> routineLookupKey(final Routine routine)
+  {
+    final List<String> lookupKey = new ArrayList<>(routine.getSchema()
+      .toUniqueLookupKey());
+    lookupKey.add(routine.getName());
+    return lookupKey;
+  }
+
+  private static void runLinks(final Map<List<String>, List<Runnable>> pendingLinks,
+                               final List<String> lookupKey)
+  {
+    final List<Runnable> links = pendingLinks.remove(lookupKey);
+    if (links != null)
+    {
+      for (final Runnable link: links)
+      {
+        link.run();
+      }
+    }
+  }
+
+  private final Map<List<String>, MutableTable> tables = new HashMap<>();
+  private final Map<List<String>, Routine> routines = new HashMap<>();
+  private final Map<List<String>, MutableForeignKey> foreignKeys = new HashMap<>();
+  private final Map<List<String>, List<Runnable>> pendingTableLinks = new HashMap<>();
+  private final Map<List<String>, List<Runnable>> pendingRoutineLinks = new HashMap<>();
+
+  /**
+   * Resolves partial objects in a batch of loaded database objects,
+   * and links database objects from earlier batches to the tables and
+   * routines in this batch.
+   *
+   * @param databaseObjects
+   *        Loaded tables, routines, sequences and synonyms
+   */
+  public void resolvePartials(final Collection<? extends NamedObject> databaseObjects)
+  {
+    requireNonNull(databaseObjects, "No database objects provided");
+
+    final List<MutableTable> loadedTables = new ArrayList<>();
+    final List<List<String>> loadedRoutineKeys = new ArrayList<>();
+    for (final NamedObject databaseObject: databaseObjects)
+    {
+      if (databaseObject instanceof MutableTable)
+      {
+        final MutableTable table = (MutableTable) databaseObject;
+        tables.put(table.toUniqueLookupKey(), table);
+        loadedTables.add(table);
+      }
+      else if (databaseObject instanceof Routine)
+      {
+        final List<String> routineLookupKey = routineLookupKey((Routine) databaseObject);
+        if (routines.putIfAbsent(routineLookupKey,
+                                 (Routine) databaseObject) == null)
+        {
+          loadedRoutineKeys.add(routineLookupKey);
+        }
+      }
+    }
+
+    for (final MutableTable table: loadedTables)
+    {
+      final List<Column> columns = new ArrayList<>(table.getColumns());
+      columns.addAll(table.getHiddenColumns());
+      for (final Column column: columns)
+      {
+        linkReferencedColumn((MutableColumn) column);
+      }
+
+      for (final ForeignKey foreignKey: table.getForeignKeys())
+      {
+        final MutableForeignKey mutableForeignKey = (MutableForeignKey) foreignKey;
+        final List<String> foreignKeyLookupKey = foreignKeyLookupKey(mutableForeignKey);
+        final MutableForeignKey resolvedForeignKey = foreignKeys
+          .get(foreignKeyLookupKey);
+        if (resolvedForeignKey == null)
+        {
+          foreignKeys.put(foreignKeyLookupKey, mutableForeignKey);
+          linkForeignKeyColumns(mutableForeignKey);
+        }
+        else if (resolvedForeignKey != mutableForeignKey)
+        {
+          table.addForeignKey(resolvedForeignKey);
+        }
+      }
+    }
+
+    for (final NamedObject databaseObject: databaseObjects)
+    {
+      if (databaseObject instanceof MutableSynonym)
+      {
+        linkReferencedObject((MutableSynonym) databaseObject);
+      }
+    }
+
+    // Link objects from earlier batches that reference the tables and
+    // routines in this batch
+    for (final MutableTable table: loadedTables)
+    {
+      runLinks(pendingTableLinks, table.toUniqueLookupKey());
+    }
+    for (final List<String> routineLookupKey: loadedRoutineKeys)
+    {
+      runLinks(pendingRoutineLinks, routineLookupKey);
+    }
+  }
+
+  /**
+   * Remembers a link to be made when a table that is referenced by a
+   * partial column is loaded.
+   *
+   * @return Whether the link was deferred
+   */
+  private boolean deferLink(final Column column, final Runnable link)
+  {
+    if (!(column instanceof PartialDatabaseObject))
+    {
+      return false;
+    }
+    final List<String> tableLookupKey = column.getParent()
+      .toUniqueLookupKey();
+    if (tables.containsKey(tableLookupKey))
+    {
+      return false;
+    }
+    pendingTableLinks.computeIfAbsent(tableLookupKey, key -> new ArrayList<>())
+      .add(link);
+    return true;
+  }
+
+  private void linkForeignKeyColumns(final MutableForeignKey foreignKey)
+  {
+    foreignKey.replaceColumns(this::resolveColumn);
+    for (final ForeignKeyColumnReference columnReference: foreignKey
+      .getColumnReferences())
+    {
+      final Runnable link = () -> linkForeignKeyColumns(foreignKey);
+      if (deferLink(columnReference.getPrimaryKeyColumn(), link)
+          || deferLink(columnReference.getForeignKeyColumn(), link))
+      {
+        break;
+      }
+    }
+  }
+
+  private void linkReferencedColumn(final MutableColumn column)
+  {
+    final Column referencedColumn = column.getReferencedColumn();
+    if (referencedColumn == null)
+    {
+      return;
+    }
+    final Column resolvedColumn = resolveColumn(referencedColumn);
+    column.setReferencedColumn(resolvedColumn);
+    deferLink(resolvedColumn, () -> linkReferencedColumn(column));
+  }
+
+  private void linkReferencedObject(final MutableSynonym synonym)
+  {
+    final DatabaseObject referencedObject = synonym.getReferencedObject();
+    if (referencedObject instanceof TablePartial)
+    {
+      final List<String> tableLookupKey = referencedObject
+        .toUniqueLookupKey();
+      final MutableTable table = tables.get(tableLookupKey);
+      if (table != null)
+      {
+        synonym.setReferencedObject(table);
+      }
+      else
+      {
+        pendingTableLinks
+          .computeIfAbsent(tableLookupKey, key -> new ArrayList<>())
+          .add(() -> linkReferencedObject(synonym));
+      }
+    }
+    else if (referencedObject instanceof Routine
+             && referencedObject instanceof PartialDatabaseObject)
+    {
+      final List<String> routineLookupKey = routineLookupKey((Routine) referencedObject);
+      final Routine routine = routines.get(routineLookupKey);
+      if (routine != null)
+      {
+        synonym.setReferencedObject(routine);
+      }
+      else
+      {
+        pendingRoutineLinks
+          .computeIfAbsent(routineLookupKey, key -> new ArrayList<>())
+          .add(() -> linkReferencedObject(synonym));
+      }
+    }
+  }
+
+  private Column resolveColumn(final Column column)
+  {
+    if (!(column instanceof PartialDatabaseObject))
+    {
+      return column;
+    }
+    final MutableTable table = tables
+      .get(column.getParent().toUniqueLookupKey());
+    if (table == null)
+    {
+      return column;
+    }
+    return table.lookupColumn(column.getName()).<Column> map(c -> c)
+      .orElse(column);
+  }
+
+}
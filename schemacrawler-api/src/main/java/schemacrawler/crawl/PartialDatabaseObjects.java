@@ -0,0 +1,143 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2018, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+package schemacrawler.crawl;
+
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.Collection;
+
+import schemacrawler.schema.Column;
+import schemacrawler.schema.Function;
+import schemacrawler.schema.NamedObject;
+import schemacrawler.schema.PartialDatabaseObject;
+import schemacrawler.schema.Procedure;
+import schemacrawler.schema.Routine;
+import schemacrawler.schema.Table;
+
+/**
+ * Creates partial database objects, which stand in for objects that
+ * were not loaded, such as tables in schemas that were not crawled.
+ * Partial objects only carry the name, schema and attributes of the
+ * object they stand in for.
+ *
+ * @author Sualeh Fatehi
+ */
+public final class PartialDatabaseObjects
+{
+
+  /**
+   * Creates a partial column, with a partial parent table.
+   *
+   * @param column
+   *        Column to stand in for
+   * @return Partial column
+   */
+  public static Column newColumnPartial(final Column column)
+  {
+    requireNonNull(column, "No column provided");
+    if (column instanceof PartialDatabaseObject)
+    {
+      return column;
+    }
+    final Table parent = newTablePartial(column.getParent());
+    final ColumnPartial columnPartial = new ColumnPartial(parent,
+                                                          column.getName());
+    columnPartial.addAttributes(column.getAttributes());
+    return columnPartial;
+  }
+
+  /**
+   * Creates a partial function or procedure.
+   *
+   * @param routine
+   *        Routine to stand in for
+   * @return Partial routine
+   */
+  public static Routine newRoutinePartial(final Routine routine)
+  {
+    requireNonNull(routine, "No routine provided");
+    if (routine instanceof PartialDatabaseObject)
+    {
+      return routine;
+    }
+    else if (routine instanceof Function)
+    {
+      return new FunctionPartial((Function) routine);
+    }
+    else if (routine instanceof Procedure)
+    {
+      return new ProcedurePartial((Procedure) routine);
+    }
+    else
+    {
+      throw new IllegalArgumentException("Unknown routine type, "
+                                         + routine.getRoutineType());
+    }
+  }
+
+  /**
+   * Creates a partial table.
+   *
+   * @param table
+   *        Table to stand in for
+   * @return Partial table
+   */
+  public static Table newTablePartial(final Table table)
+  {
+    requireNonNull(table, "No table provided");
+    if (table instanceof PartialDatabaseObject)
+    {
+      return table;
+    }
+    return new TablePartial(table);
+  }
+
+  /**
+   * Replaces partial tables, columns and routines with the database
+   * objects they stand in for, if those objects were loaded. Database
+   * objects that are read separately, such as from snapshot records,
+   * refer to each other through partial objects. A foreign key is read
+   * once with each of its tables, so the copies are replaced with a
+   * single foreign key that is shared by both tables.
+   *
+   * @param databaseObjects
+   *        Loaded tables, routines, sequences and synonyms
+   * @see PartialDatabaseObjectResolver
+   */
+  public static void resolvePartials(final Collection<? extends NamedObject> databaseObjects)
+  {
+    new PartialDatabaseObjectResolver().resolvePartials(databaseObjects);
+  }
+
+  private PartialDatabaseObjects()
+  {
+    // Prevent instantiation
+  }
+
+}
@@ -35,6 +35,7 @@ import static sf.util.DatabaseUtility.checkConnection;
 import java.sql.Connection;
 import java.sql.DatabaseMetaData;
 import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.logging.Level;
 
 import schemacrawler.schemacrawler.InformationSchemaViews;
@@ -61,6 +62,7 @@ final class RetrieverConnection
   private final SchemaRetrievalOptions schemaRetrievalOptions;
   private final TableTypes tableTypes;
   private final JavaSqlTypes javaSqlTypes;
+  private final AtomicLong dataDictionaryRowCount;
 
   RetrieverConnection(final Connection connection,
                       final SchemaRetrievalOptions schemaRetrievalOptions)
@@ -79,6 +81,7 @@ final class RetrieverConnection
                new StringFormat("Supported table types are <%s>", tableTypes));
 
     javaSqlTypes = new JavaSqlTypes();
+    dataDictionaryRowCount = new AtomicLong();
   }
 
   public MetadataRetrievalStrategy getForeignKeyRetrievalStrategy()
@@ -111,11 +114,34 @@ final class RetrieverConnection
     return schemaRetrievalOptions.getTableRetrievalStrategy();
   }
 
+  /**
+   * Accumulates the number of rows transferred by data dictionary
+   * queries.
+   *
+   * @param rowCount
+   *        Number of rows processed by a query
+   */
+  void addDataDictionaryRowCount(final long rowCount)
+  {
+    dataDictionaryRowCount.addAndGet(rowCount);
+  }
+
   Connection getConnection()
   {
     return connection;
   }
 
+  /**
+   * Gets the total number of rows transferred by data dictionary
+   * queries, so far.
+   *
+   * @return Number of rows
+   */
+  long getDataDictionaryRowCount()
+  {
+    return dataDictionaryRowCount.get();
+  }
+
   /**
    * Gets the INFORMATION_SCHEMA views select SQL statements.
    *
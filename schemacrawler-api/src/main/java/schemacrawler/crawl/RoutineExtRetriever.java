@@ -89,9 +89,8 @@ final class RoutineExtRetriever
     final Query routineDefinitionsSql = informationSchemaViews.getRoutinesSql();
     final Connection connection = getDatabaseConnection();
     try (final Statement statement = connection.createStatement();
-        final MetadataResultSet results = new MetadataResultSet(routineDefinitionsSql,
-                                                                statement,
-                                                                getSchemaInclusionRule());)
+        final MetadataResultSet results = executeAgainstSchemas(routineDefinitionsSql,
+                                                                statement);)
     {
       while (results.next())
       {
@@ -32,9 +32,11 @@ package schemacrawler.crawl;
 import static java.util.Objects.requireNonNull;
 import static sf.util.Utility.isBlank;
 
+import java.sql.Connection;
 import java.sql.DatabaseMetaData;
 import java.sql.SQLException;
 import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
 import java.util.Arrays;
 import java.util.Optional;
 import java.util.logging.Level;
@@ -51,8 +53,10 @@ import schemacrawler.schema.ProcedureReturnType;
 import schemacrawler.schema.Schema;
 import schemacrawler.schema.SchemaReference;
 import schemacrawler.schemacrawler.InclusionRule;
+import schemacrawler.schemacrawler.InformationSchemaViews;
 import schemacrawler.schemacrawler.SchemaCrawlerOptions;
 import schemacrawler.schemacrawler.SchemaCrawlerSQLException;
+import schemacrawler.utility.Query;
 import sf.util.SchemaCrawlerLogger;
 import sf.util.StringFormat;
 
@@ -119,33 +123,7 @@ final class RoutineRetriever
             continue;
           }
 
-          LOGGER.log(Level.FINE,
-                     new StringFormat("Retrieving function column: %s.%s",
-                                      function.getFullName(),
-                                      columnName));
-
-          final FunctionColumnType columnType = results
-            .getEnumFromShortId("COLUMN_TYPE", FunctionColumnType.unknown);
-          final int dataType = results.getInt("DATA_TYPE", 0);
-          final String typeName = results.getString("TYPE_NAME");
-          final int length = results.getInt("LENGTH", 0);
-          final int precision = results.getInt("PRECISION", 0);
-          final boolean isNullable = results
-            .getShort("NULLABLE",
-                      (short) DatabaseMetaData.functionNullableUnknown) == (short) DatabaseMetaData.functionNullable;
-          final String remarks = results.getString("REMARKS");
-          column.setOrdinalPosition(ordinalNumber++);
-          column.setFunctionColumnType(columnType);
-          column.setColumnDataType(lookupOrCreateColumnDataType(function
-            .getSchema(), dataType, typeName));
-          column.setSize(length);
-          column.setPrecision(precision);
-          column.setNullable(isNullable);
-          column.setRemarks(remarks);
-
-          column.addAttributes(results.getAttributes());
-
-          function.addColumn(column);
+          createFunctionColumn(results, function, column, ordinalNumber++);
         }
       }
     }
@@ -164,6 +142,48 @@ final class RoutineRetriever
 
   }
 
+  void retrieveFunctionColumns(final NamedObjectList<MutableRoutine> allRoutines,
+                               final InclusionRule columnInclusionRule)
+    throws SQLException
+  {
+    requireNonNull(allRoutines, "No functions provided");
+
+    final InformationSchemaViews informationSchemaViews = getRetrieverConnection()
+      .getInformationSchemaViews();
+    final MetadataRetrievalStrategy functionRetrievalStrategy = getRetrieverConnection()
+      .getFunctionRetrievalStrategy();
+    if (functionRetrievalStrategy == MetadataRetrievalStrategy.data_dictionary_all
+        && informationSchemaViews.hasFunctionColumnsSql())
+    {
+      final InclusionRuleFilter<FunctionColumn> columnFilter = new InclusionRuleFilter<>(columnInclusionRule,
+                                                                                         true);
+      if (columnFilter.isExcludeAll())
+      {
+        LOGGER
+          .log(Level.INFO,
+               "Not retrieving function columns, since this was not requested");
+        return;
+      }
+
+      LOGGER
+        .log(Level.INFO,
+             "Retrieving function columns, using fast data dictionary retrieval");
+      retrieveFunctionColumnsFromDataDictionary(informationSchemaViews,
+                                                columnFilter);
+    }
+    else
+    {
+      for (final MutableRoutine routine: allRoutines)
+      {
+        if (routine instanceof MutableFunction)
+        {
+          retrieveFunctionColumns((MutableFunction) routine,
+                                  columnInclusionRule);
+        }
+      }
+    }
+  }
+
   void retrieveFunctions(final NamedObjectList<SchemaReference> schemas,
                          final InclusionRule routineInclusionRule)
     throws SQLException
@@ -250,33 +270,7 @@ final class RoutineRetriever
             continue;
           }
 
-          LOGGER.log(Level.FINE,
-                     new StringFormat("Retrieving procedure column: %s.%s",
-                                      procedure.getFullName(),
-                                      columnName));
-
-          final ProcedureColumnType columnType = results
-            .getEnumFromShortId("COLUMN_TYPE", ProcedureColumnType.unknown);
-          final int dataType = results.getInt("DATA_TYPE", 0);
-          final String typeName = results.getString("TYPE_NAME");
-          final int length = results.getInt("LENGTH", 0);
-          final int precision = results.getInt("PRECISION", 0);
-          final boolean isNullable = results
-            .getShort("NULLABLE",
-                      (short) DatabaseMetaData.procedureNullableUnknown) == (short) DatabaseMetaData.procedureNullable;
-          final String remarks = results.getString("REMARKS");
-          column.setOrdinalPosition(ordinalNumber++);
-          column.setProcedureColumnType(columnType);
-          column.setColumnDataType(lookupOrCreateColumnDataType(procedure
-            .getSchema(), dataType, typeName));
-          column.setSize(length);
-          column.setPrecision(precision);
-          column.setNullable(isNullable);
-          column.setRemarks(remarks);
-
-          column.addAttributes(results.getAttributes());
-
-          procedure.addColumn(column);
+          createProcedureColumn(results, procedure, column, ordinalNumber++);
         }
       }
     }
@@ -289,6 +283,48 @@ final class RoutineRetriever
 
   }
 
+  void retrieveProcedureColumns(final NamedObjectList<MutableRoutine> allRoutines,
+                                final InclusionRule columnInclusionRule)
+    throws SQLException
+  {
+    requireNonNull(allRoutines, "No procedures provided");
+
+    final InformationSchemaViews informationSchemaViews = getRetrieverConnection()
+      .getInformationSchemaViews();
+    final MetadataRetrievalStrategy procedureRetrievalStrategy = getRetrieverConnection()
+      .getProcedureRetrievalStrategy();
+    if (procedureRetrievalStrategy == MetadataRetrievalStrategy.data_dictionary_all
+        && informationSchemaViews.hasProcedureColumnsSql())
+    {
+      final InclusionRuleFilter<ProcedureColumn> columnFilter = new InclusionRuleFilter<>(columnInclusionRule,
+                                                                                          true);
+      if (columnFilter.isExcludeAll())
+      {
+        LOGGER
+          .log(Level.INFO,
+               "Not retrieving procedure columns, since this was not requested");
+        return;
+      }
+
+      LOGGER
+        .log(Level.INFO,
+             "Retrieving procedure columns, using fast data dictionary retrieval");
+      retrieveProcedureColumnsFromDataDictionary(informationSchemaViews,
+                                                 columnFilter);
+    }
+    else
+    {
+      for (final MutableRoutine routine: allRoutines)
+      {
+        if (routine instanceof MutableProcedure)
+        {
+          retrieveProcedureColumns((MutableProcedure) routine,
+                                   columnInclusionRule);
+        }
+      }
+    }
+  }
+
   void retrieveProcedures(final NamedObjectList<SchemaReference> schemas,
                           final InclusionRule routineInclusionRule)
     throws SQLException
@@ -378,6 +414,41 @@ final class RoutineRetriever
     }
   }
 
+  private void createFunctionColumn(final MetadataResultSet results,
+                                    final MutableFunction function,
+                                    final MutableFunctionColumn column,
+                                    final int ordinalNumber)
+  {
+    LOGGER.log(Level.FINE,
+               new StringFormat("Retrieving function column: %s.%s",
+                                function.getFullName(),
+                                column.getName()));
+
+    final FunctionColumnType columnType = results
+      .getEnumFromShortId("COLUMN_TYPE", FunctionColumnType.unknown);
+    final int dataType = results.getInt("DATA_TYPE", 0);
+    final String typeName = results.getString("TYPE_NAME");
+    final int length = results.getInt("LENGTH", 0);
+    final int precision = results.getInt("PRECISION", 0);
+    final boolean isNullable = results
+      .getShort("NULLABLE",
+                (short) DatabaseMetaData.functionNullableUnknown) == (short) DatabaseMetaData.functionNullable;
+    final String remarks = results.getString("REMARKS");
+    column.setOrdinalPosition(ordinalNumber);
+    column.setFunctionColumnType(columnType);
+    column.setColumnDataType(lookupOrCreateColumnDataType(function.getSchema(),
+                                                          dataType,
+                                                          typeName));
+    column.setSize(length);
+    column.setPrecision(precision);
+    column.setNullable(isNullable);
+    column.setRemarks(remarks);
+
+    column.addAttributes(results.getAttributes());
+
+    function.addColumn(column);
+  }
+
   private void createProcedure(final MetadataResultSet results,
                                final NamedObjectList<SchemaReference> schemas,
                                final InclusionRuleFilter<Procedure> procedureFilter)
@@ -422,12 +493,128 @@ final class RoutineRetriever
     }
   }
 
+  private void createProcedureColumn(final MetadataResultSet results,
+                                     final MutableProcedure procedure,
+                                     final MutableProcedureColumn column,
+                                     final int ordinalNumber)
+  {
+    LOGGER.log(Level.FINE,
+               new StringFormat("Retrieving procedure column: %s.%s",
+                                procedure.getFullName(),
+                                column.getName()));
+
+    final ProcedureColumnType columnType = results
+      .getEnumFromShortId("COLUMN_TYPE", ProcedureColumnType.unknown);
+    final int dataType = results.getInt("DATA_TYPE", 0);
+    final String typeName = results.getString("TYPE_NAME");
+    final int length = results.getInt("LENGTH", 0);
+    final int precision = results.getInt("PRECISION", 0);
+    final boolean isNullable = results
+      .getShort("NULLABLE",
+                (short) DatabaseMetaData.procedureNullableUnknown) == (short) DatabaseMetaData.procedureNullable;
+    final String remarks = results.getString("REMARKS");
+    column.setOrdinalPosition(ordinalNumber);
+    column.setProcedureColumnType(columnType);
+    column.setColumnDataType(lookupOrCreateColumnDataType(procedure.getSchema(),
+                                                          dataType,
+                                                          typeName));
+    column.setSize(length);
+    column.setPrecision(precision);
+    column.setNullable(isNullable);
+    column.setRemarks(remarks);
+
+    column.addAttributes(results.getAttributes());
+
+    procedure.addColumn(column);
+  }
+
+  private void retrieveFunctionColumnsFromDataDictionary(final InformationSchemaViews informationSchemaViews,
+                                                         final InclusionRuleFilter<FunctionColumn> columnFilter)
+    throws SchemaCrawlerSQLException
+  {
+    final Query functionColumnsSql = informationSchemaViews
+      .getFunctionColumnsSql();
+    final Connection connection = getDatabaseConnection();
+    try (final Statement statement = connection.createStatement();
+        final MetadataResultSet results = executeAgainstSchemas(functionColumnsSql,
+                                                                statement);)
+    {
+      results.setDescription("retrieveFunctionColumnsFromDataDictionary");
+      while (results.next())
+      {
+        final String catalogName = normalizeCatalogName(results
+          .getString("FUNCTION_CAT"));
+        final String schemaName = normalizeSchemaName(results
+          .getString("FUNCTION_SCHEM"));
+        final String functionName = results.getString("FUNCTION_NAME");
+        final String columnName = results.getString("COLUMN_NAME");
+        final String specificName = results.getString("SPECIFIC_NAME");
+
+        final Optional<MutableRoutine> optionalRoutine = lookupRoutine(catalogName,
+                                                                       schemaName,
+                                                                       functionName,
+                                                                       specificName);
+        if (!optionalRoutine.isPresent()
+            || !(optionalRoutine.get() instanceof MutableFunction))
+        {
+          continue;
+        }
+        final MutableFunction function = (MutableFunction) optionalRoutine
+          .get();
+
+        final MutableFunctionColumn column = new MutableFunctionColumn(function,
+                                                                       columnName);
+        if (columnFilter.test(column))
+        {
+          createFunctionColumn(results,
+                               function,
+                               column,
+                               function.getColumns().size());
+        }
+      }
+    }
+    catch (final SQLException e)
+    {
+      throw new SchemaCrawlerSQLException("Could not retrieve function columns from SQL:\n"
+                                          + functionColumnsSql,
+                                          e);
+    }
+  }
+
   private void retrieveFunctionsFromDataDictionary(final NamedObjectList<SchemaReference> schemas,
                                                    final InclusionRuleFilter<Function> functionFilter)
+    throws SchemaCrawlerSQLException
   {
-    LOGGER
-      .log(Level.CONFIG,
-           "Not retrieving functions, since retrieval from data dictionary is not supported");
+    final InformationSchemaViews informationSchemaViews = getRetrieverConnection()
+      .getInformationSchemaViews();
+    if (!informationSchemaViews.hasFunctionsSql())
+    {
+      LOGGER.log(Level.FINE, "Functions SQL statement was not provided");
+      return;
+    }
+
+    final Query functionsSql = informationSchemaViews.getFunctionsSql();
+    final Connection connection = getDatabaseConnection();
+    try (final Statement statement = connection.createStatement();
+        final MetadataResultSet results = executeAgainstSchemas(functionsSql,
+                                                                statement);)
+    {
+      results.setDescription("retrieveFunctionsFromDataDictionary");
+      int numFunctions = 0;
+      while (results.next())
+      {
+        numFunctions = numFunctions + 1;
+        createFunction(results, schemas, functionFilter);
+      }
+      LOGGER.log(Level.INFO,
+                 new StringFormat("Processed %d functions", numFunctions));
+    }
+    catch (final SQLException e)
+    {
+      throw new SchemaCrawlerSQLException("Could not retrieve functions from SQL:\n"
+                                          + functionsSql,
+                                          e);
+    }
   }
 
   private void retrieveFunctionsFromMetadata(final NamedObjectList<SchemaReference> schemas,
@@ -497,13 +684,93 @@ final class RoutineRetriever
     }
   }
 
+  private void retrieveProcedureColumnsFromDataDictionary(final InformationSchemaViews informationSchemaViews,
+                                                          final InclusionRuleFilter<ProcedureColumn> columnFilter)
+    throws SchemaCrawlerSQLException
+  {
+    final Query procedureColumnsSql = informationSchemaViews
+      .getProcedureColumnsSql();
+    final Connection connection = getDatabaseConnection();
+    try (final Statement statement = connection.createStatement();
+        final MetadataResultSet results = executeAgainstSchemas(procedureColumnsSql,
+                                                                statement);)
+    {
+      results.setDescription("retrieveProcedureColumnsFromDataDictionary");
+      while (results.next())
+      {
+        final String catalogName = normalizeCatalogName(results
+          .getString("PROCEDURE_CAT"));
+        final String schemaName = normalizeSchemaName(results
+          .getString("PROCEDURE_SCHEM"));
+        final String procedureName = results.getString("PROCEDURE_NAME");
+        final String columnName = results.getString("COLUMN_NAME");
+        final String specificName = results.getString("SPECIFIC_NAME");
+
+        final Optional<MutableRoutine> optionalRoutine = lookupRoutine(catalogName,
+                                                                       schemaName,
+                                                                       procedureName,
+                                                                       specificName);
+        if (!optionalRoutine.isPresent()
+            || !(optionalRoutine.get() instanceof MutableProcedure))
+        {
+          continue;
+        }
+        final MutableProcedure procedure = (MutableProcedure) optionalRoutine
+          .get();
+
+        final MutableProcedureColumn column = new MutableProcedureColumn(procedure,
+                                                                         columnName);
+        if (columnFilter.test(column))
+        {
+          createProcedureColumn(results,
+                                procedure,
+                                column,
+                                procedure.getColumns().size());
+        }
+      }
+    }
+    catch (final SQLException e)
+    {
+      throw new SchemaCrawlerSQLException("Could not retrieve procedure columns from SQL:\n"
+                                          + procedureColumnsSql,
+                                          e);
+    }
+  }
+
   private void retrieveProceduresFromDataDictionary(final NamedObjectList<SchemaReference> schemas,
                                                     final InclusionRuleFilter<Procedure> procedureFilter)
+    throws SchemaCrawlerSQLException
   {
-    LOGGER
-      .log(Level.CONFIG,
-           "Not retrieving procedures, since retrieval from the data dictionary is not supported");
+    final InformationSchemaViews informationSchemaViews = getRetrieverConnection()
+      .getInformationSchemaViews();
+    if (!informationSchemaViews.hasProceduresSql())
+    {
+      LOGGER.log(Level.FINE, "Procedures SQL statement was not provided");
+      return;
+    }
 
+    final Query proceduresSql = informationSchemaViews.getProceduresSql();
+    final Connection connection = getDatabaseConnection();
+    try (final Statement statement = connection.createStatement();
+        final MetadataResultSet results = executeAgainstSchemas(proceduresSql,
+                                                                statement);)
+    {
+      results.setDescription("retrieveProceduresFromDataDictionary");
+      int numProcedures = 0;
+      while (results.next())
+      {
+        numProcedures = numProcedures + 1;
+        createProcedure(results, schemas, procedureFilter);
+      }
+      LOGGER.log(Level.INFO,
+                 new StringFormat("Processed %d procedures", numProcedures));
+    }
+    catch (final SQLException e)
+    {
+      throw new SchemaCrawlerSQLException("Could not retrieve procedures from SQL:\n"
+                                          + proceduresSql,
+                                          e);
+    }
   }
 
   private void retrieveProceduresFromMetadata(final NamedObjectList<SchemaReference> schemas,
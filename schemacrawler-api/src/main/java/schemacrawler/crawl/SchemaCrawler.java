@@ -278,28 +278,20 @@ public final class SchemaCrawler
       }
 
       stopWatch.time("retrieveRoutineColumns", () -> {
-        LOGGER.log(Level.INFO, "Retrieving routine columns");
-        for (final MutableRoutine routine: allRoutines)
+        if (infoLevel.isRetrieveRoutineColumns())
         {
-          if (infoLevel.isRetrieveRoutineColumns())
+          LOGGER.log(Level.INFO, "Retrieving routine columns");
+          if (routineTypes.contains(RoutineType.procedure))
           {
-            if (routine instanceof MutableProcedure
-                && routineTypes.contains(RoutineType.procedure))
-            {
-              retriever
-                .retrieveProcedureColumns((MutableProcedure) routine,
-                                          options
-                                            .getRoutineColumnInclusionRule());
-            }
-
-            if (routine instanceof MutableFunction
-                && routineTypes.contains(RoutineType.function))
-            {
-              retriever
-                .retrieveFunctionColumns((MutableFunction) routine,
-                                         options
-                                           .getRoutineColumnInclusionRule());
-            }
+            retriever.retrieveProcedureColumns(allRoutines,
+                                               options
+                                                 .getRoutineColumnInclusionRule());
+          }
+          if (routineTypes.contains(RoutineType.function))
+          {
+            retriever.retrieveFunctionColumns(allRoutines,
+                                              options
+                                                .getRoutineColumnInclusionRule());
           }
         }
         return null;
@@ -762,6 +754,13 @@ public final class SchemaCrawler
       crawlSynonyms(catalog, retrieverConnection, schemaCrawlerOptions);
       crawlSequences(catalog, retrieverConnection, schemaCrawlerOptions);
 
+      final long dataDictionaryRowCount = retrieverConnection
+        .getDataDictionaryRowCount();
+      catalog.setDataDictionaryRowCount(dataDictionaryRowCount);
+      LOGGER.log(Level.INFO,
+                 new StringFormat("Processed %d rows from data dictionary queries",
+                                  dataDictionaryRowCount));
+
       return catalog;
     }
     catch (final SQLException e)
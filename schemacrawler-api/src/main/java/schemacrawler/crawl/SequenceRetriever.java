@@ -106,9 +106,8 @@ final class SequenceRetriever
     final Connection connection = getDatabaseConnection();
 
     try (final Statement statement = connection.createStatement();
-        final MetadataResultSet results = new MetadataResultSet(sequencesDefinitionSql,
-                                                                statement,
-                                                                getSchemaInclusionRule());)
+        final MetadataResultSet results = executeAgainstSchemas(sequencesDefinitionSql,
+                                                                statement);)
     {
       while (results.next())
       {
@@ -106,9 +106,8 @@ final class SynonymRetriever
     final Query synonymsDefinitionSql = informationSchemaViews.getSynonymsSql();
     final Connection connection = getDatabaseConnection();
     try (final Statement statement = connection.createStatement();
-        MetadataResultSet results = new MetadataResultSet(synonymsDefinitionSql,
-                                                          statement,
-                                                          getSchemaInclusionRule());)
+        MetadataResultSet results = executeAgainstSchemas(synonymsDefinitionSql,
+                                                          statement);)
     {
       while (results.next())
       {
@@ -262,9 +262,8 @@ final class TableColumnRetriever
     final Query tableColumnsSql = informationSchemaViews.getTableColumnsSql();
     final Connection connection = getDatabaseConnection();
     try (final Statement statement = connection.createStatement();
-        final MetadataResultSet results = new MetadataResultSet(tableColumnsSql,
-                                                                statement,
-                                                                getSchemaInclusionRule());)
+        final MetadataResultSet results = executeAgainstSchemas(tableColumnsSql,
+                                                                statement);)
     {
       results.setDescription("retrieveColumnsFromDataDictionary");
       while (results.next())
@@ -335,9 +334,8 @@ final class TableColumnRetriever
       .getExtHiddenTableColumnsSql();
     final Connection connection = getDatabaseConnection();
     try (final Statement statement = connection.createStatement();
-        final MetadataResultSet results = new MetadataResultSet(hiddenColumnsSql,
-                                                                statement,
-                                                                getSchemaInclusionRule());)
+        final MetadataResultSet results = executeAgainstSchemas(hiddenColumnsSql,
+                                                                statement);)
     {
       results.setDescription("retrieveHiddenColumns");
       while (results.next())
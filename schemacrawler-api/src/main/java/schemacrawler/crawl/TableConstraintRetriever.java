@@ -95,9 +95,8 @@ final class TableConstraintRetriever
 
     // Get check constraint definitions
     try (final Statement statement = connection.createStatement();
-        final MetadataResultSet results = new MetadataResultSet(extTableConstraintInformationSql,
-                                                                statement,
-                                                                getSchemaInclusionRule());)
+        final MetadataResultSet results = executeAgainstSchemas(extTableConstraintInformationSql,
+                                                                statement);)
     {
       while (results.next())
       {
@@ -173,9 +172,8 @@ final class TableConstraintRetriever
     final Query tableConstraintsInformationSql = informationSchemaViews
       .getTableConstraintsSql();
     try (final Statement statement = connection.createStatement();
-        final MetadataResultSet results = new MetadataResultSet(tableConstraintsInformationSql,
-                                                                statement,
-                                                                getSchemaInclusionRule());)
+        final MetadataResultSet results = executeAgainstSchemas(tableConstraintsInformationSql,
+                                                                statement);)
     {
 
       while (results.next())
@@ -253,9 +251,8 @@ final class TableConstraintRetriever
       .getTableConstraintsColumnsSql();
 
     try (final Statement statement = connection.createStatement();
-        final MetadataResultSet results = new MetadataResultSet(tableConstraintsColumnsInformationSql,
-                                                                statement,
-                                                                getSchemaInclusionRule());)
+        final MetadataResultSet results = executeAgainstSchemas(tableConstraintsColumnsInformationSql,
+                                                                statement);)
     {
       while (results.next())
       {
@@ -98,9 +98,8 @@ final class TableExtRetriever
 
     final Connection connection = getDatabaseConnection();
     try (final Statement statement = connection.createStatement();
-        final MetadataResultSet results = new MetadataResultSet(columnAttributesSql,
-                                                                statement,
-                                                                getSchemaInclusionRule());)
+        final MetadataResultSet results = executeAgainstSchemas(columnAttributesSql,
+                                                                statement);)
     {
 
       while (results.next())
@@ -181,9 +180,8 @@ final class TableExtRetriever
 
     final Connection connection = getDatabaseConnection();
     try (final Statement statement = connection.createStatement();
-        final MetadataResultSet results = new MetadataResultSet(tableAttributesSql,
-                                                                statement,
-                                                                getSchemaInclusionRule());)
+        final MetadataResultSet results = executeAgainstSchemas(tableAttributesSql,
+                                                                statement);)
     {
 
       while (results.next())
@@ -251,9 +249,8 @@ final class TableExtRetriever
       .getExtIndexColumnsSql();
     final Connection connection = getDatabaseConnection();
     try (final Statement statement = connection.createStatement();
-        final MetadataResultSet results = new MetadataResultSet(extIndexColumnsInformationSql,
-                                                                statement,
-                                                                getSchemaInclusionRule());)
+        final MetadataResultSet results = executeAgainstSchemas(extIndexColumnsInformationSql,
+                                                                statement);)
     {
 
       while (results.next())
@@ -362,9 +359,8 @@ final class TableExtRetriever
       .getExtIndexesSql();
     final Connection connection = getDatabaseConnection();
     try (final Statement statement = connection.createStatement();
-        final MetadataResultSet results = new MetadataResultSet(extIndexesInformationSql,
-                                                                statement,
-                                                                getSchemaInclusionRule());)
+        final MetadataResultSet results = executeAgainstSchemas(extIndexesInformationSql,
+                                                                statement);)
     {
 
       while (results.next())
@@ -454,9 +450,8 @@ final class TableExtRetriever
       .getExtPrimaryKeysSql();
 
     try (final Statement statement = connection.createStatement();
-        final MetadataResultSet results = new MetadataResultSet(extPrimaryKeysSql,
-                                                                statement,
-                                                                getSchemaInclusionRule());)
+        final MetadataResultSet results = executeAgainstSchemas(extPrimaryKeysSql,
+                                                                statement);)
     {
       while (results.next())
       {
@@ -543,9 +538,8 @@ final class TableExtRetriever
       .getExtTablesSql();
     final Connection connection = getDatabaseConnection();
     try (final Statement statement = connection.createStatement();
-        final MetadataResultSet results = new MetadataResultSet(tableDefinitionsInformationSql,
-                                                                statement,
-                                                                getSchemaInclusionRule());)
+        final MetadataResultSet results = executeAgainstSchemas(tableDefinitionsInformationSql,
+                                                                statement);)
     {
 
       while (results.next())
@@ -629,9 +623,8 @@ final class TableExtRetriever
     final Query triggerInformationSql = informationSchemaViews.getTriggersSql();
     final Connection connection = getDatabaseConnection();
     try (final Statement statement = connection.createStatement();
-        final MetadataResultSet results = new MetadataResultSet(triggerInformationSql,
-                                                                statement,
-                                                                getSchemaInclusionRule());)
+        final MetadataResultSet results = executeAgainstSchemas(triggerInformationSql,
+                                                                statement);)
     {
 
       while (results.next())
@@ -726,9 +719,8 @@ final class TableExtRetriever
     final Query viewInformationSql = informationSchemaViews.getViewsSql();
     final Connection connection = getDatabaseConnection();
     try (final Statement statement = connection.createStatement();
-        final MetadataResultSet results = new MetadataResultSet(viewInformationSql,
-                                                                statement,
-                                                                getSchemaInclusionRule());)
+        final MetadataResultSet results = executeAgainstSchemas(viewInformationSql,
+                                                                statement);)
     {
 
       while (results.next())
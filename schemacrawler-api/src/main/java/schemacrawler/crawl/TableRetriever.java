@@ -199,9 +199,8 @@ final class TableRetriever
     final TableTypes supportedTableTypes = getRetrieverConnection()
       .getTableTypes();
     try (final Statement statement = connection.createStatement();
-        final MetadataResultSet results = new MetadataResultSet(tablesSql,
-                                                                statement,
-                                                                getSchemaInclusionRule());)
+        final MetadataResultSet results = executeAgainstSchemas(tablesSql,
+                                                                statement);)
     {
       results.setDescription("retrieveTablesFromDataDictionary");
       int numTables = 0;
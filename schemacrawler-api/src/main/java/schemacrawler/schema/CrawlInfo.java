@@ -49,6 +49,17 @@ public interface CrawlInfo
    */
   String getDatabaseInfo();
 
+  /**
+   * Gets the number of rows that were transferred by data dictionary
+   * queries during the crawl.
+   *
+   * @return Number of data dictionary rows, or 0 if not known
+   */
+  default long getDataDictionaryRowCount()
+  {
+    return 0;
+  }
+
   /**
    * Gets the name of the JDBC driver.
    *
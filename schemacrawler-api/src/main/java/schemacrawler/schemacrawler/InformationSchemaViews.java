@@ -41,15 +41,20 @@ import static schemacrawler.schemacrawler.InformationSchemaKey.EXT_SYNONYMS;
 import static schemacrawler.schemacrawler.InformationSchemaKey.EXT_TABLES;
 import static schemacrawler.schemacrawler.InformationSchemaKey.EXT_TABLE_CONSTRAINTS;
 import static schemacrawler.schemacrawler.InformationSchemaKey.FOREIGN_KEYS;
+import static schemacrawler.schemacrawler.InformationSchemaKey.FUNCTIONS;
+import static schemacrawler.schemacrawler.InformationSchemaKey.FUNCTION_COLUMNS;
 import static schemacrawler.schemacrawler.InformationSchemaKey.INDEXES;
 import static schemacrawler.schemacrawler.InformationSchemaKey.OVERRIDE_TYPE_INFO;
 import static schemacrawler.schemacrawler.InformationSchemaKey.PRIMARY_KEYS;
+import static schemacrawler.schemacrawler.InformationSchemaKey.PROCEDURES;
+import static schemacrawler.schemacrawler.InformationSchemaKey.PROCEDURE_COLUMNS;
 import static schemacrawler.schemacrawler.InformationSchemaKey.ROUTINES;
 import static schemacrawler.schemacrawler.InformationSchemaKey.SCHEMATA;
 import static schemacrawler.schemacrawler.InformationSchemaKey.SEQUENCES;
 import static schemacrawler.schemacrawler.InformationSchemaKey.TABLES;
 import static schemacrawler.schemacrawler.InformationSchemaKey.TABLE_COLUMNS;
 import static schemacrawler.schemacrawler.InformationSchemaKey.TABLE_CONSTRAINTS;
+import static schemacrawler.schemacrawler.InformationSchemaKey.TABLE_ROW_COUNTS;
 import static schemacrawler.schemacrawler.InformationSchemaKey.TRIGGERS;
 import static schemacrawler.schemacrawler.InformationSchemaKey.VIEWS;
 
@@ -213,6 +218,30 @@ public final class InformationSchemaViews
                      true);
   }
 
+  /**
+   * Gets the function columns SQL from the additional configuration.
+   *
+   * @return Function columns SQL.
+   */
+  public Query getFunctionColumnsSql()
+  {
+    return new Query(FUNCTION_COLUMNS.name(),
+                     informationSchemaQueries.get(FUNCTION_COLUMNS),
+                     true);
+  }
+
+  /**
+   * Gets the functions SQL from the additional configuration.
+   *
+   * @return Functions SQL.
+   */
+  public Query getFunctionsSql()
+  {
+    return new Query(FUNCTIONS.name(),
+                     informationSchemaQueries.get(FUNCTIONS),
+                     true);
+  }
+
   /**
    * Gets the indexes SQL from the additional configuration.
    *
@@ -249,6 +278,30 @@ public final class InformationSchemaViews
                      true);
   }
 
+  /**
+   * Gets the procedure columns SQL from the additional configuration.
+   *
+   * @return Procedure columns SQL.
+   */
+  public Query getProcedureColumnsSql()
+  {
+    return new Query(PROCEDURE_COLUMNS.name(),
+                     informationSchemaQueries.get(PROCEDURE_COLUMNS),
+                     true);
+  }
+
+  /**
+   * Gets the procedures SQL from the additional configuration.
+   *
+   * @return Procedures SQL.
+   */
+  public Query getProceduresSql()
+  {
+    return new Query(PROCEDURES.name(),
+                     informationSchemaQueries.get(PROCEDURES),
+                     true);
+  }
+
   /**
    * Gets the routine definitions SQL from the additional configuration.
    *
@@ -325,6 +378,18 @@ public final class InformationSchemaViews
                      informationSchemaQueries.get(TABLE_CONSTRAINTS));
   }
 
+  /**
+   * Gets the SQL for estimated row counts of tables, from database
+   * statistics, from the additional configuration.
+   *
+   * @return Table row counts SQL.
+   */
+  public Query getTableRowCountsSql()
+  {
+    return new Query(TABLE_ROW_COUNTS.name(),
+                     informationSchemaQueries.get(TABLE_ROW_COUNTS));
+  }
+
   /**
    * Gets the tables SQL from the additional configuration.
    *
@@ -405,6 +470,16 @@ public final class InformationSchemaViews
     return informationSchemaQueries.containsKey(FOREIGN_KEYS);
   }
 
+  public boolean hasFunctionColumnsSql()
+  {
+    return informationSchemaQueries.containsKey(FUNCTION_COLUMNS);
+  }
+
+  public boolean hasFunctionsSql()
+  {
+    return informationSchemaQueries.containsKey(FUNCTIONS);
+  }
+
   public boolean hasIndexesSql()
   {
     return informationSchemaQueries.containsKey(INDEXES);
@@ -420,6 +495,16 @@ public final class InformationSchemaViews
     return informationSchemaQueries.containsKey(PRIMARY_KEYS);
   }
 
+  public boolean hasProcedureColumnsSql()
+  {
+    return informationSchemaQueries.containsKey(PROCEDURE_COLUMNS);
+  }
+
+  public boolean hasProceduresSql()
+  {
+    return informationSchemaQueries.containsKey(PROCEDURES);
+  }
+
   public boolean hasRoutinesSql()
   {
     return informationSchemaQueries.containsKey(ROUTINES);
@@ -455,6 +540,11 @@ public final class InformationSchemaViews
     return informationSchemaQueries.containsKey(TABLE_CONSTRAINTS);
   }
 
+  public boolean hasTableRowCountsSql()
+  {
+    return informationSchemaQueries.containsKey(TABLE_ROW_COUNTS);
+  }
+
   public boolean hasTablesSql()
   {
     return informationSchemaQueries.containsKey(TABLES);
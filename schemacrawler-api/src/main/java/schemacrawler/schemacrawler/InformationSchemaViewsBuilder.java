@@ -47,6 +47,7 @@ import static schemacrawler.schemacrawler.InformationSchemaKey.ROUTINES;
 import static schemacrawler.schemacrawler.InformationSchemaKey.SCHEMATA;
 import static schemacrawler.schemacrawler.InformationSchemaKey.SEQUENCES;
 import static schemacrawler.schemacrawler.InformationSchemaKey.TABLE_CONSTRAINTS;
+import static schemacrawler.schemacrawler.InformationSchemaKey.TABLE_ROW_COUNTS;
 import static schemacrawler.schemacrawler.InformationSchemaKey.TRIGGERS;
 import static schemacrawler.schemacrawler.InformationSchemaKey.VIEWS;
 import static sf.util.IOUtility.readResourceFully;
@@ -377,6 +378,19 @@ public final class InformationSchemaViewsBuilder
     return this;
   }
 
+  /**
+   * Sets the SQL for estimated row counts of tables, from database
+   * statistics.
+   *
+   * @param sql
+   *        Table row counts SQL.
+   */
+  public InformationSchemaViewsBuilder withTableRowCountsSql(final String sql)
+  {
+    informationSchemaQueries.put(TABLE_ROW_COUNTS, sql);
+    return this;
+  }
+
   /**
    * Sets the trigger definitions SQL.
    *
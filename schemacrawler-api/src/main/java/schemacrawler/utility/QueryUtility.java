@@ -29,6 +29,7 @@ package schemacrawler.utility;
 
 
 import static java.util.Objects.requireNonNull;
+import static sf.util.DatabaseUtility.createStatement;
 import static sf.util.DatabaseUtility.executeSql;
 import static sf.util.DatabaseUtility.executeSqlForLong;
 import static sf.util.DatabaseUtility.executeSqlForScalar;
@@ -40,11 +41,16 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.SortedSet;
+import java.util.TreeSet;
 import java.util.logging.Level;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import schemacrawler.schema.Column;
 import schemacrawler.schema.JavaSqlTypeGroup;
@@ -64,13 +70,47 @@ public final class QueryUtility
   private static final SchemaCrawlerLogger LOGGER = SchemaCrawlerLogger
     .getLogger(QueryUtility.class.getName());
 
+  private static final int MAX_IN_LIST_SIZE = 1000;
+
+  private static final Pattern IN_LIST_PATTERN = Pattern
+    .compile("([\\w.$#\"]+(?:\\([^()]*\\))?)\\s+(?i:IN)\\s*\\(\\s*\\$\\{(schemanames|catalognames)\\}\\s*\\)");
+
   public static ResultSet executeAgainstSchema(final Query query,
                                                final Statement statement,
                                                final InclusionRule schemaInclusionRule)
     throws SQLException
+  {
+    return executeAgainstSchemas(query, statement, schemaInclusionRule, null);
+  }
+
+  /**
+   * Executes a query against a set of already resolved schemas. Apart
+   * from the schema inclusion pattern, the query can use the
+   * ${schemanames} and ${catalognames} parameters, which are expanded
+   * into lists of quoted string literals, suitable for use in an SQL IN
+   * clause. An IN clause with more names than some databases allow in a
+   * single list is split into several IN clauses joined with OR.
+   *
+   * @param query
+   *        Query to execute
+   * @param statement
+   *        Statement to execute the query with
+   * @param schemaInclusionRule
+   *        Schema inclusion rule
+   * @param schemas
+   *        Resolved schemas, or null if the schemas are not yet known
+   * @return Results of the query
+   * @throws SQLException
+   *         On an exception
+   */
+  public static ResultSet executeAgainstSchemas(final Query query,
+                                                final Statement statement,
+                                                final InclusionRule schemaInclusionRule,
+                                                final Collection<? extends Schema> schemas)
+    throws SQLException
   {
     requireNonNull(query, "No query provided");
-    final String sql = getQuery(query, schemaInclusionRule);
+    final String sql = getQuery(query, schemaInclusionRule, schemas);
     LOGGER.log(Level.FINE,
                new StringFormat("Executing %s: %n%s", query.getName(), sql));
     return executeSql(statement, sql);
@@ -132,6 +172,104 @@ public final class QueryUtility
     return executeSqlForScalar(connection, sql);
   }
 
+  /**
+   * Executes a query for a number of tables in a single round trip. The
+   * query is expanded for each table, and needs to return a single
+   * value, or no rows. The queries for each table are wrapped as
+   * derived tables, tagged with the position of the table, and combined
+   * with UNION ALL. Some databases do not allow derived tables with
+   * unnamed columns, so the query should name its result column.
+   *
+   * @param query
+   *        Query to execute for each table
+   * @param connection
+   *        Connection to execute the query on
+   * @param tables
+   *        Tables to execute the query for
+   * @param identifiers
+   *        Identifiers to quote table and column names
+   * @return Scalar results, in the same order as the tables, with null
+   *         for tables where the query returned no rows
+   * @throws SchemaCrawlerException
+   *         On an exception, or if the query returns more than one row
+   *         or column for any table
+   */
+  public static List<Object> executeForScalars(final Query query,
+                                               final Connection connection,
+                                               final List<? extends Table> tables,
+                                               final Identifiers identifiers)
+    throws SchemaCrawlerException
+  {
+    requireNonNull(query, "No query provided");
+    requireNonNull(tables, "No tables provided");
+    requireNonNull(identifiers, "No identifiers provided");
+
+    final List<Object> scalars = new ArrayList<>(Collections
+      .nCopies(tables.size(), null));
+    if (tables.isEmpty())
+    {
+      return scalars;
+    }
+
+    final List<String> tableQueries = new ArrayList<>(tables.size());
+    for (int i = 0; i < tables.size(); i++)
+    {
+      tableQueries.add(String
+        .format("SELECT %d AS TABLE_INDEX, TABLE_QUERY.* FROM (%s) TABLE_QUERY",
+                i,
+                getQuery(query, tables.get(i), true, identifiers)));
+    }
+    final String sql = String.join(System.lineSeparator() + "UNION ALL"
+                                   + System.lineSeparator(),
+                                   tableQueries);
+    LOGGER.log(Level.FINE,
+               new StringFormat("Executing %s for %d tables: %n%s",
+                                query.getName(),
+                                tables.size(),
+                                sql));
+
+    try (final Statement statement = createStatement(connection);
+        final ResultSet resultSet = executeSql(statement, sql);)
+    {
+      if (resultSet == null)
+      {
+        return scalars;
+      }
+
+      // Error checking
+      if (resultSet.getMetaData().getColumnCount() != 2)
+      {
+        throw new SchemaCrawlerException("Too many columns of data returned");
+      }
+
+      final boolean[] hasScalar = new boolean[tables.size()];
+      while (resultSet.next())
+      {
+        final int tableIndex = resultSet.getInt(1);
+        if (tableIndex < 0 || tableIndex >= tables.size())
+        {
+          throw new SchemaCrawlerException(String
+            .format("Unexpected table index %d returned", tableIndex));
+        }
+        // Error checking
+        if (hasScalar[tableIndex])
+        {
+          throw new SchemaCrawlerException(String
+            .format("Too many rows of data returned for table <%s>",
+                    tables.get(tableIndex)));
+        }
+        hasScalar[tableIndex] = true;
+        scalars.set(tableIndex, resultSet.getObject(2));
+      }
+
+      return scalars;
+    }
+    catch (final SQLException e)
+    {
+      throw new SchemaCrawlerException(sql, e);
+    }
+  }
+
   private static String getColumnsListAsString(final List<Column> columns,
                                                final boolean omitLargeObjectColumns,
                                                final Identifiers identifiers)
@@ -162,13 +300,48 @@ public final class QueryUtility
    *
    * @param schemaInclusionRule
    *        Schema inclusion rule
+   * @param schemas
+   *        Resolved schemas, or null if the schemas are not yet known
    * @return Ready-to-execute query
    */
   private static String getQuery(final Query query,
-                                 final InclusionRule schemaInclusionRule)
+                                 final InclusionRule schemaInclusionRule,
+                                 final Collection<? extends Schema> schemas)
   {
     final Map<String, String> properties = new HashMap<>();
 
+    String sql = query.getQuery();
+
+    if (schemas != null)
+    {
+      final SortedSet<String> catalogNames = new TreeSet<>();
+      final SortedSet<String> schemaNames = new TreeSet<>();
+      for (final Schema schema: schemas)
+      {
+        if (schema == null)
+        {
+          continue;
+        }
+        if (schema.getCatalogName() != null)
+        {
+          catalogNames.add(schema.getCatalogName());
+        }
+        if (schema.getName() != null)
+        {
+          schemaNames.add(schema.getName());
+        }
+      }
+      final Map<String, List<String>> names = new HashMap<>();
+      names.put("catalognames", getSqlStringLiterals(catalogNames));
+      names.put("schemanames", getSqlStringLiterals(schemaNames));
+
+      sql = expandInLists(sql, names);
+      for (final Map.Entry<String, List<String>> entry: names.entrySet())
+      {
+        properties.put(entry.getKey(), String.join(", ", entry.getValue()));
+      }
+    }
+
     properties.put("schemas", ".*");
     if (schemaInclusionRule != null
         && schemaInclusionRule instanceof InclusionRuleWithRegularExpression)
@@ -181,7 +354,6 @@ public final class QueryUtility
       }
     }
 
-    String sql = query.getQuery();
     sql = expandTemplate(sql, properties);
     sql = expandTemplate(sql);
 
@@ -223,6 +395,80 @@ public final class QueryUtility
     return sql;
   }
 
+  /**
+   * Expands IN clauses on the ${schemanames} and ${catalognames}
+   * parameters. Lists that are longer than some databases allow are
+   * split into chunks, and the IN clause is repeated for each chunk,
+   * joined with OR.
+   *
+   * @param sql
+   *        Query with parameters
+   * @param names
+   *        Lists of SQL string literals, by parameter name
+   * @return Query with IN clauses expanded
+   */
+  private static String expandInLists(final String sql,
+                              final Map<String, List<String>> names)
+  {
+    final Matcher matcher = IN_LIST_PATTERN.matcher(sql);
+    final StringBuffer buffer = new StringBuffer();
+    while (matcher.find())
+    {
+      final String expression = matcher.group(1);
+      final List<String> literals = names.get(matcher.group(2));
+
+      final List<String> inClauses = new ArrayList<>();
+      for (int i = 0; i < literals.size(); i = i + MAX_IN_LIST_SIZE)
+      {
+        final List<String> chunk = literals
+          .subList(i, Math.min(i + MAX_IN_LIST_SIZE, literals.size()));
+        inClauses.add(String.format("%s IN (%s)",
+                                    expression,
+                                    String.join(", ", chunk)));
+      }
+
+      final String replacement;
+      if (inClauses.size() == 1)
+      {
+        replacement = inClauses.get(0);
+      }
+      else
+      {
+        LOGGER.log(Level.FINE,
+                   new StringFormat("Splitting %d names into %d IN lists",
+                                    literals.size(),
+                                    inClauses.size()));
+        replacement = "(" + String.join(" OR ", inClauses) + ")";
+      }
+      matcher.appendReplacement(buffer, Matcher.quoteReplacement(replacement));
+    }
+    matcher.appendTail(buffer);
+    return buffer.toString();
+  }
+
+  /**
+   * Quotes strings as SQL string literals, for use in an SQL IN clause.
+   * An empty collection produces a list with a single NULL, which
+   * matches nothing.
+   *
+   * @param values
+   *        Values to quote
+   * @return SQL string literals
+   */
+  private static List<String> getSqlStringLiterals(final Collection<String> values)
+  {
+    if (values.isEmpty())
+    {
+      return Collections.singletonList("NULL");
+    }
+    final List<String> literals = new ArrayList<>(values.size());
+    for (final String value: values)
+    {
+      literals.add("'" + value.replace("'", "''") + "'");
+    }
+    return literals;
+  }
+
   private QueryUtility()
   {
     // Prevent instantiation
@@ -0,0 +1,113 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2018, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+package schemacrawler.test;
+
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+import schemacrawler.crawl.MetadataRetrievalStrategy;
+import schemacrawler.schema.Catalog;
+import schemacrawler.schema.Procedure;
+import schemacrawler.schema.ProcedureColumn;
+import schemacrawler.schema.Routine;
+import schemacrawler.schemacrawler.InformationSchemaKey;
+import schemacrawler.schemacrawler.SchemaCrawlerOptions;
+import schemacrawler.schemacrawler.SchemaCrawlerOptionsBuilder;
+import schemacrawler.schemacrawler.SchemaInfoLevelBuilder;
+import schemacrawler.schemacrawler.SchemaRetrievalOptions;
+import schemacrawler.schemacrawler.SchemaRetrievalOptionsBuilder;
+import schemacrawler.test.utility.BaseDatabaseTest;
+
+public class RoutineRetrievalTest
+  extends BaseDatabaseTest
+{
+
+  @Test
+  public void proceduresFromDataDictionary()
+    throws Exception
+  {
+    final SchemaCrawlerOptions schemaCrawlerOptions = new SchemaCrawlerOptionsBuilder()
+      .withSchemaInfoLevel(SchemaInfoLevelBuilder.maximum().toOptions())
+      .includeAllRoutines().toOptions();
+
+    final Catalog metadataCatalog = getCatalog(schemaCrawlerOptions);
+
+    final Map<String, String> informationSchemaViews = new HashMap<>();
+    informationSchemaViews
+      .put(InformationSchemaKey.PROCEDURES.getLookupKey(),
+           "SELECT * FROM INFORMATION_SCHEMA.SYSTEM_PROCEDURES WHERE PROCEDURE_TYPE = 1");
+    informationSchemaViews
+      .put(InformationSchemaKey.PROCEDURE_COLUMNS.getLookupKey(),
+           "SELECT * FROM INFORMATION_SCHEMA.SYSTEM_PROCEDURECOLUMNS ORDER BY SPECIFIC_NAME, ORDINAL_POSITION");
+    final SchemaRetrievalOptions schemaRetrievalOptions = new SchemaRetrievalOptionsBuilder()
+      .withProcedureRetrievalStrategy(MetadataRetrievalStrategy.data_dictionary_all)
+      .withInformationSchemaViews(informationSchemaViews).toOptions();
+    final Catalog dataDictionaryCatalog = getCatalog(schemaRetrievalOptions,
+                                                     schemaCrawlerOptions);
+
+    final List<String> expectedProcedures = describeProcedures(metadataCatalog);
+    assertFalse("No procedures found", expectedProcedures.isEmpty());
+    assertEquals("Procedures do not match",
+                 expectedProcedures,
+                 describeProcedures(dataDictionaryCatalog));
+  }
+
+  private List<String> describeProcedures(final Catalog catalog)
+  {
+    final List<String> procedures = new ArrayList<>();
+    for (final Routine routine: catalog.getRoutines())
+    {
+      if (!(routine instanceof Procedure))
+      {
+        continue;
+      }
+      final Procedure procedure = (Procedure) routine;
+      final StringBuilder buffer = new StringBuilder();
+      buffer.append(procedure.getFullName()).append(" [")
+        .append(procedure.getSpecificName()).append("] ")
+        .append(procedure.getReturnType()).append(":");
+      for (final ProcedureColumn column: procedure.getColumns())
+      {
+        buffer.append(" ").append(column.getName()).append(" ")
+          .append(column.getColumnType()).append(" ")
+          .append(column.getColumnDataType().getName());
+      }
+      procedures.add(buffer.toString());
+    }
+    return procedures;
+  }
+
+}
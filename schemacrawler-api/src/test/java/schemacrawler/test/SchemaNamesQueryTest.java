@@ -0,0 +1,182 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2018, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+package schemacrawler.test;
+
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static schemacrawler.utility.QueryUtility.executeAgainstSchemas;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.Test;
+
+import schemacrawler.schema.Catalog;
+import schemacrawler.schema.Schema;
+import schemacrawler.schema.SchemaReference;
+import schemacrawler.schemacrawler.SchemaCrawlerOptions;
+import schemacrawler.schemacrawler.SchemaCrawlerOptionsBuilder;
+import schemacrawler.schemacrawler.SchemaInfoLevelBuilder;
+import schemacrawler.schemacrawler.SchemaRetrievalOptionsBuilder;
+import schemacrawler.test.utility.BaseDatabaseTest;
+import schemacrawler.utility.Query;
+
+public class SchemaNamesQueryTest
+  extends BaseDatabaseTest
+{
+
+  private static final Query SCHEMATA_QUERY = new Query("schemata",
+                                                        "SELECT SCHEMA_NAME FROM INFORMATION_SCHEMA.SCHEMATA "
+                                                                    + "WHERE SCHEMA_NAME IN (${schemanames}) "
+                                                                    + "ORDER BY SCHEMA_NAME");
+
+  @Test
+  public void dataDictionaryRowCount()
+    throws Exception
+  {
+    final SchemaRetrievalOptionsBuilder schemaRetrievalOptionsBuilder = new SchemaRetrievalOptionsBuilder()
+      .fromConfig(loadHsqldbConfig());
+    final SchemaCrawlerOptions schemaCrawlerOptions = new SchemaCrawlerOptionsBuilder()
+      .withSchemaInfoLevel(SchemaInfoLevelBuilder.maximum().toOptions())
+      .toOptions();
+
+    final Catalog catalog = getCatalog(schemaRetrievalOptionsBuilder
+      .toOptions(), schemaCrawlerOptions);
+    assertTrue("No data dictionary rows counted",
+               catalog.getCrawlInfo().getDataDictionaryRowCount() > 0);
+  }
+
+  @Test
+  public void emptySchemaNames()
+    throws Exception
+  {
+    final String sql = expandedSql(Collections.emptyList());
+    assertTrue(sql, sql.contains("SCHEMA_NAME IN (NULL)"));
+  }
+
+  @Test
+  public void manySchemaNames()
+    throws Exception
+  {
+    final List<Schema> schemas = new ArrayList<>();
+    for (int i = 0; i < 2500; i++)
+    {
+      schemas.add(new SchemaReference("PUBLIC", String.format("A%04d", i)));
+    }
+    schemas.add(new SchemaReference("PUBLIC", "BOOKS"));
+    schemas.add(new SchemaReference("PUBLIC", "FOR_LINT"));
+
+    final String sql = expandedSql(schemas);
+    final Matcher matcher = Pattern.compile("SCHEMA_NAME IN \\(([^)]*)\\)")
+      .matcher(sql);
+    int inLists = 0;
+    int names = 0;
+    while (matcher.find())
+    {
+      final int listSize = matcher.group(1).split(",").length;
+      assertTrue("IN list is too long, " + listSize, listSize <= 1000);
+      inLists++;
+      names = names + listSize;
+    }
+    assertEquals("Wrong number of IN lists", 3, inLists);
+    assertEquals("Wrong number of schema names", 2502, names);
+    assertTrue(sql, sql.contains(") OR SCHEMA_NAME IN ("));
+
+    assertEquals("Wrong schemas selected",
+                 Arrays.asList("BOOKS", "FOR_LINT"),
+                 selectSchemaNames(schemas));
+  }
+
+  @Test
+  public void schemaNames()
+    throws Exception
+  {
+    final List<Schema> schemas = Arrays
+      .asList(new SchemaReference("PUBLIC", "BOOKS"),
+              new SchemaReference("PUBLIC", "O'NEIL"));
+
+    final String sql = expandedSql(schemas);
+    assertTrue(sql, sql.contains("SCHEMA_NAME IN ('BOOKS', 'O''NEIL')"));
+
+    assertEquals("Wrong schemas selected",
+                 Arrays.asList("BOOKS"),
+                 selectSchemaNames(schemas));
+  }
+
+  private String expandedSql(final List<Schema> schemas)
+    throws Exception
+  {
+    final StringBuilder sql = new StringBuilder();
+    final Statement statement = (Statement) Proxy
+      .newProxyInstance(Statement.class.getClassLoader(),
+                        new Class<?>[] { Statement.class },
+                        (proxy, method, args) -> {
+                          if ("execute".equals(method.getName()))
+                          {
+                            sql.append(args[0]);
+                            return false;
+                          }
+                          if (method.getReturnType() == int.class)
+                          {
+                            return -1;
+                          }
+                          return null;
+                        });
+    executeAgainstSchemas(SCHEMATA_QUERY, statement, null, schemas);
+    return sql.toString();
+  }
+
+  private List<String> selectSchemaNames(final List<Schema> schemas)
+    throws Exception
+  {
+    final List<String> schemaNames = new ArrayList<>();
+    try (final Connection connection = getConnection();
+        final Statement statement = connection.createStatement();
+        final ResultSet results = executeAgainstSchemas(SCHEMATA_QUERY,
+                                                        statement,
+                                                        null,
+                                                        schemas);)
+    {
+      while (results.next())
+      {
+        schemaNames.add(results.getString("SCHEMA_NAME"));
+      }
+    }
+    return schemaNames;
+  }
+
+}
@@ -34,8 +34,12 @@ import static sf.util.Utility.isBlank;
 
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
 
 import schemacrawler.schemacrawler.Config;
+import schemacrawler.schemacrawler.SchemaCrawlerCommandLineException;
+import schemacrawler.schemacrawler.SchemaCrawlerException;
 import schemacrawler.tools.options.OutputOptions;
 import schemacrawler.tools.options.OutputOptionsBuilder;
 import schemacrawler.tools.options.TextOutputFormat;
@@ -53,6 +57,7 @@ public final class OutputOptionsParser
   private static final String OUTPUT_FORMAT = "outputformat";
 
   final OutputOptionsBuilder outputOptionsBuilder;
+  private List<OutputOptions> additionalOutputOptions;
 
   public OutputOptionsParser(final Config config)
   {
@@ -61,14 +66,75 @@ public final class OutputOptionsParser
     normalizeOptionName(OUTPUT_FILE, "o");
 
     outputOptionsBuilder = new OutputOptionsBuilder().fromConfig(config);
+    additionalOutputOptions = new ArrayList<>();
+  }
+
+  /**
+   * Outputs after the first, when more than one output file is
+   * provided. These are available only after the options are parsed.
+   *
+   * @return Additional output options
+   */
+  public List<OutputOptions> getAdditionalOutputOptions()
+  {
+    return new ArrayList<>(additionalOutputOptions);
   }
 
   @Override
   public OutputOptions getOptions()
+    throws SchemaCrawlerException
   {
-    final String fileExtension;
-    final String outputFileName = config.getStringValue(OUTPUT_FILE, null);
+    final List<String> outputFileNames = splitValues(config
+      .getStringValue(OUTPUT_FILE, null));
     consumeOption(OUTPUT_FILE);
+    final List<String> outputFormatValues = splitValues(config
+      .getStringValue(OUTPUT_FORMAT, null));
+    consumeOption(OUTPUT_FORMAT);
+
+    if (outputFormatValues.size() > 1
+        && outputFormatValues.size() != outputFileNames.size())
+    {
+      throw new SchemaCrawlerCommandLineException("Provide an output file for each output format");
+    }
+
+    final OutputOptions baseOutputOptions = outputOptionsBuilder.toOptions();
+    final int outputsCount = Math.max(1, outputFileNames.size());
+    final List<OutputOptions> outputOptionsList = new ArrayList<>();
+    for (int i = 0; i < outputsCount; i++)
+    {
+      final String outputFileName = i < outputFileNames.size()? outputFileNames
+        .get(i): null;
+      final String outputFormatValue;
+      if (outputFormatValues.size() > 1)
+      {
+        outputFormatValue = outputFormatValues.get(i);
+      }
+      else if (outputFormatValues.size() == 1)
+      {
+        outputFormatValue = outputFormatValues.get(0);
+      }
+      else
+      {
+        outputFormatValue = null;
+      }
+      outputOptionsList.add(getOutputOptions(baseOutputOptions,
+                                             outputFileName,
+                                             outputFormatValue));
+    }
+
+    additionalOutputOptions = outputOptionsList.subList(1,
+                                                        outputOptionsList
+                                                          .size());
+    return outputOptionsList.get(0);
+  }
+
+  private OutputOptions getOutputOptions(final OutputOptions baseOutputOptions,
+                                         final String outputFileName,
+                                         final String outputFormatValue)
+  {
+    final OutputOptionsBuilder outputOptionsBuilder = new OutputOptionsBuilder(baseOutputOptions);
+
+    final String fileExtension;
     if (!isBlank(outputFileName))
     {
       final Path outputFile = Paths.get(outputFileName).toAbsolutePath();
@@ -83,14 +149,38 @@ public final class OutputOptionsParser
     // If there is an output format specified, use it
     // Otherwise, infer the output format from the extension of the file
     // Otherwise, assume text output
-    final String defaultOutputFormatValue = isBlank(fileExtension)? TextOutputFormat.text
-      .getFormat(): fileExtension;
-    final String outputFormatValue = config
-      .getStringValue(OUTPUT_FORMAT, defaultOutputFormatValue);
-    consumeOption(OUTPUT_FORMAT);
-    outputOptionsBuilder.withOutputFormatValue(outputFormatValue);
+    if (!isBlank(outputFormatValue))
+    {
+      outputOptionsBuilder.withOutputFormatValue(outputFormatValue);
+    }
+    else if (!isBlank(fileExtension))
+    {
+      outputOptionsBuilder.withOutputFormatValue(fileExtension);
+    }
+    else
+    {
+      outputOptionsBuilder
+        .withOutputFormatValue(TextOutputFormat.text.getFormat());
+    }
 
     return outputOptionsBuilder.toOptions();
   }
 
+  private List<String> splitValues(final String value)
+  {
+    final List<String> values = new ArrayList<>();
+    if (isBlank(value))
+    {
+      return values;
+    }
+    for (final String splitValue: value.split(","))
+    {
+      if (!isBlank(splitValue))
+      {
+        values.add(splitValue.trim());
+      }
+    }
+    return values;
+  }
+
 }
@@ -30,6 +30,7 @@ package schemacrawler.tools.commandline;
 
 import java.io.IOException;
 import java.sql.Connection;
+import java.util.List;
 import java.util.logging.Level;
 
 import schemacrawler.schemacrawler.Config;
@@ -64,6 +65,7 @@ public final class SchemaCrawlerCommandLine
   private final Config config;
   private final SchemaCrawlerOptions schemaCrawlerOptions;
   private final OutputOptions outputOptions;
+  private final List<OutputOptions> additionalOutputOptions;
   private final ConnectionOptions connectionOptions;
   private final DatabaseConnector dbConnector;
 
@@ -93,6 +95,7 @@ public final class SchemaCrawlerCommandLine
 
     final OutputOptionsParser outputOptionsParser = new OutputOptionsParser(config);
     outputOptions = outputOptionsParser.getOptions();
+    additionalOutputOptions = outputOptionsParser.getAdditionalOutputOptions();
 
     final AdditionalConfigOptionsParser additionalConfigOptionsParser = new AdditionalConfigOptionsParser(config);
     additionalConfigOptionsParser.loadConfig();
@@ -116,8 +119,12 @@ public final class SchemaCrawlerCommandLine
     final SchemaCrawlerExecutable executable = new SchemaCrawlerExecutable(command);
     // Configure
     executable.setOutputOptions(outputOptions);
+    executable.setAdditionalOutputOptions(additionalOutputOptions);
     executable.setSchemaCrawlerOptions(schemaCrawlerOptions);
     executable.setAdditionalConfiguration(config);
+    // Commands that run queries in parallel open further connections
+    // with the same connection options
+    executable.setConnectionSupplier(connectionOptions::getConnection);
     try (final Connection connection = connectionOptions.getConnection();)
     {
       // Get partially built database specific options, built from the
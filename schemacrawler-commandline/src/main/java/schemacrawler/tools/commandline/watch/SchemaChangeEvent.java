@@ -0,0 +1,71 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2018, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+package schemacrawler.tools.commandline.watch;
+
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A change to a table, detected by the schema watcher.
+ *
+ * @author Sualeh Fatehi
+ */
+public final class SchemaChangeEvent
+{
+
+  private final SchemaChangeType changeType;
+  private final String fullName;
+
+  SchemaChangeEvent(final SchemaChangeType changeType, final String fullName)
+  {
+    this.changeType = requireNonNull(changeType, "No change type provided");
+    this.fullName = requireNonNull(fullName, "No table name provided");
+  }
+
+  public SchemaChangeType getChangeType()
+  {
+    return changeType;
+  }
+
+  /**
+   * Full name of the changed table.
+   *
+   * @return Full name
+   */
+  public String getFullName()
+  {
+    return fullName;
+  }
+
+  @Override
+  public String toString()
+  {
+    return String.format("table %s (%s)", fullName, changeType);
+  }
+
+}
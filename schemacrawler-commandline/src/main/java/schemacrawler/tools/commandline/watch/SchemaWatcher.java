@@ -0,0 +1,315 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2018, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+package schemacrawler.tools.commandline.watch;
+
+
+import static java.util.Objects.requireNonNull;
+import static schemacrawler.tools.analysis.fingerprint.FingerprintUtility.addFingerprints;
+import static schemacrawler.tools.analysis.fingerprint.FingerprintUtility.getFingerprint;
+import static sf.util.DatabaseUtility.checkConnection;
+import static sf.util.DatabaseUtility.createStatement;
+import static sf.util.DatabaseUtility.executeSql;
+import static sf.util.Utility.isBlank;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.logging.Level;
+import java.util.regex.Pattern;
+
+import schemacrawler.schema.Catalog;
+import schemacrawler.schema.Table;
+import schemacrawler.schemacrawler.InclusionRule;
+import schemacrawler.schemacrawler.RegularExpressionInclusionRule;
+import schemacrawler.schemacrawler.SchemaCrawlerException;
+import schemacrawler.schemacrawler.SchemaCrawlerOptions;
+import schemacrawler.schemacrawler.SchemaCrawlerOptionsBuilder;
+import schemacrawler.utility.SchemaCrawlerUtility;
+import sf.util.SchemaCrawlerLogger;
+import sf.util.StringFormat;
+
+/**
+ * Watches a database for changes to tables, over a connection that is
+ * kept open. Each poll first runs an optional change indicator query,
+ * which should be cheap, such as a query for a catalog version counter
+ * or for object modification times. The database is only crawled again
+ * if the results of the query change. If the query returns two columns,
+ * the first is taken to be a table name, and only the tables whose rows
+ * changed are crawled again. Changes are detected by comparing table
+ * fingerprints.
+ *
+ * @author Sualeh Fatehi
+ */
+public final class SchemaWatcher
+{
+
+  private static final SchemaCrawlerLogger LOGGER = SchemaCrawlerLogger
+    .getLogger(SchemaWatcher.class.getName());
+
+  /**
+   * Key for the change indicator when the query returns a single
+   * column.
+   */
+  private static final String CATALOG_INDICATOR = "";
+
+  private static Map<String, String> tableFingerprints(final Catalog catalog)
+  {
+    addFingerprints(catalog);
+    final Map<String, String> tableFingerprints = new HashMap<>();
+    for (final Table table: catalog.getTables())
+    {
+      tableFingerprints.put(table.getFullName(), getFingerprint(table));
+    }
+    return tableFingerprints;
+  }
+
+  private final Connection connection;
+  private final SchemaCrawlerOptions schemaCrawlerOptions;
+  private final String changeIndicatorQuery;
+  private final Map<String, String> tableFingerprints;
+  private Map<String, String> changeIndicators;
+  private boolean isChangeIndicatorByTable;
+
+  /**
+   * Starts watching from a catalog that was crawled with the same
+   * options.
+   *
+   * @param connection
+   *        Connection to keep watching, which is not closed by the
+   *        watcher
+   * @param schemaCrawlerOptions
+   *        Options used to crawl the database
+   * @param changeIndicatorQuery
+   *        Change indicator query, or null to crawl on every poll
+   * @param catalog
+   *        Current state of the database
+   * @throws SchemaCrawlerException
+   *         On an exception running the change indicator query
+   */
+  public SchemaWatcher(final Connection connection,
+                       final SchemaCrawlerOptions schemaCrawlerOptions,
+                       final String changeIndicatorQuery,
+                       final Catalog catalog)
+    throws SchemaCrawlerException
+  {
+    try
+    {
+      this.connection = checkConnection(connection);
+    }
+    catch (final SQLException e)
+    {
+      throw new SchemaCrawlerException("Cannot watch database", e);
+    }
+    this.schemaCrawlerOptions = requireNonNull(schemaCrawlerOptions,
+                                               "No SchemaCrawler options provided");
+    this.changeIndicatorQuery = isBlank(changeIndicatorQuery)? null
+                                                             : changeIndicatorQuery;
+    requireNonNull(catalog, "No catalog provided");
+
+    tableFingerprints = tableFingerprints(catalog);
+    changeIndicators = readChangeIndicators();
+  }
+
+  /**
+   * Checks the database for changes since the last poll.
+   *
+   * @return Changes to tables, sorted by table name
+   * @throws SchemaCrawlerException
+   *         On an exception checking the database
+   */
+  public List<SchemaChangeEvent> poll()
+    throws SchemaCrawlerException
+  {
+    final Map<String, String> currentIndicators = readChangeIndicators();
+    if (changeIndicatorQuery != null
+        && currentIndicators.equals(changeIndicators))
+    {
+      return Collections.emptyList();
+    }
+
+    // Only crawl the tables that the change indicator query reports as
+    // changed, if it reports changes by table
+    Pattern changedTables = null;
+    if (isChangeIndicatorByTable)
+    {
+      changedTables = changedTablesPattern(changeIndicators,
+                                           currentIndicators);
+    }
+    changeIndicators = currentIndicators;
+
+    final Map<String, String> currentFingerprints = tableFingerprints(crawl(changedTables));
+    if (changedTables != null)
+    {
+      // Tables that are not watched may have been crawled, since the
+      // table inclusion rule was replaced
+      final InclusionRule tableInclusionRule = schemaCrawlerOptions
+        .getTableInclusionRule();
+      currentFingerprints.keySet()
+        .removeIf(fullName -> !tableInclusionRule.test(fullName));
+    }
+
+    final Map<String, SchemaChangeType> changes = new TreeMap<>();
+    for (final Iterator<Map.Entry<String, String>> iterator = tableFingerprints
+      .entrySet().iterator(); iterator.hasNext();)
+    {
+      final Map.Entry<String, String> tableFingerprint = iterator.next();
+      final String fullName = tableFingerprint.getKey();
+      if (changedTables != null && !changedTables.matcher(fullName).matches())
+      {
+        continue;
+      }
+      final String currentFingerprint = currentFingerprints.get(fullName);
+      if (currentFingerprint == null)
+      {
+        changes.put(fullName, SchemaChangeType.removed);
+        iterator.remove();
+      }
+      else if (!Objects.equals(currentFingerprint,
+                               tableFingerprint.getValue()))
+      {
+        changes.put(fullName, SchemaChangeType.changed);
+      }
+    }
+    for (final Map.Entry<String, String> currentFingerprint: currentFingerprints
+      .entrySet())
+    {
+      if (!tableFingerprints.containsKey(currentFingerprint.getKey()))
+      {
+        changes.put(currentFingerprint.getKey(), SchemaChangeType.added);
+      }
+    }
+    tableFingerprints.putAll(currentFingerprints);
+
+    final List<SchemaChangeEvent> events = new ArrayList<>(changes.size());
+    for (final Map.Entry<String, SchemaChangeType> change: changes.entrySet())
+    {
+      events.add(new SchemaChangeEvent(change.getValue(), change.getKey()));
+    }
+    return events;
+  }
+
+  /**
+   * Matches the full names of tables whose change indicators were
+   * added, removed or changed. Names from the query may leave out the
+   * catalog or schema.
+   */
+  private Pattern changedTablesPattern(final Map<String, String> previousIndicators,
+                                       final Map<String, String> currentIndicators)
+  {
+    final Set<String> changedNames = new HashSet<>(previousIndicators
+      .keySet());
+    changedNames.addAll(currentIndicators.keySet());
+    changedNames.removeIf(name -> Objects.equals(previousIndicators.get(name),
+                                                 currentIndicators.get(name)));
+
+    final StringBuilder buffer = new StringBuilder("(?:.*\\.)?(?:");
+    boolean first = true;
+    for (final String changedName: changedNames)
+    {
+      if (!first)
+      {
+        buffer.append("|");
+      }
+      buffer.append(Pattern.quote(changedName));
+      first = false;
+    }
+    buffer.append(")");
+    return Pattern.compile(buffer.toString());
+  }
+
+  private Catalog crawl(final Pattern changedTables)
+    throws SchemaCrawlerException
+  {
+    if (changedTables == null)
+    {
+      return SchemaCrawlerUtility.getCatalog(connection, schemaCrawlerOptions);
+    }
+
+    LOGGER.log(Level.FINE,
+               new StringFormat("Crawling changed tables, matching <%s>",
+                                changedTables));
+    final SchemaCrawlerOptions changedTablesOptions = new SchemaCrawlerOptionsBuilder(schemaCrawlerOptions)
+      .includeTables(new RegularExpressionInclusionRule(changedTables))
+      .toOptions();
+    return SchemaCrawlerUtility.getCatalog(connection, changedTablesOptions);
+  }
+
+  private Map<String, String> readChangeIndicators()
+    throws SchemaCrawlerException
+  {
+    final Map<String, String> indicators = new HashMap<>();
+    if (changeIndicatorQuery == null)
+    {
+      return indicators;
+    }
+
+    try (final Statement statement = createStatement(connection);
+        final ResultSet results = executeSql(statement,
+                                             changeIndicatorQuery,
+                                             true);)
+    {
+      if (results == null)
+      {
+        throw new SchemaCrawlerException(String
+          .format("Change indicator query <%s> must return rows",
+                  changeIndicatorQuery));
+      }
+      isChangeIndicatorByTable = results.getMetaData().getColumnCount() > 1;
+      while (results.next())
+      {
+        if (isChangeIndicatorByTable)
+        {
+          indicators.put(results.getString(1), results.getString(2));
+        }
+        else
+        {
+          indicators.put(CATALOG_INDICATOR, results.getString(1));
+        }
+      }
+    }
+    catch (final SQLException e)
+    {
+      throw new SchemaCrawlerException(String
+        .format("Could not run change indicator query <%s>",
+                changeIndicatorQuery), e);
+    }
+    return indicators;
+  }
+
+}
@@ -0,0 +1,131 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2018, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+package schemacrawler.tools.commandline.watch;
+
+
+import java.io.Writer;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+
+import schemacrawler.tools.executable.BaseSchemaCrawlerCommand;
+import schemacrawler.tools.text.utility.org.json.JSONObject;
+import sf.util.SchemaCrawlerLogger;
+import sf.util.StringFormat;
+
+/**
+ * Long-running command that keeps the database connection open, and
+ * reports changes to tables as they are detected. Changes are appended
+ * to the output file, or printed to the console, one per line. With the
+ * "json" output format, changes are written as JSON Lines.
+ *
+ * @author Sualeh Fatehi
+ */
+public final class WatchCommand
+  extends BaseSchemaCrawlerCommand
+{
+
+  private static final SchemaCrawlerLogger LOGGER = SchemaCrawlerLogger
+    .getLogger(WatchCommand.class.getName());
+
+  static final String COMMAND = "watch";
+
+  private static final String WATCH_INTERVAL = "watchinterval";
+  private static final String WATCH_QUERY = "watchquery";
+  private static final String WATCH_COUNT = "watchcount";
+  private static final int DEFAULT_WATCH_INTERVAL = 60;
+
+  public WatchCommand()
+  {
+    super(COMMAND);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void execute()
+    throws Exception
+  {
+    // Null checks are done before execution
+
+    final SchemaWatcher watcher = new SchemaWatcher(connection,
+                                                    schemaCrawlerOptions,
+                                                    additionalConfiguration
+                                                      .getStringValue(WATCH_QUERY,
+                                                                      null),
+                                                    catalog);
+    final int interval = Math.max(0,
+                                  additionalConfiguration
+                                    .getIntegerValue(WATCH_INTERVAL,
+                                                     DEFAULT_WATCH_INTERVAL));
+    // By default, watch until interrupted
+    final int pollCount = additionalConfiguration.getIntegerValue(WATCH_COUNT,
+                                                                  0);
+    final boolean isJsonLines = "json"
+      .equalsIgnoreCase(outputOptions.getOutputFormatValue());
+
+    LOGGER.log(Level.INFO,
+               new StringFormat("Watching for changes every %d seconds",
+                                interval));
+    try (final Writer writer = outputOptions.openNewOutputWriter(true);)
+    {
+      for (int poll = 1; pollCount <= 0 || poll <= pollCount; poll++)
+      {
+        TimeUnit.SECONDS.sleep(interval);
+
+        final List<SchemaChangeEvent> events = watcher.poll();
+        final String timestamp = Instant.now().toString();
+        for (final SchemaChangeEvent event: events)
+        {
+          if (isJsonLines)
+          {
+            final JSONObject jsonEvent = new JSONObject();
+            jsonEvent.put("timestamp", timestamp);
+            jsonEvent.put("changeType", event.getChangeType().name());
+            jsonEvent.put("table", event.getFullName());
+            writer.write(jsonEvent.toString());
+          }
+          else
+          {
+            writer.write(timestamp + " " + event);
+          }
+          writer.write(System.lineSeparator());
+        }
+        writer.flush();
+      }
+    }
+    catch (final InterruptedException e)
+    {
+      LOGGER.log(Level.INFO, "Stopped watching for changes");
+      Thread.currentThread().interrupt();
+    }
+  }
+
+}
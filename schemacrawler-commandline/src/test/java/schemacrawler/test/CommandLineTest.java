@@ -235,6 +235,37 @@ public class CommandLineTest
     run(args, null);
   }
 
+  @Test
+  public void commandLineWithMultipleOutputs()
+    throws Exception
+  {
+    try (final TestWriter out = new TestWriter("text");
+        final TestWriter jsonOut = new TestWriter("json");)
+    {
+      final Map<String, String> argsMap = new HashMap<>();
+      argsMap.put("portablenames", Boolean.TRUE.toString());
+      argsMap.put("url", "jdbc:hsqldb:hsql://localhost/schemacrawler");
+      argsMap.put("user", "sa");
+      argsMap.put("password", "");
+      argsMap.put("noinfo", Boolean.TRUE.toString());
+      argsMap.put("schemas", ".*\\.(?!FOR_LINT).*");
+      argsMap.put("infolevel", "maximum");
+      argsMap.put("command", "brief");
+      argsMap.put("outputformat", "text,json");
+      argsMap.put("outputfile", out.toString() + "," + jsonOut.toString());
+
+      final Path configFile = createConfig(loadHsqldbConfig());
+      argsMap.put("g", configFile.toString());
+
+      Main.main(flattenCommandlineArgs(argsMap));
+
+      // Text output has to be the same as for a single output
+      out.assertEquals(COMMAND_LINE_OUTPUT + "commandLineWithDefaults.txt");
+      jsonOut.assertEquals(COMMAND_LINE_OUTPUT + testName.currentMethodName()
+                           + ".json");
+    }
+  }
+
   private Path createConfig(final Map<String, String> config)
     throws IOException
   {
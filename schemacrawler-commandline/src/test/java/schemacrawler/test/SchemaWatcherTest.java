@@ -0,0 +1,167 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2018, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+package schemacrawler.test;
+
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.List;
+
+import org.junit.Test;
+
+import schemacrawler.schema.Catalog;
+import schemacrawler.schemacrawler.Config;
+import schemacrawler.schemacrawler.RegularExpressionInclusionRule;
+import schemacrawler.schemacrawler.SchemaCrawlerException;
+import schemacrawler.schemacrawler.SchemaCrawlerOptions;
+import schemacrawler.schemacrawler.SchemaCrawlerOptionsBuilder;
+import schemacrawler.schemacrawler.SchemaInfoLevelBuilder;
+import schemacrawler.test.utility.BaseDatabaseTest;
+import schemacrawler.tools.commandline.watch.SchemaChangeEvent;
+import schemacrawler.tools.commandline.watch.SchemaChangeType;
+import schemacrawler.tools.commandline.watch.SchemaWatcher;
+import schemacrawler.tools.executable.SchemaCrawlerExecutable;
+import schemacrawler.tools.options.OutputOptionsBuilder;
+import schemacrawler.utility.SchemaCrawlerUtility;
+import sf.util.IOUtility;
+
+public class SchemaWatcherTest
+  extends BaseDatabaseTest
+{
+
+  private static final String WATCHED_TABLE = "PUBLIC.BOOKS.WATCHED";
+
+  @Test
+  public void watchCommand()
+    throws Exception
+  {
+    final Path testOutputFile = IOUtility.createTempFilePath("watch", "txt");
+
+    final Config config = new Config();
+    config.put("watchinterval", "0");
+    config.put("watchcount", "2");
+
+    final SchemaCrawlerExecutable executable = new SchemaCrawlerExecutable("watch");
+    executable.setSchemaCrawlerOptions(options());
+    executable.setOutputOptions(OutputOptionsBuilder
+      .newOutputOptions("text", testOutputFile));
+    executable.setAdditionalConfiguration(config);
+    executable.setConnection(getConnection());
+    executable.execute();
+
+    assertEquals(0, Files.size(testOutputFile));
+  }
+
+  @Test
+  public void watchTableChanges()
+    throws Exception
+  {
+    watchTableChanges(null);
+  }
+
+  @Test
+  public void watchTableChangesWithIndicatorQuery()
+    throws Exception
+  {
+    watchTableChanges("SELECT TABLE_SCHEMA || '.' || TABLE_NAME, COUNT(*) "
+                      + "FROM INFORMATION_SCHEMA.COLUMNS "
+                      + "WHERE TABLE_SCHEMA = 'BOOKS' "
+                      + "GROUP BY TABLE_SCHEMA, TABLE_NAME");
+  }
+
+  @Test(expected = SchemaCrawlerException.class)
+  public void watchWithUpdateIndicatorQuery()
+    throws Exception
+  {
+    final SchemaCrawlerOptions options = options();
+    try (final Connection connection = getConnection();)
+    {
+      final Catalog catalog = SchemaCrawlerUtility.getCatalog(connection,
+                                                              options);
+      new SchemaWatcher(connection,
+                        options,
+                        "UPDATE BOOKS.AUTHORS SET ID = ID WHERE 1 = 0",
+                        catalog);
+    }
+  }
+
+  private void assertEvent(final List<SchemaChangeEvent> events,
+                           final SchemaChangeType changeType)
+  {
+    assertEquals(events.toString(), 1, events.size());
+    assertEquals(changeType, events.get(0).getChangeType());
+    assertEquals(WATCHED_TABLE, events.get(0).getFullName());
+  }
+
+  private SchemaCrawlerOptions options()
+  {
+    return new SchemaCrawlerOptionsBuilder()
+      .withSchemaInfoLevel(SchemaInfoLevelBuilder.standard())
+      .includeSchemas(new RegularExpressionInclusionRule("PUBLIC.BOOKS"))
+      .toOptions();
+  }
+
+  private void watchTableChanges(final String changeIndicatorQuery)
+    throws Exception
+  {
+    final SchemaCrawlerOptions options = options();
+    try (final Connection connection = getConnection();
+        final Statement statement = connection.createStatement();)
+    {
+      final Catalog catalog = SchemaCrawlerUtility.getCatalog(connection,
+                                                              options);
+      final SchemaWatcher watcher = new SchemaWatcher(connection,
+                                                      options,
+                                                      changeIndicatorQuery,
+                                                      catalog);
+      assertTrue(watcher.poll().isEmpty());
+
+      statement.execute("CREATE TABLE BOOKS.WATCHED (ID INTEGER)");
+      try
+      {
+        assertEvent(watcher.poll(), SchemaChangeType.added);
+        assertTrue(watcher.poll().isEmpty());
+
+        statement
+          .execute("ALTER TABLE BOOKS.WATCHED ADD COLUMN NAME VARCHAR(20)");
+        assertEvent(watcher.poll(), SchemaChangeType.changed);
+      }
+      finally
+      {
+        statement.execute("DROP TABLE BOOKS.WATCHED");
+      }
+      assertEvent(watcher.poll(), SchemaChangeType.removed);
+    }
+  }
+
+}
@@ -8,7 +8,9 @@ SELECT
   STRIP(SYSCAT.KEYCOLUSE.COLNAME) AS COLUMN_NAME,
   STRIP(SYSCAT.KEYCOLUSE.COLSEQ) AS ORDINAL_POSITION
 FROM
-  SYSCAT.KEYCOLUSE  
+  SYSCAT.KEYCOLUSE
+WHERE
+  STRIP(SYSCAT.KEYCOLUSE.TABSCHEMA) IN (${schemanames})
 UNION 
 SELECT
   NULLIF(1, 1) AS CONSTRAINT_CATALOG,
@@ -20,5 +22,7 @@ SELECT
   STRIP(SYSCAT.COLCHECKS.COLNAME) AS COLUMN_NAME,
   1 AS ORDINAL_POSITION
 FROM
-  SYSCAT.COLCHECKS  
+  SYSCAT.COLCHECKS
+WHERE
+  STRIP(SYSCAT.COLCHECKS.TABSCHEMA) IN (${schemanames})
 WITH UR
@@ -7,8 +7,9 @@ FROM
   SYSCAT.COLUMNS AS COLUMNS
 WHERE
   COLUMNS.HIDDEN = 'I'
+  AND STRIP(COLUMNS.TABSCHEMA) IN (${schemanames})
 ORDER BY
   COLUMNS.TABSCHEMA,
   COLUMNS.TABNAME,
   COLUMNS.COLNAME
-WITH UR 
+WITH UR
@@ -9,4 +9,5 @@ FROM
   SYSCAT.TABLES
 WHERE
   TYPE = 'A'
+  AND STRIP(TABSCHEMA) IN (${schemanames})
 WITH UR
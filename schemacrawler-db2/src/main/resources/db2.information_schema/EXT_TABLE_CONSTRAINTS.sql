@@ -5,7 +5,9 @@ SELECT
   SYSCAT.CHECKS.TEXT AS CHECK_CLAUSE
 FROM
   SYSCAT.CHECKS
+WHERE
+  STRIP(SYSCAT.CHECKS.TABSCHEMA) IN (${schemanames})
 ORDER BY
   SYSCAT.CHECKS.TABSCHEMA,
   SYSCAT.CHECKS.CONSTNAME
-WITH UR 
+WITH UR
@@ -16,4 +16,7 @@ SELECT
   FK.UNIQUE_OR_PRIMARY
 FROM
   SYSIBM.SQLFOREIGNKEYS FK
+WHERE
+  (STRIP(FK.FKTABLE_SCHEM) IN (${schemanames})
+    OR STRIP(FK.PKTABLE_SCHEM) IN (${schemanames}))
 WITH UR
@@ -13,7 +13,9 @@ SELECT
     AS ROUTINE_DEFINITION
 FROM
   SYSCAT.ROUTINES
+WHERE
+  STRIP(SYSCAT.ROUTINES.ROUTINESCHEMA) IN (${schemanames})
 ORDER BY
   SYSCAT.ROUTINES.ROUTINESCHEMA,
   SYSCAT.ROUTINES.ROUTINENAME
-WITH UR  
+WITH UR
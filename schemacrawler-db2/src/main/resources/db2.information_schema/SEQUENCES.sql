@@ -22,6 +22,7 @@ FROM
   SYSCAT.SEQUENCES
 WHERE
   SYSCAT.SEQUENCES.ORIGIN = 'U'
+  AND STRIP(SYSCAT.SEQUENCES.SEQSCHEMA) IN (${schemanames})
 ORDER BY
   SYSCAT.SEQUENCES.SEQSCHEMA,
   SYSCAT.SEQUENCES.SEQNAME
@@ -10,7 +10,9 @@ SELECT
   STRIP(SYSIBM.TABLE_CONSTRAINTS.INITIALLY_DEFERRED) AS INITIALLY_DEFERRED
 FROM
   SYSIBM.TABLE_CONSTRAINTS
+WHERE
+  STRIP(SYSIBM.TABLE_CONSTRAINTS.TABLE_SCHEMA) IN (${schemanames})
 ORDER BY
   SYSIBM.TABLE_CONSTRAINTS.TABLE_SCHEMA,
   SYSIBM.TABLE_CONSTRAINTS.TABLE_NAME
-WITH UR  
+WITH UR
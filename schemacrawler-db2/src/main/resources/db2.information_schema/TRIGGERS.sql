@@ -37,7 +37,8 @@ FROM
   SYSCAT.TRIGGERS
 WHERE
   STRIP(SYSCAT.TRIGGERS.VALID) = 'Y'
+  AND STRIP(SYSCAT.TRIGGERS.TRIGSCHEMA) IN (${schemanames})
 ORDER BY
   SYSCAT.TRIGGERS.TRIGSCHEMA,
   SYSCAT.TRIGGERS.TRIGNAME
-WITH UR  
+WITH UR
@@ -13,8 +13,10 @@ SELECT
     AS IS_UPDATABLE
 FROM
   SYSCAT.VIEWS
+WHERE
+  STRIP(SYSCAT.VIEWS.VIEWSCHEMA) IN (${schemanames})
 ORDER BY
   SYSCAT.VIEWS.VIEWSCHEMA,
   SYSCAT.VIEWS.VIEWNAME,
   SYSCAT.VIEWS.SEQNO
-WITH UR  
+WITH UR
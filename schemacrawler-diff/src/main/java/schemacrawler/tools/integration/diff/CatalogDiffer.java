@@ -0,0 +1,831 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2018, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+package schemacrawler.tools.integration.diff;
+
+
+import static java.util.Objects.requireNonNull;
+import static schemacrawler.tools.analysis.fingerprint.FingerprintUtility.isFingerprintMatch;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.logging.Level;
+
+import schemacrawler.schema.Catalog;
+import schemacrawler.schema.Column;
+import schemacrawler.schema.ColumnDataType;
+import schemacrawler.schema.DatabaseObject;
+import schemacrawler.schema.ForeignKey;
+import schemacrawler.schema.ForeignKeyColumnReference;
+import schemacrawler.schema.Index;
+import schemacrawler.schema.IndexColumn;
+import schemacrawler.schema.NamedObject;
+import schemacrawler.schema.PrimaryKey;
+import schemacrawler.schema.Routine;
+import schemacrawler.schema.RoutineColumn;
+import schemacrawler.schema.Schema;
+import schemacrawler.schema.Sequence;
+import schemacrawler.schema.Synonym;
+import schemacrawler.schema.Table;
+import schemacrawler.schemacrawler.SchemaCrawlerException;
+import sf.util.SchemaCrawlerLogger;
+import sf.util.StringFormat;
+
+/**
+ * Compares two catalogs, and produces a list of changes. Objects are
+ * matched by their unique lookup key, and only properties that describe
+ * the structure of the schema are compared, so remarks, row counts and
+ * other informational attributes are ignored. Schemas are compared
+ * independently of each other, in parallel. If both catalogs have
+ * fingerprints, for example when they are loaded from offline snapshots,
+ * objects with matching fingerprints are skipped without comparing their
+ * contents.
+ *
+ * @author Sualeh Fatehi
+ */
+public final class CatalogDiffer
+{
+
+  /**
+   * Thrown to abandon the comparison when the change handler fails. The
+   * original exception is kept by the change sink.
+   */
+  private static final class ChangeHandlerFailure
+    extends RuntimeException
+  {
+
+    private static final long serialVersionUID = 2960146519367725380L;
+
+  }
+
+  /**
+   * Serializes calls to the change handler, and keeps the first
+   * exception that it throws.
+   */
+  private static final class ChangeSink
+  {
+
+    private final ChangeHandler handler;
+    private SchemaCrawlerException failure;
+
+    ChangeSink(final ChangeHandler handler)
+    {
+      this.handler = handler;
+    }
+
+    void handle(final Change change)
+    {
+      handle(Collections.singletonList(change));
+    }
+
+    synchronized void handle(final List<Change> changes)
+    {
+      if (failure != null)
+      {
+        throw new ChangeHandlerFailure();
+      }
+      try
+      {
+        for (final Change change: changes)
+        {
+          handler.handle(change);
+        }
+      }
+      catch (final SchemaCrawlerException e)
+      {
+        failure = e;
+        throw new ChangeHandlerFailure();
+      }
+    }
+
+  }
+
+  private static final SchemaCrawlerLogger LOGGER = SchemaCrawlerLogger
+    .getLogger(CatalogDiffer.class.getName());
+
+  private static String columnsOf(final Index index)
+  {
+    final List<String> columns = new ArrayList<>();
+    for (final IndexColumn column: index.getColumns())
+    {
+      columns.add(column.getName() + " " + column.getSortSequence());
+    }
+    return columns.toString();
+  }
+
+  private static String columnsOf(final PrimaryKey primaryKey)
+  {
+    final List<String> columns = new ArrayList<>();
+    for (final Column column: primaryKey.getColumns())
+    {
+      columns.add(column.getName());
+    }
+    return columns.toString();
+  }
+
+  private static String referencesOf(final ForeignKey foreignKey)
+  {
+    final List<String> references = new ArrayList<>();
+    for (final ForeignKeyColumnReference reference: foreignKey
+      .getColumnReferences())
+    {
+      references.add(reference.getForeignKeyColumn().getFullName() + " -> "
+                     + reference.getPrimaryKeyColumn().getFullName());
+    }
+    return references.toString();
+  }
+
+  /**
+   * Gets a key that matches objects by signature, such as the columns
+   * of an index, so that objects with names that were generated by the
+   * database are matched. Objects are matched by name as well only when
+   * the signature is not unique on either side.
+   */
+  private static <N extends NamedObject> Function<N, Object> signatureKey(final Collection<? extends N> oldObjects,
+                                                                         final Collection<? extends N> newObjects,
+                                                                         final Function<N, String> signature)
+  {
+    final Set<String> collisions = new HashSet<>();
+    for (final Collection<? extends N> objects: Arrays
+      .asList(oldObjects, newObjects))
+    {
+      final Set<String> signatures = new HashSet<>(objects.size() * 2);
+      for (final N object: objects)
+      {
+        final String objectSignature = signature.apply(object);
+        if (!signatures.add(objectSignature))
+        {
+          collisions.add(objectSignature);
+        }
+      }
+    }
+
+    return object -> {
+      final String objectSignature = signature.apply(object);
+      if (collisions.contains(objectSignature))
+      {
+        return Arrays.asList(objectSignature, object.getName());
+      }
+      return objectSignature;
+    };
+  }
+
+  private static String typeOf(final ColumnDataType columnDataType)
+  {
+    if (columnDataType == null)
+    {
+      return null;
+    }
+    return columnDataType.getDatabaseSpecificTypeName();
+  }
+
+  private final int parallelism;
+
+  public CatalogDiffer()
+  {
+    this(Runtime.getRuntime().availableProcessors());
+  }
+
+  /**
+   * Creates a differ that compares at most the given number of schemas
+   * at the same time.
+   *
+   * @param parallelism
+   *        Number of threads to use, at least one
+   */
+  public CatalogDiffer(final int parallelism)
+  {
+    if (parallelism < 1)
+    {
+      throw new IllegalArgumentException("Parallelism needs to be at least 1");
+    }
+    this.parallelism = parallelism;
+  }
+
+  /**
+   * Compares two catalogs, and collects the changes in a list. Changes
+   * are listed schema by schema, in the order of the old catalog,
+   * followed by objects only in the new catalog. For very large
+   * catalogs, use a change handler instead, so that changes do not have
+   * to be held in memory.
+   *
+   * @param oldCatalog
+   *        Catalog to compare from
+   * @param newCatalog
+   *        Catalog to compare to
+   * @return Changes, which is empty if the catalogs match
+   * @throws SchemaCrawlerException
+   *         On an exception comparing a schema
+   */
+  public List<Change> compare(final Catalog oldCatalog,
+                              final Catalog newCatalog)
+    throws SchemaCrawlerException
+  {
+    final List<Change> changes = new ArrayList<>();
+    compare(oldCatalog, newCatalog, changes::add, true);
+    return changes;
+  }
+
+  /**
+   * Compares two catalogs, and passes each change to the handler as
+   * soon as the object it belongs to has been compared. Only the
+   * changes for one table or routine are held in memory at a time, and
+   * they are always passed to the handler together. When schemas are
+   * compared in parallel, changes from different schemas may be
+   * interleaved, but the handler is never called concurrently.
+   *
+   * @param oldCatalog
+   *        Catalog to compare from
+   * @param newCatalog
+   *        Catalog to compare to
+   * @param handler
+   *        Handler for changes
+   * @throws SchemaCrawlerException
+   *         On an exception comparing a schema, or from the handler
+   */
+  public void compare(final Catalog oldCatalog,
+                      final Catalog newCatalog,
+                      final ChangeHandler handler)
+    throws SchemaCrawlerException
+  {
+    compare(oldCatalog, newCatalog, handler, false);
+  }
+
+  /**
+   * Compares two catalogs. If changes need to be in schema order,
+   * schemas that are compared in parallel collect their changes, which
+   * are passed to the handler one schema at a time, in the order of the
+   * old catalog.
+   */
+  private void compare(final Catalog oldCatalog,
+                       final Catalog newCatalog,
+                       final ChangeHandler handler,
+                       final boolean isInSchemaOrder)
+    throws SchemaCrawlerException
+  {
+    requireNonNull(oldCatalog, "No old catalog provided");
+    requireNonNull(newCatalog, "No new catalog provided");
+    requireNonNull(handler, "No change handler provided");
+
+    if (isFingerprintMatch(oldCatalog, newCatalog))
+    {
+      return;
+    }
+
+    final ChangeSink sink = new ChangeSink(handler);
+    try
+    {
+      final List<Schema[]> matchedSchemas = new ArrayList<>();
+      compareNamed(sink::handle,
+                   ChangedObjectType.schema,
+                   oldCatalog.getSchemas(),
+                   newCatalog.getSchemas(),
+                   NamedObject::toUniqueLookupKey,
+                   (oldSchema, newSchema) -> {
+                     if (!isFingerprintMatch(oldSchema, newSchema))
+                     {
+                       matchedSchemas
+                         .add(new Schema[] { oldSchema, newSchema });
+                     }
+                   });
+
+      final int threads = Math.min(parallelism, matchedSchemas.size());
+      if (threads <= 1)
+      {
+        for (final Schema[] schemas: matchedSchemas)
+        {
+          compareSchema(oldCatalog, schemas[0], newCatalog, schemas[1], sink);
+        }
+      }
+      else
+      {
+        compareSchemas(oldCatalog,
+                       newCatalog,
+                       matchedSchemas,
+                       threads,
+                       sink,
+                       isInSchemaOrder);
+      }
+    }
+    catch (final ChangeHandlerFailure e)
+    {
+      throw sink.failure;
+    }
+  }
+
+  private void compareColumn(final List<Change> changes,
+                             final Column oldColumn,
+                             final Column newColumn)
+  {
+    if (isFingerprintMatch(oldColumn, newColumn))
+    {
+      return;
+    }
+
+    final ChangedObjectType type = ChangedObjectType.column;
+    final String fullName = newColumn.getFullName();
+    compareProperty(changes,
+                    type,
+                    fullName,
+                    "type",
+                    typeOf(oldColumn.getColumnDataType()),
+                    typeOf(newColumn.getColumnDataType()));
+    compareProperty(changes,
+                    type,
+                    fullName,
+                    "size",
+                    oldColumn.getSize(),
+                    newColumn.getSize());
+    compareProperty(changes,
+                    type,
+                    fullName,
+                    "decimalDigits",
+                    oldColumn.getDecimalDigits(),
+                    newColumn.getDecimalDigits());
+    compareProperty(changes,
+                    type,
+                    fullName,
+                    "nullable",
+                    oldColumn.isNullable(),
+                    newColumn.isNullable());
+    compareProperty(changes,
+                    type,
+                    fullName,
+                    "defaultValue",
+                    oldColumn.getDefaultValue(),
+                    newColumn.getDefaultValue());
+    compareProperty(changes,
+                    type,
+                    fullName,
+                    "autoIncremented",
+                    oldColumn.isAutoIncremented(),
+                    newColumn.isAutoIncremented());
+    compareProperty(changes,
+                    type,
+                    fullName,
+                    "generated",
+                    oldColumn.isGenerated(),
+                    newColumn.isGenerated());
+  }
+
+  private void compareForeignKey(final List<Change> changes,
+                                 final ForeignKey oldForeignKey,
+                                 final ForeignKey newForeignKey)
+  {
+    final ChangedObjectType type = ChangedObjectType.foreign_key;
+    final String fullName = newForeignKey.getFullName();
+    compareProperty(changes,
+                    type,
+                    fullName,
+                    "name",
+                    oldForeignKey.getName(),
+                    newForeignKey.getName());
+    compareProperty(changes,
+                    type,
+                    fullName,
+                    "updateRule",
+                    oldForeignKey.getUpdateRule(),
+                    newForeignKey.getUpdateRule());
+    compareProperty(changes,
+                    type,
+                    fullName,
+                    "deleteRule",
+                    oldForeignKey.getDeleteRule(),
+                    newForeignKey.getDeleteRule());
+  }
+
+  private void compareIndex(final List<Change> changes,
+                            final Index oldIndex,
+                            final Index newIndex)
+  {
+    final ChangedObjectType type = ChangedObjectType.index;
+    final String fullName = newIndex.getFullName();
+    compareProperty(changes,
+                    type,
+                    fullName,
+                    "name",
+                    oldIndex.getName(),
+                    newIndex.getName());
+    compareProperty(changes,
+                    type,
+                    fullName,
+                    "unique",
+                    oldIndex.isUnique(),
+                    newIndex.isUnique());
+    compareProperty(changes,
+                    type,
+                    fullName,
+                    "indexType",
+                    oldIndex.getIndexType(),
+                    newIndex.getIndexType());
+  }
+
+  /**
+   * Matches objects by key, and reports objects that are only present on
+   * one side. Matched objects are passed on for further comparison.
+   */
+  private <N extends NamedObject> void compareNamed(final Consumer<Change> changes,
+                                                    final ChangedObjectType type,
+                                                    final Collection<? extends N> oldObjects,
+                                                    final Collection<? extends N> newObjects,
+                                                    final Function<N, Object> key,
+                                                    final BiConsumer<N, N> compareMatched)
+  {
+    final Map<Object, N> newObjectsMap = new HashMap<>(newObjects.size() * 2);
+    for (final N newObject: newObjects)
+    {
+      newObjectsMap.put(key.apply(newObject), newObject);
+    }
+
+    final Map<Object, N> matched = new HashMap<>(oldObjects.size() * 2);
+    for (final N oldObject: oldObjects)
+    {
+      final Object oldKey = key.apply(oldObject);
+      final N newObject = newObjectsMap.get(oldKey);
+      if (newObject == null)
+      {
+        changes.accept(new Change(ChangeType.removed,
+                                  type,
+                                  oldObject.getFullName()));
+      }
+      else
+      {
+        matched.put(oldKey, newObject);
+        compareMatched.accept(oldObject, newObject);
+      }
+    }
+
+    for (final N newObject: newObjects)
+    {
+      if (!matched.containsKey(key.apply(newObject)))
+      {
+        changes.accept(new Change(ChangeType.added,
+                                  type,
+                                  newObject.getFullName()));
+      }
+    }
+  }
+
+  private void compareProperty(final List<Change> changes,
+                               final ChangedObjectType type,
+                               final String fullName,
+                               final String property,
+                               final Object oldValue,
+                               final Object newValue)
+  {
+    if (!Objects.equals(oldValue, newValue))
+    {
+      changes.add(new Change(ChangeType.changed,
+                             type,
+                             fullName,
+                             property,
+                             Objects.toString(oldValue, null),
+                             Objects.toString(newValue, null)));
+    }
+  }
+
+  private void compareRoutine(final List<Change> changes,
+                              final Routine oldRoutine,
+                              final Routine newRoutine)
+  {
+    if (isFingerprintMatch(oldRoutine, newRoutine))
+    {
+      return;
+    }
+
+    final ChangedObjectType type = ChangedObjectType.routine;
+    final String fullName = newRoutine.getFullName();
+    compareProperty(changes,
+                    type,
+                    fullName,
+                    "routineType",
+                    oldRoutine.getRoutineType(),
+                    newRoutine.getRoutineType());
+    compareProperty(changes,
+                    type,
+                    fullName,
+                    "returnType",
+                    oldRoutine.getReturnType(),
+                    newRoutine.getReturnType());
+
+    final List<RoutineColumn<? extends Routine>> oldColumns = oldRoutine
+      .getColumns();
+    final List<RoutineColumn<? extends Routine>> newColumns = newRoutine
+      .getColumns();
+    compareNamed(changes::add,
+                 ChangedObjectType.routine_column,
+                 oldColumns,
+                 newColumns,
+                 NamedObject::getName,
+                 (oldColumn, newColumn) -> compareRoutineColumn(changes,
+                                                                oldColumn,
+                                                                newColumn));
+  }
+
+  private void compareRoutineColumn(final List<Change> changes,
+                                    final RoutineColumn<? extends Routine> oldColumn,
+                                    final RoutineColumn<? extends Routine> newColumn)
+  {
+    final ChangedObjectType type = ChangedObjectType.routine_column;
+    final String fullName = newColumn.getFullName();
+    compareProperty(changes,
+                    type,
+                    fullName,
+                    "columnType",
+                    oldColumn.getColumnType(),
+                    newColumn.getColumnType());
+    compareProperty(changes,
+                    type,
+                    fullName,
+                    "ordinalPosition",
+                    oldColumn.getOrdinalPosition(),
+                    newColumn.getOrdinalPosition());
+    compareProperty(changes,
+                    type,
+                    fullName,
+                    "type",
+                    typeOf(oldColumn.getColumnDataType()),
+                    typeOf(newColumn.getColumnDataType()));
+    compareProperty(changes,
+                    type,
+                    fullName,
+                    "size",
+                    oldColumn.getSize(),
+                    newColumn.getSize());
+    compareProperty(changes,
+                    type,
+                    fullName,
+                    "decimalDigits",
+                    oldColumn.getDecimalDigits(),
+                    newColumn.getDecimalDigits());
+  }
+
+  private void compareSchema(final Catalog oldCatalog,
+                             final Schema oldSchema,
+                             final Catalog newCatalog,
+                             final Schema newSchema,
+                             final ChangeSink sink)
+  {
+    LOGGER.log(Level.FINE,
+               new StringFormat("Comparing schema <%s>",
+                                newSchema.getFullName()));
+
+    compareNamed(sink::handle,
+                 ChangedObjectType.table,
+                 oldCatalog.getTables(oldSchema),
+                 newCatalog.getTables(newSchema),
+                 NamedObject::toUniqueLookupKey,
+                 (oldTable, newTable) -> {
+                   final List<Change> changes = new ArrayList<>();
+                   compareTable(changes, oldTable, newTable);
+                   sink.handle(changes);
+                 });
+    compareNamed(sink::handle,
+                 ChangedObjectType.routine,
+                 oldCatalog.getRoutines(oldSchema),
+                 newCatalog.getRoutines(newSchema),
+                 NamedObject::toUniqueLookupKey,
+                 (oldRoutine, newRoutine) -> {
+                   final List<Change> changes = new ArrayList<>();
+                   compareRoutine(changes, oldRoutine, newRoutine);
+                   sink.handle(changes);
+                 });
+    compareNamed(sink::handle,
+                 ChangedObjectType.sequence,
+                 oldCatalog.getSequences(oldSchema),
+                 newCatalog.getSequences(newSchema),
+                 NamedObject::toUniqueLookupKey,
+                 (oldSequence, newSequence) -> {
+                   final List<Change> changes = new ArrayList<>();
+                   compareSequence(changes, oldSequence, newSequence);
+                   sink.handle(changes);
+                 });
+    compareNamed(sink::handle,
+                 ChangedObjectType.synonym,
+                 oldCatalog.getSynonyms(oldSchema),
+                 newCatalog.getSynonyms(newSchema),
+                 NamedObject::toUniqueLookupKey,
+                 (oldSynonym, newSynonym) -> {
+                   final List<Change> changes = new ArrayList<>();
+                   compareProperty(changes,
+                                   ChangedObjectType.synonym,
+                                   newSynonym.getFullName(),
+                                   "referencedObject",
+                                   fullNameOf(oldSynonym.getReferencedObject()),
+                                   fullNameOf(newSynonym.getReferencedObject()));
+                   sink.handle(changes);
+                 });
+  }
+
+  private void compareSchemas(final Catalog oldCatalog,
+                              final Catalog newCatalog,
+                              final List<Schema[]> matchedSchemas,
+                              final int threads,
+                              final ChangeSink sink,
+                              final boolean isInSchemaOrder)
+    throws SchemaCrawlerException
+  {
+    LOGGER.log(Level.INFO,
+               new StringFormat("Comparing %d schemas using %d threads",
+                                matchedSchemas.size(),
+                                threads));
+    final ExecutorService executor = Executors
+      .newFixedThreadPool(threads, runnable -> {
+        final Thread thread = new Thread(runnable, "schemacrawler-diff");
+        thread.setDaemon(true);
+        return thread;
+      });
+    try
+    {
+      final List<Future<List<Change>>> schemaComparisons = new ArrayList<>();
+      for (final Schema[] schemas: matchedSchemas)
+      {
+        schemaComparisons.add(executor.submit(() -> {
+          if (!isInSchemaOrder)
+          {
+            compareSchema(oldCatalog, schemas[0], newCatalog, schemas[1], sink);
+            return Collections.<Change> emptyList();
+          }
+          final List<Change> schemaChanges = new ArrayList<>();
+          compareSchema(oldCatalog,
+                        schemas[0],
+                        newCatalog,
+                        schemas[1],
+                        new ChangeSink(schemaChanges::add));
+          return schemaChanges;
+        }));
+      }
+      for (final Future<List<Change>> future: schemaComparisons)
+      {
+        sink.handle(future.get());
+      }
+    }
+    catch (final ExecutionException e)
+    {
+      if (e.getCause() instanceof ChangeHandlerFailure)
+      {
+        throw sink.failure;
+      }
+      throw new SchemaCrawlerException("Could not compare catalogs",
+                                       e.getCause());
+    }
+    catch (final InterruptedException e)
+    {
+      Thread.currentThread().interrupt();
+      throw new SchemaCrawlerException("Interrupted comparing catalogs", e);
+    }
+    finally
+    {
+      executor.shutdownNow();
+    }
+  }
+
+  private void compareSequence(final List<Change> changes,
+                               final Sequence oldSequence,
+                               final Sequence newSequence)
+  {
+    final ChangedObjectType type = ChangedObjectType.sequence;
+    final String fullName = newSequence.getFullName();
+    compareProperty(changes,
+                    type,
+                    fullName,
+                    "increment",
+                    oldSequence.getIncrement(),
+                    newSequence.getIncrement());
+    compareProperty(changes,
+                    type,
+                    fullName,
+                    "minimumValue",
+                    oldSequence.getMinimumValue(),
+                    newSequence.getMinimumValue());
+    compareProperty(changes,
+                    type,
+                    fullName,
+                    "maximumValue",
+                    oldSequence.getMaximumValue(),
+                    newSequence.getMaximumValue());
+    compareProperty(changes,
+                    type,
+                    fullName,
+                    "cycle",
+                    oldSequence.isCycle(),
+                    newSequence.isCycle());
+  }
+
+  private void compareTable(final List<Change> changes,
+                            final Table oldTable,
+                            final Table newTable)
+  {
+    if (isFingerprintMatch(oldTable, newTable))
+    {
+      return;
+    }
+
+    compareProperty(changes,
+                    ChangedObjectType.table,
+                    newTable.getFullName(),
+                    "tableType",
+                    oldTable.getTableType(),
+                    newTable.getTableType());
+
+    compareNamed(changes::add,
+                 ChangedObjectType.column,
+                 oldTable.getColumns(),
+                 newTable.getColumns(),
+                 NamedObject::getName,
+                 (oldColumn, newColumn) -> compareColumn(changes,
+                                                         oldColumn,
+                                                         newColumn));
+
+    final PrimaryKey oldPrimaryKey = oldTable.getPrimaryKey();
+    final PrimaryKey newPrimaryKey = newTable.getPrimaryKey();
+    compareNamed(changes::add,
+                 ChangedObjectType.primary_key,
+                 oldPrimaryKey == null? Collections.emptyList()
+                                      : Collections.singleton(oldPrimaryKey),
+                 newPrimaryKey == null? Collections.emptyList()
+                                      : Collections.singleton(newPrimaryKey),
+                 primaryKey -> ChangedObjectType.primary_key,
+                 (oldKey, newKey) -> compareProperty(changes,
+                                                     ChangedObjectType.primary_key,
+                                                     newKey.getFullName(),
+                                                     "columns",
+                                                     columnsOf(oldKey),
+                                                     columnsOf(newKey)));
+
+    final Collection<Index> oldIndexes = oldTable.getIndexes();
+    final Collection<Index> newIndexes = newTable.getIndexes();
+    compareNamed(changes::add,
+                 ChangedObjectType.index,
+                 oldIndexes,
+                 newIndexes,
+                 signatureKey(oldIndexes, newIndexes, CatalogDiffer::columnsOf),
+                 (oldIndex, newIndex) -> compareIndex(changes,
+                                                      oldIndex,
+                                                      newIndex));
+
+    final Collection<ForeignKey> oldForeignKeys = oldTable
+      .getImportedForeignKeys();
+    final Collection<ForeignKey> newForeignKeys = newTable
+      .getImportedForeignKeys();
+    compareNamed(changes::add,
+                 ChangedObjectType.foreign_key,
+                 oldForeignKeys,
+                 newForeignKeys,
+                 signatureKey(oldForeignKeys,
+                              newForeignKeys,
+                              CatalogDiffer::referencesOf),
+                 (oldForeignKey, newForeignKey) -> compareForeignKey(changes,
+                                                                     oldForeignKey,
+                                                                     newForeignKey));
+  }
+
+  private String fullNameOf(final DatabaseObject databaseObject)
+  {
+    if (databaseObject == null)
+    {
+      return null;
+    }
+    return databaseObject.getFullName();
+  }
+
+}
@@ -0,0 +1,167 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2018, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+package schemacrawler.tools.integration.diff;
+
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * A single difference between two catalogs. Objects are identified by
+ * their full name. Property changes carry the name of the property, and
+ * the old and new values.
+ *
+ * @author Sualeh Fatehi
+ */
+public final class Change
+  implements Serializable
+{
+
+  private static final long serialVersionUID = -3125734781629364718L;
+
+  private final ChangeType changeType;
+  private final ChangedObjectType objectType;
+  private final String fullName;
+  private final String property;
+  private final String oldValue;
+  private final String newValue;
+
+  Change(final ChangeType changeType,
+         final ChangedObjectType objectType,
+         final String fullName)
+  {
+    this(changeType, objectType, fullName, null, null, null);
+  }
+
+  Change(final ChangeType changeType,
+         final ChangedObjectType objectType,
+         final String fullName,
+         final String property,
+         final String oldValue,
+         final String newValue)
+  {
+    this.changeType = requireNonNull(changeType, "No change type provided");
+    this.objectType = requireNonNull(objectType, "No object type provided");
+    this.fullName = requireNonNull(fullName, "No object name provided");
+    this.property = property;
+    this.oldValue = oldValue;
+    this.newValue = newValue;
+  }
+
+  @Override
+  public boolean equals(final Object obj)
+  {
+    if (this == obj)
+    {
+      return true;
+    }
+    if (!(obj instanceof Change))
+    {
+      return false;
+    }
+    final Change other = (Change) obj;
+    return changeType == other.changeType && objectType == other.objectType
+           && fullName.equals(other.fullName)
+           && Objects.equals(property, other.property)
+           && Objects.equals(oldValue, other.oldValue)
+           && Objects.equals(newValue, other.newValue);
+  }
+
+  public ChangeType getChangeType()
+  {
+    return changeType;
+  }
+
+  /**
+   * Full name of the changed object.
+   *
+   * @return Full name
+   */
+  public String getFullName()
+  {
+    return fullName;
+  }
+
+  /**
+   * Value of the property in the new catalog, only for changed objects.
+   *
+   * @return New value, or null
+   */
+  public String getNewValue()
+  {
+    return newValue;
+  }
+
+  public ChangedObjectType getObjectType()
+  {
+    return objectType;
+  }
+
+  /**
+   * Value of the property in the old catalog, only for changed objects.
+   *
+   * @return Old value, or null
+   */
+  public String getOldValue()
+  {
+    return oldValue;
+  }
+
+  /**
+   * Name of the changed property, only for changed objects.
+   *
+   * @return Property name, or null
+   */
+  public String getProperty()
+  {
+    return property;
+  }
+
+  @Override
+  public int hashCode()
+  {
+    return Objects.hash(changeType, objectType, fullName, property);
+  }
+
+  @Override
+  public String toString()
+  {
+    final StringBuilder buffer = new StringBuilder();
+    buffer.append(objectType).append(" ").append(fullName).append(" (")
+      .append(changeType).append(")");
+    if (property != null)
+    {
+      buffer.append(" ").append(property).append(": ").append(oldValue)
+        .append(" -> ").append(newValue);
+    }
+    return buffer.toString();
+  }
+
+}
@@ -0,0 +1,53 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2018, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+package schemacrawler.tools.integration.diff;
+
+
+import schemacrawler.schemacrawler.SchemaCrawlerException;
+
+/**
+ * Receives changes as two catalogs are compared.
+ *
+ * @author Sualeh Fatehi
+ */
+@FunctionalInterface
+public interface ChangeHandler
+{
+
+  /**
+   * Handles a change. Calls are never concurrent.
+   *
+   * @param change
+   *        Change between the catalogs
+   * @throws SchemaCrawlerException
+   *         On an exception, which stops the comparison
+   */
+  void handle(Change change)
+    throws SchemaCrawlerException;
+
+}
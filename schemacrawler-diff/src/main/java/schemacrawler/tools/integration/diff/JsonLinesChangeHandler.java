@@ -0,0 +1,84 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2018, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+package schemacrawler.tools.integration.diff;
+
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.io.Writer;
+
+import schemacrawler.schemacrawler.SchemaCrawlerException;
+import schemacrawler.tools.text.utility.org.json.JSONException;
+import schemacrawler.tools.text.utility.org.json.JSONObject;
+
+/**
+ * Writes each change as a JSON object on a line of its own, in the JSON
+ * Lines format, so that the output can be read one change at a time.
+ * Properties with null values are left out.
+ *
+ * @author Sualeh Fatehi
+ */
+public final class JsonLinesChangeHandler
+  implements ChangeHandler
+{
+
+  private final Writer writer;
+
+  public JsonLinesChangeHandler(final Writer writer)
+  {
+    this.writer = requireNonNull(writer, "No writer provided");
+  }
+
+  @Override
+  public void handle(final Change change)
+    throws SchemaCrawlerException
+  {
+    try
+    {
+      final JSONObject jsonChange = new JSONObject();
+      jsonChange.put("changeType", change.getChangeType().name());
+      jsonChange.put("objectType", change.getObjectType().name());
+      jsonChange.put("fullName", change.getFullName());
+      if (change.getProperty() != null)
+      {
+        jsonChange.put("property", change.getProperty());
+        jsonChange.put("oldValue", change.getOldValue());
+        jsonChange.put("newValue", change.getNewValue());
+      }
+
+      writer.write(jsonChange.toString());
+      writer.write(System.lineSeparator());
+    }
+    catch (final IOException | JSONException e)
+    {
+      throw new SchemaCrawlerException("Could not write change", e);
+    }
+  }
+
+}
@@ -0,0 +1,69 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2018, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+package schemacrawler.tools.integration.diff;
+
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.io.Writer;
+
+import schemacrawler.schemacrawler.SchemaCrawlerException;
+
+/**
+ * Writes each change as a line of plain text.
+ *
+ * @author Sualeh Fatehi
+ */
+public final class TextChangeHandler
+  implements ChangeHandler
+{
+
+  private final Writer writer;
+
+  public TextChangeHandler(final Writer writer)
+  {
+    this.writer = requireNonNull(writer, "No writer provided");
+  }
+
+  @Override
+  public void handle(final Change change)
+    throws SchemaCrawlerException
+  {
+    try
+    {
+      writer.write(change.toString());
+      writer.write(System.lineSeparator());
+    }
+    catch (final IOException e)
+    {
+      throw new SchemaCrawlerException("Could not write change", e);
+    }
+  }
+
+}
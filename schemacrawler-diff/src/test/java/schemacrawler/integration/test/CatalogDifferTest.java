@@ -0,0 +1,283 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2018, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+package schemacrawler.integration.test;
+
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static schemacrawler.test.utility.TestUtility.copyResourceToTempFile;
+import static schemacrawler.tools.analysis.fingerprint.FingerprintUtility.addFingerprints;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+
+import schemacrawler.schema.Catalog;
+import schemacrawler.schemacrawler.Config;
+import schemacrawler.schemacrawler.RegularExpressionInclusionRule;
+import schemacrawler.schemacrawler.ConnectionOptions;
+import schemacrawler.schemacrawler.SchemaCrawlerOptions;
+import schemacrawler.schemacrawler.SchemaCrawlerOptionsBuilder;
+import schemacrawler.schemacrawler.SchemaInfoLevelBuilder;
+import schemacrawler.schemacrawler.SingleUseUserCredentials;
+import schemacrawler.test.utility.BaseDatabaseTest;
+import schemacrawler.test.utility.TestName;
+import schemacrawler.test.utility.TestWriter;
+import schemacrawler.tools.integration.diff.CatalogDiffer;
+import schemacrawler.tools.integration.diff.Change;
+import schemacrawler.tools.integration.diff.ChangeType;
+import schemacrawler.tools.integration.diff.ChangedObjectType;
+import schemacrawler.tools.integration.diff.JsonLinesChangeHandler;
+import schemacrawler.tools.integration.diff.TextChangeHandler;
+import schemacrawler.tools.sqlite.SQLiteDatabaseConnector;
+import schemacrawler.utility.SchemaCrawlerUtility;
+
+public class CatalogDifferTest
+  extends
+  BaseDatabaseTest
+{
+
+  @Rule
+  public TestName testName = new TestName();
+
+  @Test
+  public void diffCatalog()
+    throws Exception
+  {
+    final Catalog catalog1 = getCatalog("/test1.db");
+    final Catalog catalog2 = getCatalog("/test2.db");
+
+    try (final TestWriter out = new TestWriter("text");)
+    {
+      new CatalogDiffer().compare(catalog1,
+                                  catalog2,
+                                  new TextChangeHandler(out));
+
+      out.assertEquals(testName.currentMethodFullName());
+    }
+  }
+
+  @Test
+  public void diffCatalogJsonLines()
+    throws Exception
+  {
+    final Catalog catalog1 = getCatalog("/test1.db");
+    final Catalog catalog2 = getCatalog("/test2.db");
+
+    try (final TestWriter out = new TestWriter("text");)
+    {
+      new CatalogDiffer().compare(catalog1,
+                                  catalog2,
+                                  new JsonLinesChangeHandler(out));
+
+      out.assertEquals(testName.currentMethodFullName());
+    }
+  }
+
+  @Test
+  public void diffCatalogReversed()
+    throws Exception
+  {
+    final Catalog catalog1 = getCatalog("/test1.db");
+    final Catalog catalog2 = getCatalog("/test2.db");
+
+    final List<Change> changes = new CatalogDiffer(1).compare(catalog1,
+                                                              catalog2);
+    final List<Change> reversedChanges = new CatalogDiffer(1)
+      .compare(catalog2, catalog1);
+    assertEquals(changes.size(), reversedChanges.size());
+  }
+
+  @Test
+  public void diffCatalogWithFingerprints()
+    throws Exception
+  {
+    final Catalog catalog1 = getCatalog("/test1.db");
+    final Catalog catalog2 = getCatalog("/test2.db");
+
+    final List<Change> changes = new CatalogDiffer().compare(catalog1,
+                                                             catalog2);
+    addFingerprints(catalog1);
+    addFingerprints(catalog2);
+    assertEquals(changes, new CatalogDiffer().compare(catalog1, catalog2));
+  }
+
+  @Test
+  public void diffMultipleSchemasInParallel()
+    throws Exception
+  {
+    final Catalog catalog1 = getCatalog("schemas1", "VARCHAR(10)", false);
+    final Catalog catalog2 = getCatalog("schemas2", "VARCHAR(20)", true);
+
+    final List<Change> sequentialChanges = new CatalogDiffer(1)
+      .compare(catalog1, catalog2);
+    for (int i = 0; i < 10; i++)
+    {
+      final List<Change> changes = new CatalogDiffer(4).compare(catalog1,
+                                                                catalog2);
+      assertEquals(sequentialChanges, changes);
+    }
+
+    // Changes are listed schema by schema, in the order of the old
+    // catalog
+    final List<String> schemas = new ArrayList<>();
+    for (final Change change: sequentialChanges)
+    {
+      final String schema = change.getFullName().split("\\.")[1];
+      if (schemas.isEmpty() || !schemas.get(schemas.size() - 1).equals(schema))
+      {
+        schemas.add(schema);
+      }
+    }
+    assertEquals(sequentialChanges.toString(),
+                 Arrays.asList("S1", "S2", "S3", "S4", "S5", "S6", "S7", "S8"),
+                 schemas);
+  }
+
+  @Test
+  public void diffRenamedIndexesAndForeignKeys()
+    throws Exception
+  {
+    final Catalog catalog1 = getCatalog("renamed1", "FK_ORDERS", "IDX_DATE");
+    final Catalog catalog2 = getCatalog("renamed2",
+                                        "FK_ORDERS_CUSTOMERS",
+                                        "IDX_ORDERS_DATE");
+
+    final List<Change> changes = new CatalogDiffer().compare(catalog1,
+                                                             catalog2);
+    assertFalse(changes.toString(), changes.isEmpty());
+    for (final Change change: changes)
+    {
+      assertEquals(change.toString(),
+                   ChangeType.changed,
+                   change.getChangeType());
+      assertEquals(change.toString(), "name", change.getProperty());
+    }
+    assertTrue(changes.toString(),
+               changes.stream().anyMatch(change -> change
+                 .getObjectType() == ChangedObjectType.foreign_key));
+    assertTrue(changes.toString(),
+               changes.stream().anyMatch(change -> change
+                 .getObjectType() == ChangedObjectType.index));
+  }
+
+  @Test
+  public void diffSameCatalog()
+    throws Exception
+  {
+    final Catalog catalog1 = getCatalog("/test1.db");
+    final Catalog catalog2 = getCatalog("/test1.db");
+
+    final List<Change> changes = new CatalogDiffer().compare(catalog1,
+                                                             catalog2);
+    assertTrue(changes.toString(), changes.isEmpty());
+  }
+
+  private Catalog getCatalog(final String database,
+                             final String foreignKeyName,
+                             final String indexName)
+    throws Exception
+  {
+    try (final Connection connection = DriverManager
+      .getConnection("jdbc:hsqldb:mem:" + database, "SA", "");
+        final Statement statement = connection.createStatement();)
+    {
+      statement
+        .execute("CREATE TABLE CUSTOMERS (ID INTEGER PRIMARY KEY, NAME VARCHAR(50))");
+      statement
+        .execute("CREATE TABLE ORDERS (ID INTEGER PRIMARY KEY, CUSTOMER_ID INTEGER, ORDER_DATE DATE, "
+                 + "CONSTRAINT " + foreignKeyName
+                 + " FOREIGN KEY (CUSTOMER_ID) REFERENCES CUSTOMERS (ID))");
+      statement.execute("CREATE INDEX " + indexName + " ON ORDERS (ORDER_DATE)");
+
+      final SchemaCrawlerOptions schemaCrawlerOptions = new SchemaCrawlerOptionsBuilder()
+        .withSchemaInfoLevel(SchemaInfoLevelBuilder.maximum())
+        .includeSchemas(new RegularExpressionInclusionRule("PUBLIC\\.PUBLIC"))
+        .toOptions();
+      return SchemaCrawlerUtility.getCatalog(connection, schemaCrawlerOptions);
+    }
+  }
+
+  private Catalog getCatalog(final String database,
+                             final String valueType,
+                             final boolean withExtraTable)
+    throws Exception
+  {
+    try (final Connection connection = DriverManager
+      .getConnection("jdbc:hsqldb:mem:" + database, "SA", "");
+        final Statement statement = connection.createStatement();)
+    {
+      for (int i = 1; i <= 8; i++)
+      {
+        final String schema = "S" + i;
+        statement.execute("CREATE SCHEMA " + schema);
+        statement.execute("CREATE TABLE " + schema
+                          + ".ITEMS (ID INTEGER PRIMARY KEY, ITEM_VALUE "
+                          + valueType + ")");
+        if (withExtraTable)
+        {
+          statement.execute("CREATE TABLE " + schema
+                            + ".EXTRA_ITEMS (ID INTEGER PRIMARY KEY)");
+        }
+      }
+
+      final SchemaCrawlerOptions schemaCrawlerOptions = new SchemaCrawlerOptionsBuilder()
+        .withSchemaInfoLevel(SchemaInfoLevelBuilder.maximum())
+        .includeSchemas(new RegularExpressionInclusionRule("PUBLIC\\.S\\d"))
+        .toOptions();
+      return SchemaCrawlerUtility.getCatalog(connection, schemaCrawlerOptions);
+    }
+  }
+
+  private Catalog getCatalog(final String database)
+    throws Exception
+  {
+    final Path sqliteDbFile = copyResourceToTempFile(database);
+    final Config config = new Config();
+    config.put("server", "sqlite");
+    config.put("database", sqliteDbFile.toString());
+
+    final SchemaCrawlerOptions schemaCrawlerOptions = SchemaCrawlerOptionsBuilder
+      .withMaximumSchemaInfoLevel();
+
+    final ConnectionOptions connectionOptions = new SQLiteDatabaseConnector()
+      .newDatabaseConnectionOptions(new SingleUseUserCredentials(), config);
+
+    return SchemaCrawlerUtility.getCatalog(connectionOptions.getConnection(),
+                                           schemaCrawlerOptions);
+  }
+
+}
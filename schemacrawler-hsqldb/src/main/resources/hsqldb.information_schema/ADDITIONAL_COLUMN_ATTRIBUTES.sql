@@ -7,3 +7,5 @@ SELECT
   GENERATION_EXPRESSION
 FROM 
   INFORMATION_SCHEMA.COLUMNS
+WHERE
+  TABLE_SCHEMA IN (${schemanames})
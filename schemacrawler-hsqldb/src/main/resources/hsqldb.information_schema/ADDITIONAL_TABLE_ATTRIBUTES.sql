@@ -5,4 +5,5 @@ SELECT
   COMMIT_ACTION
 FROM 
   INFORMATION_SCHEMA.TABLES
-  
\ No newline at end of file
+WHERE
+  TABLE_SCHEMA IN (${schemanames})
@@ -2,3 +2,5 @@ SELECT
   *
 FROM
   INFORMATION_SCHEMA.CONSTRAINT_COLUMN_USAGE
+WHERE
+  TABLE_SCHEMA IN (${schemanames})
@@ -8,3 +8,5 @@ SELECT
   OBJECT_TYPE AS REFERENCED_OBJECT_TYPE
 FROM
   INFORMATION_SCHEMA.SYSTEM_SYNONYMS
+WHERE
+  SYNONYM_SCHEMA IN (${schemanames})
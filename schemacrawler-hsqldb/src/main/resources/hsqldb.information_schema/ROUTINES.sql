@@ -2,7 +2,9 @@ SELECT
   *
 FROM
   INFORMATION_SCHEMA.ROUTINES
+WHERE
+  ROUTINE_SCHEMA IN (${schemanames})
 ORDER BY
   ROUTINE_CATALOG,
   ROUTINE_SCHEMA,
-  ROUTINE_NAME  
+  ROUTINE_NAME
@@ -2,6 +2,8 @@ SELECT
   *
 FROM
   INFORMATION_SCHEMA.SEQUENCES
+WHERE
+  SEQUENCE_SCHEMA IN (${schemanames})
 ORDER BY
   SEQUENCE_CATALOG,
   SEQUENCE_SCHEMA,
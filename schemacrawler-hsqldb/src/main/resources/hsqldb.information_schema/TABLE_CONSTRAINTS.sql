@@ -2,6 +2,8 @@ SELECT
   *
 FROM
   INFORMATION_SCHEMA.TABLE_CONSTRAINTS
+WHERE
+  CONSTRAINT_SCHEMA IN (${schemanames})
 ORDER BY
   CONSTRAINT_CATALOG,
   CONSTRAINT_SCHEMA,
@@ -0,0 +1,9 @@
+SELECT
+  TABLE_CATALOG,
+  TABLE_SCHEMA,
+  TABLE_NAME,
+  CARDINALITY AS ROW_COUNT
+FROM
+  INFORMATION_SCHEMA.SYSTEM_TABLESTATS
+WHERE
+  TABLE_SCHEMA IN (${schemanames})
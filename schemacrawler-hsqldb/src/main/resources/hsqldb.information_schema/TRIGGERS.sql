@@ -2,6 +2,8 @@ SELECT
   *
 FROM
   INFORMATION_SCHEMA.TRIGGERS
+WHERE
+  TRIGGER_SCHEMA IN (${schemanames})
 ORDER BY
   TRIGGER_CATALOG,
   TRIGGER_SCHEMA,
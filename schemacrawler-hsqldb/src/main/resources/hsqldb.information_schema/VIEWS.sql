@@ -2,7 +2,9 @@ SELECT
   *
 FROM
   INFORMATION_SCHEMA.VIEWS
+WHERE
+  TABLE_SCHEMA IN (${schemanames})
 ORDER BY
   TABLE_CATALOG,
   TABLE_SCHEMA,
-  TABLE_NAME  
+  TABLE_NAME
@@ -122,4 +122,15 @@ public final class FreeMarkerRenderer
     }
   }
 
+  /**
+   * {@inheritDoc}
+   * <p>
+   * Templates only read the catalog.
+   */
+  @Override
+  public boolean isReadOnly()
+  {
+    return true;
+  }
+
 }
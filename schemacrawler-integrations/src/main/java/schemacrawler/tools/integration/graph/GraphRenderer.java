@@ -32,6 +32,7 @@ package schemacrawler.tools.integration.graph;
 import static java.nio.file.Files.move;
 import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
 import static java.util.Objects.requireNonNull;
+import static schemacrawler.tools.analysis.counts.CountsUtility.getCountsAnalysisKey;
 import static sf.util.IOUtility.createTempFilePath;
 import static sf.util.IOUtility.readResourceFully;
 
@@ -45,6 +46,8 @@ import schemacrawler.schemacrawler.SchemaCrawlerCommandLineException;
 import schemacrawler.schemacrawler.SchemaCrawlerException;
 import schemacrawler.tools.analysis.associations.CatalogWithAssociations;
 import schemacrawler.tools.analysis.counts.CatalogWithCounts;
+import schemacrawler.tools.analysis.counts.CountsOptions;
+import schemacrawler.tools.analysis.counts.CountsOptionsBuilder;
 import schemacrawler.tools.executable.BaseSchemaCrawlerCommand;
 import schemacrawler.tools.options.OutputOptions;
 import schemacrawler.tools.options.OutputOptionsBuilder;
@@ -81,18 +84,28 @@ public final class GraphRenderer
   {
     loadGraphOptions();
 
-    // Determine what decorators to apply to the database
+    // Determine what decorators to apply to the database, reusing the
+    // analysis from any earlier command in a chain
     Catalog aCatalog = catalog;
     if (graphOptions.isShowWeakAssociations())
     {
-      aCatalog = new CatalogWithAssociations(aCatalog);
+      aCatalog = analysisCache.get(catalog,
+                                   CatalogWithAssociations.class.getName(),
+                                   () -> new CatalogWithAssociations(catalog));
     }
     if (graphOptions.isShowRowCounts()
         || schemaCrawlerOptions.isHideEmptyTables())
     {
-      aCatalog = new CatalogWithCounts(aCatalog,
-                                       connection,
-                                       schemaCrawlerOptions);
+      final CountsOptions countsOptions = getCountsOptions();
+      final Catalog countsCatalog = aCatalog;
+      aCatalog = analysisCache
+        .get(catalog,
+             getCountsAnalysisKey(countsOptions),
+             () -> new CatalogWithCounts(countsCatalog,
+                                         connection,
+                                         schemaCrawlerOptions,
+                                         countsOptions,
+                                         informationSchemaViews));
     }
 
     final GraphOutputFormat graphOutputFormat = GraphOutputFormat
@@ -165,6 +178,33 @@ public final class GraphRenderer
     }
   }
 
+  /**
+   * {@inheritDoc}
+   * <p>
+   * Weak associations and row counts change the catalog, and row counts
+   * use the connection, unless they were already obtained by an earlier
+   * command in a chain.
+   */
+  @Override
+  public boolean isReadOnly()
+  {
+    loadGraphOptions();
+
+    if (graphOptions.isShowWeakAssociations() && !analysisCache
+      .lookup(catalog, CatalogWithAssociations.class.getName()).isPresent())
+    {
+      return false;
+    }
+    if ((graphOptions.isShowRowCounts() || schemaCrawlerOptions.isHideEmptyTables())
+        && !analysisCache
+          .lookup(catalog, getCountsAnalysisKey(getCountsOptions()))
+          .isPresent())
+    {
+      return false;
+    }
+    return true;
+  }
+
   public final GraphOptions getGraphOptions()
   {
     loadGraphOptions();
@@ -195,6 +235,12 @@ public final class GraphRenderer
     return graphGenerated;
   }
 
+  private CountsOptions getCountsOptions()
+  {
+    return new CountsOptionsBuilder().fromConfig(additionalConfiguration)
+      .connectionSupplier(connectionSupplier).toOptions();
+  }
+
   private SchemaTextDetailType getSchemaTextDetailType()
   {
     SchemaTextDetailType schemaTextDetailType;
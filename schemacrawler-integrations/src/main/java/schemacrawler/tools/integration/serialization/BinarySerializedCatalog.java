@@ -0,0 +1,346 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2018, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+package schemacrawler.tools.integration.serialization;
+
+
+import static java.util.Objects.requireNonNull;
+import static sf.util.IOUtility.readFully;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.Base64;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import schemacrawler.crawl.BinaryCatalogReader;
+import schemacrawler.crawl.BinaryCatalogWriter;
+import schemacrawler.schema.AttributedObject;
+import schemacrawler.schema.Catalog;
+import schemacrawler.schemacrawler.BaseCatalogDecorator;
+import schemacrawler.schemacrawler.SchemaCrawlerException;
+import schemacrawler.schemacrawler.SchemaCrawlerOptions;
+
+/**
+ * Decorates a database to allow for serialization to and from a
+ * compact, versioned binary snapshot. The snapshot starts with a magic
+ * number and a format version, followed by the catalog. Names and
+ * other strings are written once into a string table, and database
+ * objects are referenced by index thereafter. Binary snapshots can
+ * also be written to and read from character streams, encoded in
+ * Base64.
+ *
+ * @author Sualeh Fatehi
+ */
+public final class BinarySerializedCatalog
+  extends BaseCatalogDecorator
+  implements SerializableCatalog
+{
+
+  private static final long serialVersionUID = -4592046651219402578L;
+
+  /**
+   * "SCBS" for SchemaCrawler binary snapshot.
+   */
+  private static final int MAGIC = 0x53434253;
+  private static final int FORMAT_VERSION = 2;
+
+  /**
+   * Checks whether an input stream contains a binary snapshot, without
+   * consuming any input.
+   *
+   * @param inputStream
+   *        Input stream, which needs to support mark and reset
+   * @return True if the stream starts with a binary snapshot header
+   * @throws IOException
+   *         On an exception
+   */
+  public static boolean isBinarySnapshot(final InputStream inputStream)
+    throws IOException
+  {
+    return startsWithMagic(inputStream, MAGIC);
+  }
+
+  /**
+   * Checks whether an input stream starts with a magic number, without
+   * consuming any input.
+   *
+   * @param inputStream
+   *        Input stream, which needs to support mark and reset
+   * @param magic
+   *        Magic number for the snapshot format
+   * @return True if the stream starts with the magic number
+   * @throws IOException
+   *         On an exception
+   */
+  static boolean startsWithMagic(final InputStream inputStream,
+                                 final int magic)
+    throws IOException
+  {
+    requireNonNull(inputStream, "No input stream provided");
+    if (!inputStream.markSupported())
+    {
+      throw new IOException("Input stream does not support mark and reset");
+    }
+
+    inputStream.mark(Integer.BYTES);
+    try
+    {
+      final byte[] header = new byte[Integer.BYTES];
+      int offset = 0;
+      while (offset < header.length)
+      {
+        final int read = inputStream
+          .read(header, offset, header.length - offset);
+        if (read == -1)
+        {
+          return false;
+        }
+        offset = offset + read;
+      }
+      final int headerMagic = (header[0] & 0xFF) << 24
+                              | (header[1] & 0xFF) << 16
+                              | (header[2] & 0xFF) << 8 | header[3] & 0xFF;
+      return headerMagic == magic;
+    }
+    finally
+    {
+      inputStream.reset();
+    }
+  }
+
+  private static InputStream decodeBase64(final Reader reader)
+    throws SchemaCrawlerException
+  {
+    requireNonNull(reader, "No reader provided");
+    try
+    {
+      return new ByteArrayInputStream(Base64.getMimeDecoder()
+        .decode(readFully(reader)));
+    }
+    catch (final IllegalArgumentException e)
+    {
+      throw new SchemaCrawlerException("Could not decode binary snapshot", e);
+    }
+  }
+
+  private static Catalog readCatalog(final InputStream inputStream,
+                                     final SchemaCrawlerOptions schemaCrawlerOptions)
+    throws SchemaCrawlerException
+  {
+    requireNonNull(inputStream, "No input stream provided");
+    try
+    {
+      final DataInputStream dataInputStream = new DataInputStream(inputStream);
+      final int magic = dataInputStream.readInt();
+      if (magic != MAGIC)
+      {
+        throw new SchemaCrawlerException("Not a binary catalog snapshot");
+      }
+      final int formatVersion = dataInputStream.readInt();
+      if (formatVersion != FORMAT_VERSION)
+      {
+        throw new SchemaCrawlerException(String
+          .format("Unsupported binary snapshot format version %d, expected %d",
+                  formatVersion,
+                  FORMAT_VERSION));
+      }
+
+      final BinaryCatalogReader reader;
+      if (schemaCrawlerOptions == null)
+      {
+        reader = new BinaryCatalogReader(dataInputStream);
+      }
+      else
+      {
+        reader = new BinaryCatalogReader(dataInputStream,
+                                         schemaCrawlerOptions);
+      }
+      return reader.read();
+    }
+    catch (final IOException | RuntimeException e)
+    {
+      throw new SchemaCrawlerException("Could not read binary snapshot", e);
+    }
+  }
+
+  private final Map<AttributedObject, Map<String, Object>> snapshotAttributes;
+
+  public BinarySerializedCatalog(final Catalog catalog)
+  {
+    this(catalog, new IdentityHashMap<>());
+  }
+
+  /**
+   * Decorates a database for serialization, with attributes that are
+   * written in place of the attributes of some objects, such as
+   * attributes with fingerprints.
+   *
+   * @param catalog
+   *        Catalog to serialize
+   * @param snapshotAttributes
+   *        Attributes to write for objects, by object identity
+   */
+  public BinarySerializedCatalog(final Catalog catalog,
+                                 final Map<AttributedObject, Map<String, Object>> snapshotAttributes)
+  {
+    super(catalog);
+    this.snapshotAttributes = requireNonNull(snapshotAttributes,
+                                             "No attributes provided");
+  }
+
+  public BinarySerializedCatalog(final InputStream inputStream)
+    throws SchemaCrawlerException
+  {
+    this(readCatalog(inputStream, null));
+  }
+
+  /**
+   * Reads a binary snapshot, only keeping the schemas, tables,
+   * routines, sequences and synonyms that are needed for the
+   * SchemaCrawler options. The whole snapshot is still decoded, since
+   * database objects refer to each other by their position in the
+   * snapshot, but objects that are not needed are dropped as they are
+   * read.
+   *
+   * @param inputStream
+   *        Input stream
+   * @param schemaCrawlerOptions
+   *        Options used to select database objects
+   * @throws SchemaCrawlerException
+   *         On an exception
+   */
+  public BinarySerializedCatalog(final InputStream inputStream,
+                                 final SchemaCrawlerOptions schemaCrawlerOptions)
+    throws SchemaCrawlerException
+  {
+    this(readCatalog(inputStream,
+                     requireNonNull(schemaCrawlerOptions,
+                                    "No SchemaCrawler options provided")));
+  }
+
+  /**
+   * Reads a binary snapshot that was written to a character stream,
+   * encoded in Base64.
+   *
+   * @param reader
+   *        Reader for the Base64 encoded snapshot
+   * @throws SchemaCrawlerException
+   *         On an exception
+   */
+  public BinarySerializedCatalog(final Reader reader)
+    throws SchemaCrawlerException
+  {
+    this(readCatalog(decodeBase64(reader), null));
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public <T> T getAttribute(final String name)
+  {
+    return catalog.getAttribute(name);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public <T> Optional<T> lookupAttribute(final String name)
+  {
+    return catalog.lookupAttribute(name);
+  }
+
+  /**
+   * Serializes the database to the output stream, as a binary
+   * snapshot.
+   *
+   * @param outputStream
+   *        Output stream to save to
+   * @throws SchemaCrawlerException
+   *         On an exception
+   */
+  @Override
+  public void save(final OutputStream outputStream)
+    throws SchemaCrawlerException
+  {
+    requireNonNull(outputStream, "Output stream not provided");
+    try
+    {
+      final DataOutputStream dataOutputStream = new DataOutputStream(new BufferedOutputStream(outputStream));
+      dataOutputStream.writeInt(MAGIC);
+      dataOutputStream.writeInt(FORMAT_VERSION);
+
+      new BinaryCatalogWriter(dataOutputStream, snapshotAttributes)
+        .write(catalog);
+      dataOutputStream.flush();
+    }
+    catch (final IOException e)
+    {
+      throw new SchemaCrawlerException("Could not write binary snapshot", e);
+    }
+  }
+
+  /**
+   * Serializes the database to the writer, as a binary snapshot
+   * encoded in Base64.
+   *
+   * @param writer
+   *        Writer to save to
+   * @throws SchemaCrawlerException
+   *         On an exception
+   */
+  @Override
+  public void save(final Writer writer)
+    throws SchemaCrawlerException
+  {
+    requireNonNull(writer, "Writer not provided");
+    try
+    {
+      final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+      save(outputStream);
+      writer.write(Base64.getMimeEncoder()
+        .encodeToString(outputStream.toByteArray()));
+      writer.flush();
+    }
+    catch (final IOException e)
+    {
+      throw new SchemaCrawlerException("Could not write binary snapshot", e);
+    }
+  }
+
+}
@@ -0,0 +1,438 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2018, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+package schemacrawler.tools.integration.serialization;
+
+
+import static java.util.Objects.requireNonNull;
+import static schemacrawler.tools.integration.serialization.BinarySerializedCatalog.startsWithMagic;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.logging.Level;
+
+import schemacrawler.schema.AttributedObject;
+import schemacrawler.schema.Catalog;
+import schemacrawler.schema.NamedObject;
+import schemacrawler.schema.Schema;
+import schemacrawler.schemacrawler.BaseCatalogDecorator;
+import schemacrawler.schemacrawler.SchemaCrawlerException;
+import schemacrawler.tools.options.OutputOptionsBuilder;
+import schemacrawler.utility.NamedObjectSort;
+import sf.util.SchemaCrawlerLogger;
+import sf.util.StringFormat;
+
+/**
+ * Decorates a database to allow for serialization to and from a delta
+ * snapshot. A delta snapshot only contains the database objects that
+ * were added, changed or removed since a base snapshot, which may
+ * itself be a delta snapshot. A delta snapshot without a base contains
+ * every database object, and starts a chain of delta snapshots.
+ * <p>
+ * Each database object is written as a separate record, as described
+ * in {@link SnapshotRecords}. Records are compared by digest, and the digests of
+ * all records are kept in the header, so that the next delta snapshot
+ * can be written by reading only the header of its base. When a delta
+ * snapshot is loaded, the chain is applied from the first snapshot to
+ * the last, to reconstruct the full catalog.
+ *
+ * @author Sualeh Fatehi
+ */
+public final class DeltaSerializedCatalog
+  extends BaseCatalogDecorator
+  implements SerializableCatalog
+{
+
+  /**
+   * Contents of a delta snapshot file.
+   */
+  private static final class DeltaSnapshot
+  {
+
+    private final String baseSnapshot;
+    private final SnapshotHeader header;
+    private final Map<List<String>, byte[]> digests;
+    private final List<List<String>> removedRecords;
+    private final Map<List<String>, byte[]> changedRecords;
+
+    private DeltaSnapshot(final Path snapshotFile, final boolean headerOnly)
+      throws SchemaCrawlerException
+    {
+      try (
+          final InputStream inputStream = new OutputOptionsBuilder()
+            .withCompressedInputFile(snapshotFile).toOptions()
+            .openNewInputStream();
+          final DataInputStream dataInputStream = new DataInputStream(new BufferedInputStream(inputStream));)
+      {
+        if (dataInputStream.readInt() != MAGIC)
+        {
+          throw new SchemaCrawlerException("Not a delta catalog snapshot, "
+                                           + snapshotFile);
+        }
+        final int formatVersion = dataInputStream.readInt();
+        if (formatVersion != FORMAT_VERSION)
+        {
+          throw new SchemaCrawlerException(String
+            .format("Unsupported delta snapshot format version %d, expected %d",
+                    formatVersion,
+                    FORMAT_VERSION));
+        }
+
+        final ObjectInputStream in = new SnapshotObjectInputStream(dataInputStream);
+        baseSnapshot = (String) in.readObject();
+        header = new SnapshotHeader(in);
+        digests = (Map<List<String>, byte[]>) in.readObject();
+        removedRecords = (List<List<String>>) in.readObject();
+        changedRecords = new LinkedHashMap<>();
+        if (!headerOnly)
+        {
+          final int changedCount = in.readInt();
+          for (int i = 0; i < changedCount; i++)
+          {
+            final List<String> key = (List<String>) in.readObject();
+            final byte[] record = (byte[]) in.readObject();
+            changedRecords.put(key, record);
+          }
+        }
+      }
+      catch (final IOException | ClassNotFoundException | ClassCastException e)
+      {
+        throw new SchemaCrawlerException("Could not read delta snapshot, "
+                                         + snapshotFile, e);
+      }
+    }
+
+  }
+
+  private static final long serialVersionUID = -2059744398516170317L;
+
+  private static final SchemaCrawlerLogger LOGGER = SchemaCrawlerLogger
+    .getLogger(DeltaSerializedCatalog.class.getName());
+
+  /**
+   * "SCDS" for SchemaCrawler delta snapshot.
+   */
+  private static final int MAGIC = 0x53434453;
+  private static final int FORMAT_VERSION = 1;
+
+  /**
+   * Checks whether an input stream contains a delta snapshot, without
+   * consuming any input.
+   *
+   * @param inputStream
+   *        Input stream, which needs to support mark and reset
+   * @return True if the stream starts with a delta snapshot header
+   * @throws IOException
+   *         On an exception
+   */
+  public static boolean isDeltaSnapshot(final InputStream inputStream)
+    throws IOException
+  {
+    return startsWithMagic(inputStream, MAGIC);
+  }
+
+  private static Catalog loadCatalog(final Path snapshotFile)
+    throws SchemaCrawlerException
+  {
+    requireNonNull(snapshotFile, "No snapshot file provided");
+
+    // Read the chain of delta snapshots, from the last to the first
+    final Deque<DeltaSnapshot> chain = new ArrayDeque<>();
+    final Set<Path> chainFiles = new HashSet<>();
+    Path chainFile = snapshotFile.normalize().toAbsolutePath();
+    while (chainFile != null)
+    {
+      if (!chainFiles.add(chainFile))
+      {
+        throw new SchemaCrawlerException("Delta snapshot chain has a cycle, at "
+                                         + chainFile);
+      }
+      final DeltaSnapshot deltaSnapshot = new DeltaSnapshot(chainFile, false);
+      chain.push(deltaSnapshot);
+      chainFile = resolveBaseSnapshot(chainFile, deltaSnapshot.baseSnapshot);
+    }
+
+    // Apply changes, from the first snapshot to the last, keeping
+    // records in the order that they were written, so that objects that
+    // sort the same, such as overloaded routines, keep their order
+    final Map<List<String>, byte[]> records = new LinkedHashMap<>();
+    DeltaSnapshot deltaSnapshot = null;
+    while (!chain.isEmpty())
+    {
+      deltaSnapshot = chain.pop();
+      for (final List<String> key: deltaSnapshot.removedRecords)
+      {
+        records.remove(key);
+      }
+      records.putAll(deltaSnapshot.changedRecords);
+    }
+    if (!records.keySet().equals(deltaSnapshot.digests.keySet()))
+    {
+      throw new SchemaCrawlerException("Delta snapshot does not match its base snapshot, "
+                                       + snapshotFile);
+    }
+
+    final List<NamedObject> databaseObjects = new ArrayList<>();
+    for (final byte[] record: records.values())
+    {
+      databaseObjects.add(SnapshotRecords.fromRecord(record));
+    }
+    databaseObjects.sort(NamedObjectSort.alphabetical);
+
+    LOGGER.log(Level.INFO,
+               new StringFormat("Loaded delta snapshot <%s>, from a chain of %d snapshots",
+                                snapshotFile,
+                                chainFiles.size()));
+    return new SnapshotCatalog(deltaSnapshot.header, databaseObjects);
+  }
+
+  /**
+   * Base snapshots that are not absolute paths are relative to the
+   * directory of the delta snapshot.
+   */
+  private static Path resolveBaseSnapshot(final Path snapshotFile,
+                                          final String baseSnapshot)
+  {
+    if (baseSnapshot == null)
+    {
+      return null;
+    }
+    final Path directory = snapshotFile.toAbsolutePath().getParent();
+    return directory.resolve(baseSnapshot).normalize().toAbsolutePath();
+  }
+
+  private final Path baseSnapshotFile;
+  private final Map<AttributedObject, Map<String, Object>> snapshotAttributes;
+
+  /**
+   * Decorates a database for a delta snapshot with no base, which
+   * contains every database object.
+   *
+   * @param catalog
+   *        Catalog to serialize
+   */
+  public DeltaSerializedCatalog(final Catalog catalog)
+  {
+    this(catalog, null);
+  }
+
+  /**
+   * Decorates a database for a delta snapshot against a base snapshot.
+   * The base snapshot needs to be a delta snapshot, and should be in a
+   * location relative to the directory that the delta snapshot is
+   * written to, or an absolute path.
+   *
+   * @param catalog
+   *        Catalog to serialize
+   * @param baseSnapshotFile
+   *        Base snapshot, or null to write every database object
+   */
+  public DeltaSerializedCatalog(final Catalog catalog,
+                                final Path baseSnapshotFile)
+  {
+    this(catalog, baseSnapshotFile, new IdentityHashMap<>());
+  }
+
+  /**
+   * Decorates a database for a delta snapshot against a base snapshot,
+   * with attributes that are written in place of the attributes of
+   * some objects, such as attributes with fingerprints.
+   *
+   * @param catalog
+   *        Catalog to serialize
+   * @param baseSnapshotFile
+   *        Base snapshot, or null to write every database object
+   * @param snapshotAttributes
+   *        Attributes to write for objects, by object identity
+   */
+  public DeltaSerializedCatalog(final Catalog catalog,
+                                final Path baseSnapshotFile,
+                                final Map<AttributedObject, Map<String, Object>> snapshotAttributes)
+  {
+    super(catalog);
+    this.baseSnapshotFile = baseSnapshotFile;
+    this.snapshotAttributes = requireNonNull(snapshotAttributes,
+                                             "No attributes provided");
+  }
+
+  /**
+   * Loads a delta snapshot, applying the chain of base snapshots.
+   *
+   * @param snapshotFile
+   *        Snapshot file
+   * @throws SchemaCrawlerException
+   *         On an exception
+   */
+  public DeltaSerializedCatalog(final Path snapshotFile)
+    throws SchemaCrawlerException
+  {
+    this(loadCatalog(snapshotFile), null);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public <T> T getAttribute(final String name)
+  {
+    return catalog.getAttribute(name);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public <T> Optional<T> lookupAttribute(final String name)
+  {
+    return catalog.lookupAttribute(name);
+  }
+
+  /**
+   * Serializes the database to the output stream, as a delta snapshot.
+   * Only the header of the base snapshot is read.
+   *
+   * @param outputStream
+   *        Output stream to save to
+   * @throws SchemaCrawlerException
+   *         On an exception
+   */
+  @Override
+  public void save(final OutputStream outputStream)
+    throws SchemaCrawlerException
+  {
+    requireNonNull(outputStream, "Output stream not provided");
+
+    final Map<List<String>, byte[]> baseDigests;
+    if (baseSnapshotFile == null)
+    {
+      baseDigests = new HashMap<>();
+    }
+    else
+    {
+      baseDigests = new DeltaSnapshot(baseSnapshotFile, true).digests;
+    }
+
+    final List<Schema> schemas = new ArrayList<>(catalog.getSchemas());
+    final HashMap<List<String>, byte[]> digests = new HashMap<>();
+    final Map<List<String>, byte[]> changedRecords = new LinkedHashMap<>();
+    for (final Map.Entry<List<String>, byte[]> recordEntry: SnapshotRecords
+      .toRecords(catalog, snapshotAttributes).entrySet())
+    {
+      final List<String> key = recordEntry.getKey();
+      final byte[] record = recordEntry.getValue();
+      final byte[] digest = SnapshotRecords.digest(record);
+      digests.put(key, digest);
+      if (!Arrays.equals(digest, baseDigests.get(key)))
+      {
+        changedRecords.put(key, record);
+      }
+    }
+    final ArrayList<List<String>> removedRecords = new ArrayList<>();
+    for (final List<String> key: baseDigests.keySet())
+    {
+      if (!digests.containsKey(key))
+      {
+        removedRecords.add(key);
+      }
+    }
+
+    try
+    {
+      final DataOutputStream dataOutputStream = new DataOutputStream(new BufferedOutputStream(outputStream));
+      dataOutputStream.writeInt(MAGIC);
+      dataOutputStream.writeInt(FORMAT_VERSION);
+
+      final SnapshotObjectOutputStream out = new SnapshotObjectOutputStream(dataOutputStream,
+                                                                            null,
+                                                                            null,
+                                                                            snapshotAttributes);
+      if (baseSnapshotFile == null)
+      {
+        out.writeObject(null);
+      }
+      else
+      {
+        out.writeObject(baseSnapshotFile.toString());
+      }
+      SnapshotHeader.write(out, catalog, schemas);
+      out.writeObject(digests);
+      out.writeObject(removedRecords);
+      out.writeInt(changedRecords.size());
+      for (final Map.Entry<List<String>, byte[]> changedRecord: changedRecords
+        .entrySet())
+      {
+        out.writeObject(changedRecord.getKey());
+        out.writeObject(changedRecord.getValue());
+      }
+      out.flush();
+    }
+    catch (final IOException e)
+    {
+      throw new SchemaCrawlerException("Could not write delta snapshot", e);
+    }
+
+    LOGGER.log(Level.INFO,
+               new StringFormat("Wrote delta snapshot, with %d changed and %d removed of %d database objects",
+                                changedRecords.size(),
+                                removedRecords.size(),
+                                digests.size()));
+  }
+
+  /**
+   * Delta snapshots cannot be written as character data.
+   *
+   * @throws SchemaCrawlerException
+   *         Always
+   */
+  @Override
+  public void save(final Writer writer)
+    throws SchemaCrawlerException
+  {
+    throw new SchemaCrawlerException("Cannot write a delta snapshot to a character stream");
+  }
+
+}
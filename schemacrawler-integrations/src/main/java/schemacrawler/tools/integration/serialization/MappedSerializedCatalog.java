@@ -0,0 +1,325 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2018, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+package schemacrawler.tools.integration.serialization;
+
+
+import static java.nio.file.Files.newInputStream;
+import static java.util.Objects.requireNonNull;
+
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Predicate;
+
+import schemacrawler.schema.AttributedObject;
+import schemacrawler.schema.Catalog;
+import schemacrawler.schema.DatabaseObject;
+import schemacrawler.schema.Schema;
+import schemacrawler.schema.Table;
+import schemacrawler.schemacrawler.BaseCatalogDecorator;
+import schemacrawler.schemacrawler.SchemaCrawlerException;
+import schemacrawler.schemacrawler.SchemaCrawlerOptions;
+
+/**
+ * Decorates a database to allow for serialization to and from a
+ * memory-mapped snapshot. The snapshot is split into segments, a
+ * catalog header followed by one segment for each schema, with an index
+ * of segments at the end of the file. When the snapshot is loaded, only
+ * the header and index are read, and schemas are materialized lazily
+ * as they are accessed.
+ * <p>
+ * Each schema segment is self-contained. References to tables, columns
+ * and routines in other schemas are written as partial database
+ * objects, in the same way as references to objects that were not
+ * crawled.
+ *
+ * @author Sualeh Fatehi
+ */
+public final class MappedSerializedCatalog
+  extends BaseCatalogDecorator
+  implements SerializableCatalog
+{
+
+  /**
+   * Counts bytes written, so that segment offsets can be recorded
+   * while the snapshot is written sequentially.
+   */
+  private static final class CountingOutputStream
+    extends FilterOutputStream
+  {
+
+    private long count;
+
+    CountingOutputStream(final OutputStream out)
+    {
+      super(out);
+    }
+
+    @Override
+    public void write(final byte[] bytes, final int offset, final int length)
+      throws IOException
+    {
+      out.write(bytes, offset, length);
+      count = count + length;
+    }
+
+    @Override
+    public void write(final int b)
+      throws IOException
+    {
+      out.write(b);
+      count = count + 1;
+    }
+
+    long getCount()
+    {
+      return count;
+    }
+
+  }
+
+  private static final long serialVersionUID = 2683839651384462163L;
+
+  /**
+   * "SCMS" for SchemaCrawler mapped snapshot.
+   */
+  static final int MAGIC = 0x53434D53;
+  static final int FORMAT_VERSION = 1;
+  static final int HEADER_SIZE = 2 * Integer.BYTES;
+
+  /**
+   * Checks whether a file is a mapped snapshot, from the header.
+   *
+   * @param snapshotFile
+   *        Snapshot file
+   * @return True if the file starts with a mapped snapshot header
+   * @throws IOException
+   *         On an exception
+   */
+  public static boolean isMappedSnapshot(final Path snapshotFile)
+    throws IOException
+  {
+    requireNonNull(snapshotFile, "No snapshot file provided");
+    try (final DataInputStream in = new DataInputStream(newInputStream(snapshotFile));)
+    {
+      return in.available() >= Integer.BYTES && in.readInt() == MAGIC;
+    }
+  }
+
+  private final Map<AttributedObject, Map<String, Object>> snapshotAttributes;
+
+  public MappedSerializedCatalog(final Catalog catalog)
+  {
+    this(catalog, new IdentityHashMap<>());
+  }
+
+  /**
+   * Decorates a database for serialization, with attributes that are
+   * written in place of the attributes of some objects, such as
+   * attributes with fingerprints.
+   *
+   * @param catalog
+   *        Catalog to serialize
+   * @param snapshotAttributes
+   *        Attributes to write for objects, by object identity
+   */
+  public MappedSerializedCatalog(final Catalog catalog,
+                                 final Map<AttributedObject, Map<String, Object>> snapshotAttributes)
+  {
+    super(catalog);
+    this.snapshotAttributes = requireNonNull(snapshotAttributes,
+                                             "No attributes provided");
+  }
+
+  /**
+   * Opens a memory-mapped snapshot. Schemas are read from the snapshot
+   * file when they are first accessed, so the file needs to remain in
+   * place while the catalog is in use.
+   *
+   * @param snapshotFile
+   *        Snapshot file
+   * @throws SchemaCrawlerException
+   *         On an exception
+   */
+  public MappedSerializedCatalog(final Path snapshotFile)
+    throws SchemaCrawlerException
+  {
+    this(new SnapshotCatalog(snapshotFile));
+  }
+
+  /**
+   * Opens a memory-mapped snapshot, only reading the schemas that are
+   * needed for the SchemaCrawler options. Schemas that are excluded by
+   * the schema inclusion rule are never read. If only tables are
+   * included, schemas that do not contain any table that matches the
+   * table inclusion rule are not read either.
+   *
+   * @param snapshotFile
+   *        Snapshot file
+   * @param schemaCrawlerOptions
+   *        Options used to select schemas
+   * @throws SchemaCrawlerException
+   *         On an exception
+   */
+  public MappedSerializedCatalog(final Path snapshotFile,
+                                 final SchemaCrawlerOptions schemaCrawlerOptions)
+    throws SchemaCrawlerException
+  {
+    this(new SnapshotCatalog(snapshotFile));
+    requireNonNull(schemaCrawlerOptions, "No SchemaCrawler options provided");
+    ((SnapshotCatalog) catalog).select(schemaCrawlerOptions);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public <T> T getAttribute(final String name)
+  {
+    return catalog.getAttribute(name);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public <T> Optional<T> lookupAttribute(final String name)
+  {
+    return catalog.lookupAttribute(name);
+  }
+
+  /**
+   * Serializes the database to the output stream, as a segmented
+   * snapshot. The output stream should write to an uncompressed file,
+   * so that the snapshot can be memory-mapped when it is loaded.
+   *
+   * @param outputStream
+   *        Output stream to save to
+   * @throws SchemaCrawlerException
+   *         On an exception
+   */
+  @Override
+  public void save(final OutputStream outputStream)
+    throws SchemaCrawlerException
+  {
+    requireNonNull(outputStream, "Output stream not provided");
+    try
+    {
+      final CountingOutputStream out = new CountingOutputStream(new BufferedOutputStream(outputStream));
+      final DataOutputStream dataOutputStream = new DataOutputStream(out);
+      dataOutputStream.writeInt(MAGIC);
+      dataOutputStream.writeInt(FORMAT_VERSION);
+
+      final List<long[]> segments = new ArrayList<>();
+
+      // Catalog header
+      final List<Schema> schemas = new ArrayList<>(catalog.getSchemas());
+      long offset = out.getCount();
+      final SnapshotObjectOutputStream header = new SnapshotObjectOutputStream(out,
+                                                                               null,
+                                                                               null,
+                                                                               snapshotAttributes);
+      SnapshotHeader.write(header, catalog, schemas);
+      // Table names for each schema, so that schemas can be selected
+      // without reading their segments
+      final ArrayList<ArrayList<String>> tableNames = new ArrayList<>();
+      for (final Schema schema: schemas)
+      {
+        final ArrayList<String> schemaTableNames = new ArrayList<>();
+        for (final Table table: catalog.getTables(schema))
+        {
+          schemaTableNames.add(table.getFullName());
+        }
+        tableNames.add(schemaTableNames);
+      }
+      header.writeObject(tableNames);
+      header.flush();
+      segments.add(new long[] { offset, out.getCount() - offset });
+
+      // Schema segments, in the same order as the schemas in the header
+      for (final Schema schema: schemas)
+      {
+        offset = out.getCount();
+        final Predicate<DatabaseObject> isInSchema = databaseObject -> schema
+          .equals(databaseObject.getSchema());
+        final ObjectOutputStream segment = new SnapshotObjectOutputStream(out,
+                                                                          isInSchema,
+                                                                          null,
+                                                                          snapshotAttributes);
+        segment
+          .writeObject(new ArrayList<>(catalog.getColumnDataTypes(schema)));
+        segment.writeObject(new ArrayList<>(catalog.getTables(schema)));
+        segment.writeObject(new ArrayList<>(catalog.getRoutines(schema)));
+        segment.writeObject(new ArrayList<>(catalog.getSequences(schema)));
+        segment.writeObject(new ArrayList<>(catalog.getSynonyms(schema)));
+        segment.flush();
+        segments.add(new long[] { offset, out.getCount() - offset });
+      }
+
+      // Segment index, followed by the offset of the index
+      final long indexOffset = out.getCount();
+      dataOutputStream.writeInt(segments.size());
+      for (final long[] segment: segments)
+      {
+        dataOutputStream.writeLong(segment[0]);
+        dataOutputStream.writeLong(segment[1]);
+      }
+      dataOutputStream.writeLong(indexOffset);
+      dataOutputStream.flush();
+    }
+    catch (final IOException e)
+    {
+      throw new SchemaCrawlerException("Could not write mapped snapshot", e);
+    }
+  }
+
+  /**
+   * Mapped snapshots cannot be written as character data.
+   *
+   * @throws SchemaCrawlerException
+   *         Always
+   */
+  @Override
+  public void save(final Writer writer)
+    throws SchemaCrawlerException
+  {
+    throw new SchemaCrawlerException("Cannot write a mapped snapshot to a character stream");
+  }
+
+}
@@ -0,0 +1,141 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2018, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+package schemacrawler.tools.integration.serialization;
+
+
+import java.io.InvalidObjectException;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import schemacrawler.schema.Schema;
+
+/**
+ * Stands in for a schema in a snapshot record, or for a value that is
+ * derived from the schema names, so that records for identical
+ * database objects in differently named schemas have the same bytes.
+ * The placeholder refers to the position of the schema in the list of
+ * schemas that the record refers to.
+ */
+final class SchemaPlaceholder
+  implements Serializable
+{
+
+  /**
+   * Value that the placeholder stands in for.
+   */
+  enum Part
+  {
+   schema,
+   lookupKey,
+   catalogName,
+   schemaName;
+  }
+
+  private static final long serialVersionUID = -2157813209867243491L;
+
+  private final int index;
+  private final Part part;
+  private final String[] names;
+
+  /**
+   * Placeholder for the schema itself, or for one of its names.
+   *
+   * @param index
+   *        Position of the schema
+   * @param part
+   *        Value that the placeholder stands in for
+   */
+  SchemaPlaceholder(final int index, final Part part)
+  {
+    this(index, part, null);
+  }
+
+  /**
+   * Placeholder for the lookup key of an object in a schema.
+   *
+   * @param index
+   *        Position of the schema
+   * @param names
+   *        Names that follow the schema in the lookup key
+   */
+  SchemaPlaceholder(final int index, final String[] names)
+  {
+    this(index, Part.lookupKey, names);
+  }
+
+  private SchemaPlaceholder(final int index,
+                            final Part part,
+                            final String[] names)
+  {
+    this.index = index;
+    this.part = part;
+    this.names = names;
+  }
+
+  /**
+   * Gets the value that this placeholder stands in for.
+   *
+   * @param schemas
+   *        Schemas, in placeholder order
+   * @return Schema, lookup key, or name
+   * @throws InvalidObjectException
+   *         If there is no schema for the placeholder
+   */
+  Object resolve(final List<Schema> schemas)
+    throws InvalidObjectException
+  {
+    if (index < 0 || index >= schemas.size() || part == null)
+    {
+      throw new InvalidObjectException("No schema for placeholder " + index);
+    }
+    final Schema schema = schemas.get(index);
+    switch (part)
+    {
+      case lookupKey:
+        final List<String> lookupKey = new ArrayList<>(schema
+          .toUniqueLookupKey());
+        lookupKey.addAll(Arrays.asList(names));
+        return lookupKey;
+      case catalogName:
+        return schema.getCatalogName();
+      case schemaName:
+        return schema.getName();
+      default:
+        return schema;
+    }
+  }
+
+  @Override
+  public String toString()
+  {
+    return index + ":" + part + ":" + Arrays.toString(names);
+  }
+
+}
@@ -28,6 +28,7 @@ http://www.gnu.org/licenses/
 package schemacrawler.tools.integration.serialization;
 
 
+import java.io.OutputStream;
 import java.io.Writer;
 
 import schemacrawler.schema.Catalog;
@@ -37,6 +38,9 @@ public interface SerializableCatalog
   extends Catalog
 {
 
+  void save(final OutputStream outputStream)
+    throws SchemaCrawlerException;
+
   void save(final Writer writer)
     throws SchemaCrawlerException;
 
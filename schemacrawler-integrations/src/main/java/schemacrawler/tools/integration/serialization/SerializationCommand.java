@@ -29,9 +29,18 @@ http://www.gnu.org/licenses/
 package schemacrawler.tools.integration.serialization;
 
 
+import static java.nio.file.Files.newOutputStream;
+import static schemacrawler.tools.analysis.fingerprint.FingerprintUtility.attributesWithFingerprints;
+import static sf.util.Utility.isBlank;
+
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.Writer;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
 
+import schemacrawler.schema.AttributedObject;
 import schemacrawler.tools.executable.BaseSchemaCrawlerCommand;
 import schemacrawler.tools.options.OutputOptions;
 import schemacrawler.tools.options.OutputOptionsBuilder;
@@ -46,6 +55,7 @@ public final class SerializationCommand
 {
 
   static final String COMMAND = "serialize";
+  private static final String BASE_SNAPSHOT = "basesnapshot";
 
   public SerializationCommand()
   {
@@ -66,13 +76,95 @@ public final class SerializationCommand
   {
     // Null checks are done before execution
 
-    final SerializableCatalog serializableCatalog = new XmlSerializedCatalog(catalog);
+    final SerializationFormat serializationFormat = SerializationFormat
+      .fromFormat(outputOptions.getOutputFormatValue());
+
+    if (serializationFormat == SerializationFormat.mapped)
+    {
+      // Mapped snapshots are not compressed, so that they can be
+      // memory-mapped when they are loaded
+      final SerializableCatalog serializableCatalog = new MappedSerializedCatalog(catalog,
+                                                                                  snapshotAttributes());
+      try (final OutputStream outputStream = newOutputStream(outputOptions
+        .getOutputFile());)
+      {
+        serializableCatalog.save(outputStream);
+      }
+      return;
+    }
+
     // Force output to a compressed file
     outputOptions = forceCompressedFileOutput();
-    try (final Writer writer = outputOptions.openNewOutputWriter();)
+    if (serializationFormat == SerializationFormat.delta)
+    {
+      final SerializableCatalog serializableCatalog = new DeltaSerializedCatalog(catalog,
+                                                                                 getBaseSnapshotFile(),
+                                                                                 snapshotAttributes());
+      try (final OutputStream outputStream = outputOptions
+        .openNewOutputStream();)
+      {
+        serializableCatalog.save(outputStream);
+      }
+    }
+    else if (serializationFormat == SerializationFormat.binary)
+    {
+      final SerializableCatalog serializableCatalog = new BinarySerializedCatalog(catalog,
+                                                                                  snapshotAttributes());
+      try (final OutputStream outputStream = outputOptions
+        .openNewOutputStream();)
+      {
+        serializableCatalog.save(outputStream);
+      }
+    }
+    else
+    {
+      final SerializableCatalog serializableCatalog = new XmlSerializedCatalog(catalog);
+      try (final Writer writer = outputOptions.openNewOutputWriter();)
+      {
+        serializableCatalog.save(writer);
+      }
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * Fingerprints are written to snapshots without being added to the
+   * catalog.
+   */
+  @Override
+  public boolean isReadOnly()
+  {
+    return true;
+  }
+
+  /**
+   * Base snapshot for delta snapshots, from the "basesnapshot" option.
+   * Without a base snapshot, delta snapshots contain every database
+   * object.
+   */
+  private Path getBaseSnapshotFile()
+  {
+    if (additionalConfiguration == null)
     {
-      serializableCatalog.save(writer);
+      return null;
     }
+    final String baseSnapshot = additionalConfiguration
+      .getStringValue(BASE_SNAPSHOT, null);
+    if (isBlank(baseSnapshot))
+    {
+      return null;
+    }
+    return Paths.get(baseSnapshot);
+  }
+
+  /**
+   * Fingerprints are saved with all but XML snapshots, so that loaded
+   * snapshots can be compared without a full diff.
+   */
+  private Map<AttributedObject, Map<String, Object>> snapshotAttributes()
+  {
+    return attributesWithFingerprints(catalog);
   }
 
   private OutputOptions forceCompressedFileOutput()
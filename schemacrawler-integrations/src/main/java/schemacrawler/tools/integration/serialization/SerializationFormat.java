@@ -0,0 +1,145 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2018, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+package schemacrawler.tools.integration.serialization;
+
+
+import static sf.util.Utility.isBlank;
+
+import java.util.List;
+import java.util.logging.Level;
+
+import schemacrawler.tools.options.OutputFormat;
+import schemacrawler.tools.options.OutputFormatState;
+import sf.util.SchemaCrawlerLogger;
+import sf.util.StringFormat;
+
+/**
+ * Enumeration for offline snapshot formats.
+ */
+public enum SerializationFormat
+  implements
+  OutputFormat
+{
+
+ xml("XStream XML offline snapshot format"),
+ binary("Compact binary offline snapshot format", "bin"),
+ mapped("Memory-mapped offline snapshot format, loaded lazily by schema"),
+ delta("Delta offline snapshot format, with changes since a base snapshot"),;
+
+  private static final SchemaCrawlerLogger LOGGER = SchemaCrawlerLogger
+    .getLogger(SerializationFormat.class.getName());
+
+  /**
+   * Gets the value from the format.
+   *
+   * @param format
+   *        Serialization format.
+   * @return SerializationFormat
+   */
+  public static SerializationFormat fromFormat(final String format)
+  {
+    final SerializationFormat outputFormat = fromFormatOrNull(format);
+    if (outputFormat == null)
+    {
+      LOGGER
+        .log(Level.CONFIG,
+             new StringFormat("Unknown format <%s>, using default", format));
+      return xml;
+    }
+    else
+    {
+      return outputFormat;
+    }
+  }
+
+  /**
+   * Checks if the value of the format is supported.
+   *
+   * @return True if the format is a serialization format
+   */
+  public static boolean isSupportedFormat(final String format)
+  {
+    return fromFormatOrNull(format) != null;
+  }
+
+  private static SerializationFormat fromFormatOrNull(final String format)
+  {
+    if (isBlank(format))
+    {
+      return null;
+    }
+    for (final SerializationFormat outputFormat: SerializationFormat.values())
+    {
+      if (outputFormat.outputFormatState.isSupportedFormat(format))
+      {
+        return outputFormat;
+      }
+    }
+    return null;
+  }
+
+  private final OutputFormatState outputFormatState;
+
+  private SerializationFormat(final String description)
+  {
+    outputFormatState = new OutputFormatState(name(), description);
+  }
+
+  private SerializationFormat(final String description,
+                              final String... additionalFormatSpecifiers)
+  {
+    outputFormatState = new OutputFormatState(name(),
+                                              description,
+                                              additionalFormatSpecifiers);
+  }
+
+  @Override
+  public String getDescription()
+  {
+    return outputFormatState.getDescription();
+  }
+
+  @Override
+  public String getFormat()
+  {
+    return outputFormatState.getFormat();
+  }
+
+  @Override
+  public List<String> getFormats()
+  {
+    return outputFormatState.getFormats();
+  }
+
+  @Override
+  public String toString()
+  {
+    return outputFormatState.toString();
+  }
+
+}
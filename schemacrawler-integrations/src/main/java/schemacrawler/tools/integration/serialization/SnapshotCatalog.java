@@ -0,0 +1,1164 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2018, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+package schemacrawler.tools.integration.serialization;
+
+
+import static java.nio.file.StandardOpenOption.READ;
+import static java.util.Objects.requireNonNull;
+import static schemacrawler.filter.FilterFactory.routineFilter;
+import static schemacrawler.filter.FilterFactory.schemaFilter;
+import static schemacrawler.filter.FilterFactory.sequenceFilter;
+import static schemacrawler.filter.FilterFactory.synonymFilter;
+import static schemacrawler.filter.FilterFactory.tableFilter;
+import static sf.util.Utility.isBlank;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectStreamException;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Predicate;
+import java.util.logging.Level;
+
+import schemacrawler.JvmSystemInfo;
+import schemacrawler.crawl.PartialDatabaseObjectResolver;
+import schemacrawler.crawl.PartialDatabaseObjects;
+import schemacrawler.OperatingSystemInfo;
+import schemacrawler.SchemaCrawlerInfo;
+import schemacrawler.schema.Catalog;
+import schemacrawler.schema.ColumnDataType;
+import schemacrawler.schema.CrawlInfo;
+import schemacrawler.schema.DatabaseInfo;
+import schemacrawler.schema.DatabaseObject;
+import schemacrawler.schema.JdbcDriverInfo;
+import schemacrawler.schema.NamedObject;
+import schemacrawler.schema.Reducer;
+import schemacrawler.schema.Reducible;
+import schemacrawler.schema.ReducibleCollection;
+import schemacrawler.schema.Routine;
+import schemacrawler.schema.Schema;
+import schemacrawler.schema.SchemaReference;
+import schemacrawler.schema.Sequence;
+import schemacrawler.schema.Synonym;
+import schemacrawler.schema.Table;
+import schemacrawler.schemacrawler.ExcludeAll;
+import schemacrawler.schemacrawler.InclusionRule;
+import schemacrawler.schemacrawler.SchemaCrawlerException;
+import schemacrawler.schemacrawler.SchemaCrawlerOptions;
+import schemacrawler.utility.NamedObjectSort;
+import sf.util.SchemaCrawlerLogger;
+import sf.util.StringFormat;
+
+/**
+ * Catalog read from a snapshot. When the catalog is backed by a
+ * memory-mapped snapshot file, only the catalog header and the segment
+ * index are read when the catalog is opened. Tables, routines,
+ * sequences, synonyms and column data types of a schema are
+ * materialized from the schema segment the first time they are
+ * accessed. Schemas that are filtered out before they are accessed are
+ * never read. Catalogs reconstructed from other snapshots, such as
+ * delta snapshots, are fully materialized.
+ *
+ * @author Sualeh Fatehi
+ */
+final class SnapshotCatalog
+  implements Catalog, Reducible
+{
+
+  /**
+   * Input stream over a memory-mapped segment.
+   */
+  private static final class ByteBufferInputStream
+    extends InputStream
+  {
+
+    private final ByteBuffer buffer;
+
+    ByteBufferInputStream(final ByteBuffer buffer)
+    {
+      this.buffer = requireNonNull(buffer, "No buffer provided");
+    }
+
+    @Override
+    public int available()
+    {
+      return buffer.remaining();
+    }
+
+    @Override
+    public int read()
+    {
+      if (!buffer.hasRemaining())
+      {
+        return -1;
+      }
+      return buffer.get() & 0xFF;
+    }
+
+    @Override
+    public int read(final byte[] bytes, final int offset, final int length)
+    {
+      if (!buffer.hasRemaining())
+      {
+        return -1;
+      }
+      final int count = Math.min(length, buffer.remaining());
+      buffer.get(bytes, offset, count);
+      return count;
+    }
+
+  }
+
+  /**
+   * Named objects keyed by unique lookup key, that can be reduced.
+   * Objects are also kept in sorted lists for each schema, which are
+   * sorted once when objects are added, rather than every time the
+   * objects are read. Objects can be read while schemas are being
+   * loaded on another thread. Reducers that are applied before all
+   * schemas are loaded are deferred until the objects are first
+   * accessed.
+   */
+  private static final class ReducibleMap<N extends NamedObject>
+    implements ReducibleCollection<N>, Serializable
+  {
+
+    private static final long serialVersionUID = 3364436420431466152L;
+
+    /**
+     * Objects are sorted by schema first, so schemas are used to
+     * group the objects. Schemas are grouped by themselves.
+     */
+    private static Schema schemaOf(final NamedObject namedObject)
+    {
+      if (namedObject instanceof DatabaseObject)
+      {
+        return ((DatabaseObject) namedObject).getSchema();
+      }
+      else
+      {
+        return (Schema) namedObject;
+      }
+    }
+
+    private final Map<List<String>, N> objects = new ConcurrentHashMap<>();
+    private transient Map<Schema, List<N>> sortedObjects = new ConcurrentSkipListMap<>();
+    private transient List<N> unsortedObjects = new ArrayList<>();
+    private transient List<Reducer<N>> deferredReducers = new CopyOnWriteArrayList<>();
+
+    @Override
+    public synchronized void filter(final Predicate<? super N> predicate)
+    {
+      if (predicate == null)
+      {
+        return;
+      }
+      objects.values().removeIf(namedObject -> !predicate.test(namedObject));
+      for (final Map.Entry<Schema, List<N>> entry: sortedObjects().entrySet())
+      {
+        final List<N> namedObjects = new ArrayList<>(entry.getValue());
+        namedObjects.removeIf(namedObject -> !predicate.test(namedObject));
+        sortedObjects.put(entry.getKey(),
+                          Collections.unmodifiableList(namedObjects));
+      }
+    }
+
+    @Override
+    public boolean isFiltered(final NamedObject namedObject)
+    {
+      return namedObject == null
+             || !objects.containsKey(namedObject.toUniqueLookupKey());
+    }
+
+    @Override
+    public Iterator<N> iterator()
+    {
+      return Collections.unmodifiableCollection(this.<N> values())
+        .iterator();
+    }
+
+    synchronized void add(final N namedObject)
+    {
+      if (namedObject != null)
+      {
+        objects.put(namedObject.toUniqueLookupKey(), namedObject);
+        unsortedObjects.add(namedObject);
+      }
+    }
+
+    void applyDeferredReducers()
+    {
+      for (final Reducer<N> reducer: deferredReducers)
+      {
+        reducer.reduce(this);
+        deferredReducers.remove(reducer);
+      }
+    }
+
+    void defer(final Reducer<N> reducer)
+    {
+      deferredReducers.add(reducer);
+    }
+
+    boolean hasDeferredReducers()
+    {
+      return !deferredReducers.isEmpty();
+    }
+
+    private void readObject(final ObjectInputStream in)
+      throws IOException, ClassNotFoundException
+    {
+      in.defaultReadObject();
+      // Objects may not be fully read yet, so they are sorted when
+      // they are first accessed
+      sortedObjects = new ConcurrentSkipListMap<>();
+      unsortedObjects = new ArrayList<>(objects.values());
+      deferredReducers = new CopyOnWriteArrayList<>();
+    }
+
+    /**
+     * Adds objects that were added since the objects were last read to
+     * the sorted lists for their schemas, and sorts only those lists.
+     */
+    private synchronized Map<Schema, List<N>> sortedObjects()
+    {
+      if (unsortedObjects.isEmpty())
+      {
+        return sortedObjects;
+      }
+
+      final Map<Schema, List<N>> addedObjects = new HashMap<>();
+      for (final N namedObject: unsortedObjects)
+      {
+        addedObjects.computeIfAbsent(schemaOf(namedObject),
+                                     schema -> new ArrayList<>())
+          .add(namedObject);
+      }
+      unsortedObjects.clear();
+
+      for (final Map.Entry<Schema, List<N>> entry: addedObjects.entrySet())
+      {
+        final Schema schema = entry.getKey();
+        final List<N> namedObjects = new ArrayList<>(sortedObjects
+          .getOrDefault(schema, Collections.emptyList()));
+        namedObjects.addAll(entry.getValue());
+        // Drop objects that were replaced, or filtered out
+        namedObjects.removeIf(namedObject -> objects
+          .get(namedObject.toUniqueLookupKey()) != namedObject);
+        Collections.sort(namedObjects);
+        sortedObjects.put(schema, Collections.unmodifiableList(namedObjects));
+      }
+      return sortedObjects;
+    }
+
+    <T> Collection<T> inSchema(final Schema schema)
+    {
+      if (schema == null)
+      {
+        return new ArrayList<>();
+      }
+      return new ArrayList<>((List<T>) sortedObjects()
+        .getOrDefault(schema, Collections.emptyList()));
+    }
+
+    <T> Optional<T> lookup(final Schema schema, final String name)
+    {
+      if (schema == null)
+      {
+        return Optional.empty();
+      }
+      final List<String> lookupKey = schema.toUniqueLookupKey();
+      lookupKey.add(name);
+      return Optional.ofNullable((T) objects.get(lookupKey));
+    }
+
+    /**
+     * Gets all named objects, in sorted order, like the catalog that
+     * the snapshot was written from.
+     */
+    <T> Collection<T> values()
+    {
+      final List<N> all = new ArrayList<>(objects.size());
+      for (final List<N> namedObjects: sortedObjects().values())
+      {
+        all.addAll(namedObjects);
+      }
+      return (Collection<T>) all;
+    }
+
+  }
+
+  private static final long serialVersionUID = -7266129433262713003L;
+
+  private static final SchemaCrawlerLogger LOGGER = SchemaCrawlerLogger
+    .getLogger(SnapshotCatalog.class.getName());
+
+  private static ByteBuffer map(final FileChannel channel,
+                                final long offset,
+                                final long length)
+    throws IOException
+  {
+    if (length > Integer.MAX_VALUE)
+    {
+      throw new IOException(String
+        .format("Snapshot segment of %d bytes is too large to map", length));
+    }
+    return channel.map(MapMode.READ_ONLY, offset, length);
+  }
+
+  private final transient Path snapshotFile;
+  private transient Map<List<String>, long[]> segments;
+  private transient Map<List<String>, List<String>> tableNames;
+  private transient Set<List<String>> skippedSchemas;
+  private transient PartialDatabaseObjectResolver partialsResolver;
+  private transient volatile boolean isFullyLoaded;
+  private transient Predicate<Table> selectedTables;
+  private transient Predicate<Routine> selectedRoutines;
+  private transient Predicate<Sequence> selectedSequences;
+  private transient Predicate<Synonym> selectedSynonyms;
+  private transient boolean isGrepOnlyMatching;
+  private final String name;
+  private final String remarks;
+  private final Map<String, Object> attributes;
+  private final DatabaseInfo databaseInfo;
+  private final JdbcDriverInfo jdbcDriverInfo;
+  private final CrawlInfo crawlInfo;
+  private final SchemaCrawlerInfo schemaCrawlerInfo;
+  private final OperatingSystemInfo osInfo;
+  private final JvmSystemInfo jvmInfo;
+  private final ReducibleMap<Schema> schemas = new ReducibleMap<>();
+  private final Set<List<String>> loadedSchemas = ConcurrentHashMap
+    .newKeySet();
+  private final ReducibleMap<ColumnDataType> columnDataTypes = new ReducibleMap<>();
+  private final ReducibleMap<Table> tables = new ReducibleMap<>();
+  private final ReducibleMap<Routine> routines = new ReducibleMap<>();
+  private final ReducibleMap<Sequence> sequences = new ReducibleMap<>();
+  private final ReducibleMap<Synonym> synonyms = new ReducibleMap<>();
+
+  /**
+   * Catalog that is fully materialized from a snapshot header, and the
+   * database objects in all schemas.
+   *
+   * @param header
+   *        Snapshot header
+   * @param databaseObjects
+   *        Column data types, tables, routines, sequences and synonyms
+   */
+  SnapshotCatalog(final SnapshotHeader header,
+                  final Collection<? extends NamedObject> databaseObjects)
+  {
+    requireNonNull(header, "No snapshot header provided");
+    requireNonNull(databaseObjects, "No database objects provided");
+
+    snapshotFile = null;
+    segments = new HashMap<>();
+    tableNames = new HashMap<>();
+    skippedSchemas = new HashSet<>();
+    isFullyLoaded = true;
+
+    name = header.name;
+    remarks = header.remarks;
+    attributes = header.attributes;
+    databaseInfo = header.databaseInfo;
+    jdbcDriverInfo = header.jdbcDriverInfo;
+    crawlInfo = header.crawlInfo;
+    schemaCrawlerInfo = header.schemaCrawlerInfo;
+    osInfo = header.osInfo;
+    jvmInfo = header.jvmInfo;
+
+    for (final Schema schema: header.schemas)
+    {
+      schemas.add(schema);
+      loadedSchemas.add(schema.toUniqueLookupKey());
+    }
+    for (final ColumnDataType columnDataType: header.systemColumnDataTypes)
+    {
+      columnDataTypes.add(columnDataType);
+    }
+    for (final NamedObject databaseObject: databaseObjects)
+    {
+      if (databaseObject instanceof Table)
+      {
+        tables.add((Table) databaseObject);
+      }
+      else if (databaseObject instanceof Routine)
+      {
+        routines.add((Routine) databaseObject);
+      }
+      else if (databaseObject instanceof Sequence)
+      {
+        sequences.add((Sequence) databaseObject);
+      }
+      else if (databaseObject instanceof Synonym)
+      {
+        synonyms.add((Synonym) databaseObject);
+      }
+      else if (databaseObject instanceof ColumnDataType)
+      {
+        columnDataTypes.add((ColumnDataType) databaseObject);
+      }
+    }
+    PartialDatabaseObjects.resolvePartials(databaseObjects);
+  }
+
+  SnapshotCatalog(final Path snapshotFile)
+    throws SchemaCrawlerException
+  {
+    this.snapshotFile = requireNonNull(snapshotFile,
+                                       "No snapshot file provided");
+    segments = new HashMap<>();
+    tableNames = new HashMap<>();
+    skippedSchemas = new HashSet<>();
+    partialsResolver = new PartialDatabaseObjectResolver();
+
+    try (final FileChannel channel = FileChannel.open(snapshotFile, READ);)
+    {
+      final long fileSize = channel.size();
+      final ByteBuffer header = map(channel, 0, MappedSerializedCatalog.HEADER_SIZE);
+      if (header.getInt() != MappedSerializedCatalog.MAGIC)
+      {
+        throw new SchemaCrawlerException("Not a mapped catalog snapshot, "
+                                         + snapshotFile);
+      }
+      final int formatVersion = header.getInt();
+      if (formatVersion != MappedSerializedCatalog.FORMAT_VERSION)
+      {
+        throw new SchemaCrawlerException(String
+          .format("Unsupported mapped snapshot format version %d, expected %d",
+                  formatVersion,
+                  MappedSerializedCatalog.FORMAT_VERSION));
+      }
+
+      // Read the segment index, from the offset in the trailer
+      final long indexOffset = map(channel, fileSize - Long.BYTES, Long.BYTES)
+        .getLong();
+      final ByteBuffer index = map(channel,
+                                   indexOffset,
+                                   fileSize - Long.BYTES - indexOffset);
+      final int segmentCount = index.getInt();
+      final long[][] segmentBounds = new long[segmentCount][];
+      for (int i = 0; i < segmentCount; i++)
+      {
+        segmentBounds[i] = new long[] { index.getLong(), index.getLong() };
+      }
+
+      // Read the catalog header, which is the first segment
+      final SnapshotHeader snapshotHeader;
+      try (
+          final ObjectInputStream in = openSegment(channel,
+                                                   segmentBounds[0]);)
+      {
+        snapshotHeader = new SnapshotHeader(in);
+
+        final List<Schema> schemaList = snapshotHeader.schemas;
+        if (schemaList.size() != segmentCount - 1)
+        {
+          throw new SchemaCrawlerException("Corrupt mapped snapshot index, "
+                                           + snapshotFile);
+        }
+        for (int i = 0; i < schemaList.size(); i++)
+        {
+          final Schema schema = schemaList.get(i);
+          schemas.add(schema);
+          segments.put(schema.toUniqueLookupKey(), segmentBounds[i + 1]);
+        }
+
+        for (final ColumnDataType columnDataType: snapshotHeader.systemColumnDataTypes)
+        {
+          columnDataTypes.add(columnDataType);
+        }
+
+        final List<List<String>> tableNamesList = (List<List<String>>) in
+          .readObject();
+        for (int i = 0; i < schemaList.size(); i++)
+        {
+          tableNames.put(schemaList.get(i).toUniqueLookupKey(),
+                         tableNamesList.get(i));
+        }
+      }
+
+      name = snapshotHeader.name;
+      remarks = snapshotHeader.remarks;
+      attributes = snapshotHeader.attributes;
+      databaseInfo = snapshotHeader.databaseInfo;
+      jdbcDriverInfo = snapshotHeader.jdbcDriverInfo;
+      crawlInfo = snapshotHeader.crawlInfo;
+      schemaCrawlerInfo = snapshotHeader.schemaCrawlerInfo;
+      osInfo = snapshotHeader.osInfo;
+      jvmInfo = snapshotHeader.jvmInfo;
+    }
+    catch (final IOException | ClassNotFoundException | ClassCastException
+        | IndexOutOfBoundsException e)
+    {
+      throw new SchemaCrawlerException("Could not read mapped snapshot, "
+                                       + snapshotFile, e);
+    }
+
+    LOGGER.log(Level.INFO,
+               new StringFormat("Opened mapped snapshot <%s>, with %d schemas",
+                                snapshotFile,
+                                segments.size()));
+  }
+
+  @Override
+  public int compareTo(final NamedObject obj)
+  {
+    if (obj == null)
+    {
+      return -1;
+    }
+    return NamedObjectSort.alphabetical.compare(this, obj);
+  }
+
+  @Override
+  public <T> T getAttribute(final String name)
+  {
+    return getAttribute(name, (T) null);
+  }
+
+  @Override
+  public <T> T getAttribute(final String name, final T defaultValue)
+  {
+    final Object attributeValue = attributes.get(name);
+    if (attributeValue == null)
+    {
+      return defaultValue;
+    }
+    else
+    {
+      return (T) attributeValue;
+    }
+  }
+
+  @Override
+  public Map<String, Object> getAttributes()
+  {
+    return Collections.unmodifiableMap(attributes);
+  }
+
+  @Override
+  public Collection<ColumnDataType> getColumnDataTypes()
+  {
+    loadAll(columnDataTypes);
+    return columnDataTypes.values();
+  }
+
+  @Override
+  public Collection<ColumnDataType> getColumnDataTypes(final Schema schema)
+  {
+    load(columnDataTypes, schema);
+    return columnDataTypes.inSchema(schema);
+  }
+
+  @Override
+  public CrawlInfo getCrawlInfo()
+  {
+    return crawlInfo;
+  }
+
+  @Override
+  public DatabaseInfo getDatabaseInfo()
+  {
+    return databaseInfo;
+  }
+
+  @Override
+  public String getFullName()
+  {
+    return name;
+  }
+
+  @Override
+  public JdbcDriverInfo getJdbcDriverInfo()
+  {
+    return jdbcDriverInfo;
+  }
+
+  @Override
+  public JvmSystemInfo getJvmSystemInfo()
+  {
+    return jvmInfo;
+  }
+
+  @Override
+  public String getName()
+  {
+    return name;
+  }
+
+  @Override
+  public OperatingSystemInfo getOperatingSystemInfo()
+  {
+    return osInfo;
+  }
+
+  @Override
+  public String getRemarks()
+  {
+    return remarks;
+  }
+
+  @Override
+  public Collection<Routine> getRoutines()
+  {
+    loadAll(routines);
+    return routines.values();
+  }
+
+  @Override
+  public Collection<Routine> getRoutines(final Schema schema)
+  {
+    load(routines, schema);
+    return routines.inSchema(schema);
+  }
+
+  @Override
+  public SchemaCrawlerInfo getSchemaCrawlerInfo()
+  {
+    return schemaCrawlerInfo;
+  }
+
+  @Override
+  public Collection<Schema> getSchemas()
+  {
+    return schemas.values();
+  }
+
+  @Override
+  public Collection<Sequence> getSequences()
+  {
+    loadAll(sequences);
+    return sequences.values();
+  }
+
+  @Override
+  public Collection<Sequence> getSequences(final Schema schema)
+  {
+    load(sequences, schema);
+    return sequences.inSchema(schema);
+  }
+
+  @Override
+  public Collection<Synonym> getSynonyms()
+  {
+    loadAll(synonyms);
+    return synonyms.values();
+  }
+
+  @Override
+  public Collection<Synonym> getSynonyms(final Schema schema)
+  {
+    load(synonyms, schema);
+    return synonyms.inSchema(schema);
+  }
+
+  @Override
+  public Collection<ColumnDataType> getSystemColumnDataTypes()
+  {
+    return columnDataTypes.inSchema(new SchemaReference());
+  }
+
+  @Override
+  public Collection<Table> getTables()
+  {
+    loadAll(tables);
+    return tables.values();
+  }
+
+  @Override
+  public Collection<Table> getTables(final Schema schema)
+  {
+    load(tables, schema);
+    return tables.inSchema(schema);
+  }
+
+  @Override
+  public boolean hasAttribute(final String name)
+  {
+    return attributes.containsKey(name);
+  }
+
+  @Override
+  public boolean hasRemarks()
+  {
+    return remarks != null && !remarks.isEmpty();
+  }
+
+  @Override
+  public <T> Optional<T> lookupAttribute(final String name)
+  {
+    return Optional.ofNullable(getAttribute(name));
+  }
+
+  @Override
+  public <C extends ColumnDataType> Optional<C> lookupColumnDataType(final Schema schema,
+                                                                     final String name)
+  {
+    load(columnDataTypes, schema);
+    return columnDataTypes.lookup(schema, name);
+  }
+
+  @Override
+  public <R extends Routine> Optional<R> lookupRoutine(final Schema schema,
+                                                       final String name)
+  {
+    load(routines, schema);
+    return routines.lookup(schema, name);
+  }
+
+  @Override
+  public <S extends Schema> Optional<S> lookupSchema(final String name)
+  {
+    // Schemas need to be looked up by full name, since either the
+    // catalog or schema may be null, depending on the database
+    if (name == null)
+    {
+      return Optional.empty();
+    }
+    for (final Schema schema: schemas)
+    {
+      if (name.equals(schema.getFullName()))
+      {
+        return Optional.of((S) schema);
+      }
+    }
+    return Optional.empty();
+  }
+
+  @Override
+  public <S extends Sequence> Optional<S> lookupSequence(final Schema schema,
+                                                         final String name)
+  {
+    load(sequences, schema);
+    return sequences.lookup(schema, name);
+  }
+
+  @Override
+  public <S extends Synonym> Optional<S> lookupSynonym(final Schema schema,
+                                                       final String name)
+  {
+    load(synonyms, schema);
+    return synonyms.lookup(schema, name);
+  }
+
+  @Override
+  public <C extends ColumnDataType> Optional<C> lookupSystemColumnDataType(final String name)
+  {
+    return columnDataTypes.lookup(new SchemaReference(), name);
+  }
+
+  @Override
+  public <T extends Table> Optional<T> lookupTable(final Schema schema,
+                                                   final String name)
+  {
+    load(tables, schema);
+    return tables.lookup(schema, name);
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * Reducing the catalog never reads any schema segments. Schemas are
+   * reduced right away, so that segments for schemas that are filtered
+   * out are never read. Other database objects are reduced right away
+   * if all schemas are loaded, and otherwise when they are first
+   * accessed.
+   */
+  @Override
+  public synchronized <N extends NamedObject> void reduce(final Class<N> clazz,
+                                                          final Reducer<N> reducer)
+  {
+    if (reducer == null)
+    {
+      return;
+    }
+    else if (Schema.class.isAssignableFrom(clazz))
+    {
+      ((Reducer<Schema>) reducer).reduce(schemas);
+    }
+    else if (Table.class.isAssignableFrom(clazz))
+    {
+      reduceOrDefer(tables, (Reducer<Table>) reducer);
+    }
+    else if (Routine.class.isAssignableFrom(clazz))
+    {
+      reduceOrDefer(routines, (Reducer<Routine>) reducer);
+    }
+    else if (Synonym.class.isAssignableFrom(clazz))
+    {
+      reduceOrDefer(synonyms, (Reducer<Synonym>) reducer);
+    }
+    else if (Sequence.class.isAssignableFrom(clazz))
+    {
+      reduceOrDefer(sequences, (Reducer<Sequence>) reducer);
+    }
+  }
+
+  @Override
+  public void removeAttribute(final String name)
+  {
+    if (!isBlank(name))
+    {
+      attributes.remove(name);
+    }
+  }
+
+  @Override
+  public <T> void setAttribute(final String name, final T value)
+  {
+    if (!isBlank(name))
+    {
+      if (value == null)
+      {
+        attributes.remove(name);
+      }
+      else
+      {
+        attributes.put(name, value);
+      }
+    }
+  }
+
+  @Override
+  public List<String> toUniqueLookupKey()
+  {
+    final List<String> lookupKey = new ArrayList<>();
+    lookupKey.add(name);
+    return lookupKey;
+  }
+
+  @Override
+  public String toString()
+  {
+    return getFullName();
+  }
+
+  private <N extends NamedObject> void reduceOrDefer(final ReducibleMap<N> namedObjects,
+                                                     final Reducer<N> reducer)
+  {
+    if (isFullyLoaded)
+    {
+      reducer.reduce(namedObjects);
+    }
+    else
+    {
+      namedObjects.defer(reducer);
+    }
+  }
+
+  /**
+   * Selects schemas to read, before any schema segment is read. Schemas
+   * that are excluded by the schema inclusion rule are filtered out.
+   * When only tables are included, and related tables in other schemas
+   * are not needed, schemas without any table names that match the
+   * table inclusion rule are skipped, and their segments are never
+   * read.
+   * <p>
+   * Routines, sequences and synonyms that are not selected are dropped
+   * as each schema segment is read. So are tables, unless related
+   * tables are needed, since related tables can only be found once all
+   * tables are read.
+   *
+   * @param options
+   *        SchemaCrawler options
+   */
+  synchronized void select(final SchemaCrawlerOptions options)
+  {
+    schemas.filter(schemaFilter(options));
+
+    selectedRoutines = routineFilter(options);
+    selectedSequences = sequenceFilter(options);
+    selectedSynonyms = synonymFilter(options);
+    if (options.getChildTableFilterDepth() == 0
+        && options.getParentTableFilterDepth() == 0)
+    {
+      selectedTables = tableFilter(options);
+      isGrepOnlyMatching = options.isGrepOnlyMatching();
+    }
+
+    final boolean isOnlyTables = options
+      .getRoutineInclusionRule() instanceof ExcludeAll
+                                 && options
+                                   .getSynonymInclusionRule() instanceof ExcludeAll
+                                 && options
+                                   .getSequenceInclusionRule() instanceof ExcludeAll
+                                 && options.getChildTableFilterDepth() == 0
+                                 && options.getParentTableFilterDepth() == 0;
+    final InclusionRule tableInclusionRule = options.getTableInclusionRule();
+    if (!isOnlyTables || tableInclusionRule == null)
+    {
+      return;
+    }
+
+    for (final Schema schema: schemas)
+    {
+      final List<String> schemaKey = schema.toUniqueLookupKey();
+      if (loadedSchemas.contains(schemaKey))
+      {
+        continue;
+      }
+      final List<String> schemaTableNames = tableNames.get(schemaKey);
+      if (schemaTableNames != null
+          && !schemaTableNames.stream().anyMatch(tableInclusionRule))
+      {
+        skippedSchemas.add(schemaKey);
+      }
+    }
+
+    LOGGER.log(Level.INFO,
+               new StringFormat("Selected %d schemas from mapped snapshot, skipping %d schemas without matching tables",
+                                schemas.values().size(),
+                                skippedSchemas.size()));
+  }
+
+  /**
+   * Loads the schemas needed to read objects in a schema. If reducers
+   * were deferred for the objects, all schemas are loaded, and the
+   * reducers are applied first.
+   */
+  private void load(final ReducibleMap<?> namedObjects, final Schema schema)
+  {
+    if (namedObjects.hasDeferredReducers())
+    {
+      loadAll(namedObjects);
+    }
+    else
+    {
+      loadSchema(schema);
+    }
+  }
+
+  /**
+   * Loads all schemas, and applies any reducers that were deferred for
+   * the objects.
+   */
+  private void loadAll(final ReducibleMap<?> namedObjects)
+  {
+    loadAllSchemas();
+    if (namedObjects.hasDeferredReducers())
+    {
+      synchronized (this)
+      {
+        namedObjects.applyDeferredReducers();
+      }
+    }
+  }
+
+  private void loadAllSchemas()
+  {
+    if (isFullyLoaded)
+    {
+      return;
+    }
+    synchronized (this)
+    {
+      for (final Schema schema: schemas)
+      {
+        readSchema(schema);
+      }
+      isFullyLoaded = true;
+    }
+  }
+
+  private void loadSchema(final Schema schema)
+  {
+    if (isFullyLoaded || schema == null)
+    {
+      return;
+    }
+    final List<String> schemaKey = schema.toUniqueLookupKey();
+    if (loadedSchemas.contains(schemaKey))
+    {
+      return;
+    }
+    synchronized (this)
+    {
+      readSchema(schema);
+    }
+  }
+
+  private <N extends NamedObject> boolean isSelected(final Predicate<N> selection,
+                                                     final N namedObject)
+  {
+    return selection == null || selection.test(namedObject);
+  }
+
+  /**
+   * Marks tables that are dropped while a schema segment is read in the
+   * same way as tables that are reduced out of the catalog, since they
+   * can still be referenced by foreign keys of selected tables.
+   */
+  private void markTableFilteredOut(final Table table)
+  {
+    table.setAttribute("schemacrawler.table.filtered_out", true);
+    if (isGrepOnlyMatching)
+    {
+      table.setAttribute("schemacrawler.table.no_grep_match", true);
+    }
+  }
+
+  private ObjectInputStream openSegment(final FileChannel channel,
+                                        final long[] segmentBounds)
+    throws IOException
+  {
+    final ByteBuffer segment = map(channel, segmentBounds[0], segmentBounds[1]);
+    return new SnapshotObjectInputStream(new ByteBufferInputStream(segment));
+  }
+
+  /**
+   * Reinitializes the state that is not serialized. All schemas are
+   * loaded before the catalog is serialized.
+   */
+  private void readObject(final ObjectInputStream in)
+    throws IOException, ClassNotFoundException
+  {
+    in.defaultReadObject();
+    segments = new HashMap<>();
+    tableNames = new HashMap<>();
+    skippedSchemas = new HashSet<>();
+    isFullyLoaded = true;
+  }
+
+  /**
+   * Reads the segment for a schema, unless the schema was filtered
+   * out, skipped or already read.
+   */
+  private void readSchema(final Schema schema)
+  {
+    final List<String> schemaKey = schema.toUniqueLookupKey();
+    if (schemas.isFiltered(schema) || loadedSchemas.contains(schemaKey)
+        || skippedSchemas.contains(schemaKey))
+    {
+      return;
+    }
+    readSchemaSegment(schema, schemaKey);
+  }
+
+  /**
+   * Reads the segment for a schema. References to objects in other
+   * schemas are read as partial database objects, so only the objects
+   * in the segment are resolved against the objects loaded so far, and
+   * objects in schemas loaded earlier are linked to them.
+   */
+  private void readSchemaSegment(final Schema schema,
+                                 final List<String> schemaKey)
+  {
+    final long[] segmentBounds = segments.get(schemaKey);
+    final List<NamedObject> loadedObjects = new ArrayList<>();
+    try (final FileChannel channel = FileChannel.open(snapshotFile, READ);
+        final ObjectInputStream in = openSegment(channel, segmentBounds);)
+    {
+      for (final ColumnDataType columnDataType: (List<ColumnDataType>) in
+        .readObject())
+      {
+        columnDataTypes.add(columnDataType);
+      }
+      for (final Table table: (List<Table>) in.readObject())
+      {
+        if (isSelected(selectedTables, table))
+        {
+          tables.add(table);
+          loadedObjects.add(table);
+        }
+        else
+        {
+          markTableFilteredOut(table);
+        }
+      }
+      for (final Routine routine: (List<Routine>) in.readObject())
+      {
+        if (isSelected(selectedRoutines, routine))
+        {
+          routines.add(routine);
+          loadedObjects.add(routine);
+        }
+      }
+      for (final Sequence sequence: (List<Sequence>) in.readObject())
+      {
+        if (isSelected(selectedSequences, sequence))
+        {
+          sequences.add(sequence);
+        }
+      }
+      for (final Synonym synonym: (List<Synonym>) in.readObject())
+      {
+        if (isSelected(selectedSynonyms, synonym))
+        {
+          synonyms.add(synonym);
+          loadedObjects.add(synonym);
+        }
+      }
+    }
+    catch (final IOException | ClassNotFoundException | ClassCastException e)
+    {
+      throw new IllegalStateException(String
+        .format("Could not read schema <%s> from mapped snapshot <%s>",
+                schema,
+                snapshotFile),
+                                      e);
+    }
+    partialsResolver.resolvePartials(loadedObjects);
+    loadedSchemas.add(schemaKey);
+
+    LOGGER.log(Level.FINE,
+               new StringFormat("Loaded schema <%s> from mapped snapshot",
+                                schema));
+  }
+
+  /**
+   * Materializes all remaining schemas before the catalog is
+   * serialized, since the snapshot file is not serialized with it.
+   */
+  private Object writeReplace()
+    throws ObjectStreamException
+  {
+    loadAll(columnDataTypes);
+    loadAll(tables);
+    loadAll(routines);
+    loadAll(sequences);
+    loadAll(synonyms);
+    return this;
+  }
+
+}
@@ -0,0 +1,131 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2018, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+package schemacrawler.tools.integration.serialization;
+
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import schemacrawler.JvmSystemInfo;
+import schemacrawler.OperatingSystemInfo;
+import schemacrawler.SchemaCrawlerInfo;
+import schemacrawler.schema.Catalog;
+import schemacrawler.schema.ColumnDataType;
+import schemacrawler.schema.CrawlInfo;
+import schemacrawler.schema.DatabaseInfo;
+import schemacrawler.schema.JdbcDriverInfo;
+import schemacrawler.schema.Schema;
+
+/**
+ * Catalog-level information in a snapshot, apart from the database
+ * objects in each schema. The header is written before the schema
+ * objects, so that it can be read without reading the rest of the
+ * snapshot.
+ *
+ * @author Sualeh Fatehi
+ */
+final class SnapshotHeader
+{
+
+  /**
+   * Writes the header for a catalog.
+   *
+   * @param out
+   *        Snapshot output stream
+   * @param catalog
+   *        Catalog to write the header for
+   * @param schemas
+   *        Schemas, in the order that they are written
+   * @throws IOException
+   *         On an exception
+   */
+  static void write(final SnapshotObjectOutputStream out,
+                    final Catalog catalog,
+                    final List<Schema> schemas)
+    throws IOException
+  {
+    out.writeObject(catalog.getName());
+    out.writeObject(catalog.getRemarks());
+    out.writeObject(new HashMap<>(out.attributesOf(catalog)));
+    out.writeObject(catalog.getDatabaseInfo());
+    out.writeObject(catalog.getJdbcDriverInfo());
+    out.writeObject(catalog.getCrawlInfo());
+    out.writeObject(catalog.getSchemaCrawlerInfo());
+    out.writeObject(catalog.getOperatingSystemInfo());
+    out.writeObject(catalog.getJvmSystemInfo());
+    out.writeObject(new ArrayList<>(schemas));
+    out.writeObject(new ArrayList<>(catalog.getSystemColumnDataTypes()));
+  }
+
+  final String name;
+  final String remarks;
+  final Map<String, Object> attributes;
+  final DatabaseInfo databaseInfo;
+  final JdbcDriverInfo jdbcDriverInfo;
+  final CrawlInfo crawlInfo;
+  final SchemaCrawlerInfo schemaCrawlerInfo;
+  final OperatingSystemInfo osInfo;
+  final JvmSystemInfo jvmInfo;
+  final List<Schema> schemas;
+  final List<ColumnDataType> systemColumnDataTypes;
+
+  /**
+   * Reads a header, written by
+   * {@link #write(SnapshotObjectOutputStream, Catalog, List)}.
+   *
+   * @param in
+   *        Object input stream
+   * @throws IOException
+   *         On an exception
+   * @throws ClassNotFoundException
+   *         On an exception
+   */
+  SnapshotHeader(final ObjectInputStream in)
+    throws IOException, ClassNotFoundException
+  {
+    requireNonNull(in, "No input stream provided");
+    name = (String) in.readObject();
+    remarks = (String) in.readObject();
+    attributes = new HashMap<>((Map<String, Object>) in.readObject());
+    databaseInfo = (DatabaseInfo) in.readObject();
+    jdbcDriverInfo = (JdbcDriverInfo) in.readObject();
+    crawlInfo = (CrawlInfo) in.readObject();
+    schemaCrawlerInfo = (SchemaCrawlerInfo) in.readObject();
+    osInfo = (OperatingSystemInfo) in.readObject();
+    jvmInfo = (JvmSystemInfo) in.readObject();
+    schemas = (List<Schema>) in.readObject();
+    systemColumnDataTypes = (List<ColumnDataType>) in.readObject();
+  }
+
+}
@@ -0,0 +1,231 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2018, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+package schemacrawler.tools.integration.serialization;
+
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InvalidClassException;
+import java.io.ObjectInputStream;
+import java.io.ObjectStreamClass;
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import schemacrawler.schema.Schema;
+
+/**
+ * Reads catalog snapshots, only allowing instances of the classes of
+ * the catalog model, of enums, and of a small set of value and
+ * collection classes from the Java runtime. Other classes can only be
+ * read as class references, such as the mapped class of a column data
+ * type, and are never initialized or instantiated. Schema placeholders
+ * are replaced with the schemas or lookup keys that they stand in for.
+ */
+final class SnapshotObjectInputStream
+  extends ObjectInputStream
+{
+
+  private static final Set<String> allowedClasses = new HashSet<>(Arrays
+    .asList(
+            // Catalog model
+            "schemacrawler.BaseProductVersion",
+            "schemacrawler.JvmSystemInfo",
+            "schemacrawler.OperatingSystemInfo",
+            "schemacrawler.SchemaCrawlerInfo",
+            "schemacrawler.crawl.AbstractColumn",
+            "schemacrawler.crawl.AbstractDatabaseObject",
+            "schemacrawler.crawl.AbstractDependantObject",
+            "schemacrawler.crawl.AbstractNamedObject",
+            "schemacrawler.crawl.AbstractNamedObjectWithAttributes",
+            "schemacrawler.crawl.AbstractProperty",
+            "schemacrawler.crawl.BaseColumnReference",
+            "schemacrawler.crawl.BinaryCatalogReader$SnapshotSqlType",
+            "schemacrawler.crawl.ColumnPartial",
+            "schemacrawler.crawl.ColumnReference",
+            "schemacrawler.crawl.DatabaseObjectReference",
+            "schemacrawler.crawl.FunctionPartial",
+            "schemacrawler.crawl.FunctionReference",
+            "schemacrawler.crawl.ImmutableCrawlInfo",
+            "schemacrawler.crawl.ImmutableDatabaseProperty",
+            "schemacrawler.crawl.ImmutableJdbcDriverProperty",
+            "schemacrawler.crawl.MutableColumn",
+            "schemacrawler.crawl.MutableColumnDataType",
+            "schemacrawler.crawl.MutableDatabaseInfo",
+            "schemacrawler.crawl.MutableForeignKey",
+            "schemacrawler.crawl.MutableForeignKeyColumnReference",
+            "schemacrawler.crawl.MutableFunction",
+            "schemacrawler.crawl.MutableFunctionColumn",
+            "schemacrawler.crawl.MutableIndex",
+            "schemacrawler.crawl.MutableIndexColumn",
+            "schemacrawler.crawl.MutableJdbcDriverInfo",
+            "schemacrawler.crawl.MutablePrimaryKey",
+            "schemacrawler.crawl.MutablePrivilege",
+            "schemacrawler.crawl.MutablePrivilege$PrivilegeGrant",
+            "schemacrawler.crawl.MutableProcedure",
+            "schemacrawler.crawl.MutableProcedureColumn",
+            "schemacrawler.crawl.MutableRoutine",
+            "schemacrawler.crawl.MutableRoutineColumn",
+            "schemacrawler.crawl.MutableSequence",
+            "schemacrawler.crawl.MutableSynonym",
+            "schemacrawler.crawl.MutableTable",
+            "schemacrawler.crawl.MutableTableConstraint",
+            "schemacrawler.crawl.MutableTableConstraintColumn",
+            "schemacrawler.crawl.MutableTrigger",
+            "schemacrawler.crawl.MutableView",
+            "schemacrawler.crawl.NamedObjectList",
+            "schemacrawler.crawl.ProcedurePartial",
+            "schemacrawler.crawl.ProcedureReference",
+            "schemacrawler.crawl.RoutinePartial",
+            "schemacrawler.crawl.TablePartial",
+            "schemacrawler.crawl.TableReference",
+            "schemacrawler.schema.JavaSqlType",
+            "schemacrawler.schema.SchemaReference",
+            "schemacrawler.schema.TableType",
+            SchemaPlaceholder.class.getName(),
+            // Attribute values
+            "java.lang.Boolean",
+            "java.lang.Byte",
+            "java.lang.Character",
+            "java.lang.Double",
+            "java.lang.Enum",
+            "java.lang.Float",
+            "java.lang.Integer",
+            "java.lang.Long",
+            "java.lang.Number",
+            "java.lang.Short",
+            "java.lang.String",
+            "java.lang.StringBuilder",
+            "java.math.BigDecimal",
+            "java.math.BigInteger",
+            "java.sql.Date",
+            "java.sql.Time",
+            "java.sql.Timestamp",
+            "java.time.Ser",
+            "java.util.Date",
+            // Collections
+            "java.util.ArrayList",
+            "java.util.Arrays$ArrayList",
+            "java.util.Collections$EmptyList",
+            "java.util.Collections$EmptyMap",
+            "java.util.Collections$EmptySet",
+            "java.util.Collections$UnmodifiableCollection",
+            "java.util.Collections$UnmodifiableList",
+            "java.util.Collections$UnmodifiableMap",
+            "java.util.Collections$UnmodifiableRandomAccessList",
+            "java.util.Collections$UnmodifiableSet",
+            "java.util.HashMap",
+            "java.util.HashSet",
+            "java.util.LinkedHashMap",
+            "java.util.LinkedHashSet",
+            "java.util.LinkedList",
+            "java.util.TreeMap",
+            "java.util.TreeSet"));
+
+  private final List<Schema> schemas;
+
+  SnapshotObjectInputStream(final InputStream in)
+    throws IOException
+  {
+    this(in, null);
+  }
+
+  /**
+   * Reads catalog snapshots that were written with schema
+   * placeholders.
+   *
+   * @param in
+   *        Input stream
+   * @param schemas
+   *        Schemas, in placeholder order, or null if schemas were
+   *        written in full
+   * @throws IOException
+   *         On an exception
+   */
+  SnapshotObjectInputStream(final InputStream in, final List<Schema> schemas)
+    throws IOException
+  {
+    super(in);
+    this.schemas = schemas;
+    if (schemas != null)
+    {
+      enableResolveObject(true);
+    }
+  }
+
+  @Override
+  protected Class<?> resolveClass(final ObjectStreamClass desc)
+    throws IOException, ClassNotFoundException
+  {
+    // Classes are loaded, but not initialized
+    final Class<?> type = super.resolveClass(desc);
+    if (!isAllowedClass(type))
+    {
+      throw new InvalidClassException(desc.getName(),
+                                      "Not allowed in a catalog snapshot");
+    }
+    return type;
+  }
+
+  @Override
+  protected Class<?> resolveProxyClass(final String[] interfaces)
+    throws IOException
+  {
+    throw new InvalidClassException(Arrays.toString(interfaces),
+                                    "Proxies are not allowed in a catalog snapshot");
+  }
+
+  @Override
+  protected Object resolveObject(final Object obj)
+    throws IOException
+  {
+    if (obj instanceof SchemaPlaceholder)
+    {
+      return ((SchemaPlaceholder) obj).resolve(schemas);
+    }
+    return obj;
+  }
+
+  private boolean isAllowedClass(final Class<?> type)
+  {
+    Class<?> elementType = type;
+    while (elementType.isArray())
+    {
+      elementType = elementType.getComponentType();
+    }
+    // Classes that cannot be deserialized can only be read as class
+    // references, and enum constants are only looked up by name
+    return elementType.isPrimitive()
+           || !Serializable.class.isAssignableFrom(elementType)
+           || elementType.isEnum()
+           || allowedClasses.contains(elementType.getName());
+  }
+
+}
@@ -0,0 +1,342 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2018, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+package schemacrawler.tools.integration.serialization;
+
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+import schemacrawler.crawl.PartialDatabaseObjects;
+import schemacrawler.schema.AttributedObject;
+import schemacrawler.schema.Column;
+import schemacrawler.schema.DatabaseObject;
+import schemacrawler.schema.PartialDatabaseObject;
+import schemacrawler.schema.Routine;
+import schemacrawler.schema.Schema;
+import schemacrawler.schema.Table;
+import schemacrawler.tools.integration.serialization.SchemaPlaceholder.Part;
+
+/**
+ * Writes part of a catalog snapshot, replacing references to tables,
+ * columns and routines outside that part with partial database
+ * objects. References to schemas can also be replaced with
+ * placeholders, so that the bytes do not depend on schema names.
+ */
+final class SnapshotObjectOutputStream
+  extends ObjectOutputStream
+{
+
+  private final Predicate<DatabaseObject> isInSnapshotPart;
+  private final List<Schema> schemas;
+  private final Map<AttributedObject, Map<String, Object>> attributes;
+  private final Map<Object, Object> partials = new IdentityHashMap<>();
+  private Map<String, Object> pendingAttributes;
+
+  /**
+   * Writes part of a catalog snapshot.
+   *
+   * @param out
+   *        Output stream
+   * @param isInSnapshotPart
+   *        Whether a table, column or routine is written in full, or
+   *        null to write all objects in full
+   * @throws IOException
+   *         On an exception
+   */
+  SnapshotObjectOutputStream(final OutputStream out,
+                             final Predicate<DatabaseObject> isInSnapshotPart)
+    throws IOException
+  {
+    this(out, isInSnapshotPart, null);
+  }
+
+  /**
+   * Writes part of a catalog snapshot, with placeholders for schemas.
+   *
+   * @param out
+   *        Output stream
+   * @param isInSnapshotPart
+   *        Whether a table, column or routine is written in full, or
+   *        null to write all objects in full
+   * @param schemas
+   *        Schemas that were replaced with placeholders, in placeholder
+   *        order, or null to write schemas in full; schemas that are
+   *        already in the list keep their positions
+   * @throws IOException
+   *         On an exception
+   */
+  SnapshotObjectOutputStream(final OutputStream out,
+                             final Predicate<DatabaseObject> isInSnapshotPart,
+                             final List<Schema> schemas)
+    throws IOException
+  {
+    this(out, isInSnapshotPart, schemas, new IdentityHashMap<>());
+  }
+
+  /**
+   * Writes part of a catalog snapshot, with attributes that are written
+   * in place of the attributes of some objects, so that derived data
+   * such as fingerprints can be saved without changing the catalog.
+   *
+   * @param out
+   *        Output stream
+   * @param isInSnapshotPart
+   *        Whether a table, column or routine is written in full, or
+   *        null to write all objects in full
+   * @param schemas
+   *        Schemas that were replaced with placeholders, in placeholder
+   *        order, or null to write schemas in full
+   * @param attributes
+   *        Attributes to write for objects, by object identity
+   * @throws IOException
+   *         On an exception
+   */
+  SnapshotObjectOutputStream(final OutputStream out,
+                             final Predicate<DatabaseObject> isInSnapshotPart,
+                             final List<Schema> schemas,
+                             final Map<AttributedObject, Map<String, Object>> attributes)
+    throws IOException
+  {
+    super(out);
+    this.isInSnapshotPart = isInSnapshotPart;
+    this.schemas = schemas;
+    this.attributes = requireNonNull(attributes, "No attributes provided");
+    if (isInSnapshotPart != null || schemas != null || !attributes.isEmpty())
+    {
+      enableReplaceObject(true);
+    }
+  }
+
+  /**
+   * Gets the attributes to write for an object.
+   *
+   * @param object
+   *        Catalog, or database object
+   * @return Attributes
+   */
+  Map<String, Object> attributesOf(final AttributedObject object)
+  {
+    return attributes.getOrDefault(object, object.getAttributes());
+  }
+
+  @Override
+  protected Object replaceObject(final Object obj)
+    throws IOException
+  {
+    final Object replacement = replace(obj);
+    if (replacement instanceof AttributedObject)
+    {
+      // Attributes are the first map that is written after an object
+      // (following its name), so replace that map if needed
+      pendingAttributes = replacement == obj? attributes.get(obj): null;
+    }
+    else if (pendingAttributes != null && replacement instanceof Map)
+    {
+      final Map<String, Object> objectAttributes = pendingAttributes;
+      pendingAttributes = null;
+      return schemas == null? objectAttributes
+                            : canonicalMap(objectAttributes);
+    }
+    return replacement;
+  }
+
+  private Object replace(final Object obj)
+  {
+    if (schemas != null && obj instanceof Schema)
+    {
+      return newSchemaPlaceholder((Schema) obj);
+    }
+    if (schemas != null && obj instanceof List)
+    {
+      final Object lookupKeyPlaceholder = newLookupKeyPlaceholder((List<?>) obj);
+      if (lookupKeyPlaceholder != null)
+      {
+        return lookupKeyPlaceholder;
+      }
+    }
+    if (schemas != null && obj != null && obj.getClass() == HashMap.class)
+    {
+      return canonicalMap((Map<?, ?>) obj);
+    }
+    if (isInSnapshotPart == null
+        || !(obj instanceof Table || obj instanceof Column
+             || obj instanceof Routine)
+        || obj instanceof PartialDatabaseObject
+        || isInSnapshotPart.test((DatabaseObject) obj))
+    {
+      return obj;
+    }
+    return partials.computeIfAbsent(obj, this::newPartial);
+  }
+
+  /**
+   * Gets a key that does not depend on schema names, for sorting.
+   */
+  private String canonicalKey(final Object key)
+  {
+    if (key instanceof List)
+    {
+      final SchemaPlaceholder lookupKeyPlaceholder = newLookupKeyPlaceholder((List<?>) key);
+      if (lookupKeyPlaceholder != null)
+      {
+        return lookupKeyPlaceholder.toString();
+      }
+    }
+    return String.valueOf(key);
+  }
+
+  /**
+   * Copies a hash map in an order that does not depend on schema
+   * names, since the order of a hash map depends on the hash codes of
+   * lookup keys. Catalog and schema names in attributes that were read
+   * from database metadata, such as TABLE_CAT and TABLE_SCHEM, are
+   * replaced with placeholders.
+   */
+  private Map<?, ?> canonicalMap(final Map<?, ?> map)
+  {
+    final List<Map.Entry<?, ?>> entries = new ArrayList<>(map.entrySet());
+    entries.sort(Comparator.comparing(entry -> canonicalKey(entry.getKey())));
+
+    final Map<Object, Object> canonicalMap = new LinkedHashMap<>();
+    for (final Map.Entry<?, ?> entry: entries)
+    {
+      canonicalMap.put(entry.getKey(),
+                       replaceSchemaName(entry.getKey(), entry.getValue()));
+    }
+    return canonicalMap;
+  }
+
+  /**
+   * Creates a placeholder for a lookup key of an object in a schema
+   * that was already written, since lookup keys start with the names of
+   * the schema.
+   *
+   * @return Placeholder, or null if the list is not a lookup key
+   */
+  private SchemaPlaceholder newLookupKeyPlaceholder(final List<?> list)
+  {
+    for (int index = 0; index < schemas.size(); index++)
+    {
+      final List<String> schemaLookupKey = schemas.get(index)
+        .toUniqueLookupKey();
+      final int schemaKeySize = schemaLookupKey.size();
+      if (list.size() > schemaKeySize
+          && list.subList(0, schemaKeySize).equals(schemaLookupKey))
+      {
+        final List<?> names = list.subList(schemaKeySize, list.size());
+        if (names.stream().allMatch(name -> name instanceof String))
+        {
+          return new SchemaPlaceholder(index,
+                                       names.toArray(new String[names
+                                         .size()]));
+        }
+      }
+    }
+    return null;
+  }
+
+  private SchemaPlaceholder newSchemaPlaceholder(final Schema schema)
+  {
+    int index = schemas.indexOf(schema);
+    if (index == -1)
+    {
+      schemas.add(schema);
+      index = schemas.size() - 1;
+    }
+    return new SchemaPlaceholder(index, Part.schema);
+  }
+
+  /**
+   * Replaces a catalog or schema name in an attribute that was read
+   * from database metadata, such as TABLE_CAT and TABLE_SCHEM, if it is
+   * the name of a schema that was already written.
+   */
+  private Object replaceSchemaName(final Object key, final Object value)
+  {
+    if (!(key instanceof String) || !(value instanceof String))
+    {
+      return value;
+    }
+
+    final String attributeName = ((String) key).toUpperCase();
+    final Part part;
+    if (attributeName.endsWith("_CAT") || attributeName.endsWith("_CATALOG"))
+    {
+      part = Part.catalogName;
+    }
+    else if (attributeName.endsWith("_SCHEM")
+             || attributeName.endsWith("_SCHEMA"))
+    {
+      part = Part.schemaName;
+    }
+    else
+    {
+      return value;
+    }
+
+    for (int index = 0; index < schemas.size(); index++)
+    {
+      final Schema schema = schemas.get(index);
+      final String name = part == Part.catalogName? schema.getCatalogName()
+                                                  : schema.getName();
+      if (value.equals(name))
+      {
+        return new SchemaPlaceholder(index, part);
+      }
+    }
+    return value;
+  }
+
+  private Object newPartial(final Object obj)
+  {
+    if (obj instanceof Table)
+    {
+      return PartialDatabaseObjects.newTablePartial((Table) obj);
+    }
+    else if (obj instanceof Column)
+    {
+      return PartialDatabaseObjects.newColumnPartial((Column) obj);
+    }
+    else
+    {
+      return PartialDatabaseObjects.newRoutinePartial((Routine) obj);
+    }
+  }
+
+}
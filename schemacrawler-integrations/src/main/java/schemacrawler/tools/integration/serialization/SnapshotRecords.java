@@ -0,0 +1,473 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2018, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+package schemacrawler.tools.integration.serialization;
+
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+import schemacrawler.schema.AttributedObject;
+import schemacrawler.schema.Catalog;
+import schemacrawler.schema.Column;
+import schemacrawler.schema.DatabaseObject;
+import schemacrawler.schema.NamedObject;
+import schemacrawler.schema.Routine;
+import schemacrawler.schema.Schema;
+import schemacrawler.schema.Sequence;
+import schemacrawler.schema.Synonym;
+import schemacrawler.schema.Table;
+import schemacrawler.schemacrawler.SchemaCrawlerException;
+
+/**
+ * Splits a catalog into self-contained records, and reconstructs a
+ * catalog from records. The catalog header, and each table, routine,
+ * sequence, synonym and column data type is a separate record.
+ * References from one record to tables, columns and routines in other
+ * records are written as partial database objects. Records with the
+ * same content have the same bytes, and so the same digest.
+ *
+ * @author Sualeh Fatehi
+ */
+public final class SnapshotRecords
+{
+
+  /**
+   * A record that does not depend on the names of the schemas that it
+   * refers to, along with those schemas. Identical database objects in
+   * differently named schemas have the same canonical record.
+   */
+  public static final class CanonicalRecord
+  {
+
+    private final byte[] record;
+    private final List<Schema> schemas;
+
+    private CanonicalRecord(final byte[] record, final List<Schema> schemas)
+    {
+      this.record = record;
+      this.schemas = schemas;
+    }
+
+    /**
+     * Gets the record, with placeholders for schemas.
+     *
+     * @return Record
+     */
+    public byte[] getRecord()
+    {
+      return record;
+    }
+
+    /**
+     * Gets the schemas that the record refers to, in placeholder
+     * order.
+     *
+     * @return Schemas
+     */
+    public List<Schema> getSchemas()
+    {
+      return new ArrayList<>(schemas);
+    }
+
+  }
+
+  /**
+   * A catalog header that was read from a header record. Records that
+   * are read with the schemas of the header refer to the same schemas
+   * as the catalog.
+   */
+  public static final class HeaderRecord
+  {
+
+    private final SnapshotHeader header;
+
+    private HeaderRecord(final SnapshotHeader header)
+    {
+      this.header = header;
+    }
+
+    /**
+     * Gets the schemas of the catalog.
+     *
+     * @return Schemas
+     */
+    public List<Schema> getSchemas()
+    {
+      return new ArrayList<>(header.schemas);
+    }
+
+  }
+
+  /**
+   * Computes the SHA-256 digest of a record.
+   *
+   * @param record
+   *        Record
+   * @return Digest
+   * @throws SchemaCrawlerException
+   *         On an exception
+   */
+  public static byte[] digest(final byte[] record)
+    throws SchemaCrawlerException
+  {
+    requireNonNull(record, "No record provided");
+    try
+    {
+      return MessageDigest.getInstance("SHA-256").digest(record);
+    }
+    catch (final NoSuchAlgorithmException e)
+    {
+      throw new SchemaCrawlerException("Cannot compute snapshot digests", e);
+    }
+  }
+
+  /**
+   * Reads a database object from a record.
+   *
+   * @param record
+   *        Record
+   * @return Table, routine, sequence, synonym or column data type
+   * @throws SchemaCrawlerException
+   *         On an exception
+   */
+  public static NamedObject fromRecord(final byte[] record)
+    throws SchemaCrawlerException
+  {
+    requireNonNull(record, "No record provided");
+    try (final ObjectInputStream in = new SnapshotObjectInputStream(new ByteArrayInputStream(record));)
+    {
+      return (NamedObject) in.readObject();
+    }
+    catch (final IOException | ClassNotFoundException | ClassCastException e)
+    {
+      throw new SchemaCrawlerException("Could not read snapshot record", e);
+    }
+  }
+
+  /**
+   * Reads a database object from a canonical record, replacing schema
+   * placeholders with schemas.
+   *
+   * @param record
+   *        Canonical record
+   * @param schemas
+   *        Schemas, in placeholder order
+   * @return Table, routine, sequence, synonym or column data type
+   * @throws SchemaCrawlerException
+   *         On an exception
+   */
+  public static NamedObject fromCanonicalRecord(final byte[] record,
+                                                final List<Schema> schemas)
+    throws SchemaCrawlerException
+  {
+    requireNonNull(record, "No record provided");
+    requireNonNull(schemas, "No schemas provided");
+    try (final ObjectInputStream in = new SnapshotObjectInputStream(new ByteArrayInputStream(record),
+                                                                    schemas);)
+    {
+      return (NamedObject) in.readObject();
+    }
+    catch (final IOException | ClassNotFoundException | ClassCastException e)
+    {
+      throw new SchemaCrawlerException("Could not read snapshot record", e);
+    }
+  }
+
+  /**
+   * Reads a header record.
+   *
+   * @param header
+   *        Header record
+   * @return Catalog header
+   * @throws SchemaCrawlerException
+   *         On an exception
+   */
+  public static HeaderRecord readHeader(final byte[] header)
+    throws SchemaCrawlerException
+  {
+    requireNonNull(header, "No header provided");
+    try (final ObjectInputStream in = new SnapshotObjectInputStream(new ByteArrayInputStream(header));)
+    {
+      return new HeaderRecord(new SnapshotHeader(in));
+    }
+    catch (final IOException | ClassNotFoundException | ClassCastException e)
+    {
+      throw new SchemaCrawlerException("Could not read snapshot header", e);
+    }
+  }
+
+  /**
+   * Reconstructs a catalog from a header record, and the database
+   * objects read from the other records.
+   *
+   * @param header
+   *        Header record
+   * @param databaseObjects
+   *        Tables, routines, sequences, synonyms and column data types
+   * @return Catalog
+   * @throws SchemaCrawlerException
+   *         On an exception
+   */
+  public static Catalog newCatalog(final byte[] header,
+                                   final Collection<? extends NamedObject> databaseObjects)
+    throws SchemaCrawlerException
+  {
+    requireNonNull(header, "No header provided");
+    try (final ObjectInputStream in = new SnapshotObjectInputStream(new ByteArrayInputStream(header));)
+    {
+      return new SnapshotCatalog(new SnapshotHeader(in), databaseObjects);
+    }
+    catch (final IOException | ClassNotFoundException | ClassCastException e)
+    {
+      throw new SchemaCrawlerException("Could not read snapshot header", e);
+    }
+  }
+
+  /**
+   * Reconstructs a catalog from a catalog header, and the database
+   * objects read from the other records.
+   *
+   * @param header
+   *        Catalog header
+   * @param databaseObjects
+   *        Tables, routines, sequences, synonyms and column data types
+   * @return Catalog
+   */
+  public static Catalog newCatalog(final HeaderRecord header,
+                                   final Collection<? extends NamedObject> databaseObjects)
+  {
+    requireNonNull(header, "No header provided");
+    return new SnapshotCatalog(header.header, databaseObjects);
+  }
+
+  /**
+   * Writes the catalog header record.
+   *
+   * @param catalog
+   *        Catalog
+   * @return Header record
+   * @throws SchemaCrawlerException
+   *         On an exception
+   */
+  public static byte[] toHeader(final Catalog catalog)
+    throws SchemaCrawlerException
+  {
+    requireNonNull(catalog, "No catalog provided");
+    final ByteArrayOutputStream header = new ByteArrayOutputStream();
+    try (final SnapshotObjectOutputStream out = new SnapshotObjectOutputStream(header,
+                                                                               null);)
+    {
+      SnapshotHeader
+        .write(out, catalog, new ArrayList<>(catalog.getSchemas()));
+    }
+    catch (final IOException e)
+    {
+      throw new SchemaCrawlerException("Could not write snapshot header", e);
+    }
+    return header.toByteArray();
+  }
+
+  /**
+   * Writes a canonical record for each database object in the catalog,
+   * apart from the header. References to schemas are written as
+   * placeholders, so records do not depend on schema names. Records
+   * are keyed by the type of database object, followed by its lookup
+   * key.
+   *
+   * @param catalog
+   *        Catalog
+   * @return Canonical records, in schema order
+   * @throws SchemaCrawlerException
+   *         On an exception
+   */
+  public static Map<List<String>, CanonicalRecord> toCanonicalRecords(final Catalog catalog)
+    throws SchemaCrawlerException
+  {
+    requireNonNull(catalog, "No catalog provided");
+    final Map<List<String>, CanonicalRecord> records = new LinkedHashMap<>();
+    for (final NamedObject databaseObject: databaseObjects(catalog))
+    {
+      // The schema of the database object comes first, so that
+      // attributes and lookup keys that are written before the schema
+      // are replaced too
+      final List<Schema> schemas = new ArrayList<>();
+      if (databaseObject instanceof DatabaseObject)
+      {
+        schemas.add(((DatabaseObject) databaseObject).getSchema());
+      }
+      final byte[] record = toRecord(databaseObject,
+                                     schemas,
+                                     new IdentityHashMap<>());
+      records.put(recordKey(databaseObject),
+                  new CanonicalRecord(record, schemas));
+    }
+    return records;
+  }
+
+  /**
+   * Writes a record for each database object in the catalog, apart
+   * from the header. Records are keyed by the type of database object,
+   * followed by its lookup key.
+   *
+   * @param catalog
+   *        Catalog
+   * @return Records, in schema order
+   * @throws SchemaCrawlerException
+   *         On an exception
+   */
+  public static Map<List<String>, byte[]> toRecords(final Catalog catalog)
+    throws SchemaCrawlerException
+  {
+    return toRecords(catalog, new IdentityHashMap<>());
+  }
+
+  /**
+   * Writes a record for each database object in the catalog, apart
+   * from the header, with attributes that are written in place of the
+   * attributes of some objects, such as attributes with fingerprints.
+   * Records are keyed by the type of database object, followed by its
+   * lookup key.
+   *
+   * @param catalog
+   *        Catalog
+   * @param attributes
+   *        Attributes to write for objects, by object identity
+   * @return Records, in schema order
+   * @throws SchemaCrawlerException
+   *         On an exception
+   */
+  public static Map<List<String>, byte[]> toRecords(final Catalog catalog,
+                                                    final Map<AttributedObject, Map<String, Object>> attributes)
+    throws SchemaCrawlerException
+  {
+    requireNonNull(catalog, "No catalog provided");
+    requireNonNull(attributes, "No attributes provided");
+    final Map<List<String>, byte[]> records = new LinkedHashMap<>();
+    for (final NamedObject databaseObject: databaseObjects(catalog))
+    {
+      records.put(recordKey(databaseObject),
+                  toRecord(databaseObject, null, attributes));
+    }
+    return records;
+  }
+
+  private static List<NamedObject> databaseObjects(final Catalog catalog)
+  {
+    final List<NamedObject> databaseObjects = new ArrayList<>();
+    for (final Schema schema: catalog.getSchemas())
+    {
+      databaseObjects.addAll(catalog.getColumnDataTypes(schema));
+      databaseObjects.addAll(catalog.getTables(schema));
+      databaseObjects.addAll(catalog.getRoutines(schema));
+      databaseObjects.addAll(catalog.getSequences(schema));
+      databaseObjects.addAll(catalog.getSynonyms(schema));
+    }
+    return databaseObjects;
+  }
+
+  private static List<String> recordKey(final NamedObject databaseObject)
+  {
+    final String recordType;
+    if (databaseObject instanceof Table)
+    {
+      recordType = "table";
+    }
+    else if (databaseObject instanceof Routine)
+    {
+      recordType = "routine";
+    }
+    else if (databaseObject instanceof Sequence)
+    {
+      recordType = "sequence";
+    }
+    else if (databaseObject instanceof Synonym)
+    {
+      recordType = "synonym";
+    }
+    else
+    {
+      recordType = "column data type";
+    }
+
+    final List<String> key = new ArrayList<>();
+    key.add(recordType);
+    key.addAll(databaseObject.toUniqueLookupKey());
+    return key;
+  }
+
+  /**
+   * Writes a database object on its own, with references to other
+   * tables, columns and routines as partial database objects. If a
+   * list of schemas is provided, references to schemas are written as
+   * placeholders, and the schemas are added to the list.
+   */
+  private static byte[] toRecord(final NamedObject databaseObject,
+                                 final List<Schema> schemas,
+                                 final Map<AttributedObject, Map<String, Object>> attributes)
+    throws SchemaCrawlerException
+  {
+    final Predicate<DatabaseObject> isInRecord = referencedObject -> referencedObject == databaseObject
+                                                                     || referencedObject instanceof Column
+                                                                        && ((Column) referencedObject)
+                                                                          .getParent() == databaseObject;
+    final ByteArrayOutputStream record = new ByteArrayOutputStream();
+    try (final ObjectOutputStream out = new SnapshotObjectOutputStream(record,
+                                                                       isInRecord,
+                                                                       schemas,
+                                                                       attributes);)
+    {
+      out.writeObject(databaseObject);
+    }
+    catch (final IOException e)
+    {
+      throw new SchemaCrawlerException("Could not write snapshot record for "
+                                       + databaseObject, e);
+    }
+    return record.toByteArray();
+  }
+
+  private SnapshotRecords()
+  {
+    // Prevent instantiation
+  }
+
+}
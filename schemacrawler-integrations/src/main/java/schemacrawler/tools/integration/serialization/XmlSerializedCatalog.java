@@ -28,9 +28,12 @@ http://www.gnu.org/licenses/
 package schemacrawler.tools.integration.serialization;
 
 
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.Objects.requireNonNull;
 
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
 import java.io.Reader;
 import java.io.Writer;
 import java.time.LocalDateTime;
@@ -283,6 +286,22 @@ public final class XmlSerializedCatalog
     return Optional.of(getAttribute(name));
   }
 
+  /**
+   * Serializes the database to the output stream, as UTF-8 encoded XML.
+   *
+   * @param outputStream
+   *        Output stream to save to
+   * @throws SchemaCrawlerException
+   *         On an exception
+   */
+  @Override
+  public void save(final OutputStream outputStream)
+    throws SchemaCrawlerException
+  {
+    requireNonNull(outputStream, "Output stream not provided");
+    save(new OutputStreamWriter(outputStream, UTF_8));
+  }
+
   /**
    * Serializes the database to the writer, as XML.
    *
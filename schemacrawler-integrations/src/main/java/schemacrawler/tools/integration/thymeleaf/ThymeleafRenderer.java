@@ -94,6 +94,17 @@ public final class ThymeleafRenderer
     }
   }
 
+  /**
+   * {@inheritDoc}
+   * <p>
+   * Templates only read the catalog.
+   */
+  @Override
+  public boolean isReadOnly()
+  {
+    return true;
+  }
+
   private ITemplateResolver configure(final AbstractConfigurableTemplateResolver templateResolver,
                                       final Charset inputEncoding)
   {
@@ -152,4 +152,15 @@ public final class VelocityRenderer
 
   }
 
+  /**
+   * {@inheritDoc}
+   * <p>
+   * Templates only read the catalog.
+   */
+  @Override
+  public boolean isReadOnly()
+  {
+    return true;
+  }
+
 }
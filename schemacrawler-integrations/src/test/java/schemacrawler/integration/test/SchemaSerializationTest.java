@@ -29,34 +29,238 @@ http://www.gnu.org/licenses/
 package schemacrawler.integration.test;
 
 
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertTrue;
+import static schemacrawler.filter.ReducerFactory.getTableReducer;
+import static schemacrawler.tools.analysis.fingerprint.FingerprintUtility.attributesWithFingerprints;
+import static schemacrawler.tools.analysis.fingerprint.FingerprintUtility.computeFingerprints;
+import static schemacrawler.tools.analysis.fingerprint.FingerprintUtility.getFingerprint;
+import static schemacrawler.tools.analysis.fingerprint.FingerprintUtility.hasFingerprint;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.StringReader;
 import java.io.StringWriter;
+import java.net.URI;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.function.Predicate;
 
 import org.junit.Test;
 
+import schemacrawler.schema.AttributedObject;
 import schemacrawler.schema.Catalog;
+import schemacrawler.schema.Reducible;
 import schemacrawler.schema.Schema;
+import schemacrawler.schema.Table;
+import schemacrawler.schema.TableRelationshipType;
+import schemacrawler.schemacrawler.RegularExpressionInclusionRule;
+import schemacrawler.schemacrawler.SchemaCrawlerException;
 import schemacrawler.schemacrawler.SchemaCrawlerOptions;
 import schemacrawler.schemacrawler.SchemaCrawlerOptionsBuilder;
 import schemacrawler.test.utility.BaseDatabaseTest;
+import schemacrawler.tools.integration.serialization.BinarySerializedCatalog;
+import schemacrawler.tools.integration.serialization.MappedSerializedCatalog;
 import schemacrawler.tools.integration.serialization.XmlSerializedCatalog;
+import schemacrawler.tools.options.OutputOptionsBuilder;
+import schemacrawler.tools.options.TextOutputFormat;
+import schemacrawler.tools.text.schema.SchemaTextDetailType;
+import schemacrawler.tools.text.schema.SchemaTextOptions;
+import schemacrawler.tools.text.schema.SchemaTextOptionsBuilder;
+import schemacrawler.tools.text.schema.SchemaTextRenderer;
+import schemacrawler.utility.Identifiers;
 import sf.util.IOUtility;
 
 public class SchemaSerializationTest
   extends BaseDatabaseTest
 {
 
+  @Test
+  public void schemaSerializationWithBinary()
+    throws Exception
+  {
+    final SchemaCrawlerOptions schemaCrawlerOptions = SchemaCrawlerOptionsBuilder
+      .withMaximumSchemaInfoLevel();
+
+    final Catalog catalog = getCatalog(schemaCrawlerOptions);
+    assertNotNull("Could not obtain catalog", catalog);
+    assertTrue("Could not find any schemas", catalog.getSchemas().size() > 0);
+
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    new BinarySerializedCatalog(catalog).save(out);
+    final byte[] binarySerializedCatalog = out.toByteArray();
+    assertTrue("Catalog was not serialized", binarySerializedCatalog.length > 0);
+
+    final InputStream in = new ByteArrayInputStream(binarySerializedCatalog);
+    assertTrue("Not a binary snapshot",
+               BinarySerializedCatalog.isBinarySnapshot(in));
+    final Catalog deserializedCatalog = new BinarySerializedCatalog(in);
+
+    final Schema deserializedSchema = deserializedCatalog
+      .lookupSchema("PUBLIC.BOOKS").orElse(null);
+    assertNotNull("Could not obtain deserialized schema", deserializedSchema);
+    assertEquals("Unexpected number of tables in the deserialized schema",
+                 10,
+                 deserializedCatalog.getTables(deserializedSchema).size());
+    assertEquals("Unexpected number of routines in the deserialized catalog",
+                 catalog.getRoutines().size(),
+                 deserializedCatalog.getRoutines().size());
+
+    assertEquals("Deserialized catalog does not match the original catalog",
+                 detailsText(catalog, schemaCrawlerOptions),
+                 detailsText(deserializedCatalog, schemaCrawlerOptions));
+  }
+
+  @Test
+  public void schemaSerializationWithBinaryText()
+    throws Exception
+  {
+    final SchemaCrawlerOptions schemaCrawlerOptions = SchemaCrawlerOptionsBuilder
+      .withMaximumSchemaInfoLevel();
+
+    final Catalog catalog = getCatalog(schemaCrawlerOptions);
+    assertNotNull("Could not obtain catalog", catalog);
+
+    final StringWriter writer = new StringWriter();
+    new BinarySerializedCatalog(catalog).save(writer);
+    final String encodedCatalog = writer.toString();
+    assertTrue("Catalog was not serialized", encodedCatalog.length() > 0);
+
+    final Catalog deserializedCatalog = new BinarySerializedCatalog(new StringReader(encodedCatalog));
+    assertEquals("Deserialized catalog does not match the original catalog",
+                 detailsText(catalog, schemaCrawlerOptions),
+                 detailsText(deserializedCatalog, schemaCrawlerOptions));
+  }
+
+  @Test
+  public void schemaSerializationWithBinarySelection()
+    throws Exception
+  {
+    final Catalog catalog = getCatalog(SchemaCrawlerOptionsBuilder
+      .withMaximumSchemaInfoLevel());
+    assertNotNull("Could not obtain catalog", catalog);
+
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    new BinarySerializedCatalog(catalog).save(out);
+
+    final SchemaCrawlerOptions schemaCrawlerOptions = new SchemaCrawlerOptionsBuilder()
+      .includeSchemas(new RegularExpressionInclusionRule("PUBLIC.BOOKS"))
+      .includeTables(new RegularExpressionInclusionRule(".*\\.BOOKS\\.BOOK.*"))
+      .toOptions();
+    final Catalog deserializedCatalog = new BinarySerializedCatalog(new ByteArrayInputStream(out
+      .toByteArray()), schemaCrawlerOptions);
+
+    assertEquals("Unexpected number of schemas",
+                 1,
+                 deserializedCatalog.getSchemas().size());
+    final Schema schema = deserializedCatalog.lookupSchema("PUBLIC.BOOKS")
+      .orElse(null);
+    assertNotNull("Could not obtain schema", schema);
+    assertEquals("Unexpected number of tables",
+                 2,
+                 deserializedCatalog.getTables().size());
+    assertTrue("Routines should not be read",
+               deserializedCatalog.getRoutines().isEmpty());
+
+    final Table table = deserializedCatalog.lookupTable(schema, "BOOKAUTHORS")
+      .orElse(null);
+    assertNotNull("Could not look up table", table);
+    final Table authorsTable = table
+      .getRelatedTables(TableRelationshipType.parent).stream()
+      .filter(parentTable -> parentTable.getName().equals("AUTHORS"))
+      .findFirst().orElse(null);
+    assertNotNull("Could not find referenced table", authorsTable);
+    assertTrue("Referenced table should be filtered out",
+               authorsTable.getAttribute("schemacrawler.table.filtered_out",
+                                         false));
+  }
+
+  @Test(expected = SchemaCrawlerException.class)
+  public void schemaSerializationWithBinaryBadHeader()
+    throws Exception
+  {
+    final InputStream in = new ByteArrayInputStream("<catalog/>"
+      .getBytes(UTF_8));
+    assertFalse("Should not be a binary snapshot",
+                BinarySerializedCatalog.isBinarySnapshot(in));
+    new BinarySerializedCatalog(in);
+  }
+
+  @Test
+  public void schemaSerializationWithFingerprints()
+    throws Exception
+  {
+    final SchemaCrawlerOptions schemaCrawlerOptions = SchemaCrawlerOptionsBuilder
+      .withMaximumSchemaInfoLevel();
+
+    final Catalog catalog = getCatalog(schemaCrawlerOptions);
+    assertNotNull("Could not obtain catalog", catalog);
+
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    new BinarySerializedCatalog(catalog, attributesWithFingerprints(catalog))
+      .save(out);
+
+    final Path testOutputFile = IOUtility
+      .createTempFilePath("sc_mapped_serialization", "snapshot");
+    try (final OutputStream mappedOut = new FileOutputStream(testOutputFile
+      .toFile());)
+    {
+      new MappedSerializedCatalog(catalog,
+                                  attributesWithFingerprints(catalog))
+                                    .save(mappedOut);
+    }
+
+    final Schema schema = catalog.lookupSchema("PUBLIC.BOOKS").orElse(null);
+    assertNotNull("Could not obtain schema", schema);
+    final Table table = catalog.lookupTable(schema, "BOOKAUTHORS")
+      .orElse(null);
+    assertNotNull("Could not look up table", table);
+    assertFalse("Fingerprints should not be added to the catalog",
+                hasFingerprint(catalog) || hasFingerprint(schema)
+                                                  || hasFingerprint(table)
+                                                  || hasFingerprint(table
+                                                    .getColumns().get(0)));
+
+    final Map<AttributedObject, String> fingerprints = computeFingerprints(catalog);
+    for (final Catalog deserializedCatalog: Arrays
+      .asList(new BinarySerializedCatalog(new ByteArrayInputStream(out
+        .toByteArray())), new MappedSerializedCatalog(testOutputFile)))
+    {
+      assertEquals("Unexpected catalog fingerprint",
+                   fingerprints.get(catalog),
+                   getFingerprint(deserializedCatalog));
+      final Schema deserializedSchema = deserializedCatalog
+        .lookupSchema("PUBLIC.BOOKS").orElse(null);
+      assertNotNull("Could not obtain deserialized schema",
+                    deserializedSchema);
+      assertEquals("Unexpected schema fingerprint",
+                   fingerprints.get(schema),
+                   getFingerprint(deserializedSchema));
+      final Table deserializedTable = deserializedCatalog
+        .lookupTable(deserializedSchema, "BOOKAUTHORS").orElse(null);
+      assertNotNull("Could not look up deserialized table",
+                    deserializedTable);
+      assertEquals("Unexpected table fingerprint",
+                   fingerprints.get(table),
+                   getFingerprint(deserializedTable));
+      assertEquals("Unexpected column fingerprint",
+                   fingerprints.get(table.getColumns().get(0)),
+                   getFingerprint(deserializedTable.getColumns().get(0)));
+    }
+  }
+
   @Test
   public void schemaSerializationWithJava()
     throws Exception
@@ -100,6 +304,131 @@ public class SchemaSerializationTest
                  catalogDeserialized.getTables(schemaDeserialized).size());
   }
 
+  @Test
+  public void schemaSerializationWithMappedSnapshot()
+    throws Exception
+  {
+    final SchemaCrawlerOptions schemaCrawlerOptions = SchemaCrawlerOptionsBuilder
+      .withMaximumSchemaInfoLevel();
+
+    final Catalog catalog = getCatalog(schemaCrawlerOptions);
+    assertNotNull("Could not obtain catalog", catalog);
+    assertTrue("Could not find any schemas", catalog.getSchemas().size() > 0);
+
+    final Path testOutputFile = IOUtility
+      .createTempFilePath("sc_mapped_serialization", "snapshot");
+    try (final OutputStream out = new FileOutputStream(testOutputFile
+      .toFile());)
+    {
+      new MappedSerializedCatalog(catalog).save(out);
+    }
+    assertTrue("Not a mapped snapshot",
+               MappedSerializedCatalog.isMappedSnapshot(testOutputFile));
+
+    final Catalog deserializedCatalog = new MappedSerializedCatalog(testOutputFile);
+    assertEquals("Unexpected number of schemas in the deserialized catalog",
+                 catalog.getSchemas().size(),
+                 deserializedCatalog.getSchemas().size());
+
+    final Schema deserializedSchema = deserializedCatalog
+      .lookupSchema("PUBLIC.BOOKS").orElse(null);
+    assertNotNull("Could not obtain deserialized schema", deserializedSchema);
+    assertEquals("Unexpected number of tables in the deserialized schema",
+                 10,
+                 deserializedCatalog.getTables(deserializedSchema).size());
+    final Table table = deserializedCatalog
+      .lookupTable(deserializedSchema, "BOOKAUTHORS").orElse(null);
+    assertNotNull("Could not look up deserialized table", table);
+    assertEquals("Unexpected number of foreign keys in the deserialized table",
+                 2,
+                 table.getForeignKeys().size());
+
+    assertEquals("Unexpected number of tables in the deserialized catalog",
+                 catalog.getTables().size(),
+                 deserializedCatalog.getTables().size());
+    assertEquals("Unexpected number of routines in the deserialized catalog",
+                 catalog.getRoutines().size(),
+                 deserializedCatalog.getRoutines().size());
+  }
+
+  @Test(expected = SchemaCrawlerException.class)
+  public void schemaSerializationWithMappedSnapshotDisallowedClass()
+    throws Exception
+  {
+    final SchemaCrawlerOptions schemaCrawlerOptions = SchemaCrawlerOptionsBuilder
+      .withMaximumSchemaInfoLevel();
+
+    final Catalog catalog = getCatalog(schemaCrawlerOptions);
+    assertNotNull("Could not obtain catalog", catalog);
+    catalog.setAttribute("location", URI.create("http://localhost/"));
+
+    final Path testOutputFile = IOUtility
+      .createTempFilePath("sc_mapped_serialization", "snapshot");
+    try (final OutputStream out = new FileOutputStream(testOutputFile
+      .toFile());)
+    {
+      new MappedSerializedCatalog(catalog).save(out);
+    }
+
+    new MappedSerializedCatalog(testOutputFile);
+  }
+
+  @Test
+  public void schemaSerializationWithReducedMappedSnapshot()
+    throws Exception
+  {
+    final SchemaCrawlerOptions schemaCrawlerOptions = SchemaCrawlerOptionsBuilder
+      .withMaximumSchemaInfoLevel();
+
+    final Catalog catalog = getCatalog(schemaCrawlerOptions);
+    assertNotNull("Could not obtain catalog", catalog);
+    final Predicate<Table> tableFilter = table -> table.getName()
+      .startsWith("BOOK");
+    final long expectedTableCount = catalog.getTables().stream()
+      .filter(tableFilter).count();
+    assertTrue("Could not find any matching tables", expectedTableCount > 0);
+
+    final Path testOutputFile = IOUtility
+      .createTempFilePath("sc_mapped_serialization", "snapshot");
+    try (final OutputStream out = new FileOutputStream(testOutputFile
+      .toFile());)
+    {
+      new MappedSerializedCatalog(catalog).save(out);
+    }
+
+    final Catalog mappedCatalog = new MappedSerializedCatalog(testOutputFile);
+    ((Reducible) mappedCatalog).reduce(Table.class,
+                                       getTableReducer(tableFilter));
+    assertEquals("Unexpected number of tables in the reduced catalog",
+                 expectedTableCount,
+                 mappedCatalog.getTables().size());
+
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (final ObjectOutputStream out = new ObjectOutputStream(bytes);)
+    {
+      out.writeObject(mappedCatalog);
+    }
+    final Catalog catalogDeserialized;
+    try (final ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes
+      .toByteArray()));)
+    {
+      catalogDeserialized = (Catalog) in.readObject();
+    }
+
+    final Schema schemaDeserialized = catalogDeserialized
+      .lookupSchema("PUBLIC.BOOKS").orElse(null);
+    assertNotNull("Could not obtain deserialized schema", schemaDeserialized);
+    assertEquals("Unexpected number of tables in the deserialized catalog",
+                 expectedTableCount,
+                 catalogDeserialized.getTables().size());
+    ((Reducible) catalogDeserialized)
+      .reduce(Table.class,
+              getTableReducer(table -> table.getName().equals("BOOKAUTHORS")));
+    assertEquals("Unexpected number of tables after reducing the deserialized catalog",
+                 1,
+                 catalogDeserialized.getTables(schemaDeserialized).size());
+  }
+
   @Test
   public void schemaSerializationWithXStream()
     throws Exception
@@ -157,4 +486,30 @@ public class SchemaSerializationTest
      **/
   }
 
+  private String detailsText(final Catalog catalog,
+                             final SchemaCrawlerOptions schemaCrawlerOptions)
+    throws Exception
+  {
+    final SchemaTextOptions textOptions = new SchemaTextOptions();
+    textOptions.setNoSchemaCrawlerInfo(false);
+    textOptions.setShowDatabaseInfo(true);
+    textOptions.setShowJdbcDriverInfo(true);
+
+    final StringWriter writer = new StringWriter();
+    final SchemaTextRenderer renderer = new SchemaTextRenderer(SchemaTextDetailType.details
+      .name());
+    renderer.setSchemaCrawlerOptions(schemaCrawlerOptions);
+    renderer
+      .setAdditionalConfiguration(new SchemaTextOptionsBuilder(textOptions)
+        .toConfig());
+    renderer.setOutputOptions(OutputOptionsBuilder
+      .newOutputOptions(TextOutputFormat.text, writer));
+    renderer.setCatalog(catalog);
+    renderer.setConnection(getConnection());
+    renderer.setIdentifiers(Identifiers.STANDARD);
+    renderer.beforeExecute();
+    renderer.execute();
+    return writer.toString();
+  }
+
 }
@@ -33,6 +33,7 @@ import static java.util.Objects.requireNonNull;
 import java.io.Serializable;
 import java.sql.Connection;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
@@ -123,6 +124,19 @@ public abstract class BaseLinter
     return columns;
   }
 
+  /**
+   * Whether tables can be linted at the same time, on different
+   * threads. Linters that use the connection, or that keep state from
+   * one table to the next, cannot lint tables concurrently. Can be
+   * overridden.
+   *
+   * @return Whether tables can be linted concurrently
+   */
+  protected boolean canLintTablesConcurrently()
+  {
+    return !usesConnection();
+  }
+
   protected final CrawlInfo getCrawlInfo()
   {
     return catalog.getCrawlInfo();
@@ -174,14 +188,27 @@ public abstract class BaseLinter
     }
   }
 
+  final void endLint(final Connection connection)
+    throws SchemaCrawlerException
+  {
+    end(connection);
+    catalog = null;
+  }
+
   @Override
   final void lint(final Catalog catalog, final Connection connection)
     throws SchemaCrawlerException
   {
-    this.catalog = requireNonNull(catalog, "No catalog provided");
+    startLint(catalog, connection);
+    lintTables(catalog.getTables(), connection);
+    endLint(connection);
+  }
 
-    start(connection);
-    for (final Table table: catalog.getTables())
+  final void lintTables(final Collection<? extends Table> tables,
+                        final Connection connection)
+    throws SchemaCrawlerException
+  {
+    for (final Table table: tables)
     {
       if (tableInclusionRule.test(table.getFullName())
           && tableTypesFilter.test(table))
@@ -196,8 +223,13 @@ public abstract class BaseLinter
                                     getLinterId()));
       }
     }
-    end(connection);
-    this.catalog = null;
+  }
+
+  final void startLint(final Catalog catalog, final Connection connection)
+    throws SchemaCrawlerException
+  {
+    this.catalog = requireNonNull(catalog, "No catalog provided");
+    start(connection);
   }
 
   private final void setColumnInclusionRule(final InclusionRule columnInclusionRule)
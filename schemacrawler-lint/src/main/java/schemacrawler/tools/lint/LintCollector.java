@@ -38,6 +38,13 @@ import java.util.List;
 import schemacrawler.schema.AttributedObject;
 import schemacrawler.schema.NamedObject;
 
+/**
+ * Collects lints from linters, and attaches them to the linted objects.
+ * Lints can be added from more than one thread at a time. Each linter
+ * adds the lints for a given object from a single thread, and lints are
+ * stable sorted when read, so the order is the same as for a serial
+ * run.
+ */
 public final class LintCollector
   implements Iterable<Lint<? extends Serializable>>
 {
@@ -64,8 +71,8 @@ public final class LintCollector
     lints = new ArrayList<>();
   }
 
-  public <N extends NamedObject & AttributedObject> void addLint(final N namedObject,
-                                                                 final Lint<?> lint)
+  public synchronized <N extends NamedObject & AttributedObject> void addLint(final N namedObject,
+                                                                              final Lint<?> lint)
   {
     if (namedObject != null && lint != null
         && namedObject.getFullName().equals(lint.getObjectName()))
@@ -80,13 +87,13 @@ public final class LintCollector
   }
 
   @Override
-  public Iterator<Lint<? extends Serializable>> iterator()
+  public synchronized Iterator<Lint<? extends Serializable>> iterator()
   {
     Collections.sort(lints);
-    return lints.iterator();
+    return new ArrayList<>(lints).iterator();
   }
 
-  public int size()
+  public synchronized int size()
   {
     return lints.size();
   }
@@ -50,6 +50,7 @@ public final class LintedCatalog
 
   private static final long serialVersionUID = -3953296149824921463L;
 
+  private final Linters linters;
   private final LintCollector collector;
 
   public LintedCatalog(final Catalog catalog,
@@ -70,7 +71,7 @@ public final class LintedCatalog
       LOGGER.log(Level.WARNING, "No connection provided", e);
     }
 
-    requireNonNull(linters, "No linters provided");
+    this.linters = requireNonNull(linters, "No linters provided");
     linters.lint(catalog, connection);
     collector = linters.getCollector();
   }
@@ -89,6 +90,16 @@ public final class LintedCatalog
     return collector;
   }
 
+  /**
+   * Linters that were run on the catalog, with their lint counts.
+   *
+   * @return Linters
+   */
+  public Linters getLinters()
+  {
+    return linters;
+  }
+
   /**
    * {@inheritDoc}
    */
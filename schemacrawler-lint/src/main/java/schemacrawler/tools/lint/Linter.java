@@ -32,6 +32,7 @@ import static sf.util.IOUtility.readResourceFully;
 
 import java.io.Serializable;
 import java.sql.Connection;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
 
 import schemacrawler.schema.AttributedObject;
@@ -58,17 +59,18 @@ public abstract class Linter
   private LintCollector collector;
   private LintSeverity severity;
   private int threshold;
-  private int lintCount;
+  private final AtomicInteger lintCount;
 
   protected Linter()
   {
     severity = LintSeverity.medium; // default value
     threshold = Integer.MAX_VALUE; // default value
+    lintCount = new AtomicInteger();
   }
 
   public final boolean exceedsThreshold()
   {
-    return lintCount > threshold;
+    return lintCount.get() > threshold;
   }
 
   /**
@@ -102,7 +104,7 @@ public abstract class Linter
    */
   public final int getLintCount()
   {
-    return lintCount;
+    return lintCount.get();
   }
 
   /**
@@ -169,7 +171,7 @@ public abstract class Linter
                                       message,
                                       value);
       collector.addLint(namedObject, lint);
-      lintCount = lintCount + 1;
+      lintCount.incrementAndGet();
     }
   }
 
@@ -200,6 +202,19 @@ public abstract class Linter
     }
   }
 
+  /**
+   * Whether this linter queries the database connection. Linters that
+   * use the connection are run one at a time, apart from linters that
+   * only look at the catalog, which can run in parallel. Needs to be
+   * overridden by linters that use the connection.
+   *
+   * @return Whether the linter uses the connection
+   */
+  protected boolean usesConnection()
+  {
+    return false;
+  }
+
   void configure(final LinterConfig linterConfig)
   {
     if (linterConfig != null)
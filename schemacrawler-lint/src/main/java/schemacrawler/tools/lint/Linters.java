@@ -37,9 +37,14 @@ import java.util.Comparator;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.logging.Level;
 
 import schemacrawler.schema.Catalog;
+import schemacrawler.schema.Table;
 import schemacrawler.schemacrawler.SchemaCrawlerException;
 import sf.util.SchemaCrawlerLogger;
 import sf.util.StringFormat;
@@ -54,11 +59,34 @@ public final class Linters
   private final List<Linter> linters;
   private final LintCollector collector;
   private final LinterRegistry registry;
+  private final int parallelism;
 
   public Linters(final LinterConfigs linterConfigs)
     throws SchemaCrawlerException
+  {
+    this(linterConfigs, 1);
+  }
+
+  /**
+   * Creates linters from the linter configs.
+   *
+   * @param linterConfigs
+   *        Linter configs
+   * @param parallelism
+   *        Number of threads used to run linters that only look at the
+   *        catalog, or 1 to run all linters one after another
+   * @throws SchemaCrawlerException
+   *         On an exception creating linters
+   */
+  public Linters(final LinterConfigs linterConfigs, final int parallelism)
+    throws SchemaCrawlerException
   {
     requireNonNull(linterConfigs, "No linter configs provided");
+    if (parallelism < 1)
+    {
+      throw new IllegalArgumentException("Parallelism needs to be at least 1");
+    }
+    this.parallelism = parallelism;
 
     linters = new ArrayList<>();
     collector = new LintCollector();
@@ -195,12 +223,19 @@ public final class Linters
   public void lint(final Catalog catalog, final Connection connection)
     throws SchemaCrawlerException
   {
-    for (final Linter linter: linters)
+    if (parallelism <= 1 || linters.size() <= 1)
     {
-      LOGGER.log(Level.FINE,
-                 new StringFormat("Linting with <%s>",
-                                  linter.getLinterInstanceId()));
-      linter.lint(catalog, connection);
+      for (final Linter linter: linters)
+      {
+        LOGGER.log(Level.FINE,
+                   new StringFormat("Linting with <%s>",
+                                    linter.getLinterInstanceId()));
+        linter.lint(catalog, connection);
+      }
+    }
+    else
+    {
+      lintInParallel(catalog, connection);
     }
   }
 
@@ -210,6 +245,95 @@ public final class Linters
     return linters.toString();
   }
 
+  /**
+   * Lints with linters that only look at the catalog on a pool of
+   * threads, splitting up the tables between threads where the linter
+   * allows it. Linters that use the connection run one after another,
+   * in order, on a separate thread, since they share the connection.
+   * Lints are sorted when they are read from the collector, so the
+   * order in which they were found does not matter.
+   */
+  private void lintInParallel(final Catalog catalog,
+                              final Connection connection)
+    throws SchemaCrawlerException
+  {
+    LOGGER.log(Level.INFO,
+               new StringFormat("Linting with %d linters, on %d threads",
+                                linters.size(),
+                                parallelism));
+
+    final List<Table> tables = new ArrayList<>(catalog.getTables());
+    final int tablesPerTask = Math
+      .max(1, (tables.size() + parallelism - 1) / parallelism);
+
+    final ExecutorService catalogExecutorService = Executors
+      .newFixedThreadPool(parallelism, runnable -> {
+        final Thread thread = new Thread(runnable, "schemacrawler-lint");
+        thread.setDaemon(true);
+        return thread;
+      });
+    final ExecutorService connectionExecutorService = Executors
+      .newSingleThreadExecutor(runnable -> {
+        final Thread thread = new Thread(runnable,
+                                         "schemacrawler-lint-connection");
+        thread.setDaemon(true);
+        return thread;
+      });
+    try
+    {
+      final List<Future<?>> futures = new ArrayList<>();
+      final List<BaseLinter> tableLinters = new ArrayList<>();
+      for (final Linter linter: linters)
+      {
+        LOGGER.log(Level.FINE,
+                   new StringFormat("Linting with <%s>",
+                                    linter.getLinterInstanceId()));
+        if (linter.usesConnection())
+        {
+          futures.add(connectionExecutorService.submit(() -> {
+            linter.lint(catalog, connection);
+            return null;
+          }));
+        }
+        else if (linter instanceof BaseLinter
+                 && ((BaseLinter) linter).canLintTablesConcurrently())
+        {
+          final BaseLinter tableLinter = (BaseLinter) linter;
+          tableLinter.startLint(catalog, connection);
+          tableLinters.add(tableLinter);
+          for (int i = 0; i < tables.size(); i = i + tablesPerTask)
+          {
+            final List<Table> tablesForTask = tables
+              .subList(i, Math.min(i + tablesPerTask, tables.size()));
+            futures.add(catalogExecutorService.submit(() -> {
+              tableLinter.lintTables(tablesForTask, connection);
+              return null;
+            }));
+          }
+        }
+        else
+        {
+          futures.add(catalogExecutorService.submit(() -> {
+            linter.lint(catalog, connection);
+            return null;
+          }));
+        }
+      }
+
+      waitForLinters(futures);
+
+      for (final BaseLinter tableLinter: tableLinters)
+      {
+        tableLinter.endLint(connection);
+      }
+    }
+    finally
+    {
+      catalogExecutorService.shutdownNow();
+      connectionExecutorService.shutdownNow();
+    }
+  }
+
   private Linter newLinter(final String linterId)
   {
     final Linter linter = registry.newLinter(linterId);
@@ -225,4 +349,51 @@ public final class Linters
     return linter;
   }
 
+  /**
+   * Waits for every linter to complete, so that no linter is still
+   * adding lints, before reporting the first failure.
+   */
+  private void waitForLinters(final List<Future<?>> futures)
+    throws SchemaCrawlerException
+  {
+    Throwable exception = null;
+    for (final Future<?> future: futures)
+    {
+      try
+      {
+        future.get();
+      }
+      catch (final InterruptedException e)
+      {
+        Thread.currentThread().interrupt();
+        throw new SchemaCrawlerException("Interrupted while linting", e);
+      }
+      catch (final ExecutionException e)
+      {
+        final Throwable cause = e.getCause();
+        if (cause instanceof Error)
+        {
+          throw (Error) cause;
+        }
+        if (exception == null)
+        {
+          exception = cause;
+        }
+      }
+    }
+
+    if (exception instanceof SchemaCrawlerException)
+    {
+      throw (SchemaCrawlerException) exception;
+    }
+    else if (exception instanceof RuntimeException)
+    {
+      throw (RuntimeException) exception;
+    }
+    else if (exception != null)
+    {
+      throw new SchemaCrawlerException("Could not lint catalog", exception);
+    }
+  }
+
 }
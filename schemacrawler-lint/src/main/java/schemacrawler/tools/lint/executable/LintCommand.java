@@ -68,15 +68,23 @@ public class LintCommand
 
     final LinterConfigs linterConfigs = readLinterConfigs(lintOptions,
                                                           additionalConfiguration);
-    final Linters linters = new Linters(linterConfigs);
 
-    final LintedCatalog lintedCatalog = new LintedCatalog(catalog,
-                                                          connection,
-                                                          linters);
+    // Lint the catalog just once, even if there is more than one lint
+    // command in a chain
+    final String analysisKey = String.format("%s.%s",
+                                             LintedCatalog.class.getName(),
+                                             lintOptions.getLinterConfigs());
+    final LintedCatalog lintedCatalog = analysisCache
+      .get(catalog,
+           analysisKey,
+           () -> new LintedCatalog(catalog,
+                                   connection,
+                                   new Linters(linterConfigs,
+                                               lintOptions.getParallelism())));
 
     generateReport(lintedCatalog);
 
-    dispatch(linters);
+    dispatch(lintedCatalog.getLinters());
   }
 
   public final LintOptions getLintOptions()
@@ -35,6 +35,7 @@ public class LintOptions
 {
 
   private String linterConfigs;
+  private int parallelism = 1;
 
   /**
    * Gets the path to the linter configs file.
@@ -46,6 +47,17 @@ public class LintOptions
     return linterConfigs;
   }
 
+  /**
+   * Gets the number of threads used to run linters that only look at
+   * the catalog.
+   *
+   * @return Number of threads used for linting
+   */
+  public int getParallelism()
+  {
+    return parallelism;
+  }
+
   /**
    * Sets the path to the linter configs file.
    *
@@ -57,4 +69,20 @@ public class LintOptions
     this.linterConfigs = linterConfigs;
   }
 
+  /**
+   * Sets the number of threads used to run linters that only look at
+   * the catalog. Linters are run one after another if this is 1.
+   *
+   * @param parallelism
+   *        Number of threads used for linting
+   */
+  public void setParallelism(final int parallelism)
+  {
+    if (parallelism < 1)
+    {
+      throw new IllegalArgumentException("Parallelism needs to be at least 1");
+    }
+    this.parallelism = parallelism;
+  }
+
 }
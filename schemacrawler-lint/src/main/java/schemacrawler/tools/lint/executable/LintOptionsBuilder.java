@@ -38,6 +38,7 @@ public class LintOptionsBuilder
   private static final String CLI_LINTER_CONFIGS = "linterconfigs";
   private static final String LINTER_CONFIGS = SCHEMACRAWLER_FORMAT_PREFIX
                                                + CLI_LINTER_CONFIGS;
+  private static final String LINT_PARALLELISM = "schemacrawler.lint.parallelism";
 
   public LintOptionsBuilder()
   {
@@ -64,6 +65,8 @@ public class LintOptionsBuilder
       // Otherwise, take option from SchemaCrawler configuration file
       options.setLinterConfigs(config.getStringValue(LINTER_CONFIGS, ""));
     }
+    options.setParallelism(Math
+      .max(1, config.getIntegerValue(LINT_PARALLELISM, 1)));
 
     return this;
   }
@@ -73,6 +76,8 @@ public class LintOptionsBuilder
   {
     final Config config = super.toConfig();
     config.setStringValue(LINTER_CONFIGS, options.getLinterConfigs());
+    config.setStringValue(LINT_PARALLELISM,
+                          String.valueOf(options.getParallelism()));
     return config;
   }
 
@@ -85,4 +90,14 @@ public class LintOptionsBuilder
     return this;
   }
 
+  /**
+   * Number of threads used to run linters that only look at the
+   * catalog.
+   */
+  public LintOptionsBuilder withParallelism(final int parallelism)
+  {
+    options.setParallelism(parallelism);
+    return this;
+  }
+
 }
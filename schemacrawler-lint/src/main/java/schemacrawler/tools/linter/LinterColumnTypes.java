@@ -55,6 +55,13 @@ public class LinterColumnTypes
     return "column with same name but different data types";
   }
 
+  @Override
+  protected boolean canLintTablesConcurrently()
+  {
+    // Column data types are collected from every table
+    return false;
+  }
+
   @Override
   protected void end(final Connection connection)
     throws SchemaCrawlerException
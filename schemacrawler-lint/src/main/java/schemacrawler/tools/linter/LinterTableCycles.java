@@ -55,6 +55,13 @@ public class LinterTableCycles
     return "cycles in table relationships";
   }
 
+  @Override
+  protected boolean canLintTablesConcurrently()
+  {
+    // The graph of tables is built up from every table
+    return false;
+  }
+
   @Override
   protected void end(final Connection connection)
     throws SchemaCrawlerException
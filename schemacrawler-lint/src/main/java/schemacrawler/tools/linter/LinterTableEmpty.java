@@ -29,18 +29,16 @@ package schemacrawler.tools.linter;
 
 
 import static java.util.Objects.requireNonNull;
-import static schemacrawler.utility.QueryUtility.executeForLong;
 
 import java.sql.Connection;
-import java.sql.SQLException;
 import java.util.logging.Level;
 
 import schemacrawler.filter.TableTypesFilter;
 import schemacrawler.schema.Table;
+import schemacrawler.schemacrawler.Config;
 import schemacrawler.schemacrawler.SchemaCrawlerException;
 import schemacrawler.tools.lint.BaseLinter;
 import schemacrawler.tools.lint.LintSeverity;
-import schemacrawler.utility.Identifiers;
 import schemacrawler.utility.Query;
 import sf.util.SchemaCrawlerLogger;
 import sf.util.StringFormat;
@@ -52,10 +50,14 @@ public class LinterTableEmpty
   private static final SchemaCrawlerLogger LOGGER = SchemaCrawlerLogger
     .getLogger(LinterTableEmpty.class.getName());
 
+  private int batchSize;
+  private TableQueryBatch tableQueryBatch;
+
   public LinterTableEmpty()
   {
     setSeverity(LintSeverity.low);
     setTableTypesFilter(new TableTypesFilter("TABLE"));
+    batchSize = 1;
   }
 
   @Override
@@ -64,28 +66,70 @@ public class LinterTableEmpty
     return "empty table";
   }
 
+  @Override
+  protected void configure(final Config config)
+  {
+    requireNonNull(config, "No configuration provided");
+
+    batchSize = config.getIntegerValue("batch-size", 1);
+  }
+
+  @Override
+  protected void end(final Connection connection)
+    throws SchemaCrawlerException
+  {
+    if (tableQueryBatch != null)
+    {
+      tableQueryBatch.end(connection);
+      tableQueryBatch = null;
+    }
+
+    super.end(connection);
+  }
+
   @Override
   protected void lint(final Table table, final Connection connection)
   {
     requireNonNull(table, "No table provided");
     requireNonNull(connection, "No connection provided");
+    requireNonNull(tableQueryBatch, "Not initialized");
 
-    final Query query = new Query("Count", "SELECT COUNT(*) FROM ${table}");
-    try
+    tableQueryBatch.add(table, connection);
+  }
+
+  @Override
+  protected void start(final Connection connection)
+    throws SchemaCrawlerException
+  {
+    super.start(connection);
+
+    final Query query = new Query("Count",
+                                  "SELECT COUNT(*) AS ROW_COUNT FROM ${table}");
+    tableQueryBatch = new TableQueryBatch(query,
+                                          batchSize,
+                                          this::addEmptyTableLint);
+  }
+
+  @Override
+  protected boolean usesConnection()
+  {
+    return true;
+  }
+
+  private void addEmptyTableLint(final Table table, final Object count)
+  {
+    if (count instanceof Number)
     {
-      final Identifiers identifiers = Identifiers.identifiers()
-        .withConnection(connection).build();
-      final long count = executeForLong(query, connection, table, identifiers);
-      if (count == 0)
+      if (((Number) count).longValue() == 0)
       {
         addTableLint(table, getSummary());
       }
     }
-    catch (final SQLException | SchemaCrawlerException e)
+    else
     {
       LOGGER.log(Level.WARNING,
-                 new StringFormat("Could not get count for table, ", table),
-                 e);
+                 new StringFormat("Could not get count for table <%s>",
+                                  table));
     }
   }
 
@@ -29,31 +29,24 @@ package schemacrawler.tools.linter;
 
 
 import static java.util.Objects.requireNonNull;
-import static schemacrawler.utility.QueryUtility.executeForScalar;
 import static sf.util.Utility.isBlank;
 
 import java.sql.Connection;
-import java.sql.SQLException;
-import java.util.logging.Level;
 
 import schemacrawler.schema.Table;
 import schemacrawler.schemacrawler.Config;
 import schemacrawler.schemacrawler.SchemaCrawlerException;
 import schemacrawler.tools.lint.BaseLinter;
-import schemacrawler.utility.Identifiers;
 import schemacrawler.utility.Query;
-import sf.util.SchemaCrawlerLogger;
-import sf.util.StringFormat;
 
 public class LinterTableSql
   extends BaseLinter
 {
 
-  private static final SchemaCrawlerLogger LOGGER = SchemaCrawlerLogger
-    .getLogger(LinterTableSql.class.getName());
-
   private String message;
   private String sql;
+  private int batchSize;
+  private TableQueryBatch tableQueryBatch;
 
   @Override
   public String getSummary()
@@ -77,12 +70,27 @@ public class LinterTableSql
     {
       throw new IllegalArgumentException("No SQL provided");
     }
+
+    batchSize = config.getIntegerValue("batch-size", 1);
+  }
+
+  @Override
+  protected void end(final Connection connection)
+    throws SchemaCrawlerException
+  {
+    if (tableQueryBatch != null)
+    {
+      tableQueryBatch.end(connection);
+      tableQueryBatch = null;
+    }
+
+    super.end(connection);
   }
 
   @Override
   protected void lint(final Table table, final Connection connection)
   {
-    if (isBlank(sql))
+    if (tableQueryBatch == null)
     {
       return;
     }
@@ -90,25 +98,36 @@ public class LinterTableSql
     requireNonNull(table, "No table provided");
     requireNonNull(connection, "No connection provided");
 
-    final Query query = new Query(message, sql);
-    try
+    tableQueryBatch.add(table, connection);
+  }
+
+  @Override
+  protected void start(final Connection connection)
+    throws SchemaCrawlerException
+  {
+    super.start(connection);
+
+    if (isBlank(sql))
     {
-      final Identifiers identifiers = Identifiers.identifiers()
-        .withConnection(connection).build();
-      final Object queryResult = executeForScalar(query,
-                                                  connection,
-                                                  table,
-                                                  identifiers);
-      if (queryResult != null)
-      {
-        addTableLint(table, getSummary() + " " + queryResult);
-      }
+      return;
     }
-    catch (final SQLException | SchemaCrawlerException e)
+
+    tableQueryBatch = new TableQueryBatch(new Query(message, sql),
+                                          batchSize,
+                                          this::addQueryResultLint);
+  }
+
+  @Override
+  protected boolean usesConnection()
+  {
+    return true;
+  }
+
+  private void addQueryResultLint(final Table table, final Object queryResult)
+  {
+    if (queryResult != null)
     {
-      LOGGER.log(Level.WARNING,
-                 new StringFormat("Could not get count for table, ", table),
-                 e);
+      addTableLint(table, getSummary() + " " + queryResult);
     }
   }
 
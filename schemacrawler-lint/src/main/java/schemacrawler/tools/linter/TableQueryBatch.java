@@ -0,0 +1,171 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2018, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+package schemacrawler.tools.linter;
+
+
+import static java.util.Objects.requireNonNull;
+import static schemacrawler.utility.QueryUtility.executeForScalar;
+import static schemacrawler.utility.QueryUtility.executeForScalars;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.logging.Level;
+
+import schemacrawler.schema.Table;
+import schemacrawler.schemacrawler.SchemaCrawlerException;
+import schemacrawler.utility.Identifiers;
+import schemacrawler.utility.Query;
+import sf.util.SchemaCrawlerLogger;
+import sf.util.StringFormat;
+
+/**
+ * Runs a scalar query templated on a table, for tables that are linted
+ * one at a time. With a batch size of more than 1, tables are held back
+ * until a batch is full, and the query is run for all the tables in the
+ * batch in a single round trip. If a batch cannot be run, the tables in
+ * that batch are queried one at a time. Identifiers are obtained from
+ * the connection only once for each linting run.
+ *
+ * @author Sualeh Fatehi
+ */
+final class TableQueryBatch
+{
+
+  private static final SchemaCrawlerLogger LOGGER = SchemaCrawlerLogger
+    .getLogger(TableQueryBatch.class.getName());
+
+  private final Query query;
+  private final int batchSize;
+  private final BiConsumer<Table, Object> resultHandler;
+  private final List<Table> tables;
+  private Identifiers identifiers;
+
+  TableQueryBatch(final Query query,
+                  final int batchSize,
+                  final BiConsumer<Table, Object> resultHandler)
+  {
+    this.query = requireNonNull(query, "No query provided");
+    this.batchSize = Math.max(1, batchSize);
+    this.resultHandler = requireNonNull(resultHandler,
+                                        "No result handler provided");
+    tables = new ArrayList<>();
+  }
+
+  void add(final Table table, final Connection connection)
+  {
+    requireNonNull(table, "No table provided");
+    requireNonNull(connection, "No connection provided");
+
+    tables.add(table);
+    if (tables.size() >= batchSize)
+    {
+      flush(connection);
+    }
+  }
+
+  void end(final Connection connection)
+  {
+    if (!tables.isEmpty())
+    {
+      flush(connection);
+    }
+  }
+
+  private void flush(final Connection connection)
+  {
+    if (identifiers == null)
+    {
+      identifiers = getIdentifiers(connection);
+    }
+
+    if (tables.size() > 1)
+    {
+      try
+      {
+        final List<Object> results = executeForScalars(query,
+                                                       connection,
+                                                       tables,
+                                                       identifiers);
+        for (int i = 0; i < tables.size(); i++)
+        {
+          resultHandler.accept(tables.get(i), results.get(i));
+        }
+        tables.clear();
+        return;
+      }
+      catch (final SchemaCrawlerException e)
+      {
+        LOGGER.log(Level.WARNING,
+                   new StringFormat("Could not run <%s> for %d tables at a time, so running it one table at a time",
+                                    query.getName(),
+                                    tables.size()),
+                   e);
+      }
+    }
+
+    for (final Table table: tables)
+    {
+      try
+      {
+        resultHandler.accept(table,
+                             executeForScalar(query,
+                                              connection,
+                                              table,
+                                              identifiers));
+      }
+      catch (final SchemaCrawlerException e)
+      {
+        LOGGER.log(Level.WARNING,
+                   new StringFormat("Could not run <%s> for table <%s>",
+                                    query.getName(),
+                                    table),
+                   e);
+      }
+    }
+    tables.clear();
+  }
+
+  private Identifiers getIdentifiers(final Connection connection)
+  {
+    try
+    {
+      return Identifiers.identifiers().withConnection(connection).build();
+    }
+    catch (final SQLException e)
+    {
+      LOGGER.log(Level.WARNING,
+                 "Could not get identifiers from the connection, so using standard identifiers",
+                 e);
+      return Identifiers.STANDARD;
+    }
+  }
+
+}
@@ -49,16 +49,28 @@ public class LintSqlTest
   public void executableLintSQLReport()
     throws Exception
   {
-    executeLintExecutable(TextOutputFormat.text, "executableLintSQLReport");
+    executeLintExecutable(TextOutputFormat.text,
+                          "/schemacrawler-linter-configs-sql.xml",
+                          "executableLintSQLReport");
+  }
+
+  @Test
+  public void executableLintSQLReportInBatches()
+    throws Exception
+  {
+    executeLintExecutable(TextOutputFormat.text,
+                          "/schemacrawler-linter-configs-sql-batch.xml",
+                          "executableLintSQLReport");
   }
 
   private void executeLintExecutable(final OutputFormat outputFormat,
+                                     final String linterConfigsResource,
                                      final String referenceFileName)
     throws Exception
   {
     final SchemaCrawlerExecutable lintExecutable = new SchemaCrawlerExecutable("lint");
 
-    final Path linterConfigsFile = copyResourceToTempFile("/schemacrawler-linter-configs-sql.xml");
+    final Path linterConfigsFile = copyResourceToTempFile(linterConfigsResource);
     final LintOptionsBuilder optionsBuilder = new LintOptionsBuilder();
     optionsBuilder.withLinterConfigs(linterConfigsFile.toString());
 
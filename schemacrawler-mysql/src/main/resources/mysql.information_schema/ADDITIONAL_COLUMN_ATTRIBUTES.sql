@@ -8,3 +8,5 @@ SELECT
   COLUMN_TYPE
 FROM 
   INFORMATION_SCHEMA.COLUMNS
+WHERE
+  TABLE_SCHEMA IN (${catalognames})
@@ -7,6 +7,8 @@ SELECT
   ROUTINE_DEFINITION
 FROM
   INFORMATION_SCHEMA.ROUTINES
+WHERE
+  ROUTINE_SCHEMA IN (${catalognames})
 ORDER BY
   ROUTINE_CATALOG,
   ROUTINE_SCHEMA,
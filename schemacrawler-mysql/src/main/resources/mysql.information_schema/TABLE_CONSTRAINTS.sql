@@ -12,4 +12,4 @@ FROM
   INFORMATION_SCHEMA.TABLE_CONSTRAINTS
 WHERE
   CONSTRAINT_TYPE != 'PRIMARY KEY'
-  
\ No newline at end of file
+  AND CONSTRAINT_SCHEMA IN (${catalognames})
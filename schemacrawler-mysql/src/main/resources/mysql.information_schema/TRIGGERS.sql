@@ -23,3 +23,5 @@ SELECT
   DATABASE_COLLATION
 FROM
   INFORMATION_SCHEMA.TRIGGERS
+WHERE
+  TRIGGER_SCHEMA IN (${catalognames})
@@ -5,6 +5,8 @@ SELECT
   VIEW_DEFINITION
 FROM
   INFORMATION_SCHEMA.VIEWS
+WHERE
+  TABLE_SCHEMA IN (${catalognames})
 ORDER BY
   TABLE_CATALOG,
   TABLE_SCHEMA,
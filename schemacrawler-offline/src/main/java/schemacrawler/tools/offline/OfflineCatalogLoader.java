@@ -1,7 +1,10 @@
 package schemacrawler.tools.offline;
 
 
+import java.io.BufferedInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.io.Reader;
 import java.nio.file.Path;
 import java.sql.Connection;
@@ -15,6 +18,9 @@ import schemacrawler.schemacrawler.SchemaCrawlerOptionsBuilder;
 import schemacrawler.schemacrawler.SchemaRetrievalOptions;
 import schemacrawler.schemacrawler.SchemaRetrievalOptionsBuilder;
 import schemacrawler.tools.catalogloader.CatalogLoader;
+import schemacrawler.tools.integration.serialization.BinarySerializedCatalog;
+import schemacrawler.tools.integration.serialization.DeltaSerializedCatalog;
+import schemacrawler.tools.integration.serialization.MappedSerializedCatalog;
 import schemacrawler.tools.integration.serialization.XmlSerializedCatalog;
 import schemacrawler.tools.offline.jdbc.OfflineConnection;
 import schemacrawler.tools.options.OutputOptions;
@@ -31,6 +37,7 @@ public final class OfflineCatalogLoader
   private final String databaseSystemIdentifier;
   private Connection connection;
   private Config additionalConfiguration;
+  private SchemaCrawlerOptions schemaCrawlerOptions;
 
   public OfflineCatalogLoader()
   {
@@ -64,34 +71,97 @@ public final class OfflineCatalogLoader
 
     final Path offlineDatabasePath = ((OfflineConnection) connection)
       .getOfflineDatabasePath();
+    try
+    {
+      if (SnapshotStore.isManifest(offlineDatabasePath))
+      {
+        LOGGER.log(Level.INFO, "Loading offline snapshot from snapshot store");
+        return SnapshotStore.forManifest(offlineDatabasePath)
+          .loadManifest(offlineDatabasePath);
+      }
+      if (MappedSerializedCatalog.isMappedSnapshot(offlineDatabasePath))
+      {
+        LOGGER.log(Level.INFO, "Loading mapped offline snapshot");
+        return new MappedSerializedCatalog(offlineDatabasePath,
+                                           getSchemaCrawlerOptions());
+      }
+    }
+    catch (final IOException e)
+    {
+      throw new SchemaCrawlerException("Cannot read offline snapshot", e);
+    }
+
     final OutputOptions inputOptions = new OutputOptionsBuilder()
       .fromConfig(additionalConfiguration)
       .withCompressedInputFile(offlineDatabasePath).toOptions();
 
-    final Reader snapshotReader;
-    try
+    // Detect the snapshot format from the header, so that both XML and
+    // binary snapshots can be loaded
+    try (final InputStream snapshotStream = new BufferedInputStream(inputOptions
+      .openNewInputStream());)
     {
-      snapshotReader = inputOptions.openNewInputReader();
+      final Catalog catalog;
+      if (DeltaSerializedCatalog.isDeltaSnapshot(snapshotStream))
+      {
+        // Delta snapshots are read from the file, along with the chain
+        // of base snapshots
+        LOGGER.log(Level.INFO, "Loading delta offline snapshot");
+        catalog = new DeltaSerializedCatalog(offlineDatabasePath);
+      }
+      else if (BinarySerializedCatalog.isBinarySnapshot(snapshotStream))
+      {
+        LOGGER.log(Level.INFO, "Loading binary offline snapshot");
+        catalog = new BinarySerializedCatalog(snapshotStream,
+                                              getSchemaCrawlerOptions());
+      }
+      else
+      {
+        LOGGER.log(Level.INFO,
+                   "Loading XML offline snapshot in full - convert large snapshots to the mapped format to load only selected schemas");
+        final Reader snapshotReader = new InputStreamReader(snapshotStream,
+                                                            inputOptions
+                                                              .getInputCharset());
+        catalog = new XmlSerializedCatalog(snapshotReader);
+      }
+      return catalog;
     }
     catch (final IOException e)
     {
-      throw new SchemaCrawlerException("Cannot open input reader", e);
+      throw new SchemaCrawlerException("Cannot open input stream", e);
     }
-
-    final XmlSerializedCatalog catalog = new XmlSerializedCatalog(snapshotReader);
-    return catalog;
   }
 
   @Override
   public SchemaCrawlerOptions getSchemaCrawlerOptions()
   {
-    return SchemaCrawlerOptionsBuilder.newSchemaCrawlerOptions();
+    if (schemaCrawlerOptions == null)
+    {
+      return SchemaCrawlerOptionsBuilder.newSchemaCrawlerOptions();
+    }
+    else
+    {
+      return schemaCrawlerOptions;
+    }
   }
 
+  /**
+   * SchemaCrawler options are used to select schemas, tables, routines,
+   * sequences and synonyms from mapped snapshots, so that schemas that
+   * are not needed are never read, and objects that are not needed are
+   * dropped as each schema is read. Binary snapshots are decoded in
+   * full, since objects refer to each other by their position in the
+   * snapshot, but objects that are not needed are dropped as they are
+   * read. XML snapshots are read in full, and reduced after they are
+   * loaded. XStream writes object references across the whole
+   * document, so excluded subtrees cannot be skipped while an XML
+   * snapshot is read. Large XML snapshots should first be converted to
+   * the mapped format, with the {@code serialize} command and the
+   * {@code mapped} output format.
+   */
   @Override
   public void setSchemaCrawlerOptions(SchemaCrawlerOptions schemaCrawlerOptions)
   {
-    // No-op
+    this.schemaCrawlerOptions = schemaCrawlerOptions;
   }
 
   private void checkConnection(final Connection connection)
@@ -0,0 +1,522 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2018, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+package schemacrawler.tools.offline;
+
+
+import static java.nio.file.Files.createDirectories;
+import static java.nio.file.Files.createTempFile;
+import static java.nio.file.Files.deleteIfExists;
+import static java.nio.file.Files.exists;
+import static java.nio.file.Files.isRegularFile;
+import static java.nio.file.Files.move;
+import static java.nio.file.Files.newDirectoryStream;
+import static java.nio.file.Files.newInputStream;
+import static java.nio.file.Files.newOutputStream;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.util.Objects.requireNonNull;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.ref.SoftReference;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.regex.Pattern;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+import schemacrawler.schema.Catalog;
+import schemacrawler.schema.NamedObject;
+import schemacrawler.schema.Schema;
+import schemacrawler.schema.SchemaReference;
+import schemacrawler.schemacrawler.SchemaCrawlerException;
+import schemacrawler.tools.integration.serialization.SnapshotRecords;
+import schemacrawler.tools.integration.serialization.SnapshotRecords.CanonicalRecord;
+import schemacrawler.tools.integration.serialization.SnapshotRecords.HeaderRecord;
+import sf.util.SchemaCrawlerLogger;
+import sf.util.StringFormat;
+
+/**
+ * Content-addressed store of offline snapshots for many databases. Each
+ * catalog is split into canonical records, as described in
+ * {@link SnapshotRecords}, and each distinct record is stored once, in
+ * a file named by its digest. Canonical records do not depend on schema
+ * names. Each database has a manifest, which lists the digests of its
+ * records, and the schemas that each record refers to. Databases with
+ * identical schemas share the stored records for all identical database
+ * objects, even if the schemas are named differently.
+ * <p>
+ * Records that have already been read from a store are cached, and
+ * reused when other catalogs are loaded from the same store. Each
+ * catalog gets its own database objects, so that attributes set on
+ * objects in one catalog are not visible in other catalogs.
+ *
+ * @author Sualeh Fatehi
+ */
+public final class SnapshotStore
+{
+
+  private static final SchemaCrawlerLogger LOGGER = SchemaCrawlerLogger
+    .getLogger(SnapshotStore.class.getName());
+
+  /**
+   * "SCSM" for SchemaCrawler snapshot store manifest.
+   */
+  private static final int MANIFEST_MAGIC = 0x5343534D;
+  private static final int MANIFEST_FORMAT_VERSION = 2;
+  private static final String OBJECTS = "objects";
+  private static final String MANIFESTS = "manifests";
+  private static final Pattern DATABASE_NAME = Pattern
+    .compile("[A-Za-z0-9_\\-][A-Za-z0-9_.\\-]*");
+
+  private static final Map<Path, SnapshotStore> stores = new ConcurrentHashMap<>();
+
+  /**
+   * Checks whether a file is a snapshot store manifest, from the
+   * header.
+   *
+   * @param file
+   *        File to check
+   * @return True if the file is a manifest
+   * @throws IOException
+   *         On an exception
+   */
+  public static boolean isManifest(final Path file)
+    throws IOException
+  {
+    requireNonNull(file, "No file provided");
+    try (final DataInputStream in = new DataInputStream(newInputStream(file));)
+    {
+      return in.available() >= Integer.BYTES && in.readInt() == MANIFEST_MAGIC;
+    }
+  }
+
+  /**
+   * Opens a snapshot store, creating it if needed. Stores are shared
+   * within the JVM, so that database objects that have already been
+   * loaded are reused.
+   *
+   * @param storeDirectory
+   *        Directory for the snapshot store
+   * @return Snapshot store
+   * @throws IOException
+   *         If the store cannot be created
+   */
+  public static SnapshotStore open(final Path storeDirectory)
+    throws IOException
+  {
+    requireNonNull(storeDirectory, "No snapshot store directory provided");
+    final Path directory = storeDirectory.normalize().toAbsolutePath();
+    createDirectories(directory.resolve(OBJECTS));
+    createDirectories(directory.resolve(MANIFESTS));
+    return stores.computeIfAbsent(directory, SnapshotStore::new);
+  }
+
+  /**
+   * Opens the snapshot store that a manifest belongs to.
+   */
+  static SnapshotStore forManifest(final Path manifestFile)
+    throws IOException
+  {
+    requireNonNull(manifestFile, "No manifest file provided");
+    return open(manifestFile.normalize().toAbsolutePath().getParent()
+      .getParent());
+  }
+
+  private static String readNullableUTF(final DataInputStream in)
+    throws IOException
+  {
+    if (in.readBoolean())
+    {
+      return in.readUTF();
+    }
+    else
+    {
+      return null;
+    }
+  }
+
+  private static String toHex(final byte[] digest)
+  {
+    final StringBuilder buffer = new StringBuilder(digest.length * 2);
+    for (final byte b: digest)
+    {
+      buffer.append(String.format("%02x", b & 0xFF));
+    }
+    return buffer.toString();
+  }
+
+  private static void writeNullableUTF(final DataOutputStream out,
+                                       final String value)
+    throws IOException
+  {
+    out.writeBoolean(value != null);
+    if (value != null)
+    {
+      out.writeUTF(value);
+    }
+  }
+
+  private final Path objectsDirectory;
+  private final Path manifestsDirectory;
+  private final Map<String, SoftReference<byte[]>> loadedRecords;
+
+  private SnapshotStore(final Path storeDirectory)
+  {
+    objectsDirectory = storeDirectory.resolve(OBJECTS);
+    manifestsDirectory = storeDirectory.resolve(MANIFESTS);
+    loadedRecords = new ConcurrentHashMap<>();
+  }
+
+  /**
+   * Gets the names of all databases with snapshots in the store.
+   *
+   * @return Database names
+   * @throws IOException
+   *         On an exception
+   */
+  public List<String> getDatabaseNames()
+    throws IOException
+  {
+    final List<String> databaseNames = new ArrayList<>();
+    try (final DirectoryStream<Path> manifests = newDirectoryStream(manifestsDirectory);)
+    {
+      for (final Path manifest: manifests)
+      {
+        final String databaseName = manifest.getFileName().toString();
+        if (isRegularFile(manifest)
+            && DATABASE_NAME.matcher(databaseName).matches())
+        {
+          databaseNames.add(databaseName);
+        }
+      }
+    }
+    Collections.sort(databaseNames);
+    return databaseNames;
+  }
+
+  /**
+   * Gets the manifest file for a database, which can be used as an
+   * offline snapshot.
+   *
+   * @param databaseName
+   *        Database name
+   * @return Manifest file
+   */
+  public Path getManifestFile(final String databaseName)
+  {
+    requireNonNull(databaseName, "No database name provided");
+    if (!DATABASE_NAME.matcher(databaseName).matches())
+    {
+      throw new IllegalArgumentException("Bad database name, " + databaseName);
+    }
+    return manifestsDirectory.resolve(databaseName);
+  }
+
+  /**
+   * Loads the catalog for a database.
+   *
+   * @param databaseName
+   *        Database name
+   * @return Catalog
+   * @throws SchemaCrawlerException
+   *         On an exception
+   */
+  public Catalog load(final String databaseName)
+    throws SchemaCrawlerException
+  {
+    return loadManifest(getManifestFile(databaseName));
+  }
+
+  /**
+   * Saves the catalog for a database, replacing any previous snapshot
+   * of that database. Only records that are not already in the store
+   * are written.
+   *
+   * @param databaseName
+   *        Database name
+   * @param catalog
+   *        Catalog to save
+   * @return Manifest file
+   * @throws SchemaCrawlerException
+   *         On an exception
+   */
+  public Path save(final String databaseName, final Catalog catalog)
+    throws SchemaCrawlerException
+  {
+    final Path manifestFile = getManifestFile(databaseName);
+    requireNonNull(catalog, "No catalog provided");
+
+    try
+    {
+      int storedCount = 0;
+
+      final byte[] header = SnapshotRecords.toHeader(catalog);
+      final String headerDigest = toHex(SnapshotRecords.digest(header));
+      if (storeRecord(headerDigest, header))
+      {
+        storedCount++;
+      }
+
+      final Map<List<String>, CanonicalRecord> records = SnapshotRecords
+        .toCanonicalRecords(catalog);
+      final Map<List<String>, String> digests = new LinkedHashMap<>();
+      for (final Map.Entry<List<String>, CanonicalRecord> recordEntry: records
+        .entrySet())
+      {
+        final byte[] record = recordEntry.getValue().getRecord();
+        final String digest = toHex(SnapshotRecords.digest(record));
+        if (storeRecord(digest, record))
+        {
+          storedCount++;
+        }
+        digests.put(recordEntry.getKey(), digest);
+      }
+
+      // Replace the manifest in one step, so that readers never see a
+      // partially written manifest
+      final Path tempFile = createTempFile(manifestsDirectory,
+                                           databaseName,
+                                           ".tmp");
+      try (
+          final DataOutputStream out = new DataOutputStream(new BufferedOutputStream(newOutputStream(tempFile)));)
+      {
+        out.writeInt(MANIFEST_MAGIC);
+        out.writeInt(MANIFEST_FORMAT_VERSION);
+        out.writeUTF(headerDigest);
+        out.writeInt(digests.size());
+        for (final Map.Entry<List<String>, String> entry: digests.entrySet())
+        {
+          final List<String> key = entry.getKey();
+          out.writeInt(key.size());
+          for (final String keyPart: key)
+          {
+            out.writeUTF(String.valueOf(keyPart));
+          }
+          out.writeUTF(entry.getValue());
+
+          final List<Schema> schemas = records.get(key).getSchemas();
+          out.writeInt(schemas.size());
+          for (final Schema schema: schemas)
+          {
+            writeNullableUTF(out, schema.getCatalogName());
+            writeNullableUTF(out, schema.getName());
+          }
+        }
+      }
+      move(tempFile, manifestFile, REPLACE_EXISTING, ATOMIC_MOVE);
+
+      LOGGER.log(Level.INFO,
+                 new StringFormat("Saved snapshot of <%s>, storing %d new of %d records",
+                                  databaseName,
+                                  storedCount,
+                                  digests.size() + 1));
+      return manifestFile;
+    }
+    catch (final IOException e)
+    {
+      throw new SchemaCrawlerException("Could not save snapshot of "
+                                       + databaseName, e);
+    }
+  }
+
+  /**
+   * Loads the catalog from a manifest file in this store.
+   */
+  Catalog loadManifest(final Path manifestFile)
+    throws SchemaCrawlerException
+  {
+    requireNonNull(manifestFile, "No manifest file provided");
+    try (
+        final DataInputStream in = new DataInputStream(new BufferedInputStream(newInputStream(manifestFile)));)
+    {
+      if (in.readInt() != MANIFEST_MAGIC)
+      {
+        throw new SchemaCrawlerException("Not a snapshot store manifest, "
+                                         + manifestFile);
+      }
+      final int formatVersion = in.readInt();
+      if (formatVersion != MANIFEST_FORMAT_VERSION)
+      {
+        throw new SchemaCrawlerException(String
+          .format("Unsupported manifest format version %d, expected %d",
+                  formatVersion,
+                  MANIFEST_FORMAT_VERSION));
+      }
+
+      final HeaderRecord header = SnapshotRecords
+        .readHeader(loadRecord(in.readUTF()));
+      // Schemas are looked up by catalog and schema name, so that
+      // records share the schemas from the header
+      final Map<List<String>, Schema> schemasByName = new HashMap<>();
+      for (final Schema schema: header.getSchemas())
+      {
+        schemasByName.put(Arrays.asList(schema.getCatalogName(),
+                                        schema.getName()),
+                          schema);
+      }
+
+      final int count = in.readInt();
+      final List<NamedObject> databaseObjects = new ArrayList<>(count);
+      for (int i = 0; i < count; i++)
+      {
+        final int keySize = in.readInt();
+        for (int j = 0; j < keySize; j++)
+        {
+          // Keys are only needed to write the manifest
+          in.readUTF();
+        }
+        final String digest = in.readUTF();
+
+        final int schemaCount = in.readInt();
+        final List<Schema> schemas = new ArrayList<>(schemaCount);
+        for (int j = 0; j < schemaCount; j++)
+        {
+          final String catalogName = readNullableUTF(in);
+          final String schemaName = readNullableUTF(in);
+          schemas.add(schemasByName
+            .computeIfAbsent(Arrays.asList(catalogName, schemaName),
+                             name -> new SchemaReference(catalogName,
+                                                         schemaName)));
+        }
+
+        // Read a fresh copy of the database object for each catalog
+        databaseObjects.add(SnapshotRecords
+          .fromCanonicalRecord(loadRecord(digest), schemas));
+      }
+
+      LOGGER.log(Level.INFO,
+                 new StringFormat("Loaded snapshot from manifest <%s>, with %d records",
+                                  manifestFile,
+                                  count));
+      return SnapshotRecords.newCatalog(header, databaseObjects);
+    }
+    catch (final IOException e)
+    {
+      throw new SchemaCrawlerException("Could not load snapshot from manifest "
+                                       + manifestFile, e);
+    }
+  }
+
+  /**
+   * Reads a record, reusing records that were already read from the
+   * store.
+   */
+  private byte[] loadRecord(final String digest)
+    throws IOException
+  {
+    final SoftReference<byte[]> reference = loadedRecords.get(digest);
+    byte[] record = reference == null? null: reference.get();
+    if (record == null)
+    {
+      record = readRecord(digest);
+      loadedRecords.put(digest, new SoftReference<>(record));
+    }
+    return record;
+  }
+
+  private Path recordFile(final String digest)
+  {
+    // Spread records over subdirectories, to keep directories small
+    return objectsDirectory.resolve(digest.substring(0, 2))
+      .resolve(digest.substring(2));
+  }
+
+  private byte[] readRecord(final String digest)
+    throws IOException
+  {
+    try (
+        final InputStream in = new InflaterInputStream(newInputStream(recordFile(digest)));
+        final ByteArrayOutputStream record = new ByteArrayOutputStream();)
+    {
+      final byte[] buffer = new byte[8192];
+      int count;
+      while ((count = in.read(buffer)) != -1)
+      {
+        record.write(buffer, 0, count);
+      }
+      return record.toByteArray();
+    }
+  }
+
+  /**
+   * Stores a record, unless a record with the same digest is already
+   * in the store.
+   *
+   * @return True if the record was written
+   */
+  private boolean storeRecord(final String digest, final byte[] record)
+    throws IOException
+  {
+    final Path recordFile = recordFile(digest);
+    if (exists(recordFile))
+    {
+      return false;
+    }
+
+    createDirectories(recordFile.getParent());
+    final Path tempFile = createTempFile(recordFile.getParent(),
+                                         digest.substring(2),
+                                         ".tmp");
+    try
+    {
+      try (final OutputStream out = new DeflaterOutputStream(newOutputStream(tempFile));)
+      {
+        out.write(record);
+      }
+      move(tempFile, recordFile, ATOMIC_MOVE);
+      return true;
+    }
+    catch (final FileAlreadyExistsException e)
+    {
+      // Another writer stored the same record
+      return false;
+    }
+    finally
+    {
+      deleteIfExists(tempFile);
+    }
+  }
+
+}
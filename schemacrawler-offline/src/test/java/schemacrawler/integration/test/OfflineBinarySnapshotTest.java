@@ -0,0 +1,153 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2018, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+package schemacrawler.integration.test;
+
+
+import static java.nio.file.Files.size;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+import static schemacrawler.test.utility.TestUtility.flattenCommandlineArgs;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import schemacrawler.Main;
+import schemacrawler.schema.Catalog;
+import schemacrawler.schema.Schema;
+import schemacrawler.schemacrawler.SchemaCrawlerException;
+import schemacrawler.schemacrawler.SchemaCrawlerOptions;
+import schemacrawler.schemacrawler.SchemaCrawlerOptionsBuilder;
+import schemacrawler.schemacrawler.SchemaInfoLevelBuilder;
+import schemacrawler.test.utility.BaseDatabaseTest;
+import schemacrawler.test.utility.TestWriter;
+import schemacrawler.tools.integration.serialization.BinarySerializedCatalog;
+import schemacrawler.tools.iosource.CompressedFileOutputResource;
+import sf.util.IOUtility;
+
+public class OfflineBinarySnapshotTest
+  extends BaseDatabaseTest
+{
+
+  private static final String OFFLINE_EXECUTABLE_OUTPUT = "offline_executable_output/";
+  private Path serializedDatabaseFile;
+
+  @Test
+  public void offlineBinarySnapshotCommandLineWithFilters()
+    throws Exception
+  {
+    try (final TestWriter out = new TestWriter("text");)
+    {
+      final Map<String, String> argsMap = new HashMap<>();
+      argsMap.put("server", "offline");
+      argsMap.put("database", serializedDatabaseFile.toString());
+
+      argsMap.put("noinfo", "true");
+      argsMap.put("infolevel", "maximum");
+      argsMap.put("command", "details");
+      argsMap.put("outputformat", "text");
+      argsMap.put("routines", "");
+      argsMap.put("tables", ".*SALES");
+      argsMap.put("outputfile", out.toString());
+
+      Main.main(flattenCommandlineArgs(argsMap));
+
+      out.assertEquals(OFFLINE_EXECUTABLE_OUTPUT + "offlineWithFilters.txt");
+    }
+  }
+
+  @Test
+  public void offlineBinarySnapshotCommandLineWithSchemaFilters()
+    throws Exception
+  {
+    try (final TestWriter out = new TestWriter("text");)
+    {
+      final Map<String, String> argsMap = new HashMap<>();
+      argsMap.put("server", "offline");
+      argsMap.put("database", serializedDatabaseFile.toString());
+
+      argsMap.put("noinfo", "true");
+      argsMap.put("infolevel", "maximum");
+      argsMap.put("routines", ".*");
+      argsMap.put("command", "list");
+      argsMap.put("outputformat", "text");
+      argsMap.put("schemas", "PUBLIC.BOOKS");
+      argsMap.put("outputfile", out.toString());
+
+      Main.main(flattenCommandlineArgs(argsMap));
+
+      out.assertEquals(OFFLINE_EXECUTABLE_OUTPUT
+                       + "offlineWithSchemaFilters.txt");
+    }
+  }
+
+  @Before
+  public void serializeCatalog()
+    throws SchemaCrawlerException, IOException
+  {
+
+    final SchemaCrawlerOptionsBuilder schemaCrawlerOptionsBuilder = new SchemaCrawlerOptionsBuilder()
+      .withSchemaInfoLevel(SchemaInfoLevelBuilder.maximum())
+      .includeAllRoutines();
+    final SchemaCrawlerOptions schemaCrawlerOptions = schemaCrawlerOptionsBuilder
+      .toOptions();
+
+    final Catalog catalog = getCatalog(schemaCrawlerOptions);
+    assertNotNull("Could not obtain catalog", catalog);
+    assertTrue("Could not find any schemas", catalog.getSchemas().size() > 0);
+
+    final Schema schema = catalog.lookupSchema("PUBLIC.BOOKS").orElse(null);
+    assertNotNull("Could not obtain schema", schema);
+    assertEquals("Unexpected number of tables in the schema",
+                 10,
+                 catalog.getTables(schema).size());
+
+    serializedDatabaseFile = IOUtility.createTempFilePath("schemacrawler",
+                                                          "ser");
+
+    final BinarySerializedCatalog binaryDatabase = new BinarySerializedCatalog(catalog);
+    try (final OutputStream outputStream = new CompressedFileOutputResource(serializedDatabaseFile,
+                                                                            "schemacrawler.data")
+                                                                              .openNewOutputStream();)
+    {
+      binaryDatabase.save(outputStream);
+    }
+    assertNotSame("Database was not serialized to a binary snapshot",
+                  0,
+                  size(serializedDatabaseFile));
+
+  }
+
+}
@@ -0,0 +1,253 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2018, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+package schemacrawler.integration.test;
+
+
+import static java.nio.file.Files.size;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static schemacrawler.test.utility.TestUtility.flattenCommandlineArgs;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import schemacrawler.Main;
+import schemacrawler.schema.Catalog;
+import schemacrawler.schema.Column;
+import schemacrawler.schema.ForeignKey;
+import schemacrawler.schema.ForeignKeyColumnReference;
+import schemacrawler.schema.PartialDatabaseObject;
+import schemacrawler.schema.Schema;
+import schemacrawler.schema.Table;
+import schemacrawler.schemacrawler.RegularExpressionExclusionRule;
+import schemacrawler.schemacrawler.SchemaCrawlerException;
+import schemacrawler.schemacrawler.SchemaCrawlerOptions;
+import schemacrawler.schemacrawler.SchemaCrawlerOptionsBuilder;
+import schemacrawler.schemacrawler.SchemaInfoLevelBuilder;
+import schemacrawler.test.utility.BaseDatabaseTest;
+import schemacrawler.test.utility.TestWriter;
+import schemacrawler.tools.integration.serialization.DeltaSerializedCatalog;
+import schemacrawler.tools.iosource.CompressedFileOutputResource;
+import schemacrawler.tools.options.OutputOptionsBuilder;
+import schemacrawler.tools.options.TextOutputFormat;
+import schemacrawler.tools.text.schema.SchemaTextDetailType;
+import schemacrawler.tools.text.schema.SchemaTextOptions;
+import schemacrawler.tools.text.schema.SchemaTextOptionsBuilder;
+import schemacrawler.tools.text.schema.SchemaTextRenderer;
+import schemacrawler.utility.Identifiers;
+import sf.util.IOUtility;
+
+public class OfflineDeltaSnapshotTest
+  extends BaseDatabaseTest
+{
+
+  private static final String OFFLINE_EXECUTABLE_OUTPUT = "offline_executable_output/";
+  private Catalog catalog;
+  private Path baseSnapshotFile;
+
+  @Test
+  public void offlineDeltaSnapshotChain()
+    throws Exception
+  {
+    final SchemaCrawlerOptions schemaCrawlerOptions = new SchemaCrawlerOptionsBuilder()
+      .withSchemaInfoLevel(SchemaInfoLevelBuilder.maximum())
+      .includeAllRoutines()
+      .includeTables(new RegularExpressionExclusionRule(".*SALES"))
+      .toOptions();
+    final Catalog reducedCatalog = getCatalog(schemaCrawlerOptions);
+
+    // Remove tables, and then add them back
+    final Path removedSnapshotFile = saveDeltaSnapshot(reducedCatalog,
+                                                       baseSnapshotFile);
+    final Path addedSnapshotFile = saveDeltaSnapshot(catalog,
+                                                     removedSnapshotFile);
+
+    final Catalog removedCatalog = new DeltaSerializedCatalog(removedSnapshotFile);
+    assertEquals("Unexpected number of tables",
+                 reducedCatalog.getTables().size(),
+                 removedCatalog.getTables().size());
+    final Schema schema = removedCatalog.lookupSchema("PUBLIC.\"PUBLISHER SALES\"")
+      .orElse(null);
+    assertNotNull("Could not obtain schema", schema);
+    assertFalse("Removed table was found",
+                removedCatalog.lookupTable(schema, "SALES").isPresent());
+
+    final Catalog addedCatalog = new DeltaSerializedCatalog(addedSnapshotFile);
+    assertEquals("Unexpected number of tables",
+                 catalog.getTables().size(),
+                 addedCatalog.getTables().size());
+
+    offlineCommandLineWithFilters(addedSnapshotFile);
+  }
+
+  @Test
+  public void offlineDeltaSnapshotLinksForeignKeys()
+    throws Exception
+  {
+    final Catalog loadedCatalog = new DeltaSerializedCatalog(baseSnapshotFile);
+
+    final Schema schema = loadedCatalog.lookupSchema("PUBLIC.BOOKS")
+      .orElse(null);
+    assertNotNull("Could not obtain schema", schema);
+    final Table table = loadedCatalog.lookupTable(schema, "BOOKAUTHORS")
+      .orElse(null);
+    assertNotNull("Could not look up table", table);
+    assertEquals("Unexpected number of foreign keys",
+                 2,
+                 table.getImportedForeignKeys().size());
+    for (final ForeignKey foreignKey: table.getImportedForeignKeys())
+    {
+      for (final ForeignKeyColumnReference fkColumnRef: foreignKey)
+      {
+        final Column pkColumn = fkColumnRef.getPrimaryKeyColumn();
+        assertFalse("Primary key column was not linked, " + pkColumn,
+                    pkColumn instanceof PartialDatabaseObject);
+        final Table pkTable = loadedCatalog
+          .lookupTable(pkColumn.getSchema(), pkColumn.getParent().getName())
+          .orElse(null);
+        assertNotNull("Could not look up referenced table", pkTable);
+        assertSame("Primary key column is not the loaded column",
+                   pkTable.lookupColumn(pkColumn.getName()).orElse(null),
+                   pkColumn);
+        assertSame("Foreign key column is not the loaded column",
+                   table.lookupColumn(fkColumnRef.getForeignKeyColumn()
+                     .getName()).orElse(null),
+                   fkColumnRef.getForeignKeyColumn());
+        assertTrue("Foreign key is not shared with the referenced table",
+                   pkTable.getExportedForeignKeys().stream()
+                     .anyMatch(exportedForeignKey -> exportedForeignKey == foreignKey));
+      }
+    }
+
+    assertEquals("Loaded catalog details do not match",
+                 detailsText(catalog),
+                 detailsText(loadedCatalog));
+  }
+
+  @Test
+  public void offlineDeltaSnapshotUnchanged()
+    throws Exception
+  {
+    final Path deltaSnapshotFile = saveDeltaSnapshot(catalog,
+                                                     baseSnapshotFile);
+    assertTrue("Delta snapshot with no changes should be much smaller than its base",
+               size(deltaSnapshotFile) * 2 < size(baseSnapshotFile));
+
+    offlineCommandLineWithFilters(deltaSnapshotFile);
+  }
+
+  @Before
+  public void serializeCatalog()
+    throws SchemaCrawlerException, IOException
+  {
+    final SchemaCrawlerOptions schemaCrawlerOptions = new SchemaCrawlerOptionsBuilder()
+      .withSchemaInfoLevel(SchemaInfoLevelBuilder.maximum())
+      .includeAllRoutines().toOptions();
+
+    catalog = getCatalog(schemaCrawlerOptions);
+    assertNotNull("Could not obtain catalog", catalog);
+    assertTrue("Could not find any schemas", catalog.getSchemas().size() > 0);
+
+    baseSnapshotFile = saveDeltaSnapshot(catalog, null);
+  }
+
+  private void offlineCommandLineWithFilters(final Path snapshotFile)
+    throws Exception
+  {
+    try (final TestWriter out = new TestWriter("text");)
+    {
+      final Map<String, String> argsMap = new HashMap<>();
+      argsMap.put("server", "offline");
+      argsMap.put("database", snapshotFile.toString());
+
+      argsMap.put("noinfo", "true");
+      argsMap.put("infolevel", "maximum");
+      argsMap.put("command", "details");
+      argsMap.put("outputformat", "text");
+      argsMap.put("routines", "");
+      argsMap.put("tables", ".*SALES");
+      argsMap.put("outputfile", out.toString());
+
+      Main.main(flattenCommandlineArgs(argsMap));
+
+      out.assertEquals(OFFLINE_EXECUTABLE_OUTPUT + "offlineWithFilters.txt");
+    }
+  }
+
+  private String detailsText(final Catalog catalog)
+    throws Exception
+  {
+    final SchemaTextOptions textOptions = new SchemaTextOptions();
+    textOptions.setNoSchemaCrawlerInfo(false);
+    textOptions.setShowDatabaseInfo(true);
+    textOptions.setShowJdbcDriverInfo(true);
+
+    final StringWriter writer = new StringWriter();
+    final SchemaTextRenderer renderer = new SchemaTextRenderer(SchemaTextDetailType.details
+      .name());
+    renderer
+      .setAdditionalConfiguration(new SchemaTextOptionsBuilder(textOptions)
+        .toConfig());
+    renderer.setOutputOptions(OutputOptionsBuilder
+      .newOutputOptions(TextOutputFormat.text, writer));
+    renderer.setCatalog(catalog);
+    renderer.setConnection(getConnection());
+    renderer.setIdentifiers(Identifiers.STANDARD);
+    renderer.beforeExecute();
+    renderer.execute();
+    return writer.toString();
+  }
+
+  private Path saveDeltaSnapshot(final Catalog catalog,
+                                 final Path baseSnapshotFile)
+    throws SchemaCrawlerException, IOException
+  {
+    final Path snapshotFile = IOUtility.createTempFilePath("schemacrawler",
+                                                           "ser");
+    final DeltaSerializedCatalog deltaDatabase = new DeltaSerializedCatalog(catalog,
+                                                                            baseSnapshotFile);
+    try (final OutputStream outputStream = new CompressedFileOutputResource(snapshotFile,
+                                                                            "schemacrawler.data")
+                                                                              .openNewOutputStream();)
+    {
+      deltaDatabase.save(outputStream);
+    }
+    return snapshotFile;
+  }
+
+}
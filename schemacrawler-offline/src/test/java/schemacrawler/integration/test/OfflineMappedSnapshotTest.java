@@ -0,0 +1,222 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2018, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+package schemacrawler.integration.test;
+
+
+import static java.nio.file.Files.newOutputStream;
+import static java.nio.file.Files.size;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+import static schemacrawler.test.utility.TestUtility.flattenCommandlineArgs;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import schemacrawler.Main;
+import schemacrawler.schema.Catalog;
+import schemacrawler.schema.Schema;
+import schemacrawler.schema.Table;
+import schemacrawler.schema.TableRelationshipType;
+import schemacrawler.schemacrawler.RegularExpressionInclusionRule;
+import schemacrawler.schemacrawler.SchemaCrawlerException;
+import schemacrawler.schemacrawler.SchemaCrawlerOptions;
+import schemacrawler.schemacrawler.SchemaCrawlerOptionsBuilder;
+import schemacrawler.schemacrawler.SchemaInfoLevelBuilder;
+import schemacrawler.test.utility.BaseDatabaseTest;
+import schemacrawler.test.utility.TestWriter;
+import schemacrawler.tools.integration.serialization.MappedSerializedCatalog;
+import sf.util.IOUtility;
+
+public class OfflineMappedSnapshotTest
+  extends BaseDatabaseTest
+{
+
+  private static final String OFFLINE_EXECUTABLE_OUTPUT = "offline_executable_output/";
+  private Path serializedDatabaseFile;
+
+  @Test
+  public void offlineMappedSnapshotCommandLineWithFilters()
+    throws Exception
+  {
+    try (final TestWriter out = new TestWriter("text");)
+    {
+      final Map<String, String> argsMap = new HashMap<>();
+      argsMap.put("server", "offline");
+      argsMap.put("database", serializedDatabaseFile.toString());
+
+      argsMap.put("noinfo", "true");
+      argsMap.put("infolevel", "maximum");
+      argsMap.put("command", "details");
+      argsMap.put("outputformat", "text");
+      argsMap.put("routines", "");
+      argsMap.put("tables", ".*SALES");
+      argsMap.put("outputfile", out.toString());
+
+      Main.main(flattenCommandlineArgs(argsMap));
+
+      out.assertEquals(OFFLINE_EXECUTABLE_OUTPUT + "offlineWithFilters.txt");
+    }
+  }
+
+  @Test
+  public void offlineMappedSnapshotCommandLineWithSchemaFilters()
+    throws Exception
+  {
+    try (final TestWriter out = new TestWriter("text");)
+    {
+      final Map<String, String> argsMap = new HashMap<>();
+      argsMap.put("server", "offline");
+      argsMap.put("database", serializedDatabaseFile.toString());
+
+      argsMap.put("noinfo", "true");
+      argsMap.put("infolevel", "maximum");
+      argsMap.put("routines", ".*");
+      argsMap.put("command", "list");
+      argsMap.put("outputformat", "text");
+      argsMap.put("schemas", "PUBLIC.BOOKS");
+      argsMap.put("outputfile", out.toString());
+
+      Main.main(flattenCommandlineArgs(argsMap));
+
+      out.assertEquals(OFFLINE_EXECUTABLE_OUTPUT
+                       + "offlineWithSchemaFilters.txt");
+    }
+  }
+
+  @Test
+  public void offlineMappedSnapshotSelectSchemas()
+    throws Exception
+  {
+    final SchemaCrawlerOptions schemaCrawlerOptions = new SchemaCrawlerOptionsBuilder()
+      .includeSchemas(new RegularExpressionInclusionRule("PUBLIC.BOOKS"))
+      .toOptions();
+
+    final Catalog catalog = new MappedSerializedCatalog(serializedDatabaseFile,
+                                                        schemaCrawlerOptions);
+    assertEquals("Unexpected number of schemas",
+                 1,
+                 catalog.getSchemas().size());
+    for (final Table table: catalog.getTables())
+    {
+      assertEquals("Unexpected table",
+                   "PUBLIC.BOOKS",
+                   table.getSchema().getFullName());
+    }
+  }
+
+  @Test
+  public void offlineMappedSnapshotSelectTables()
+    throws Exception
+  {
+    final SchemaCrawlerOptions schemaCrawlerOptions = new SchemaCrawlerOptionsBuilder()
+      .includeTables(new RegularExpressionInclusionRule(".*SALES"))
+      .toOptions();
+
+    final Catalog catalog = new MappedSerializedCatalog(serializedDatabaseFile,
+                                                        schemaCrawlerOptions);
+    final Schema schema = catalog.lookupSchema("PUBLIC.BOOKS").orElse(null);
+    assertNotNull("Could not obtain schema", schema);
+    assertTrue("Schema without matching tables should not be read",
+               catalog.getTables(schema).isEmpty());
+    assertTrue("Could not find any tables", catalog.getTables().size() > 0);
+  }
+
+  @Test
+  public void offlineMappedSnapshotSelectTablesWithinSchema()
+    throws Exception
+  {
+    final SchemaCrawlerOptions schemaCrawlerOptions = new SchemaCrawlerOptionsBuilder()
+      .includeTables(new RegularExpressionInclusionRule(".*\\.BOOKS\\.BOOK.*"))
+      .toOptions();
+
+    final Catalog catalog = new MappedSerializedCatalog(serializedDatabaseFile,
+                                                        schemaCrawlerOptions);
+    final Schema schema = catalog.lookupSchema("PUBLIC.BOOKS").orElse(null);
+    assertNotNull("Could not obtain schema", schema);
+    assertEquals("Unexpected number of tables in the schema",
+                 2,
+                 catalog.getTables(schema).size());
+    assertEquals("Unexpected number of tables",
+                 2,
+                 catalog.getTables().size());
+    final Table table = catalog.lookupTable(schema, "BOOKAUTHORS")
+      .orElse(null);
+    assertNotNull("Could not look up table", table);
+    final Table authorsTable = table.getRelatedTables(TableRelationshipType.parent)
+      .stream().filter(parentTable -> parentTable.getName().equals("AUTHORS"))
+      .findFirst().orElse(null);
+    assertNotNull("Could not find referenced table", authorsTable);
+    assertTrue("Table that is not selected should be marked as filtered out",
+               authorsTable.getAttribute("schemacrawler.table.filtered_out",
+                                         false));
+  }
+
+  @Before
+  public void serializeCatalog()
+    throws SchemaCrawlerException, IOException
+  {
+
+    final SchemaCrawlerOptionsBuilder schemaCrawlerOptionsBuilder = new SchemaCrawlerOptionsBuilder()
+      .withSchemaInfoLevel(SchemaInfoLevelBuilder.maximum())
+      .includeAllRoutines();
+    final SchemaCrawlerOptions schemaCrawlerOptions = schemaCrawlerOptionsBuilder
+      .toOptions();
+
+    final Catalog catalog = getCatalog(schemaCrawlerOptions);
+    assertNotNull("Could not obtain catalog", catalog);
+    assertTrue("Could not find any schemas", catalog.getSchemas().size() > 0);
+
+    final Schema schema = catalog.lookupSchema("PUBLIC.BOOKS").orElse(null);
+    assertNotNull("Could not obtain schema", schema);
+    assertEquals("Unexpected number of tables in the schema",
+                 10,
+                 catalog.getTables(schema).size());
+
+    serializedDatabaseFile = IOUtility.createTempFilePath("schemacrawler",
+                                                          "ser");
+
+    final MappedSerializedCatalog mappedDatabase = new MappedSerializedCatalog(catalog);
+    try (final OutputStream outputStream = newOutputStream(serializedDatabaseFile);)
+    {
+      mappedDatabase.save(outputStream);
+    }
+    assertNotSame("Database was not serialized to a mapped snapshot",
+                  0,
+                  size(serializedDatabaseFile));
+
+  }
+
+}
@@ -0,0 +1,223 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2018, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+package schemacrawler.integration.test;
+
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static schemacrawler.test.utility.TestUtility.flattenCommandlineArgs;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import schemacrawler.Main;
+import schemacrawler.schema.Catalog;
+import schemacrawler.schema.ForeignKey;
+import schemacrawler.schema.ForeignKeyColumnReference;
+import schemacrawler.schema.Schema;
+import schemacrawler.schema.Table;
+import schemacrawler.schemacrawler.RegularExpressionInclusionRule;
+import schemacrawler.schemacrawler.SchemaCrawlerException;
+import schemacrawler.schemacrawler.SchemaCrawlerOptions;
+import schemacrawler.schemacrawler.SchemaCrawlerOptionsBuilder;
+import schemacrawler.schemacrawler.SchemaInfoLevelBuilder;
+import schemacrawler.test.utility.BaseDatabaseTest;
+import schemacrawler.test.utility.TestWriter;
+import schemacrawler.tools.offline.SnapshotStore;
+import schemacrawler.utility.SchemaCrawlerUtility;
+
+public class SnapshotStoreTest
+  extends BaseDatabaseTest
+{
+
+  private static final String OFFLINE_EXECUTABLE_OUTPUT = "offline_executable_output/";
+  private Catalog catalog;
+  private SnapshotStore snapshotStore;
+  private Path storeDirectory;
+
+  @Test
+  public void snapshotStoreCommandLineWithFilters()
+    throws Exception
+  {
+    final Path manifestFile = snapshotStore.save("tenant1", catalog);
+
+    try (final TestWriter out = new TestWriter("text");)
+    {
+      final Map<String, String> argsMap = new HashMap<>();
+      argsMap.put("server", "offline");
+      argsMap.put("database", manifestFile.toString());
+
+      argsMap.put("noinfo", "true");
+      argsMap.put("infolevel", "maximum");
+      argsMap.put("command", "details");
+      argsMap.put("outputformat", "text");
+      argsMap.put("routines", "");
+      argsMap.put("tables", ".*SALES");
+      argsMap.put("outputfile", out.toString());
+
+      Main.main(flattenCommandlineArgs(argsMap));
+
+      out.assertEquals(OFFLINE_EXECUTABLE_OUTPUT + "offlineWithFilters.txt");
+    }
+  }
+
+  @Test
+  public void snapshotStoreSharesRecords()
+    throws Exception
+  {
+    snapshotStore.save("tenant1", catalog);
+    final long recordCount = countRecords();
+
+    // An identical catalog does not add any records
+    snapshotStore.save("tenant2", catalog);
+    assertEquals("Records were not shared", recordCount, countRecords());
+    assertEquals(Arrays.asList("tenant1", "tenant2"),
+                 snapshotStore.getDatabaseNames());
+
+    final Catalog catalog1 = snapshotStore.load("tenant1");
+    final Catalog catalog2 = snapshotStore.load("tenant2");
+    assertEquals("Unexpected number of tables",
+                 catalog.getTables().size(),
+                 catalog1.getTables().size());
+
+    final Schema schema = catalog1.lookupSchema("PUBLIC.BOOKS").orElse(null);
+    assertNotNull("Could not obtain schema", schema);
+    final Table table1 = catalog1.lookupTable(schema, "AUTHORS").orElse(null);
+    final Table table2 = catalog2.lookupTable(schema, "AUTHORS").orElse(null);
+    assertNotNull("Could not obtain table", table1);
+    assertNotSame("Each catalog should have its own tables", table1, table2);
+
+    table1.setAttribute("tenant", "tenant1");
+    assertFalse("Attributes should not be visible in other catalogs",
+                table2.hasAttribute("tenant"));
+  }
+
+  @Test
+  public void snapshotStoreSharesRecordsAcrossSchemaNames()
+    throws Exception
+  {
+    snapshotStore.save("tenanta", getTenantCatalog("TENANT_A"));
+    final long recordCount = countRecords();
+
+    // Only the header differs for identical schemas with different
+    // names
+    snapshotStore.save("tenantb", getTenantCatalog("TENANT_B"));
+    assertEquals("Records were not shared", recordCount + 1, countRecords());
+
+    final Catalog loadedCatalog = snapshotStore.load("tenantb");
+    final Schema schema = loadedCatalog.lookupSchema("PUBLIC.TENANT_B")
+      .orElse(null);
+    assertNotNull("Could not obtain schema", schema);
+    final Table table = loadedCatalog.lookupTable(schema, "ORDERS")
+      .orElse(null);
+    assertNotNull("Could not obtain table", table);
+    assertSame("Table should be in the schema from the header",
+               schema,
+               table.getSchema());
+    for (final ForeignKey foreignKey: table.getImportedForeignKeys())
+    {
+      for (final ForeignKeyColumnReference fkColumnRef: foreignKey)
+      {
+        assertEquals("Unexpected referenced schema",
+                     schema,
+                     fkColumnRef.getPrimaryKeyColumn().getSchema());
+      }
+    }
+  }
+
+  @Before
+  public void openSnapshotStore()
+    throws SchemaCrawlerException, IOException
+  {
+    final SchemaCrawlerOptions schemaCrawlerOptions = new SchemaCrawlerOptionsBuilder()
+      .withSchemaInfoLevel(SchemaInfoLevelBuilder.maximum())
+      .includeAllRoutines().toOptions();
+
+    catalog = getCatalog(schemaCrawlerOptions);
+    assertNotNull("Could not obtain catalog", catalog);
+    assertTrue("Could not find any schemas", catalog.getSchemas().size() > 0);
+
+    storeDirectory = Files.createTempDirectory("schemacrawler");
+    snapshotStore = SnapshotStore.open(storeDirectory);
+  }
+
+  /**
+   * Crawls a schema in a new in-memory database, so that names that are
+   * generated by the database are the same for each tenant.
+   */
+  private Catalog getTenantCatalog(final String schemaName)
+    throws SQLException, SchemaCrawlerException
+  {
+    try (final Connection connection = DriverManager
+      .getConnection("jdbc:hsqldb:mem:" + schemaName.toLowerCase(), "SA", "");
+        final Statement statement = connection.createStatement();)
+    {
+      statement.execute("CREATE SCHEMA " + schemaName);
+      statement.execute("CREATE TABLE " + schemaName
+                        + ".CUSTOMERS (ID INTEGER PRIMARY KEY, NAME VARCHAR(50))");
+      statement.execute("CREATE TABLE " + schemaName
+                        + ".ORDERS (ID INTEGER PRIMARY KEY, CUSTOMER_ID INTEGER, "
+                        + "CONSTRAINT FK_ORDERS_CUSTOMERS FOREIGN KEY (CUSTOMER_ID) "
+                        + "REFERENCES " + schemaName + ".CUSTOMERS (ID))");
+
+      final SchemaCrawlerOptions schemaCrawlerOptions = new SchemaCrawlerOptionsBuilder()
+        .withSchemaInfoLevel(SchemaInfoLevelBuilder.maximum())
+        .includeSchemas(new RegularExpressionInclusionRule("PUBLIC\\."
+                                                           + schemaName))
+        .toOptions();
+      return SchemaCrawlerUtility.getCatalog(connection, schemaCrawlerOptions);
+    }
+  }
+
+  private long countRecords()
+    throws IOException
+  {
+    try (final Stream<Path> files = Files
+      .walk(storeDirectory.resolve("objects"));)
+    {
+      return files.filter(Files::isRegularFile).count();
+    }
+  }
+
+}
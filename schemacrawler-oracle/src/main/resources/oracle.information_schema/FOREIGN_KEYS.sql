@@ -29,7 +29,7 @@ WHERE 1 = 1
     'WMSYS', 'XDB', 'XS$NULL', 'RDSADMIN')  
   AND NOT REGEXP_LIKE(F.OWNER, '^APEX_[0-9]{6}$')
   AND NOT REGEXP_LIKE(F.OWNER, '^FLOWS_[0-9]{5,6}$')
-  AND REGEXP_LIKE(F.OWNER, '${schemas}')
+  AND F.OWNER IN (${schemanames})
   AND P.OWNER NOT IN 
     ('ANONYMOUS', 'APEX_PUBLIC_USER', 'APPQOSSYS', 'BI', 'CTXSYS', 'DBSNMP', 'DIP', 
     'EXFSYS', 'FLOWS_30000', 'FLOWS_FILES', 'IX', 'LBACSYS', 
@@ -40,7 +40,7 @@ WHERE 1 = 1
     'WMSYS', 'XDB', 'XS$NULL', 'RDSADMIN')  
   AND NOT REGEXP_LIKE(P.OWNER, '^APEX_[0-9]{6}$')
   AND NOT REGEXP_LIKE(P.OWNER, '^FLOWS_[0-9]{5,6}$')
-  AND REGEXP_LIKE(P.OWNER, '${schemas}')
+  AND P.OWNER IN (${schemanames})
   AND F.CONSTRAINT_TYPE = 'R'
   AND P.OWNER = F.R_OWNER
   AND P.CONSTRAINT_NAME = F.R_CONSTRAINT_NAME
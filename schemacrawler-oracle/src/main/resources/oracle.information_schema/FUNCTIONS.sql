@@ -0,0 +1,57 @@
+SELECT /*+ PARALLEL(AUTO) */
+  NULL AS FUNCTION_CAT,
+  PROCEDURES.OWNER AS FUNCTION_SCHEM,
+  NVL(PROCEDURES.PROCEDURE_NAME, PROCEDURES.OBJECT_NAME) AS FUNCTION_NAME,
+  NULL AS REMARKS,
+  CASE
+    WHEN OBJECTS.STATUS <> 'VALID' THEN 0
+    WHEN PROCEDURES.PIPELINED = 'YES' THEN 2
+    WHEN EXISTS
+      (SELECT 1 FROM ALL_ARGUMENTS ARGUMENTS
+      WHERE ARGUMENTS.OBJECT_ID = PROCEDURES.OBJECT_ID
+        AND ARGUMENTS.SUBPROGRAM_ID = PROCEDURES.SUBPROGRAM_ID
+        AND ARGUMENTS.DATA_LEVEL = 0
+        AND ARGUMENTS.POSITION = 0
+        AND ARGUMENTS.DATA_TYPE IN ('TABLE', 'VARRAY', 'REF CURSOR')) THEN 2
+    ELSE 1
+  END AS FUNCTION_TYPE,
+  CASE
+    WHEN PROCEDURES.PROCEDURE_NAME IS NULL THEN PROCEDURES.OBJECT_NAME
+    ELSE PROCEDURES.OBJECT_NAME || '.' || PROCEDURES.PROCEDURE_NAME
+      || NVL2(PROCEDURES.OVERLOAD, '.' || PROCEDURES.OVERLOAD, NULL)
+  END AS SPECIFIC_NAME
+FROM
+  ALL_PROCEDURES PROCEDURES
+  INNER JOIN ALL_OBJECTS OBJECTS
+  ON 
+    PROCEDURES.OBJECT_ID = OBJECTS.OBJECT_ID
+WHERE
+  PROCEDURES.OWNER NOT IN 
+    ('ANONYMOUS', 'APEX_PUBLIC_USER', 'APPQOSSYS', 'BI', 'CTXSYS', 'DBSNMP', 'DIP', 
+    'EXFSYS', 'FLOWS_30000', 'FLOWS_FILES', 'IX', 'LBACSYS', 
+    'MDDATA', 'MDSYS', 'MGMT_VIEW', 'OE', 'OLAPSYS', 'ORACLE_OCM', 
+    'ORDPLUGINS', 'ORDSYS', 'OUTLN', 'OWBSYS', 'PM', 'SCOTT', 'SH', 
+    'SI_INFORMTN_SCHEMA', 'SPATIAL_CSW_ADMIN_USR', 'SPATIAL_WFS_ADMIN_USR', 
+    'SYS', 'SYSMAN', 'SYSTEM', 'TSMSYS', 'WKPROXY', 'WKSYS', 'WK_TEST', 
+    'WMSYS', 'XDB', 'XS$NULL', 'RDSADMIN')  
+  AND NOT REGEXP_LIKE(PROCEDURES.OWNER, '^APEX_[0-9]{6}$')
+  AND NOT REGEXP_LIKE(PROCEDURES.OWNER, '^FLOWS_[0-9]{5,6}$')
+  AND PROCEDURES.OWNER IN (${schemanames})
+  AND 
+  (
+    (OBJECTS.OBJECT_TYPE = 'FUNCTION'
+      AND PROCEDURES.PROCEDURE_NAME IS NULL)
+    OR
+    (OBJECTS.OBJECT_TYPE = 'PACKAGE'
+      AND PROCEDURES.PROCEDURE_NAME IS NOT NULL
+      AND EXISTS
+        (SELECT 1 FROM ALL_ARGUMENTS ARGUMENTS
+        WHERE ARGUMENTS.OBJECT_ID = PROCEDURES.OBJECT_ID
+          AND ARGUMENTS.SUBPROGRAM_ID = PROCEDURES.SUBPROGRAM_ID
+          AND ARGUMENTS.DATA_LEVEL = 0
+          AND ARGUMENTS.POSITION = 0))
+  )
+ORDER BY
+  FUNCTION_SCHEM,
+  SPECIFIC_NAME,
+  FUNCTION_NAME
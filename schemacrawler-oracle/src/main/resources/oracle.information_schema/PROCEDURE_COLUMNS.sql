@@ -0,0 +1,103 @@
+SELECT /*+ PARALLEL(AUTO) */
+  NULL AS PROCEDURE_CAT,
+  ARGUMENTS.OWNER AS PROCEDURE_SCHEM,
+  ARGUMENTS.OBJECT_NAME AS PROCEDURE_NAME,
+  NVL(ARGUMENTS.ARGUMENT_NAME, 'RETURN_VALUE') AS COLUMN_NAME,
+  CASE 
+    WHEN ARGUMENTS.POSITION = 0 THEN 5 
+    WHEN ARGUMENTS.IN_OUT = 'IN' THEN 1 
+    WHEN ARGUMENTS.IN_OUT = 'IN/OUT' THEN 2 
+    WHEN ARGUMENTS.IN_OUT = 'OUT' THEN 4 
+    ELSE 0 
+  END AS COLUMN_TYPE,
+  DECODE(ARGUMENTS.DATA_TYPE, 
+    'BINARY_DOUBLE', 101, 
+    'BINARY_FLOAT', 100, 
+    'BFILE', -13, 
+    'BLOB', 2004, 
+    'CHAR', 1, 
+    'CLOB', 2005, 
+    'DATE', 93, 
+    'FLOAT', 6, 
+    'LONG', -1, 
+    'LONG RAW', -4, 
+    'NCHAR', -15, 
+    'NCLOB', 2011, 
+    'NUMBER', 3, 
+    'NVARCHAR2', -9, 
+    'OBJECT', 2002, 
+    'PL/SQL BOOLEAN', 16, 
+    'RAW', -3, 
+    'REF', 2006, 
+    'REF CURSOR', -10, 
+    'ROWID', -8, 
+    'TABLE', 2003, 
+    'TIMESTAMP', 93, 
+    'UROWID', -8, 
+    'VARCHAR2', 12, 
+    'VARRAY', 2003, 
+    1111)
+  AS DATA_TYPE,
+  NVL(ARGUMENTS.TYPE_NAME, ARGUMENTS.DATA_TYPE) AS TYPE_NAME,
+  ARGUMENTS.DATA_PRECISION AS PRECISION,
+  ARGUMENTS.DATA_LENGTH AS LENGTH,
+  ARGUMENTS.DATA_SCALE AS SCALE,
+  ARGUMENTS.RADIX AS RADIX,
+  1 AS NULLABLE,
+  NULL AS REMARKS,
+  ARGUMENTS.DEFAULT_VALUE AS COLUMN_DEF,
+  ARGUMENTS.POSITION AS ORDINAL_POSITION,
+  'YES' AS IS_NULLABLE,
+  CASE
+    WHEN PROCEDURES.PROCEDURE_NAME IS NULL THEN PROCEDURES.OBJECT_NAME
+    ELSE PROCEDURES.OBJECT_NAME || '.' || PROCEDURES.PROCEDURE_NAME
+      || NVL2(PROCEDURES.OVERLOAD, '.' || PROCEDURES.OVERLOAD, NULL)
+  END AS SPECIFIC_NAME
+FROM
+  ALL_ARGUMENTS ARGUMENTS
+  INNER JOIN ALL_OBJECTS OBJECTS
+  ON 
+    ARGUMENTS.OBJECT_ID = OBJECTS.OBJECT_ID
+  INNER JOIN ALL_PROCEDURES PROCEDURES
+  ON 
+    ARGUMENTS.OBJECT_ID = PROCEDURES.OBJECT_ID
+    AND 
+    (
+      (ARGUMENTS.PACKAGE_NAME IS NULL
+        AND PROCEDURES.PROCEDURE_NAME IS NULL)
+      OR
+      (ARGUMENTS.PACKAGE_NAME IS NOT NULL
+        AND ARGUMENTS.SUBPROGRAM_ID = PROCEDURES.SUBPROGRAM_ID)
+    )
+WHERE
+  OBJECTS.OWNER NOT IN 
+    ('ANONYMOUS', 'APEX_PUBLIC_USER', 'APPQOSSYS', 'BI', 'CTXSYS', 'DBSNMP', 'DIP', 
+    'EXFSYS', 'FLOWS_30000', 'FLOWS_FILES', 'IX', 'LBACSYS', 
+    'MDDATA', 'MDSYS', 'MGMT_VIEW', 'OE', 'OLAPSYS', 'ORACLE_OCM', 
+    'ORDPLUGINS', 'ORDSYS', 'OUTLN', 'OWBSYS', 'PM', 'SCOTT', 'SH', 
+    'SI_INFORMTN_SCHEMA', 'SPATIAL_CSW_ADMIN_USR', 'SPATIAL_WFS_ADMIN_USR', 
+    'SYS', 'SYSMAN', 'SYSTEM', 'TSMSYS', 'WKPROXY', 'WKSYS', 'WK_TEST', 
+    'WMSYS', 'XDB', 'XS$NULL', 'RDSADMIN')  
+  AND NOT REGEXP_LIKE(OBJECTS.OWNER, '^APEX_[0-9]{6}$')
+  AND NOT REGEXP_LIKE(OBJECTS.OWNER, '^FLOWS_[0-9]{5,6}$')
+  AND OBJECTS.OWNER IN (${schemanames})
+  AND 
+  (
+    (OBJECTS.OBJECT_TYPE = 'PROCEDURE'
+      AND ARGUMENTS.PACKAGE_NAME IS NULL)
+    OR
+    (OBJECTS.OBJECT_TYPE = 'PACKAGE'
+      AND NOT EXISTS
+        (SELECT 1 FROM ALL_ARGUMENTS RETURN_ARGUMENTS
+        WHERE RETURN_ARGUMENTS.OBJECT_ID = ARGUMENTS.OBJECT_ID
+          AND RETURN_ARGUMENTS.SUBPROGRAM_ID = ARGUMENTS.SUBPROGRAM_ID
+          AND RETURN_ARGUMENTS.DATA_LEVEL = 0
+          AND RETURN_ARGUMENTS.POSITION = 0))
+  )
+  AND ARGUMENTS.DATA_LEVEL = 0
+  AND ARGUMENTS.DATA_TYPE IS NOT NULL
+ORDER BY
+  PROCEDURE_SCHEM,
+  SPECIFIC_NAME,
+  PROCEDURE_NAME,
+  ARGUMENTS.SEQUENCE
@@ -19,7 +19,7 @@ WHERE
     'WMSYS', 'XDB', 'XS$NULL', 'RDSADMIN')  
   AND NOT REGEXP_LIKE(PROCEDURES.OWNER, '^APEX_[0-9]{6}$')
   AND NOT REGEXP_LIKE(PROCEDURES.OWNER, '^FLOWS_[0-9]{5,6}$')
-  AND REGEXP_LIKE(PROCEDURES.OWNER, '${schemas}')
+  AND PROCEDURES.OWNER IN (${schemanames})
 ORDER BY
   ROUTINE_SCHEMA,
   ROUTINE_NAME
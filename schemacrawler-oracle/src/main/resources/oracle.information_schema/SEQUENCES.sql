@@ -22,7 +22,7 @@ WHERE
     'WMSYS', 'XDB', 'XS$NULL', 'RDSADMIN')  
   AND NOT REGEXP_LIKE(SEQUENCES.SEQUENCE_OWNER, '^APEX_[0-9]{6}$')
   AND NOT REGEXP_LIKE(SEQUENCES.SEQUENCE_OWNER, '^FLOWS_[0-9]{5,6}$')
-  AND REGEXP_LIKE(SEQUENCES.SEQUENCE_OWNER, '${schemas}')
+  AND SEQUENCES.SEQUENCE_OWNER IN (${schemanames})
 ORDER BY
   SEQUENCE_OWNER,
   SEQUENCE_NAME
@@ -5,3 +5,5 @@ SELECT
   CHECK_CLAUSE
 FROM
   INFORMATION_SCHEMA.CHECK_CONSTRAINTS
+WHERE
+  CONSTRAINT_SCHEMA IN (${schemanames})
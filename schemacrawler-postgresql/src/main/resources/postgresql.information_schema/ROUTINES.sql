@@ -7,8 +7,9 @@ SELECT
   ROUTINE_DEFINITION
 FROM
   INFORMATION_SCHEMA.ROUTINES
+WHERE
+  ROUTINE_SCHEMA IN (${schemanames})
 ORDER BY
   ROUTINE_CATALOG,
   ROUTINE_SCHEMA,
   ROUTINE_NAME
-  
\ No newline at end of file
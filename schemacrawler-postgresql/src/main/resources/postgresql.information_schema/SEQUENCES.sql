@@ -8,6 +8,8 @@ SELECT
   CYCLE_OPTION
 FROM
   INFORMATION_SCHEMA.SEQUENCES
+WHERE
+  SEQUENCE_SCHEMA IN (${schemanames})
 ORDER BY
   SEQUENCE_CATALOG,
   SEQUENCE_SCHEMA,
@@ -9,3 +9,5 @@ SELECT
   'NO' AS INITIALLY_DEFERRED
 FROM
   INFORMATION_SCHEMA.TABLE_CONSTRAINTS
+WHERE
+  CONSTRAINT_SCHEMA IN (${schemanames})
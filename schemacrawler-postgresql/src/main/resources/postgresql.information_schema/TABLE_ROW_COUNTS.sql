@@ -0,0 +1,12 @@
+SELECT
+  NULL AS TABLE_CATALOG,
+  PG_NAMESPACE.NSPNAME AS TABLE_SCHEMA,
+  PG_CLASS.RELNAME AS TABLE_NAME,
+  CAST(PG_CLASS.RELTUPLES AS BIGINT) AS ROW_COUNT
+FROM
+  PG_CLASS
+  INNER JOIN PG_NAMESPACE
+    ON PG_CLASS.RELNAMESPACE = PG_NAMESPACE.OID
+WHERE
+  PG_CLASS.RELKIND IN ('r', 'p', 'm')
+  AND PG_NAMESPACE.NSPNAME IN (${schemanames})
@@ -14,3 +14,5 @@ SELECT
   CREATED
 FROM
   INFORMATION_SCHEMA.TRIGGERS
+WHERE
+  TRIGGER_SCHEMA IN (${schemanames})
@@ -7,6 +7,8 @@ SELECT
   IS_UPDATABLE
 FROM
   INFORMATION_SCHEMA.VIEWS
+WHERE
+  TABLE_SCHEMA IN (${schemanames})
 ORDER BY
   TABLE_CATALOG,
   TABLE_SCHEMA,
@@ -8,3 +8,5 @@ SELECT
   PARSENAME(BASE_OBJECT_NAME, 1) AS REFERENCED_OBJECT_NAME
 FROM 
   SYS.SYNONYMS
+WHERE
+  SCHEMA_NAME(SCHEMA_ID) IN (${schemanames})
@@ -10,3 +10,5 @@ SELECT
   *
 FROM
   INFORMATION_SCHEMA.ROUTINES
+WHERE
+  ROUTINE_SCHEMA IN (${schemanames})
@@ -2,3 +2,5 @@ SELECT
   *
 FROM
   INFORMATION_SCHEMA.TABLE_CONSTRAINTS
+WHERE
+  CONSTRAINT_SCHEMA IN (${schemanames})
@@ -0,0 +1,15 @@
+SELECT
+  DB_NAME() AS TABLE_CATALOG,
+  SCHEMA_NAME(TABLES.SCHEMA_ID) AS TABLE_SCHEMA,
+  TABLES.NAME AS TABLE_NAME,
+  SUM(PARTITIONS.ROWS) AS ROW_COUNT
+FROM
+  SYS.TABLES TABLES
+  INNER JOIN SYS.PARTITIONS PARTITIONS
+    ON TABLES.OBJECT_ID = PARTITIONS.OBJECT_ID
+WHERE
+  PARTITIONS.INDEX_ID IN (0, 1)
+  AND SCHEMA_NAME(TABLES.SCHEMA_ID) IN (${schemanames})
+GROUP BY
+  TABLES.SCHEMA_ID,
+  TABLES.NAME
@@ -8,3 +8,5 @@ SELECT
     AS VIEW_DEFINITION
 FROM
   INFORMATION_SCHEMA.VIEWS
+WHERE
+  TABLE_SCHEMA IN (${schemanames})
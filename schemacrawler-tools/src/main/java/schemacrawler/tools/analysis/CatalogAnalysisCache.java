@@ -0,0 +1,177 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2018, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+package schemacrawler.tools.analysis;
+
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.logging.Level;
+
+import schemacrawler.schema.Catalog;
+import schemacrawler.schemacrawler.SchemaCrawlerException;
+import sf.util.SchemaCrawlerLogger;
+import sf.util.StringFormat;
+
+/**
+ * Remembers the results of analyzing a catalog, such as row counts,
+ * weak associations and lints, so that commands that are chained
+ * together can reuse them, rather than analyzing the same catalog
+ * again. Results are held for each catalog instance, and for each
+ * analysis key, for as long as the cache is in use. Each analysis is
+ * run at most once, even if more than one command asks for it at the
+ * same time.
+ *
+ * @author Sualeh Fatehi
+ */
+public final class CatalogAnalysisCache
+{
+
+  private static final SchemaCrawlerLogger LOGGER = SchemaCrawlerLogger
+    .getLogger(CatalogAnalysisCache.class.getName());
+
+  /**
+   * Analyzes a catalog, and returns the result.
+   */
+  @FunctionalInterface
+  public interface Analysis<T>
+  {
+
+    T analyze()
+      throws SchemaCrawlerException;
+
+  }
+
+  private static final class AnalysisResult
+  {
+
+    private boolean isAnalyzed;
+    private Object result;
+
+    synchronized Object get(final Analysis<?> analysis)
+      throws SchemaCrawlerException
+    {
+      if (!isAnalyzed)
+      {
+        result = analysis.analyze();
+        isAnalyzed = true;
+      }
+      return result;
+    }
+
+    synchronized Optional<Object> lookup()
+    {
+      if (isAnalyzed)
+      {
+        return Optional.ofNullable(result);
+      }
+      else
+      {
+        return Optional.empty();
+      }
+    }
+
+  }
+
+  private final Map<Catalog, Map<String, AnalysisResult>> analysisResults;
+
+  public CatalogAnalysisCache()
+  {
+    // Catalogs are compared by identity, since an analysis applies to
+    // a particular catalog instance
+    analysisResults = new IdentityHashMap<>();
+  }
+
+  public synchronized void clear()
+  {
+    analysisResults.clear();
+  }
+
+  /**
+   * Gets the result of an analysis of a catalog, analyzing the catalog
+   * only if it has not already been analyzed.
+   *
+   * @param catalog
+   *        Catalog that is analyzed
+   * @param key
+   *        Key that identifies the analysis, including any options
+   *        that affect the result
+   * @param analysis
+   *        Analysis to run if there is no result yet
+   * @return Result of the analysis
+   * @throws SchemaCrawlerException
+   *         On an exception from the analysis
+   */
+  @SuppressWarnings("unchecked")
+  public <T> T get(final Catalog catalog,
+                   final String key,
+                   final Analysis<T> analysis)
+    throws SchemaCrawlerException
+  {
+    requireNonNull(analysis, "No analysis provided");
+
+    final AnalysisResult analysisResult = getAnalysisResult(catalog, key);
+    if (!analysisResult.lookup().isPresent())
+    {
+      LOGGER.log(Level.FINE,
+                 new StringFormat("Analyzing catalog, for <%s>", key));
+    }
+    return (T) analysisResult.get(analysis);
+  }
+
+  /**
+   * Looks up the result of an analysis of a catalog, without analyzing
+   * the catalog.
+   *
+   * @param catalog
+   *        Catalog that is analyzed
+   * @param key
+   *        Key that identifies the analysis
+   * @return Result of the analysis, if the catalog has already been
+   *         analyzed
+   */
+  @SuppressWarnings("unchecked")
+  public <T> Optional<T> lookup(final Catalog catalog, final String key)
+  {
+    return (Optional<T>) getAnalysisResult(catalog, key).lookup();
+  }
+
+  private synchronized AnalysisResult getAnalysisResult(final Catalog catalog,
+                                                        final String key)
+  {
+    requireNonNull(catalog, "No catalog provided");
+    requireNonNull(key, "No analysis key provided");
+
+    return analysisResults.computeIfAbsent(catalog, k -> new HashMap<>())
+      .computeIfAbsent(key, k -> new AnalysisResult());
+  }
+
+}
@@ -30,77 +30,122 @@ package schemacrawler.tools.analysis.associations;
 
 import static java.util.Objects.requireNonNull;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import schemacrawler.schema.Column;
 import schemacrawler.schema.Table;
 import sf.util.Multimap;
 
+/**
+ * Index from column match keys to the columns that have them. Columns
+ * are numbered, so that the columns for several match keys can be
+ * collected into reusable buffers.
+ */
 final class ColumnMatchKeysMap
 {
 
-  private final Multimap<String, Column> columnsForMatchKey;
-  private final Multimap<Column, String> matchKeysForColumn;
+  private static final int[] NO_COLUMNS = new int[0];
+
+  /**
+   * Gets the key that a column is matched on, which is the lower case
+   * column name without an "id" suffix.
+   *
+   * @param column
+   *        Column
+   * @return Match key, or null if the column is only named "id"
+   */
+  static String matchKey(final Column column)
+  {
+    String matchColumnName = column.getName().toLowerCase();
+    if (matchColumnName.endsWith("_id"))
+    {
+      matchColumnName = matchColumnName
+        .substring(0, matchColumnName.length() - 3);
+    }
+    if (matchColumnName.endsWith("id") && !matchColumnName.equals("id"))
+    {
+      matchColumnName = matchColumnName
+        .substring(0, matchColumnName.length() - 2);
+    }
+    if (matchColumnName.equals("id"))
+    {
+      return null;
+    }
+    return matchColumnName;
+  }
+
+  private final List<Column> columns;
+  private final Map<String, int[]> columnIdsForMatchKey;
 
   ColumnMatchKeysMap(final List<Table> tables)
   {
     requireNonNull(tables, "No tables provided");
-    columnsForMatchKey = new Multimap<>();
-    matchKeysForColumn = new Multimap<>();
+    columns = new ArrayList<>();
 
+    final Multimap<String, Integer> columnIds = new Multimap<>();
     for (final Table table: tables)
     {
-      mapColumnNameMatches(table);
+      for (final Column column: table.getColumns())
+      {
+        final String matchKey = matchKey(column);
+        if (matchKey != null)
+        {
+          columnIds.add(matchKey, columns.size());
+          columns.add(column);
+        }
+      }
     }
-  }
 
-  public boolean containsKey(final Column column)
-  {
-    return matchKeysForColumn.containsKey(column);
+    columnIdsForMatchKey = new HashMap<>();
+    for (final Map.Entry<String, List<Integer>> entry: columnIds.entrySet())
+    {
+      columnIdsForMatchKey.put(entry.getKey(),
+                               entry.getValue().stream()
+                                 .mapToInt(Integer::intValue).toArray());
+    }
   }
 
-  public boolean containsKey(final String columnKey)
+  public Column getColumn(final int columnId)
   {
-    return columnsForMatchKey.containsKey(columnKey);
+    return columns.get(columnId);
   }
 
-  public List<String> get(final Column column)
+  public int[] getColumnIds(final String matchKey)
   {
-    return matchKeysForColumn.get(column);
+    if (matchKey == null)
+    {
+      return NO_COLUMNS;
+    }
+    return columnIdsForMatchKey.getOrDefault(matchKey, NO_COLUMNS);
   }
 
-  public List<Column> get(final String matchKey)
+  /**
+   * Gets the number of columns that have match keys, which is one more
+   * than the largest column number.
+   *
+   * @return Number of columns
+   */
+  public int size()
   {
-    return columnsForMatchKey.get(matchKey);
+    return columns.size();
   }
 
   @Override
   public String toString()
   {
-    return columnsForMatchKey.toString();
-  }
-
-  private void mapColumnNameMatches(final Table table)
-  {
-    for (final Column column: table.getColumns())
+    final Multimap<String, Column> columnsForMatchKey = new Multimap<>();
+    for (final Map.Entry<String, int[]> entry: columnIdsForMatchKey
+      .entrySet())
     {
-      String matchColumnName = column.getName().toLowerCase();
-      if (matchColumnName.endsWith("_id"))
-      {
-        matchColumnName = matchColumnName
-          .substring(0, matchColumnName.length() - 3);
-      }
-      if (matchColumnName.endsWith("id") && !matchColumnName.equals("id"))
+      for (final int columnId: entry.getValue())
       {
-        matchColumnName = matchColumnName
-          .substring(0, matchColumnName.length() - 2);
-      }
-      if (!matchColumnName.equals("id"))
-      {
-        columnsForMatchKey.add(matchColumnName, column);
-        matchKeysForColumn.add(column, matchColumnName);
+        columnsForMatchKey.add(entry.getKey(), columns.get(columnId));
       }
     }
+    return columnsForMatchKey.toString();
   }
 
 }
@@ -56,17 +56,10 @@ final class ForeignKeys
       return false;
     }
 
-    // We have to loop through the collection, since we want to use the
-    // equals from the WeakAssociation
-    for (final ColumnReference foreignKey: foreignKeys)
-    {
-      final boolean equals = columnMap.equals(foreignKey);
-      if (equals)
-      {
-        return true;
-      }
-    }
-    return false;
+    // Column references hash and compare on their primary key and
+    // foreign key columns only, so a weak association can be looked up
+    // directly, and the equals from the WeakAssociation is used
+    return foreignKeys.contains(columnMap);
   }
 
   @Override
@@ -2,7 +2,13 @@ package schemacrawler.tools.analysis.associations;
 
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 /**
@@ -22,7 +28,17 @@ public class Inflection
 
   private static final List<Inflection> singular = new ArrayList<>();
 
-  private static final List<String> uncountable = new ArrayList<>();
+  private static final Set<String> uncountable = new HashSet<>();
+
+  /**
+   * Maximum number of words remembered for each direction of
+   * inflection.
+   */
+  private static final int MAX_CACHED_WORDS = 10_000;
+
+  private static final Map<String, String> pluralCache = new ConcurrentHashMap<>();
+
+  private static final Map<String, String> singularCache = new ConcurrentHashMap<>();
 
   static
   {
@@ -103,14 +119,11 @@ public class Inflection
    */
   public static boolean isUncountable(final String word)
   {
-    for (final String w: uncountable)
+    if (word == null)
     {
-      if (w.equalsIgnoreCase(word))
-      {
-        return true;
-      }
+      return false;
     }
-    return false;
+    return uncountable.contains(word.toLowerCase(Locale.ENGLISH));
   }
 
   /**
@@ -122,19 +135,7 @@ public class Inflection
    */
   public static String pluralize(final String word)
   {
-    if (Inflection.isUncountable(word))
-    {
-      return word;
-    }
-
-    for (final Inflection inflection: plural)
-    {
-      if (inflection.match(word))
-      {
-        return inflection.replace(word);
-      }
-    }
-    return word;
+    return inflect(word, plural, pluralCache);
   }
 
   /**
@@ -146,22 +147,59 @@ public class Inflection
    */
   public static String singularize(final String word)
   {
-    if (Inflection.isUncountable(word))
+    return inflect(word, singular, singularCache);
+  }
+
+  /**
+   * Applies the first matching inflection rule to a word. Results are
+   * remembered, since the same table and column names are inflected
+   * many times during association analysis. The cache is bounded, and
+   * is simply cleared when it fills up.
+   *
+   * @param word
+   *        The word
+   * @param inflections
+   *        Inflection rules, in order of precedence
+   * @param cache
+   *        Cache of previously inflected words
+   * @return The inflected word
+   */
+  private static String inflect(final String word,
+                                final List<Inflection> inflections,
+                                final Map<String, String> cache)
+  {
+    if (word == null)
+    {
+      return null;
+    }
+
+    final String cachedWord = cache.get(word);
+    if (cachedWord != null)
     {
-      return word;
+      return cachedWord;
     }
 
-    for (final Inflection inflection: singular)
+    String inflectedWord = word;
+    if (!Inflection.isUncountable(word))
     {
-      // System.out.println(word + " matches " + inflection.pattern +
-      // "? (ignore case: " + inflection.ignoreCase + ")");
-      if (inflection.match(word))
+      for (final Inflection inflection: inflections)
       {
-        // System.out.println("match!");
-        return inflection.replace(word);
+        final Matcher matcher = inflection.pattern.matcher(word);
+        if (matcher.find())
+        {
+          inflectedWord = matcher.replaceAll(inflection.replacement);
+          break;
+        }
       }
     }
-    return word;
+
+    if (cache.size() >= MAX_CACHED_WORDS)
+    {
+      cache.clear();
+    }
+    cache.put(word, inflectedWord);
+
+    return inflectedWord;
   }
 
   private static void irregular(final String s, final String p)
@@ -184,15 +222,13 @@ public class Inflection
 
   private static void uncountable(final String word)
   {
-    uncountable.add(word);
+    uncountable.add(word.toLowerCase(Locale.ENGLISH));
   }
 
-  private final String pattern;
+  private final Pattern pattern;
 
   private final String replacement;
 
-  private final boolean ignoreCase;
-
   public Inflection(final String pattern)
   {
     this(pattern, null, true);
@@ -207,9 +243,14 @@ public class Inflection
                     final String replacement,
                     final boolean ignoreCase)
   {
-    this.pattern = pattern;
     this.replacement = replacement;
-    this.ignoreCase = ignoreCase;
+
+    int flags = 0;
+    if (ignoreCase)
+    {
+      flags = flags | Pattern.CASE_INSENSITIVE;
+    }
+    this.pattern = Pattern.compile(pattern, flags);
   }
 
   /**
@@ -221,12 +262,7 @@ public class Inflection
    */
   public boolean match(final String word)
   {
-    int flags = 0;
-    if (ignoreCase)
-    {
-      flags = flags | Pattern.CASE_INSENSITIVE;
-    }
-    return Pattern.compile(pattern, flags).matcher(word).find();
+    return pattern.matcher(word).find();
   }
 
   /**
@@ -238,12 +274,6 @@ public class Inflection
    */
   public String replace(final String word)
   {
-    int flags = 0;
-    if (ignoreCase)
-    {
-      flags = flags | Pattern.CASE_INSENSITIVE;
-    }
-    return Pattern.compile(pattern, flags).matcher(word)
-      .replaceAll(replacement);
+    return pattern.matcher(word).replaceAll(replacement);
   }
 }
@@ -29,14 +29,21 @@ package schemacrawler.tools.analysis.associations;
 
 
 import static java.util.Objects.requireNonNull;
-import static schemacrawler.tools.analysis.associations.WeakAssociationsUtility.addWeakAssociationToTable;
+import static schemacrawler.tools.analysis.associations.ColumnMatchKeysMap.matchKey;
+import static schemacrawler.tools.analysis.associations.WeakAssociationsUtility.setWeakAssociations;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashSet;
+import java.util.HashMap;
 import java.util.List;
-import java.util.Set;
-import java.util.TreeSet;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
 
 import schemacrawler.schema.Column;
@@ -48,47 +55,97 @@ import sf.util.StringFormat;
 final class WeakAssociationsAnalyzer
 {
 
+  /**
+   * Reusable buffer of candidate foreign key columns, by column number.
+   * Columns that were already added since the buffer was last cleared
+   * are ignored, without a set being created for every candidate key.
+   */
+  private static final class CandidateColumns
+  {
+
+    private final int[] addedStamps;
+    private final int[] columnIds;
+    private int size;
+    private int stamp;
+
+    CandidateColumns(final int columnCount)
+    {
+      addedStamps = new int[columnCount];
+      columnIds = new int[columnCount];
+    }
+
+    void addAll(final int[] matchingColumnIds)
+    {
+      for (final int columnId: matchingColumnIds)
+      {
+        if (addedStamps[columnId] != stamp)
+        {
+          addedStamps[columnId] = stamp;
+          columnIds[size] = columnId;
+          size++;
+        }
+      }
+    }
+
+    void clear()
+    {
+      size = 0;
+      stamp++;
+      if (stamp == Integer.MAX_VALUE)
+      {
+        Arrays.fill(addedStamps, 0);
+        stamp = 1;
+      }
+    }
+
+    int get(final int index)
+    {
+      return columnIds[index];
+    }
+
+    int size()
+    {
+      return size;
+    }
+
+  }
+
   private static final SchemaCrawlerLogger LOGGER = SchemaCrawlerLogger
     .getLogger(WeakAssociationsAnalyzer.class.getName());
 
   private final List<Table> tables;
-  private final Collection<WeakAssociationForeignKey> weakAssociations;
+  private final int parallelism;
 
   WeakAssociationsAnalyzer(final List<Table> tables)
+  {
+    this(tables, Runtime.getRuntime().availableProcessors());
+  }
+
+  /**
+   * Analyzes tables for weak associations.
+   *
+   * @param tables
+   *        Tables to analyze
+   * @param parallelism
+   *        Number of threads to analyze tables on
+   */
+  WeakAssociationsAnalyzer(final List<Table> tables, final int parallelism)
   {
     this.tables = requireNonNull(tables, "No tables provided");
-    weakAssociations = new TreeSet<>();
+    this.parallelism = Math.max(1, parallelism);
   }
 
   Collection<WeakAssociationForeignKey> analyzeTables()
   {
     if (tables.size() < 2)
     {
-      return Collections.emptySet();
+      return Collections.emptyList();
     }
 
-    findWeakAssociations(tables);
-
-    return weakAssociations;
-  }
-
-  private void addWeakAssociation(final WeakAssociation weakAssociation)
-  {
-    final String weakFkName = MetaDataUtility
-      .constructForeignKeyName(weakAssociation.getPrimaryKeyColumn(),
-                               weakAssociation.getForeignKeyColumn());
-    final WeakAssociationForeignKey weakFk = new WeakAssociationForeignKey(weakFkName);
-    weakFk.add(weakAssociation);
-
-    weakAssociations.add(weakFk);
-
-    addWeakAssociationToTable(weakAssociation.getPrimaryKeyColumn().getParent(),
-                              weakFk);
-    addWeakAssociationToTable(weakAssociation.getForeignKeyColumn().getParent(),
-                              weakFk);
+    return findWeakAssociations();
   }
 
-  private void findWeakAssociations(final List<Table> tables)
+  private List<WeakAssociationForeignKey> findWeakAssociations()
   {
     LOGGER.log(Level.INFO, "Finding weak associations");
     final ForeignKeys foreignKeys = new ForeignKeys(tables);
@@ -103,55 +160,183 @@ final class WeakAssociationsAnalyzer
       LOGGER.log(Level.FINER,
                  new StringFormat("Column match keys <%s>", tableMatchKeys));
     }
-    for (final Table table: tables)
+
+    final List<WeakAssociationForeignKey> weakAssociations = new ArrayList<>();
+    for (final List<WeakAssociation> tableWeakAssociations: findWeakAssociations(foreignKeys,
+                                                                                  columnMatchKeysMap,
+                                                                                  tableMatchKeys))
     {
-      final TableCandidateKeys tableCandidateKeys = new TableCandidateKeys(table);
-      LOGGER
-        .log(Level.FINER,
-             new StringFormat("Table candidate keys <%s>", tableCandidateKeys));
-      for (final Column pkColumn: tableCandidateKeys)
+      for (final WeakAssociation weakAssociation: tableWeakAssociations)
       {
-        final Set<String> fkColumnMatchKeys = new HashSet<>();
-        // Look for all columns matching this table match key
-        if (pkColumn.isPartOfPrimaryKey())
-        {
-          fkColumnMatchKeys.addAll(tableMatchKeys.get(table));
-        }
-        // Look for all columns matching this column match key
-        if (columnMatchKeysMap.containsKey(pkColumn))
+        LOGGER.log(Level.FINE,
+                   new StringFormat("Found weak association <%s>",
+                                    weakAssociation));
+        weakAssociations.add(newWeakAssociationForeignKey(weakAssociation));
+      }
+    }
+
+    // Sort all the weak associations once, so that the lists for each
+    // table are built in sorted order
+    Collections.sort(weakAssociations);
+    final Map<Table, List<WeakAssociationForeignKey>> tablesWeakAssociations = new HashMap<>();
+    for (final WeakAssociationForeignKey weakFk: weakAssociations)
+    {
+      final WeakAssociation weakAssociation = weakFk.getColumnReferences()
+        .get(0);
+      final Table pkTable = weakAssociation.getPrimaryKeyColumn().getParent();
+      final Table fkTable = weakAssociation.getForeignKeyColumn().getParent();
+      tablesWeakAssociations.computeIfAbsent(pkTable, table -> new ArrayList<>())
+        .add(weakFk);
+      if (!fkTable.equals(pkTable))
+      {
+        tablesWeakAssociations
+          .computeIfAbsent(fkTable, table -> new ArrayList<>()).add(weakFk);
+      }
+    }
+    for (final Map.Entry<Table, List<WeakAssociationForeignKey>> entry: tablesWeakAssociations
+      .entrySet())
+    {
+      setWeakAssociations(entry.getKey(), entry.getValue());
+    }
+
+    return weakAssociations;
+  }
+
+  /**
+   * Finds weak associations for each table, on a fixed number of
+   * threads. Each thread takes the next table that has not been
+   * analyzed, and reuses its own buffer of candidate columns.
+   *
+   * @return Weak associations, in table order
+   */
+  private List<List<WeakAssociation>> findWeakAssociations(final ForeignKeys foreignKeys,
+                                                           final ColumnMatchKeysMap columnMatchKeysMap,
+                                                           final TableMatchKeys tableMatchKeys)
+  {
+    final int tableCount = tables.size();
+    final List<List<WeakAssociation>> tablesWeakAssociations = new ArrayList<>(Collections
+      .<List<WeakAssociation>> nCopies(tableCount, null));
+    final AtomicInteger nextTable = new AtomicInteger();
+    final Runnable tablesAnalyzer = () -> {
+      final CandidateColumns candidateColumns = new CandidateColumns(columnMatchKeysMap
+        .size());
+      for (int i = nextTable.getAndIncrement(); i < tableCount; i = nextTable
+        .getAndIncrement())
+      {
+        tablesWeakAssociations.set(i,
+                                   findWeakAssociations(tables.get(i),
+                                                        foreignKeys,
+                                                        columnMatchKeysMap,
+                                                        tableMatchKeys,
+                                                        candidateColumns));
+      }
+    };
+
+    final int threadCount = Math.min(parallelism, tableCount);
+    if (threadCount <= 1)
+    {
+      tablesAnalyzer.run();
+      return tablesWeakAssociations;
+    }
+
+    final ExecutorService executorService = Executors
+      .newFixedThreadPool(threadCount, runnable -> {
+        final Thread thread = new Thread(runnable,
+                                         "schemacrawler-weak-associations");
+        thread.setDaemon(true);
+        return thread;
+      });
+    try
+    {
+      final List<Future<?>> futures = new ArrayList<>(threadCount);
+      for (int i = 0; i < threadCount; i++)
+      {
+        futures.add(executorService.submit(tablesAnalyzer));
+      }
+      for (final Future<?> future: futures)
+      {
+        future.get();
+      }
+    }
+    catch (final InterruptedException e)
+    {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while finding weak associations",
+                                      e);
+    }
+    catch (final ExecutionException e)
+    {
+      final Throwable cause = e.getCause();
+      if (cause instanceof RuntimeException)
+      {
+        throw (RuntimeException) cause;
+      }
+      throw new IllegalStateException("Could not find weak associations",
+                                      cause);
+    }
+    finally
+    {
+      executorService.shutdownNow();
+    }
+    return tablesWeakAssociations;
+  }
+
+  private List<WeakAssociation> findWeakAssociations(final Table table,
+                                                     final ForeignKeys foreignKeys,
+                                                     final ColumnMatchKeysMap columnMatchKeysMap,
+                                                     final TableMatchKeys tableMatchKeys,
+                                                     final CandidateColumns candidateColumns)
+  {
+    final TableCandidateKeys tableCandidateKeys = new TableCandidateKeys(table);
+    LOGGER
+      .log(Level.FINER,
+           new StringFormat("Table candidate keys <%s>", tableCandidateKeys));
+
+    final List<String> tableKeys = tableMatchKeys.get(table);
+    final List<WeakAssociation> tableWeakAssociations = new ArrayList<>();
+    for (final Column pkColumn: tableCandidateKeys)
+    {
+      candidateColumns.clear();
+      // Look for all columns matching this table match key
+      if (pkColumn.isPartOfPrimaryKey() && tableKeys != null)
+      {
+        for (final String tableKey: tableKeys)
         {
-          fkColumnMatchKeys.addAll(columnMatchKeysMap.get(pkColumn));
+          candidateColumns.addAll(columnMatchKeysMap.getColumnIds(tableKey));
         }
+      }
+      // Look for all columns matching this column match key
+      candidateColumns.addAll(columnMatchKeysMap.getColumnIds(matchKey(pkColumn)));
 
-        final Set<Column> fkColumns = new HashSet<>();
-        for (final String fkColumnMatchKey: fkColumnMatchKeys)
+      for (int i = 0; i < candidateColumns.size(); i++)
+      {
+        final Column fkColumn = columnMatchKeysMap
+          .getColumn(candidateColumns.get(i));
+        if (pkColumn.equals(fkColumn))
         {
-          if (columnMatchKeysMap.containsKey(fkColumnMatchKey))
-          {
-            fkColumns.addAll(columnMatchKeysMap.get(fkColumnMatchKey));
-          }
+          continue;
         }
 
-        for (final Column fkColumn: fkColumns)
+        final WeakAssociation weakAssociation = new WeakAssociation(pkColumn,
+                                                                    fkColumn);
+        if (weakAssociation.isValid()
+            && !foreignKeys.contains(weakAssociation))
         {
-          if (pkColumn.equals(fkColumn))
-          {
-            continue;
-          }
-
-          final WeakAssociation weakAssociation = new WeakAssociation(pkColumn,
-                                                                      fkColumn);
-          if (weakAssociation.isValid()
-              && !foreignKeys.contains(weakAssociation))
-          {
-            LOGGER.log(Level.FINE,
-                       new StringFormat("Found weak association <%s>",
-                                        weakAssociation));
-            addWeakAssociation(weakAssociation);
-          }
+          tableWeakAssociations.add(weakAssociation);
         }
       }
     }
+    return tableWeakAssociations;
+  }
+
+  private WeakAssociationForeignKey newWeakAssociationForeignKey(final WeakAssociation weakAssociation)
+  {
+    final String weakFkName = MetaDataUtility
+      .constructForeignKeyName(weakAssociation.getPrimaryKeyColumn(),
+                               weakAssociation.getForeignKeyColumn());
+    final WeakAssociationForeignKey weakFk = new WeakAssociationForeignKey(weakFkName);
+    weakFk.add(weakAssociation);
+    return weakFk;
   }
 
 }
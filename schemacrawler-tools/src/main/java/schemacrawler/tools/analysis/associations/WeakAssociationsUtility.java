@@ -32,8 +32,6 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
-import java.util.SortedSet;
-import java.util.TreeSet;
 
 import schemacrawler.schema.Table;
 import sf.util.UtilityMarker;
@@ -51,26 +49,20 @@ public final class WeakAssociationsUtility
       return null;
     }
 
-    final SortedSet<WeakAssociationForeignKey> weakAssociations = table
+    final Collection<WeakAssociationForeignKey> weakAssociations = table
       .getAttribute(WEAK_ASSOCIATIONS_KEY,
-                    new TreeSet<WeakAssociationForeignKey>());
+                    new ArrayList<WeakAssociationForeignKey>());
     final List<WeakAssociationForeignKey> weakAssociationsList = new ArrayList<>(weakAssociations);
     Collections.sort(weakAssociationsList);
     return weakAssociationsList;
   }
 
-  static void addWeakAssociationToTable(final Table table,
-                                        final WeakAssociationForeignKey weakAssociation)
+  static void setWeakAssociations(final Table table,
+                                  final List<WeakAssociationForeignKey> weakAssociations)
   {
-    if (table != null && weakAssociation != null)
+    if (table != null && weakAssociations != null)
     {
-      final SortedSet<WeakAssociationForeignKey> tableWeakAssociations = table
-        .getAttribute(WEAK_ASSOCIATIONS_KEY,
-                      new TreeSet<WeakAssociationForeignKey>());
-
-      tableWeakAssociations.add(weakAssociation);
-
-      table.setAttribute(WEAK_ASSOCIATIONS_KEY, tableWeakAssociations);
+      table.setAttribute(WEAK_ASSOCIATIONS_KEY, weakAssociations);
     }
   }
 
@@ -28,14 +28,20 @@ http://www.gnu.org/licenses/
 package schemacrawler.tools.analysis.counts;
 
 
+import static java.util.Objects.requireNonNull;
 import static schemacrawler.filter.ReducerFactory.getTableReducer;
 import static schemacrawler.tools.analysis.counts.CountsUtility.addRowCountToTable;
-import static schemacrawler.utility.QueryUtility.executeForLong;
+import static schemacrawler.utility.QueryUtility.executeAgainstSchemas;
 import static sf.util.DatabaseUtility.checkConnection;
+import static sf.util.DatabaseUtility.createStatement;
+import static sf.util.Utility.isBlank;
 
 import java.sql.Connection;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -43,11 +49,12 @@ import java.util.Optional;
 import java.util.logging.Level;
 
 import schemacrawler.schema.Catalog;
+import schemacrawler.schema.Schema;
 import schemacrawler.schema.Table;
 import schemacrawler.schemacrawler.BaseCatalogDecorator;
+import schemacrawler.schemacrawler.InformationSchemaViews;
 import schemacrawler.schemacrawler.SchemaCrawlerException;
 import schemacrawler.schemacrawler.SchemaCrawlerOptions;
-import schemacrawler.tools.text.operation.Operation;
 import schemacrawler.utility.Identifiers;
 import schemacrawler.utility.Query;
 import sf.util.SchemaCrawlerLogger;
@@ -68,9 +75,46 @@ public final class CatalogWithCounts
                            final Connection connection,
                            final SchemaCrawlerOptions options)
     throws SchemaCrawlerException
+  {
+    this(catalog,
+         connection,
+         options,
+         new CountsOptions(),
+         new InformationSchemaViews());
+  }
+
+  /**
+   * Obtains row counts for all the tables in the catalog, either by
+   * counting rows, or from estimates in database statistics if the
+   * information schema views provide a query for them.
+   *
+   * @param catalog
+   *        Catalog to decorate
+   * @param connection
+   *        Live connection to the database
+   * @param options
+   *        SchemaCrawler options, for filtering empty tables
+   * @param countsOptions
+   *        How row counts are obtained
+   * @param informationSchemaViews
+   *        Information schema views, which may have a query for
+   *        estimated row counts
+   * @throws SchemaCrawlerException
+   *         On an exception
+   */
+  public CatalogWithCounts(final Catalog catalog,
+                           final Connection connection,
+                           final SchemaCrawlerOptions options,
+                           final CountsOptions countsOptions,
+                           final InformationSchemaViews informationSchemaViews)
+    throws SchemaCrawlerException
   {
     super(catalog);
 
+    requireNonNull(countsOptions, "No counts options provided");
+    requireNonNull(informationSchemaViews,
+                   "No information schema views provided");
+
     counts = new HashMap<>();
 
     Identifiers identifiers;
@@ -92,25 +136,69 @@ public final class CatalogWithCounts
       return;
     }
 
-    final Query query = Operation.count.getQuery();
+    final CountsMode countsMode = countsOptions.getCountsMode();
+    final Map<Table, Long> estimates;
+    if (countsMode == CountsMode.exact)
+    {
+      estimates = null;
+    }
+    else if (!informationSchemaViews.hasTableRowCountsSql())
+    {
+      LOGGER.log(Level.INFO,
+                 "No query for estimated row counts, so counting rows");
+      estimates = null;
+    }
+    else
+    {
+      estimates = retrieveEstimates(catalog,
+                                    connection,
+                                    options,
+                                    informationSchemaViews
+                                      .getTableRowCountsSql());
+    }
+
     final List<Table> allTables = new ArrayList<>(catalog.getTables());
+    final List<Table> tablesToCount = new ArrayList<>();
     for (final Table table: allTables)
     {
-      try
+      if (estimates != null)
       {
-        final long count = executeForLong(query,
-                                          connection,
-                                          table,
-                                          identifiers);
-        counts.put(table, count);
-        addRowCountToTable(table, count);
+        // Tables that are not in the statistics are counted exactly
+        final Long estimate = estimates.get(table);
+        final boolean useEstimate;
+        if (estimate == null)
+        {
+          useEstimate = false;
+        }
+        else if (countsMode == CountsMode.estimated)
+        {
+          useEstimate = true;
+        }
+        else
+        {
+          useEstimate = estimate > countsOptions.getExactCountThreshold();
+        }
+        if (useEstimate)
+        {
+          counts.put(table, estimate);
+          addRowCountToTable(table, estimate, true);
+          continue;
+        }
       }
-      catch (final SchemaCrawlerException e)
+      tablesToCount.add(table);
+    }
+
+    final Map<Table, Long> exactCounts = new TableRowCounter(connection,
+                                                             identifiers,
+                                                             countsOptions)
+                                                               .count(tablesToCount);
+    for (final Table table: tablesToCount)
+    {
+      final Long count = exactCounts.get(table);
+      if (count != null)
       {
-        LOGGER.log(Level.WARNING,
-                   new StringFormat("Could not get count for table <%s>",
-                                    table),
-                   e);
+        counts.put(table, count);
+        addRowCountToTable(table, count);
       }
     }
 
@@ -140,4 +228,86 @@ public final class CatalogWithCounts
     return Optional.of(getAttribute(name));
   }
 
+  /**
+   * Gets estimated row counts for all tables in a single query. Tables
+   * are matched on the TABLE_CATALOG, TABLE_SCHEMA and TABLE_NAME
+   * columns, and the estimate is read from the ROW_COUNT column.
+   * Negative estimates, which some databases use for tables that have
+   * not been analyzed, are ignored.
+   *
+   * @return Estimated row counts, or null if they could not be
+   *         retrieved
+   */
+  private Map<Table, Long> retrieveEstimates(final Catalog catalog,
+                                             final Connection connection,
+                                             final SchemaCrawlerOptions options,
+                                             final Query tableRowCountsSql)
+  {
+    final Map<List<String>, Table> tablesByName = new HashMap<>();
+    for (final Table table: catalog.getTables())
+    {
+      final Schema schema = table.getSchema();
+      tablesByName.put(tableKey(schema.getCatalogName(),
+                                schema.getName(),
+                                table.getName()),
+                       table);
+    }
+
+    final Map<Table, Long> estimates = new HashMap<>();
+    try (final Statement statement = createStatement(connection);
+        final ResultSet results = executeAgainstSchemas(tableRowCountsSql,
+                                                        statement,
+                                                        options
+                                                          .getSchemaInclusionRule(),
+                                                        catalog.getSchemas());)
+    {
+      if (results == null)
+      {
+        // The query failed, and the error was logged
+        LOGGER.log(Level.WARNING,
+                   "Could not retrieve estimated row counts, so counting rows");
+        return null;
+      }
+      while (results.next())
+      {
+        final String catalogName = results.getString("TABLE_CATALOG");
+        final String schemaName = results.getString("TABLE_SCHEMA");
+        final String tableName = results.getString("TABLE_NAME");
+        final long estimate = results.getLong("ROW_COUNT");
+        if (results.wasNull() || estimate < 0)
+        {
+          continue;
+        }
+
+        final Table table = tablesByName
+          .get(tableKey(catalogName, schemaName, tableName));
+        if (table != null)
+        {
+          estimates.put(table, estimate);
+        }
+      }
+    }
+    catch (final SQLException e)
+    {
+      LOGGER.log(Level.WARNING,
+                 "Could not retrieve estimated row counts, so counting rows",
+                 e);
+      return null;
+    }
+
+    LOGGER.log(Level.INFO,
+               new StringFormat("Retrieved estimated row counts for %d tables",
+                                estimates.size()));
+    return estimates;
+  }
+
+  private List<String> tableKey(final String catalogName,
+                                final String schemaName,
+                                final String tableName)
+  {
+    return Arrays.asList(isBlank(catalogName)? null: catalogName,
+                         isBlank(schemaName)? null: schemaName,
+                         tableName);
+  }
+
 }
@@ -0,0 +1,146 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2018, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+package schemacrawler.tools.analysis.counts;
+
+
+import static java.util.Objects.requireNonNull;
+
+import schemacrawler.schemacrawler.Options;
+import schemacrawler.tools.executable.ConnectionSupplier;
+import sf.util.ObjectToString;
+
+/**
+ * Options for obtaining table row counts.
+ *
+ * @author Sualeh Fatehi
+ */
+public final class CountsOptions
+  implements Options
+{
+
+  private CountsMode countsMode = CountsMode.exact;
+  private long exactCountThreshold = 100_000;
+  private int parallelism = 1;
+  private int queryTimeout;
+  private ConnectionSupplier connectionSupplier;
+
+  /**
+   * Supplier of additional connections, which are used to count rows
+   * in more than one table at a time. This is not read from
+   * configuration.
+   *
+   * @return Supplier of connections, or null
+   */
+  public ConnectionSupplier getConnectionSupplier()
+  {
+    return connectionSupplier;
+  }
+
+  /**
+   * How table row counts are obtained.
+   *
+   * @return Counts mode
+   */
+  public CountsMode getCountsMode()
+  {
+    return countsMode;
+  }
+
+  /**
+   * Largest estimated row count for which rows are counted exactly, in
+   * the hybrid counts mode.
+   *
+   * @return Largest estimated row count to count exactly
+   */
+  public long getExactCountThreshold()
+  {
+    return exactCountThreshold;
+  }
+
+  /**
+   * Number of tables to count rows in at the same time, when there is
+   * a connection supplier.
+   *
+   * @return Number of tables to count at the same time
+   */
+  public int getParallelism()
+  {
+    return parallelism;
+  }
+
+  /**
+   * Timeout for counting rows in each table, in seconds, or 0 for no
+   * timeout. Tables that time out have an unknown row count.
+   *
+   * @return Query timeout in seconds
+   */
+  public int getQueryTimeout()
+  {
+    return queryTimeout;
+  }
+
+  public void setConnectionSupplier(final ConnectionSupplier connectionSupplier)
+  {
+    this.connectionSupplier = connectionSupplier;
+  }
+
+  public void setCountsMode(final CountsMode countsMode)
+  {
+    this.countsMode = requireNonNull(countsMode, "No counts mode provided");
+  }
+
+  public void setExactCountThreshold(final long exactCountThreshold)
+  {
+    this.exactCountThreshold = exactCountThreshold;
+  }
+
+  public void setParallelism(final int parallelism)
+  {
+    if (parallelism < 1)
+    {
+      throw new IllegalArgumentException("Parallelism needs to be at least 1");
+    }
+    this.parallelism = parallelism;
+  }
+
+  public void setQueryTimeout(final int queryTimeout)
+  {
+    if (queryTimeout < 0)
+    {
+      throw new IllegalArgumentException("Query timeout cannot be negative");
+    }
+    this.queryTimeout = queryTimeout;
+  }
+
+  @Override
+  public String toString()
+  {
+    return ObjectToString.toString(this);
+  }
+
+}
@@ -0,0 +1,152 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2018, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+package schemacrawler.tools.analysis.counts;
+
+
+import schemacrawler.schemacrawler.Config;
+import schemacrawler.schemacrawler.OptionsBuilder;
+import schemacrawler.tools.executable.ConnectionSupplier;
+
+/**
+ * Options for obtaining table row counts.
+ *
+ * @author Sualeh Fatehi
+ */
+public final class CountsOptionsBuilder
+  implements OptionsBuilder<CountsOptions>
+{
+
+  private static final String SCHEMACRAWLER_COUNTS_PREFIX = "schemacrawler.counts.";
+
+  private static final String COUNTS_MODE = SCHEMACRAWLER_COUNTS_PREFIX
+                                            + "mode";
+  private static final String PARALLELISM = SCHEMACRAWLER_COUNTS_PREFIX
+                                            + "parallelism";
+  private static final String QUERY_TIMEOUT = SCHEMACRAWLER_COUNTS_PREFIX
+                                              + "query_timeout";
+  private static final String EXACT_COUNT_THRESHOLD = SCHEMACRAWLER_COUNTS_PREFIX
+                                                      + "exact_count_threshold";
+
+  private final CountsOptions options;
+
+  public CountsOptionsBuilder()
+  {
+    options = new CountsOptions();
+  }
+
+  /**
+   * Supplier of additional connections, which are used to count rows
+   * in more than one table at a time.
+   */
+  public CountsOptionsBuilder connectionSupplier(final ConnectionSupplier connectionSupplier)
+  {
+    options.setConnectionSupplier(connectionSupplier);
+    return this;
+  }
+
+  /**
+   * How table row counts are obtained.
+   */
+  public CountsOptionsBuilder countsMode(final CountsMode countsMode)
+  {
+    options.setCountsMode(countsMode);
+    return this;
+  }
+
+  /**
+   * Largest estimated row count for which rows are counted exactly, in
+   * the hybrid counts mode.
+   */
+  public CountsOptionsBuilder exactCountThreshold(final long exactCountThreshold)
+  {
+    options.setExactCountThreshold(exactCountThreshold);
+    return this;
+  }
+
+  @Override
+  public CountsOptionsBuilder fromConfig(final Config map)
+  {
+    if (map == null)
+    {
+      return this;
+    }
+
+    final Config config = new Config(map);
+    options
+      .setCountsMode(config.getEnumValue(COUNTS_MODE, CountsMode.exact));
+    options.setExactCountThreshold(config
+      .getLongValue(EXACT_COUNT_THRESHOLD, options.getExactCountThreshold()));
+    options
+      .setParallelism(Math.max(1, config.getIntegerValue(PARALLELISM, 1)));
+    options
+      .setQueryTimeout(Math.max(0, config.getIntegerValue(QUERY_TIMEOUT, 0)));
+
+    return this;
+  }
+
+  /**
+   * Number of tables to count rows in at the same time, when there is
+   * a connection supplier.
+   */
+  public CountsOptionsBuilder parallelism(final int parallelism)
+  {
+    options.setParallelism(parallelism);
+    return this;
+  }
+
+  /**
+   * Timeout for counting rows in each table, in seconds, or 0 for no
+   * timeout.
+   */
+  public CountsOptionsBuilder queryTimeout(final int queryTimeout)
+  {
+    options.setQueryTimeout(queryTimeout);
+    return this;
+  }
+
+  @Override
+  public Config toConfig()
+  {
+    final Config config = new Config();
+    config.setEnumValue(COUNTS_MODE, options.getCountsMode());
+    config.setStringValue(EXACT_COUNT_THRESHOLD,
+                          String.valueOf(options.getExactCountThreshold()));
+    config.setStringValue(PARALLELISM,
+                          String.valueOf(options.getParallelism()));
+    config.setStringValue(QUERY_TIMEOUT,
+                          String.valueOf(options.getQueryTimeout()));
+    return config;
+  }
+
+  @Override
+  public CountsOptions toOptions()
+  {
+    return options;
+  }
+
+}
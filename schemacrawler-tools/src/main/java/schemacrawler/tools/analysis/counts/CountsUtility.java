@@ -39,6 +39,32 @@ public final class CountsUtility
 
   private static final int UNKNOWN_TABLE_ROW_COUNT = -1;
   private static final String TABLE_ROW_COUNT_KEY = "schemacrawler.table.count";
+  private static final String TABLE_ROW_COUNT_ESTIMATED_KEY = "schemacrawler.table.count.estimated";
+
+  /**
+   * Key for row counts in a catalog analysis cache, which depends on
+   * how the row counts are obtained.
+   *
+   * @param countsOptions
+   *        Options for obtaining row counts
+   * @return Analysis cache key
+   */
+  public static String getCountsAnalysisKey(final CountsOptions countsOptions)
+  {
+    requireNonNull(countsOptions, "No counts options provided");
+    final CountsMode countsMode = countsOptions.getCountsMode();
+    if (countsMode == CountsMode.exact)
+    {
+      return String.format("%s.%s", TABLE_ROW_COUNT_KEY, countsMode);
+    }
+    else
+    {
+      return String.format("%s.%s.%d",
+                           TABLE_ROW_COUNT_KEY,
+                           countsMode,
+                           countsOptions.getExactCountThreshold());
+    }
+  }
 
   public static final long getRowCount(final Table table)
   {
@@ -73,9 +99,25 @@ public final class CountsUtility
     }
   }
 
+  /**
+   * Message for the row count of a table, with estimated row counts
+   * marked as such.
+   *
+   * @param table
+   *        Table
+   * @return Message for the row count
+   */
   public static final String getRowCountMessage(final Table table)
   {
-    return getRowCountMessage(getRowCount(table));
+    final long rowCount = getRowCount(table);
+    if (isRowCountEstimated(table))
+    {
+      return String.format("~%,d rows", Math.max(rowCount, 0));
+    }
+    else
+    {
+      return getRowCountMessage(rowCount);
+    }
   }
 
   public static final boolean hasRowCount(final Table table)
@@ -83,17 +125,47 @@ public final class CountsUtility
     return table != null && table.hasAttribute(TABLE_ROW_COUNT_KEY);
   }
 
+  /**
+   * Whether the row count of a table is an estimate from database
+   * statistics, rather than an exact count.
+   *
+   * @param table
+   *        Table
+   * @return Whether the row count is an estimate
+   */
+  public static final boolean isRowCountEstimated(final Table table)
+  {
+    return hasRowCount(table)
+           && table.getAttribute(TABLE_ROW_COUNT_ESTIMATED_KEY, false);
+  }
+
   static void addRowCountToTable(final Table table, final long rowCount)
+  {
+    addRowCountToTable(table, rowCount, false);
+  }
+
+  static void addRowCountToTable(final Table table,
+                                 final long rowCount,
+                                 final boolean isEstimated)
   {
     if (table != null)
     {
       if (rowCount >= 0)
       {
         table.setAttribute(TABLE_ROW_COUNT_KEY, rowCount);
+        if (isEstimated)
+        {
+          table.setAttribute(TABLE_ROW_COUNT_ESTIMATED_KEY, true);
+        }
+        else
+        {
+          table.removeAttribute(TABLE_ROW_COUNT_ESTIMATED_KEY);
+        }
       }
       else
       {
         table.removeAttribute(TABLE_ROW_COUNT_KEY);
+        table.removeAttribute(TABLE_ROW_COUNT_ESTIMATED_KEY);
       }
     }
   }
@@ -61,8 +61,10 @@ class TableCountFilter
     final boolean hideTable;
     if (hideEmptyTables)
     {
+      // Estimates may be out of date, so only hide tables that are
+      // known to be empty
       final long count = CountsUtility.getRowCount(table);
-      hideTable = count == 0;
+      hideTable = count == 0 && !CountsUtility.isRowCountEstimated(table);
     }
     else
     {
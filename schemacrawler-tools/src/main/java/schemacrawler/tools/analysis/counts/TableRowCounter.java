@@ -0,0 +1,307 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2018, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+package schemacrawler.tools.analysis.counts;
+
+
+import static java.util.Objects.requireNonNull;
+import static schemacrawler.utility.QueryUtility.executeAgainstTable;
+import static sf.util.DatabaseUtility.createStatement;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+
+import schemacrawler.schema.Table;
+import schemacrawler.tools.executable.ConnectionSupplier;
+import schemacrawler.tools.text.operation.Operation;
+import schemacrawler.utility.Identifiers;
+import schemacrawler.utility.Query;
+import sf.util.SchemaCrawlerLogger;
+import sf.util.StringFormat;
+
+/**
+ * Counts rows in tables, either one table at a time on a single
+ * connection, or a number of tables at a time on connections from a
+ * connection supplier. Tables that cannot be counted, or that take
+ * longer than the query timeout, have an unknown count.
+ *
+ * @author Sualeh Fatehi
+ */
+final class TableRowCounter
+{
+
+  private static final SchemaCrawlerLogger LOGGER = SchemaCrawlerLogger
+    .getLogger(TableRowCounter.class.getName());
+
+  private final Connection connection;
+  private final Identifiers identifiers;
+  private final ConnectionSupplier connectionSupplier;
+  private final int parallelism;
+  private final int queryTimeout;
+  private final Query query;
+  private final AtomicInteger countedTables;
+  private int totalTables;
+
+  TableRowCounter(final Connection connection,
+                  final Identifiers identifiers,
+                  final CountsOptions countsOptions)
+  {
+    this.connection = requireNonNull(connection, "No connection provided");
+    this.identifiers = requireNonNull(identifiers,
+                                      "No identifiers provided");
+    requireNonNull(countsOptions, "No counts options provided");
+    connectionSupplier = countsOptions.getConnectionSupplier();
+    parallelism = countsOptions.getParallelism();
+    queryTimeout = countsOptions.getQueryTimeout();
+
+    query = Operation.count.getQuery();
+    countedTables = new AtomicInteger();
+  }
+
+  /**
+   * Counts rows in the given tables.
+   *
+   * @param tables
+   *        Tables to count rows in
+   * @return Row counts for tables, with a null count for tables where
+   *         the count is unknown
+   */
+  Map<Table, Long> count(final List<Table> tables)
+  {
+    requireNonNull(tables, "No tables provided");
+
+    totalTables = tables.size();
+    countedTables.set(0);
+
+    if (connectionSupplier == null || parallelism <= 1 || tables.size() <= 1)
+    {
+      final Map<Table, Long> counts = new HashMap<>();
+      for (final Table table: tables)
+      {
+        counts.put(table, countRows(connection, table));
+      }
+      return counts;
+    }
+    else
+    {
+      return countRowsInParallel(tables);
+    }
+  }
+
+  private Long countRows(final Connection countConnection,
+                         final Table table)
+  {
+    Long count = null;
+    try (final Statement statement = createStatement(countConnection);)
+    {
+      if (queryTimeout > 0)
+      {
+        statement.setQueryTimeout(queryTimeout);
+      }
+      try (final ResultSet results = executeAgainstTable(query,
+                                                         statement,
+                                                         table,
+                                                         true,
+                                                         identifiers);)
+      {
+        if (results != null && results.next())
+        {
+          count = results.getLong(1);
+        }
+        else
+        {
+          LOGGER
+            .log(Level.WARNING,
+                 new StringFormat("No count returned for table <%s>", table));
+        }
+      }
+    }
+    catch (final SQLTimeoutException e)
+    {
+      LOGGER.log(Level.INFO,
+                 new StringFormat("Timed out counting rows for table <%s>, after %d seconds",
+                                  table,
+                                  queryTimeout));
+    }
+    catch (final SQLException e)
+    {
+      LOGGER.log(Level.WARNING,
+                 new StringFormat("Could not get count for table <%s>",
+                                  table),
+                 e);
+    }
+
+    reportProgress(table);
+    return count;
+  }
+
+  private Map<Table, Long> countRowsInParallel(final List<Table> tables)
+  {
+    final int connectionsCount = Math.min(parallelism, tables.size());
+    final BlockingQueue<Connection> connections = new ArrayBlockingQueue<>(connectionsCount);
+    final ExecutorService executorService = Executors
+      .newFixedThreadPool(connectionsCount, runnable -> {
+        final Thread thread = new Thread(runnable, "schemacrawler-counts");
+        thread.setDaemon(true);
+        return thread;
+      });
+    try
+    {
+      try
+      {
+        for (int i = 0; i < connectionsCount; i++)
+        {
+          connections.add(connectionSupplier.get());
+        }
+      }
+      catch (final SQLException e)
+      {
+        LOGGER.log(Level.WARNING,
+                   "Could not open connections, so counting rows one table at a time",
+                   e);
+        final Map<Table, Long> counts = new HashMap<>();
+        for (final Table table: tables)
+        {
+          counts.put(table, countRows(connection, table));
+        }
+        return counts;
+      }
+
+      LOGGER.log(Level.INFO,
+                 new StringFormat("Counting rows in %d tables, on %d connections",
+                                  tables.size(),
+                                  connectionsCount));
+      final List<Future<Long>> futures = new ArrayList<>(tables.size());
+      for (final Table table: tables)
+      {
+        futures.add(executorService.submit(() -> {
+          final Connection pooledConnection = connections.take();
+          try
+          {
+            return countRows(pooledConnection, table);
+          }
+          finally
+          {
+            // Never blocks, since there are only as many connections as
+            // the capacity of the queue
+            connections.add(pooledConnection);
+          }
+        }));
+      }
+
+      final Map<Table, Long> counts = new HashMap<>();
+      for (int i = 0; i < tables.size(); i++)
+      {
+        final Table table = tables.get(i);
+        try
+        {
+          counts.put(table, futures.get(i).get());
+        }
+        catch (final InterruptedException e)
+        {
+          Thread.currentThread().interrupt();
+          LOGGER.log(Level.WARNING, "Interrupted while counting rows", e);
+          break;
+        }
+        catch (final ExecutionException e)
+        {
+          LOGGER.log(Level.WARNING,
+                     new StringFormat("Could not get count for table <%s>",
+                                      table),
+                     e.getCause());
+          counts.put(table, null);
+        }
+      }
+      return counts;
+    }
+    finally
+    {
+      executorService.shutdownNow();
+      try
+      {
+        // Wait for counts that are already running, so that their
+        // connections can be closed
+        while (!executorService.awaitTermination(1, TimeUnit.MINUTES))
+        {
+          LOGGER.log(Level.INFO, "Waiting for running counts to complete");
+        }
+      }
+      catch (final InterruptedException e)
+      {
+        Thread.currentThread().interrupt();
+      }
+
+      for (final Connection pooledConnection: connections)
+      {
+        try
+        {
+          pooledConnection.close();
+        }
+        catch (final SQLException e)
+        {
+          LOGGER.log(Level.WARNING, "Could not close connection", e);
+        }
+      }
+    }
+  }
+
+  private void reportProgress(final Table table)
+  {
+    final int counted = countedTables.incrementAndGet();
+    LOGGER.log(Level.FINE,
+               new StringFormat("Counted rows for table <%s>, %d of %d",
+                                table,
+                                counted,
+                                totalTables));
+    // Report about every tenth of the way through
+    final int step = Math.max(1, totalTables / 10);
+    if (counted % step == 0 || counted == totalTables)
+    {
+      LOGGER.log(Level.INFO,
+                 new StringFormat("Counted rows for %d of %d tables",
+                                  counted,
+                                  totalTables));
+    }
+  }
+
+}
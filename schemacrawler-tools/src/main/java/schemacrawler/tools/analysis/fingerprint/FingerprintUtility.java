@@ -0,0 +1,231 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2018, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+package schemacrawler.tools.analysis.fingerprint;
+
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import schemacrawler.schema.AttributedObject;
+import schemacrawler.schema.Catalog;
+import schemacrawler.schema.Column;
+import schemacrawler.schema.Routine;
+import schemacrawler.schema.Schema;
+import schemacrawler.schema.Table;
+import sf.util.UtilityMarker;
+
+/**
+ * Stable fingerprints of the structure of a catalog. Fingerprints are
+ * computed for columns, tables, routines, schemas and the catalog, and
+ * each fingerprint is built from the fingerprints of the objects it
+ * contains. Fingerprints are kept as attributes of the objects, so they
+ * are saved with offline snapshots. Two catalogs can be compared from
+ * the top down, by only descending into objects whose fingerprints
+ * differ.
+ */
+@UtilityMarker
+public final class FingerprintUtility
+{
+
+  private static final String FINGERPRINT_KEY = "schemacrawler.fingerprint";
+
+  /**
+   * Computes fingerprints for all objects in the catalog, replacing any
+   * previously computed fingerprints.
+   *
+   * @param catalog
+   *        Catalog to fingerprint
+   * @return Fingerprint of the catalog
+   */
+  public static String addFingerprints(final Catalog catalog)
+  {
+    final Map<AttributedObject, String> fingerprints = computeFingerprints(catalog);
+    for (final Map.Entry<AttributedObject, String> fingerprint: fingerprints
+      .entrySet())
+    {
+      fingerprint.getKey().setAttribute(FINGERPRINT_KEY,
+                                        fingerprint.getValue());
+    }
+    return fingerprints.get(catalog);
+  }
+
+  /**
+   * Computes fingerprints for all objects in the catalog, and copies
+   * the attributes of each object along with its fingerprint, so that
+   * fingerprints can be saved with a snapshot without changing the
+   * catalog.
+   *
+   * @param catalog
+   *        Catalog to fingerprint
+   * @return Attributes with fingerprints of the catalog, and of its
+   *         schemas, tables, routines and columns, by object identity
+   */
+  public static Map<AttributedObject, Map<String, Object>> attributesWithFingerprints(final Catalog catalog)
+  {
+    final Map<AttributedObject, Map<String, Object>> attributes = new IdentityHashMap<>();
+    for (final Map.Entry<AttributedObject, String> fingerprint: computeFingerprints(catalog)
+      .entrySet())
+    {
+      final AttributedObject object = fingerprint.getKey();
+      final Map<String, Object> objectAttributes = new HashMap<>(object
+        .getAttributes());
+      objectAttributes.put(FINGERPRINT_KEY, fingerprint.getValue());
+      attributes.put(object, objectAttributes);
+    }
+    return attributes;
+  }
+
+  /**
+   * Computes fingerprints for all objects in the catalog, without
+   * changing the catalog.
+   *
+   * @param catalog
+   *        Catalog to fingerprint
+   * @return Fingerprints of the catalog, and of its schemas, tables,
+   *         routines and columns, by object identity
+   */
+  public static Map<AttributedObject, String> computeFingerprints(final Catalog catalog)
+  {
+    requireNonNull(catalog, "No catalog provided");
+
+    final Map<AttributedObject, String> fingerprints = new IdentityHashMap<>();
+    final Fingerprinter fingerprinter = new Fingerprinter();
+    final Collection<Schema> schemas = catalog.getSchemas();
+    final List<String> schemaFingerprints = new ArrayList<>(schemas.size());
+    for (final Schema schema: schemas)
+    {
+      final Collection<Table> tables = catalog.getTables(schema);
+      final List<String> tableFingerprints = new ArrayList<>(tables.size());
+      for (final Table table: tables)
+      {
+        final List<Column> columns = table.getColumns();
+        final List<String> columnFingerprints = new ArrayList<>(columns
+          .size());
+        for (final Column column: columns)
+        {
+          columnFingerprints
+            .add(putFingerprint(fingerprints,
+                                column,
+                                fingerprinter.fingerprint(column)));
+        }
+        tableFingerprints
+          .add(putFingerprint(fingerprints,
+                              table,
+                              fingerprinter.fingerprint(table,
+                                                        columnFingerprints)));
+      }
+
+      final Collection<Routine> routines = catalog.getRoutines(schema);
+      final List<String> routineFingerprints = new ArrayList<>(routines
+        .size());
+      for (final Routine routine: routines)
+      {
+        routineFingerprints
+          .add(putFingerprint(fingerprints,
+                              routine,
+                              fingerprinter.fingerprint(routine)));
+      }
+
+      schemaFingerprints
+        .add(putFingerprint(fingerprints,
+                            schema,
+                            fingerprinter
+                              .fingerprint(schema,
+                                           tableFingerprints,
+                                           routineFingerprints,
+                                           catalog.getSequences(schema),
+                                           catalog.getSynonyms(schema))));
+    }
+
+    putFingerprint(fingerprints,
+                   catalog,
+                   fingerprinter.fingerprint(catalog, schemaFingerprints));
+    return fingerprints;
+  }
+
+  /**
+   * Gets a previously computed fingerprint.
+   *
+   * @param object
+   *        Catalog, schema, table, routine or column
+   * @return Fingerprint, or null if none was computed
+   */
+  public static String getFingerprint(final AttributedObject object)
+  {
+    if (object == null)
+    {
+      return null;
+    }
+    return object.getAttribute(FINGERPRINT_KEY, null);
+  }
+
+  public static boolean hasFingerprint(final AttributedObject object)
+  {
+    return object != null && object.hasAttribute(FINGERPRINT_KEY);
+  }
+
+  /**
+   * Checks whether two objects have the same structure, going by their
+   * fingerprints. Objects without fingerprints never match, so that
+   * they are compared in detail.
+   *
+   * @param object1
+   *        Object to compare
+   * @param object2
+   *        Object to compare
+   * @return True only if both objects have matching fingerprints
+   */
+  public static boolean isFingerprintMatch(final AttributedObject object1,
+                                           final AttributedObject object2)
+  {
+    final String fingerprint1 = getFingerprint(object1);
+    return fingerprint1 != null
+           && Objects.equals(fingerprint1, getFingerprint(object2));
+  }
+
+  private static String putFingerprint(final Map<AttributedObject, String> fingerprints,
+                                       final AttributedObject object,
+                                       final String fingerprint)
+  {
+    fingerprints.put(object, fingerprint);
+    return fingerprint;
+  }
+
+  private FingerprintUtility()
+  {
+    // Prevent instantiation
+  }
+
+}
@@ -0,0 +1,254 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2018, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+package schemacrawler.tools.analysis.fingerprint;
+
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+
+import schemacrawler.schema.Catalog;
+import schemacrawler.schema.Column;
+import schemacrawler.schema.ColumnDataType;
+import schemacrawler.schema.DatabaseObject;
+import schemacrawler.schema.ForeignKey;
+import schemacrawler.schema.ForeignKeyColumnReference;
+import schemacrawler.schema.Index;
+import schemacrawler.schema.IndexColumn;
+import schemacrawler.schema.PrimaryKey;
+import schemacrawler.schema.Routine;
+import schemacrawler.schema.RoutineColumn;
+import schemacrawler.schema.Schema;
+import schemacrawler.schema.Sequence;
+import schemacrawler.schema.Synonym;
+import schemacrawler.schema.Table;
+
+/**
+ * Computes fingerprints bottom-up, so that the fingerprint of a table
+ * is built from the fingerprints of its columns, the fingerprint of a
+ * schema from those of its tables and routines, and the fingerprint of
+ * the catalog from those of its schemas. Every value is length-prefixed
+ * before it is digested, so that adjacent values cannot run into each
+ * other.
+ */
+final class Fingerprinter
+{
+
+  /**
+   * Fingerprints are the first 128 bits of the SHA-256 digest.
+   */
+  private static final int FINGERPRINT_BYTES = 16;
+  private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+  private static String typeOf(final ColumnDataType columnDataType)
+  {
+    if (columnDataType == null)
+    {
+      return null;
+    }
+    return columnDataType.getDatabaseSpecificTypeName();
+  }
+
+  private final MessageDigest digest;
+
+  Fingerprinter()
+  {
+    try
+    {
+      digest = MessageDigest.getInstance("SHA-256");
+    }
+    catch (final NoSuchAlgorithmException e)
+    {
+      // Every Java platform is required to support SHA-256
+      throw new IllegalStateException(e);
+    }
+  }
+
+  String fingerprint(final Catalog catalog, final List<String> schemaFingerprints)
+  {
+    add(catalog.getName());
+    for (final String schemaFingerprint: schemaFingerprints)
+    {
+      add(schemaFingerprint);
+    }
+    return finish();
+  }
+
+  String fingerprint(final Column column)
+  {
+    add(column.getName());
+    add(typeOf(column.getColumnDataType()));
+    add(column.getSize());
+    add(column.getDecimalDigits());
+    add(column.isNullable());
+    add(column.getDefaultValue());
+    add(column.isAutoIncremented());
+    add(column.isGenerated());
+    return finish();
+  }
+
+  String fingerprint(final Routine routine)
+  {
+    add(routine.getName());
+    add(routine.getSpecificName());
+    add(routine.getRoutineType());
+    add(routine.getReturnType());
+    final List<RoutineColumn<? extends Routine>> columns = routine
+      .getColumns();
+    for (final RoutineColumn<? extends Routine> column: columns)
+    {
+      add(column.getName());
+      add(column.getColumnType());
+      add(column.getOrdinalPosition());
+      add(typeOf(column.getColumnDataType()));
+      add(column.getSize());
+      add(column.getDecimalDigits());
+    }
+    return finish();
+  }
+
+  String fingerprint(final Schema schema,
+                     final List<String> tableFingerprints,
+                     final List<String> routineFingerprints,
+                     final Iterable<Sequence> sequences,
+                     final Iterable<Synonym> synonyms)
+  {
+    add(schema.getFullName());
+    for (final String tableFingerprint: tableFingerprints)
+    {
+      add(tableFingerprint);
+    }
+    add("routines");
+    for (final String routineFingerprint: routineFingerprints)
+    {
+      add(routineFingerprint);
+    }
+    add("sequences");
+    for (final Sequence sequence: sequences)
+    {
+      add(sequence.getName());
+      add(sequence.getIncrement());
+      add(sequence.getMinimumValue());
+      add(sequence.getMaximumValue());
+      add(sequence.isCycle());
+    }
+    add("synonyms");
+    for (final Synonym synonym: synonyms)
+    {
+      add(synonym.getName());
+      final DatabaseObject referencedObject = synonym.getReferencedObject();
+      add(referencedObject == null? null: referencedObject.getFullName());
+    }
+    return finish();
+  }
+
+  String fingerprint(final Table table, final List<String> columnFingerprints)
+  {
+    add(table.getName());
+    add(table.getTableType());
+    for (final String columnFingerprint: columnFingerprints)
+    {
+      add(columnFingerprint);
+    }
+
+    add("primary key");
+    final PrimaryKey primaryKey = table.getPrimaryKey();
+    if (primaryKey != null)
+    {
+      for (final Column column: primaryKey.getColumns())
+      {
+        add(column.getName());
+      }
+    }
+
+    add("indexes");
+    for (final Index index: table.getIndexes())
+    {
+      add(index.getName());
+      add(index.isUnique());
+      add(index.getIndexType());
+      for (final IndexColumn column: index.getColumns())
+      {
+        add(column.getName());
+        add(column.getSortSequence());
+      }
+    }
+
+    add("foreign keys");
+    for (final ForeignKey foreignKey: table.getImportedForeignKeys())
+    {
+      add(foreignKey.getName());
+      add(foreignKey.getUpdateRule());
+      add(foreignKey.getDeleteRule());
+      for (final ForeignKeyColumnReference reference: foreignKey
+        .getColumnReferences())
+      {
+        add(reference.getForeignKeyColumn().getFullName());
+        add(reference.getPrimaryKeyColumn().getFullName());
+      }
+    }
+    return finish();
+  }
+
+  private void add(final Object value)
+  {
+    if (value == null)
+    {
+      addLength(-1);
+    }
+    else
+    {
+      final byte[] bytes = String.valueOf(value).getBytes(UTF_8);
+      addLength(bytes.length);
+      digest.update(bytes);
+    }
+  }
+
+  private void addLength(final int length)
+  {
+    digest.update((byte) (length >>> 24));
+    digest.update((byte) (length >>> 16));
+    digest.update((byte) (length >>> 8));
+    digest.update((byte) length);
+  }
+
+  private String finish()
+  {
+    final byte[] hash = digest.digest();
+    final char[] hex = new char[FINGERPRINT_BYTES * 2];
+    for (int i = 0; i < FINGERPRINT_BYTES; i++)
+    {
+      hex[i * 2] = HEX[(hash[i] >> 4) & 0xF];
+      hex[i * 2 + 1] = HEX[hash[i] & 0xF];
+    }
+    return new String(hex);
+  }
+
+}
@@ -30,11 +30,16 @@ package schemacrawler.tools.executable;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.logging.Level;
 
 import schemacrawler.schemacrawler.SchemaCrawlerException;
 import schemacrawler.tools.options.OutputOptions;
 import sf.util.SchemaCrawlerLogger;
+import sf.util.StringFormat;
 
 /**
  * Allows chaining multiple scCommands with the same configuration. The
@@ -48,6 +53,8 @@ abstract class BaseCommandChain
   private static final SchemaCrawlerLogger LOGGER = SchemaCrawlerLogger
     .getLogger(BaseCommandChain.class.getName());
 
+  private static final String CHAIN_PARALLELISM = "schemacrawler.chain.parallelism";
+
   private final List<SchemaCrawlerCommand> scCommands;
   private final CommandRegistry commandRegistry;
 
@@ -74,9 +81,12 @@ abstract class BaseCommandChain
       }
 
       scCommand.setAdditionalConfiguration(additionalConfiguration);
+      scCommand.setAnalysisCache(analysisCache);
       scCommand.setCatalog(catalog);
       scCommand.setConnection(connection);
+      scCommand.setConnectionSupplier(connectionSupplier);
       scCommand.setIdentifiers(identifiers);
+      scCommand.setInformationSchemaViews(informationSchemaViews);
 
       scCommands.add(scCommand);
 
@@ -98,9 +108,113 @@ abstract class BaseCommandChain
       return;
     }
 
-    for (final SchemaCrawlerCommand scCommand: scCommands)
+    final int parallelism = getChainParallelism();
+    if (parallelism <= 1 || scCommands.size() <= 1)
+    {
+      for (final SchemaCrawlerCommand scCommand: scCommands)
+      {
+        scCommand.execute();
+      }
+      return;
+    }
+
+    final ExecutorService executorService = Executors
+      .newFixedThreadPool(parallelism, runnable -> {
+        final Thread thread = new Thread(runnable, "schemacrawler-chain");
+        thread.setDaemon(true);
+        return thread;
+      });
+    try
+    {
+      // Read-only commands run at the same time as each other, but
+      // commands that change the catalog, or use the connection, run
+      // on their own, in the order that they were chained
+      final List<SchemaCrawlerCommand> readOnlyCommands = new ArrayList<>();
+      for (final SchemaCrawlerCommand scCommand: scCommands)
+      {
+        if (scCommand.isReadOnly())
+        {
+          readOnlyCommands.add(scCommand);
+        }
+        else
+        {
+          executeConcurrently(executorService, readOnlyCommands);
+          readOnlyCommands.clear();
+
+          scCommand.execute();
+        }
+      }
+      executeConcurrently(executorService, readOnlyCommands);
+    }
+    finally
+    {
+      executorService.shutdownNow();
+    }
+  }
+
+  /**
+   * Number of read-only commands in the chain that can run at the same
+   * time, from the "schemacrawler.chain.parallelism" option.
+   *
+   * @return Number of commands to run at the same time
+   */
+  protected final int getChainParallelism()
+  {
+    return Math.max(1, additionalConfiguration
+      .getIntegerValue(CHAIN_PARALLELISM, 1));
+  }
+
+  private void executeConcurrently(final ExecutorService executorService,
+                                   final List<SchemaCrawlerCommand> readOnlyCommands)
+    throws Exception
+  {
+    if (readOnlyCommands.isEmpty())
+    {
+      return;
+    }
+    if (readOnlyCommands.size() == 1)
+    {
+      readOnlyCommands.get(0).execute();
+      return;
+    }
+
+    LOGGER.log(Level.INFO,
+               new StringFormat("Running %d read-only commands at the same time",
+                                readOnlyCommands.size()));
+    final List<Future<?>> futures = new ArrayList<>();
+    for (final SchemaCrawlerCommand scCommand: readOnlyCommands)
+    {
+      futures.add(executorService.submit(() -> {
+        scCommand.execute();
+        return null;
+      }));
+    }
+
+    // Wait for every command to complete, so that none are still
+    // writing output, before reporting the first failure
+    Exception exception = null;
+    for (final Future<?> future: futures)
+    {
+      try
+      {
+        future.get();
+      }
+      catch (final ExecutionException e)
+      {
+        final Throwable cause = e.getCause();
+        if (cause instanceof Error)
+        {
+          throw (Error) cause;
+        }
+        if (exception == null)
+        {
+          exception = (Exception) cause;
+        }
+      }
+    }
+    if (exception != null)
     {
-      scCommand.execute();
+      throw exception;
     }
   }
 
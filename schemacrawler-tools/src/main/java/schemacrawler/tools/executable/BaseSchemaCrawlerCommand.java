@@ -36,8 +36,10 @@ import java.sql.Connection;
 
 import schemacrawler.schema.Catalog;
 import schemacrawler.schemacrawler.Config;
+import schemacrawler.schemacrawler.InformationSchemaViews;
 import schemacrawler.schemacrawler.SchemaCrawlerOptions;
 import schemacrawler.schemacrawler.SchemaCrawlerOptionsBuilder;
+import schemacrawler.tools.analysis.CatalogAnalysisCache;
 import schemacrawler.tools.options.OutputOptions;
 import schemacrawler.tools.options.OutputOptionsBuilder;
 import schemacrawler.utility.Identifiers;
@@ -58,8 +60,11 @@ public abstract class BaseSchemaCrawlerCommand
   protected OutputOptions outputOptions;
   protected Config additionalConfiguration;
   protected Identifiers identifiers;
+  protected InformationSchemaViews informationSchemaViews;
   protected Connection connection;
+  protected ConnectionSupplier connectionSupplier;
   protected Catalog catalog;
+  protected CatalogAnalysisCache analysisCache;
 
   protected BaseSchemaCrawlerCommand(final String command)
   {
@@ -73,6 +78,7 @@ public abstract class BaseSchemaCrawlerCommand
       .newSchemaCrawlerOptions();
     outputOptions = OutputOptionsBuilder.newOutputOptions();
     additionalConfiguration = new Config();
+    analysisCache = new CatalogAnalysisCache();
   }
 
   @Override
@@ -94,6 +100,12 @@ public abstract class BaseSchemaCrawlerCommand
     return additionalConfiguration;
   }
 
+  @Override
+  public CatalogAnalysisCache getAnalysisCache()
+  {
+    return analysisCache;
+  }
+
   @Override
   public Catalog getCatalog()
   {
@@ -115,12 +127,24 @@ public abstract class BaseSchemaCrawlerCommand
     return connection;
   }
 
+  @Override
+  public ConnectionSupplier getConnectionSupplier()
+  {
+    return connectionSupplier;
+  }
+
   @Override
   public Identifiers getIdentifiers()
   {
     return identifiers;
   }
 
+  @Override
+  public InformationSchemaViews getInformationSchemaViews()
+  {
+    return informationSchemaViews;
+  }
+
   /**
    * {@inheritDoc}
    */
@@ -152,6 +176,19 @@ public abstract class BaseSchemaCrawlerCommand
     }
   }
 
+  @Override
+  public void setAnalysisCache(final CatalogAnalysisCache analysisCache)
+  {
+    if (analysisCache == null)
+    {
+      this.analysisCache = new CatalogAnalysisCache();
+    }
+    else
+    {
+      this.analysisCache = analysisCache;
+    }
+  }
+
   @Override
   public void setCatalog(final Catalog catalog)
   {
@@ -164,12 +201,31 @@ public abstract class BaseSchemaCrawlerCommand
     this.connection = connection;
   }
 
+  @Override
+  public void setConnectionSupplier(final ConnectionSupplier connectionSupplier)
+  {
+    this.connectionSupplier = connectionSupplier;
+  }
+
   @Override
   public void setIdentifiers(final Identifiers identifiers)
   {
     this.identifiers = identifiers;
   }
 
+  @Override
+  public void setInformationSchemaViews(final InformationSchemaViews informationSchemaViews)
+  {
+    if (informationSchemaViews == null)
+    {
+      this.informationSchemaViews = new InformationSchemaViews();
+    }
+    else
+    {
+      this.informationSchemaViews = informationSchemaViews;
+    }
+  }
+
   /**
    * {@inheritDoc}
    */
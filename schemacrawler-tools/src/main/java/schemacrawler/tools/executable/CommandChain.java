@@ -68,9 +68,12 @@ public final class CommandChain
     setAdditionalConfiguration(scCommand.getAdditionalConfiguration());
     setOutputOptions(scCommand.getOutputOptions());
 
+    setAnalysisCache(scCommand.getAnalysisCache());
     setCatalog(scCommand.getCatalog());
     setConnection(scCommand.getConnection());
+    setConnectionSupplier(scCommand.getConnectionSupplier());
     setIdentifiers(scCommand.getIdentifiers());
+    setInformationSchemaViews(scCommand.getInformationSchemaViews());
   }
 
   public final SchemaCrawlerCommand addNext(final String command,
@@ -28,8 +28,22 @@ http://www.gnu.org/licenses/
 package schemacrawler.tools.executable;
 
 
+import static java.nio.file.Files.deleteIfExists;
+import static java.nio.file.Files.exists;
+import static java.nio.file.Files.newBufferedReader;
+import static sf.util.IOUtility.copy;
+import static sf.util.IOUtility.createTempFilePath;
+
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
 import schemacrawler.schemacrawler.Config;
 import schemacrawler.schemacrawler.SchemaCrawlerException;
+import schemacrawler.tools.options.OutputOptionsBuilder;
 import schemacrawler.tools.text.base.CommonTextOptionsBuilder;
 
 /**
@@ -60,6 +74,7 @@ public final class CommandDaisyChain
       throw new SchemaCrawlerException("No command specified");
     }
 
+    final List<SchemaCrawlerCommand> scCommands = new ArrayList<>();
     for (final String command: commands)
     {
       final SchemaCrawlerCommand scCommand = addNextAndConfigureForExecution(command,
@@ -68,6 +83,7 @@ public final class CommandDaisyChain
       {
         continue;
       }
+      scCommands.add(scCommand);
 
       final CommonTextOptionsBuilder commonTextOptions = new CommonTextOptionsBuilder();
       commonTextOptions.fromConfig(additionalConfiguration);
@@ -108,8 +124,64 @@ public final class CommandDaisyChain
 
     }
 
-    executeChain();
+    if (getChainParallelism() > 1 && scCommands.size() > 1)
+    {
+      executeChainWithSeparateOutput(scCommands);
+    }
+    else
+    {
+      executeChain();
+    }
+
+  }
 
+  /**
+   * Commands that run at the same time cannot append to the same
+   * output, so every command after the first writes to its own
+   * temporary file. The temporary files are appended to the output in
+   * the order of the commands, once all the commands have run.
+   */
+  private void executeChainWithSeparateOutput(final List<SchemaCrawlerCommand> scCommands)
+    throws Exception
+  {
+    final List<Path> outputFiles = new ArrayList<>();
+    try
+    {
+      for (int i = 1; i < scCommands.size(); i++)
+      {
+        final SchemaCrawlerCommand scCommand = scCommands.get(i);
+        final Path outputFile = createTempFilePath("chain", "out");
+        outputFiles.add(outputFile);
+        scCommand.setOutputOptions(new OutputOptionsBuilder(scCommand
+          .getOutputOptions()).withOutputFile(outputFile).toOptions());
+      }
+
+      executeChain();
+
+      final Charset outputCharset = outputOptions.getOutputCharset();
+      try (final Writer writer = outputOptions.openNewOutputWriter(true);)
+      {
+        for (final Path outputFile: outputFiles)
+        {
+          if (!exists(outputFile))
+          {
+            continue;
+          }
+          try (final Reader reader = newBufferedReader(outputFile,
+                                                       outputCharset);)
+          {
+            copy(reader, writer);
+          }
+        }
+      }
+    }
+    finally
+    {
+      for (final Path outputFile: outputFiles)
+      {
+        deleteIfExists(outputFile);
+      }
+    }
   }
 
 }
@@ -33,7 +33,9 @@ import java.sql.Connection;
 
 import schemacrawler.schema.Catalog;
 import schemacrawler.schemacrawler.Config;
+import schemacrawler.schemacrawler.InformationSchemaViews;
 import schemacrawler.schemacrawler.SchemaCrawlerOptions;
+import schemacrawler.tools.analysis.CatalogAnalysisCache;
 import schemacrawler.tools.options.OutputOptions;
 import schemacrawler.utility.Identifiers;
 
@@ -60,26 +62,63 @@ public interface SchemaCrawlerCommand
 
   Config getAdditionalConfiguration();
 
+  /**
+   * Results of analyzing the catalog, which are shared by commands
+   * that are chained together.
+   *
+   * @return Analysis cache
+   */
+  CatalogAnalysisCache getAnalysisCache();
+
   Catalog getCatalog();
 
   String getCommand();
 
   Connection getConnection();
 
+  /**
+   * Supplier of additional connections, which commands may use to run
+   * queries in parallel. May be null, in which case only the main
+   * connection is used.
+   *
+   * @return Supplier of connections, or null
+   */
+  ConnectionSupplier getConnectionSupplier();
+
   Identifiers getIdentifiers();
 
+  InformationSchemaViews getInformationSchemaViews();
+
   OutputOptions getOutputOptions();
 
   SchemaCrawlerOptions getSchemaCrawlerOptions();
 
+  /**
+   * Whether the command only reads the catalog, without changing the
+   * catalog, or using the database connection. Read-only commands in a
+   * chain can run at the same time as each other.
+   *
+   * @return Whether the command is read-only
+   */
+  default boolean isReadOnly()
+  {
+    return false;
+  }
+
   void setAdditionalConfiguration(Config config);
 
+  void setAnalysisCache(CatalogAnalysisCache analysisCache);
+
   void setCatalog(Catalog catalog);
 
   void setConnection(Connection connection);
 
+  void setConnectionSupplier(ConnectionSupplier connectionSupplier);
+
   void setIdentifiers(Identifiers identifiers);
 
+  void setInformationSchemaViews(InformationSchemaViews informationSchemaViews);
+
   void setOutputOptions(OutputOptions outputOptions);
 
   void setSchemaCrawlerOptions(SchemaCrawlerOptions schemaCrawlerOptions);
@@ -37,6 +37,8 @@ import static schemacrawler.filter.ReducerFactory.getTableReducer;
 import static sf.util.Utility.isBlank;
 
 import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.logging.Level;
 
 import schemacrawler.schema.Catalog;
@@ -56,6 +58,7 @@ import schemacrawler.tools.catalogloader.CatalogLoaderRegistry;
 import schemacrawler.tools.options.OutputOptions;
 import schemacrawler.tools.options.OutputOptionsBuilder;
 import schemacrawler.tools.text.operation.OperationCommand;
+import schemacrawler.tools.text.schema.SchemaTextRenderer;
 import schemacrawler.utility.SchemaCrawlerUtility;
 import sf.util.ObjectToString;
 import sf.util.SchemaCrawlerLogger;
@@ -80,9 +83,11 @@ public final class SchemaCrawlerExecutable
   protected final String command;
   protected SchemaCrawlerOptions schemaCrawlerOptions;
   protected OutputOptions outputOptions;
+  protected List<OutputOptions> additionalOutputOptions;
   protected Config additionalConfiguration;
   protected SchemaRetrievalOptions schemaRetrievalOptions;
   protected Connection connection;
+  protected ConnectionSupplier connectionSupplier;
 
   public SchemaCrawlerExecutable(final String command)
   {
@@ -95,6 +100,7 @@ public final class SchemaCrawlerExecutable
     schemaCrawlerOptions = SchemaCrawlerOptionsBuilder
       .newSchemaCrawlerOptions();
     outputOptions = OutputOptionsBuilder.newOutputOptions();
+    additionalOutputOptions = new ArrayList<>();
     additionalConfiguration = new Config();
   }
 
@@ -148,6 +154,11 @@ public final class SchemaCrawlerExecutable
     return additionalConfiguration;
   }
 
+  public final List<OutputOptions> getAdditionalOutputOptions()
+  {
+    return new ArrayList<>(additionalOutputOptions);
+  }
+
   public final String getCommand()
   {
     return command;
@@ -158,6 +169,11 @@ public final class SchemaCrawlerExecutable
     return connection;
   }
 
+  public ConnectionSupplier getConnectionSupplier()
+  {
+    return connectionSupplier;
+  }
+
   public final OutputOptions getOutputOptions()
   {
     return outputOptions;
@@ -185,11 +201,45 @@ public final class SchemaCrawlerExecutable
     }
   }
 
+  /**
+   * Sets outputs to write in addition to the main output, each with its
+   * own format and file. Schema text commands write all of the outputs
+   * from a single traversal of the catalog. Other commands only write
+   * the main output.
+   *
+   * @param additionalOutputOptions
+   *        Additional output options
+   */
+  public final void setAdditionalOutputOptions(final List<OutputOptions> additionalOutputOptions)
+  {
+    if (additionalOutputOptions == null)
+    {
+      this.additionalOutputOptions = new ArrayList<>();
+    }
+    else
+    {
+      this.additionalOutputOptions = new ArrayList<>(additionalOutputOptions);
+    }
+  }
+
   public void setConnection(final Connection connection)
   {
     this.connection = requireNonNull(connection, "No connection provided");
   }
 
+  /**
+   * Sets a supplier of additional connections, for commands that can
+   * run queries in parallel. The supplier is optional, and commands
+   * run on the single connection if it is not provided.
+   *
+   * @param connectionSupplier
+   *        Supplier of connections
+   */
+  public void setConnectionSupplier(final ConnectionSupplier connectionSupplier)
+  {
+    this.connectionSupplier = connectionSupplier;
+  }
+
   public final void setOutputOptions(final OutputOptions outputOptions)
   {
     if (outputOptions == null)
@@ -301,6 +351,21 @@ public final class SchemaCrawlerExecutable
     scCommand.setCatalog(catalog);
     scCommand.setConnection(connection);
     scCommand.setIdentifiers(schemaRetrievalOptions.getIdentifiers());
+    scCommand
+      .setInformationSchemaViews(schemaRetrievalOptions.getInformationSchemaViews());
+    scCommand.setConnectionSupplier(connectionSupplier);
+    if (scCommand instanceof SchemaTextRenderer)
+    {
+      ((SchemaTextRenderer) scCommand)
+        .setAdditionalOutputOptions(additionalOutputOptions);
+    }
+    else if (!additionalOutputOptions.isEmpty())
+    {
+      LOGGER
+        .log(Level.WARNING,
+             new StringFormat("Command <%s> does not support more than one output, so only writing the main output",
+                              getCommand()));
+    }
 
     scCommand.execute();
   }
@@ -0,0 +1,255 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2018, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+package schemacrawler.tools.iosource;
+
+
+import static java.util.Objects.requireNonNull;
+import static schemacrawler.tools.iosource.BlockCompressedOutputStream.BLOCK_SIZE;
+import static schemacrawler.tools.iosource.BlockCompressedOutputStream.FORMAT_VERSION;
+import static schemacrawler.tools.iosource.BlockCompressedOutputStream.MAGIC;
+import static schemacrawler.tools.iosource.BlockCompressedOutputStream.newCompressionExecutor;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * Reads a block-compressed container, written by
+ * {@link BlockCompressedOutputStream}. Blocks are read ahead, and
+ * decompressed in parallel on a pool of threads.
+ *
+ * @author Sualeh Fatehi
+ */
+final class BlockCompressedInputStream
+  extends InputStream
+{
+
+  /**
+   * Checks the header of a block-compressed container. The stream
+   * needs to support mark and reset, and is reset after the check.
+   *
+   * @param inputStream
+   *        Input stream
+   * @return Whether the stream is a block-compressed container
+   * @throws IOException
+   *         On an exception
+   */
+  static boolean isBlockCompressed(final InputStream inputStream)
+    throws IOException
+  {
+    inputStream.mark(4);
+    try
+    {
+      final DataInputStream in = new DataInputStream(inputStream);
+      return in.readInt() == MAGIC;
+    }
+    catch (final IOException e)
+    {
+      return false;
+    }
+    finally
+    {
+      inputStream.reset();
+    }
+  }
+
+  private static byte[] decompress(final byte[] compressed, final int length)
+    throws DataFormatException
+  {
+    final Inflater inflater = new Inflater();
+    try
+    {
+      inflater.setInput(compressed);
+      final byte[] block = new byte[length];
+      int count = 0;
+      while (count < length)
+      {
+        final int inflated = inflater.inflate(block, count, length - count);
+        if (inflated == 0 && (inflater.finished() || inflater.needsInput()))
+        {
+          throw new DataFormatException("Compressed block is truncated");
+        }
+        count = count + inflated;
+      }
+      return block;
+    }
+    finally
+    {
+      inflater.end();
+    }
+  }
+
+  private final DataInputStream in;
+  private final int maxPendingBlocks;
+  private final ExecutorService executor;
+  private final Deque<Future<byte[]>> pendingBlocks;
+  private byte[] block;
+  private int position;
+  private boolean endOfBlocks;
+  private boolean closed;
+
+  BlockCompressedInputStream(final InputStream in, final int threads)
+    throws IOException
+  {
+    requireNonNull(in, "No input stream provided");
+    if (threads < 1)
+    {
+      throw new IllegalArgumentException("Need at least one compression thread");
+    }
+
+    this.in = new DataInputStream(in);
+    if (this.in.readInt() != MAGIC)
+    {
+      throw new IOException("Not a block-compressed file");
+    }
+    final int formatVersion = this.in.readInt();
+    if (formatVersion != FORMAT_VERSION)
+    {
+      throw new IOException(String
+        .format("Cannot read block-compressed format version %d",
+                formatVersion));
+    }
+
+    maxPendingBlocks = threads * 2;
+    executor = newCompressionExecutor(threads);
+    pendingBlocks = new ArrayDeque<>();
+    block = new byte[0];
+  }
+
+  @Override
+  public int available()
+  {
+    return block.length - position;
+  }
+
+  @Override
+  public void close()
+    throws IOException
+  {
+    if (closed)
+    {
+      return;
+    }
+    closed = true;
+
+    executor.shutdownNow();
+    in.close();
+  }
+
+  @Override
+  public int read()
+    throws IOException
+  {
+    if (position == block.length && !nextBlock())
+    {
+      return -1;
+    }
+    return block[position++] & 0xFF;
+  }
+
+  @Override
+  public int read(final byte[] bytes, final int offset, final int length)
+    throws IOException
+  {
+    if (length == 0)
+    {
+      return 0;
+    }
+    if (position == block.length && !nextBlock())
+    {
+      return -1;
+    }
+    final int count = Math.min(length, block.length - position);
+    System.arraycopy(block, position, bytes, offset, count);
+    position = position + count;
+    return count;
+  }
+
+  private boolean nextBlock()
+    throws IOException
+  {
+    if (closed)
+    {
+      throw new IOException("Compressed input stream is closed");
+    }
+
+    readAhead();
+    if (pendingBlocks.isEmpty())
+    {
+      return false;
+    }
+
+    try
+    {
+      block = pendingBlocks.removeFirst().get();
+      position = 0;
+    }
+    catch (final InterruptedException e)
+    {
+      Thread.currentThread().interrupt();
+      throw new IOException("Interrupted while decompressing", e);
+    }
+    catch (final ExecutionException e)
+    {
+      throw new IOException("Could not decompress block", e.getCause());
+    }
+    return true;
+  }
+
+  private void readAhead()
+    throws IOException
+  {
+    while (!endOfBlocks && pendingBlocks.size() < maxPendingBlocks)
+    {
+      final int length = in.readInt();
+      if (length == 0)
+      {
+        endOfBlocks = true;
+        break;
+      }
+      final int compressedLength = in.readInt();
+      if (length < 0 || length > BLOCK_SIZE || compressedLength < 0)
+      {
+        throw new IOException("Corrupt block-compressed file");
+      }
+
+      final byte[] compressed = new byte[compressedLength];
+      in.readFully(compressed);
+      pendingBlocks.addLast(executor.submit(() -> decompress(compressed,
+                                                             length)));
+    }
+  }
+
+}
@@ -0,0 +1,260 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2018, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+package schemacrawler.tools.iosource;
+
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.Deflater;
+
+/**
+ * Writes a block-compressed container. Data is split into blocks of a
+ * fixed size, and each block is compressed independently on a pool of
+ * threads. Blocks are written in order, each preceded by its
+ * uncompressed and compressed lengths. The container ends with a block
+ * of zero length.
+ *
+ * @author Sualeh Fatehi
+ */
+final class BlockCompressedOutputStream
+  extends OutputStream
+{
+
+  static final int MAGIC = 0x5343425A; // "SCBZ"
+  static final int FORMAT_VERSION = 1;
+  static final int BLOCK_SIZE = 1 << 20;
+
+  static ExecutorService newCompressionExecutor(final int threads)
+  {
+    return Executors.newFixedThreadPool(threads, runnable -> {
+      final Thread thread = new Thread(runnable, "schemacrawler-compression");
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+
+  private static byte[] compress(final byte[] block, final int level)
+  {
+    final Deflater deflater = new Deflater(level);
+    try
+    {
+      deflater.setInput(block);
+      deflater.finish();
+
+      final ByteArrayOutputStream compressed = new ByteArrayOutputStream(block.length
+                                                                         / 2
+                                                                         + 64);
+      final byte[] buffer = new byte[8192];
+      while (!deflater.finished())
+      {
+        final int count = deflater.deflate(buffer);
+        compressed.write(buffer, 0, count);
+      }
+      return compressed.toByteArray();
+    }
+    finally
+    {
+      deflater.end();
+    }
+  }
+
+  private final DataOutputStream out;
+  private final int level;
+  private final int maxPendingBlocks;
+  private final ExecutorService executor;
+  private final Deque<Future<byte[]>> pendingBlocks;
+  private final Deque<Integer> pendingLengths;
+  private final byte[] buffer;
+  private int count;
+  private boolean closed;
+
+  BlockCompressedOutputStream(final OutputStream out,
+                              final int level,
+                              final int threads)
+    throws IOException
+  {
+    requireNonNull(out, "No output stream provided");
+    if (threads < 1)
+    {
+      throw new IllegalArgumentException("Need at least one compression thread");
+    }
+
+    this.out = new DataOutputStream(out);
+    this.level = level;
+    maxPendingBlocks = threads * 2;
+    executor = newCompressionExecutor(threads);
+    pendingBlocks = new ArrayDeque<>();
+    pendingLengths = new ArrayDeque<>();
+    buffer = new byte[BLOCK_SIZE];
+
+    this.out.writeInt(MAGIC);
+    this.out.writeInt(FORMAT_VERSION);
+  }
+
+  @Override
+  public void close()
+    throws IOException
+  {
+    if (closed)
+    {
+      return;
+    }
+    closed = true;
+
+    try
+    {
+      submitBlock();
+      while (!pendingBlocks.isEmpty())
+      {
+        writeNextBlock();
+      }
+      out.writeInt(0);
+      out.flush();
+    }
+    finally
+    {
+      executor.shutdownNow();
+      out.close();
+    }
+  }
+
+  /**
+   * Writes all blocks that have been compressed so far. Data that does
+   * not fill a block is held back until the block is full, or the
+   * stream is closed.
+   */
+  @Override
+  public void flush()
+    throws IOException
+  {
+    while (!pendingBlocks.isEmpty() && pendingBlocks.peekFirst().isDone())
+    {
+      writeNextBlock();
+    }
+    out.flush();
+  }
+
+  @Override
+  public void write(final byte[] bytes, final int offset, final int length)
+    throws IOException
+  {
+    checkOpen();
+    int position = offset;
+    int remaining = length;
+    while (remaining > 0)
+    {
+      final int chunk = Math.min(remaining, buffer.length - count);
+      System.arraycopy(bytes, position, buffer, count, chunk);
+      count = count + chunk;
+      position = position + chunk;
+      remaining = remaining - chunk;
+      if (count == buffer.length)
+      {
+        submitBlock();
+      }
+    }
+  }
+
+  @Override
+  public void write(final int b)
+    throws IOException
+  {
+    checkOpen();
+    buffer[count++] = (byte) b;
+    if (count == buffer.length)
+    {
+      submitBlock();
+    }
+  }
+
+  private void checkOpen()
+    throws IOException
+  {
+    if (closed)
+    {
+      throw new IOException("Compressed output stream is closed");
+    }
+  }
+
+  private void submitBlock()
+    throws IOException
+  {
+    if (count == 0)
+    {
+      return;
+    }
+
+    final byte[] block = Arrays.copyOf(buffer, count);
+    pendingBlocks.addLast(executor.submit(() -> compress(block, level)));
+    pendingLengths.addLast(count);
+    count = 0;
+
+    // Bound the memory held by blocks waiting to be written
+    while (pendingBlocks.size() >= maxPendingBlocks)
+    {
+      writeNextBlock();
+    }
+  }
+
+  private void writeNextBlock()
+    throws IOException
+  {
+    final Future<byte[]> pendingBlock = pendingBlocks.removeFirst();
+    final int length = pendingLengths.removeFirst();
+    final byte[] compressed;
+    try
+    {
+      compressed = pendingBlock.get();
+    }
+    catch (final InterruptedException e)
+    {
+      Thread.currentThread().interrupt();
+      throw new IOException("Interrupted while compressing", e);
+    }
+    catch (final ExecutionException e)
+    {
+      throw new IOException("Could not compress block", e.getCause());
+    }
+
+    out.writeInt(length);
+    out.writeInt(compressed.length);
+    out.write(compressed);
+  }
+
+}
@@ -32,6 +32,7 @@ import static java.nio.file.Files.newInputStream;
 import static java.util.Objects.requireNonNull;
 import static sf.util.IOUtility.isFileReadable;
 
+import java.io.BufferedInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
@@ -39,6 +40,7 @@ import java.io.Reader;
 import java.nio.charset.Charset;
 import java.nio.file.Path;
 import java.util.logging.Level;
+import java.util.zip.GZIPInputStream;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipInputStream;
 
@@ -77,19 +79,61 @@ public class CompressedFileInputResource
     return inputFile;
   }
 
-  @Override
-  public Reader openNewInputReader(final Charset charset)
+  /**
+   * Opens a binary stream to the compressed file, for input that is not
+   * character data.
+   *
+   * @return Input stream from the compressed file entry
+   * @throws IOException
+   *         On an exception
+   */
+  public InputStream openNewInputStream()
     throws IOException
   {
-    final InputStream fileStream = newInputStream(inputFile);
+    // Detect the codec from the file header, so that files written
+    // with any codec can be read
+    final InputStream fileStream = new BufferedInputStream(newInputStream(inputFile));
 
-    final ZipInputStream zipInputStream = new ZipInputStream(fileStream);
-    final ZipEntry zipEntry = zipInputStream.getNextEntry();
-    if (zipEntry == null || !zipEntry.getName().equals(internalPath))
+    final CompressionCodec compressionCodec;
+    final InputStream compressedStream;
+    if (BlockCompressedInputStream.isBlockCompressed(fileStream))
+    {
+      compressionCodec = CompressionCodec.block;
+      compressedStream = new BlockCompressedInputStream(fileStream,
+                                                        Runtime.getRuntime()
+                                                          .availableProcessors());
+    }
+    else if (isGzipCompressed(fileStream))
+    {
+      compressionCodec = CompressionCodec.gzip;
+      compressedStream = new GZIPInputStream(fileStream);
+    }
+    else
     {
-      throw new IOException("Zip file does not contain " + internalPath);
+      compressionCodec = CompressionCodec.zip;
+      final ZipInputStream zipInputStream = new ZipInputStream(fileStream);
+      final ZipEntry zipEntry = zipInputStream.getNextEntry();
+      if (zipEntry == null || !zipEntry.getName().equals(internalPath))
+      {
+        zipInputStream.close();
+        throw new IOException("Zip file does not contain " + internalPath);
+      }
+      compressedStream = zipInputStream;
     }
 
+    LOGGER.log(Level.INFO,
+               new StringFormat("Opened %s input stream to compressed file <%s>",
+                                compressionCodec,
+                                inputFile));
+    return compressedStream;
+  }
+
+  @Override
+  public Reader openNewInputReader(final Charset charset)
+    throws IOException
+  {
+    final InputStream zipInputStream = openNewInputStream();
+
     final Reader reader = new InputStreamReader(zipInputStream, charset);
     LOGGER.log(Level.INFO,
                new StringFormat("Opened input reader to compressed file <%s>",
@@ -98,6 +142,21 @@ public class CompressedFileInputResource
     return new InputReader(getDescription(), reader, true);
   }
 
+  private boolean isGzipCompressed(final InputStream inputStream)
+    throws IOException
+  {
+    inputStream.mark(2);
+    try
+    {
+      final int magic = inputStream.read() | inputStream.read() << 8;
+      return magic == GZIPInputStream.GZIP_MAGIC;
+    }
+    finally
+    {
+      inputStream.reset();
+    }
+  }
+
   @Override
   public String toString()
   {
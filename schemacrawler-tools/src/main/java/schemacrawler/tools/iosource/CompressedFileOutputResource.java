@@ -35,6 +35,7 @@ import static java.nio.file.StandardOpenOption.WRITE;
 import static java.util.Objects.requireNonNull;
 import static sf.util.IOUtility.isFileWritable;
 
+import java.io.BufferedOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
@@ -43,6 +44,8 @@ import java.nio.charset.Charset;
 import java.nio.file.OpenOption;
 import java.nio.file.Path;
 import java.util.logging.Level;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipOutputStream;
 
@@ -58,12 +61,50 @@ public final class CompressedFileOutputResource
 
   private final Path outputFile;
   private final String internalPath;
+  private final CompressionCodec compressionCodec;
+  private final int compressionLevel;
 
   public CompressedFileOutputResource(final Path outputFile,
                                       final String internalPath)
     throws IOException
+  {
+    this(outputFile,
+         internalPath,
+         CompressionCodec.zip,
+         Deflater.DEFAULT_COMPRESSION);
+  }
+
+  /**
+   * Compressed output file, with a given codec and compression level.
+   *
+   * @param outputFile
+   *        Output file
+   * @param internalPath
+   *        Name of the entry in zip files
+   * @param compressionCodec
+   *        Compression codec
+   * @param compressionLevel
+   *        Compression level, from 0 to 9, or -1 for the default level
+   *        of the codec
+   * @throws IOException
+   *         When the file cannot be written
+   */
+  public CompressedFileOutputResource(final Path outputFile,
+                                      final String internalPath,
+                                      final CompressionCodec compressionCodec,
+                                      final int compressionLevel)
+    throws IOException
   {
     requireNonNull(outputFile, "No output file provided");
+    this.compressionCodec = requireNonNull(compressionCodec,
+                                           "No compression codec provided");
+    if (compressionLevel < Deflater.DEFAULT_COMPRESSION
+        || compressionLevel > Deflater.BEST_COMPRESSION)
+    {
+      throw new IllegalArgumentException("Bad compression level, "
+                                         + compressionLevel);
+    }
+    this.compressionLevel = compressionLevel;
 
     this.outputFile = outputFile.normalize().toAbsolutePath();
     if (!isFileWritable(this.outputFile))
@@ -80,6 +121,65 @@ public final class CompressedFileOutputResource
     return outputFile;
   }
 
+  /**
+   * Opens a binary stream to the compressed file, for output that is
+   * not character data.
+   *
+   * @return Output stream to the compressed file entry
+   * @throws IOException
+   *         On an exception
+   */
+  public OutputStream openNewOutputStream()
+    throws IOException
+  {
+    final OpenOption[] openOptions = new OpenOption[] {
+                                                        WRITE,
+                                                        CREATE,
+                                                        TRUNCATE_EXISTING };
+    final OutputStream fileStream = newOutputStream(outputFile, openOptions);
+
+    final OutputStream compressedStream;
+    switch (compressionCodec)
+    {
+      case block:
+        compressedStream = new BlockCompressedOutputStream(new BufferedOutputStream(fileStream),
+                                                           compressionLevel,
+                                                           Runtime.getRuntime()
+                                                             .availableProcessors());
+        break;
+      case gzip:
+        compressedStream = new GZIPOutputStream(fileStream)
+        {
+          {
+            def.setLevel(compressionLevel);
+          }
+        };
+        break;
+      default:
+        final ZipOutputStream zipOutputStream = new ZipOutputStream(fileStream);
+        zipOutputStream.setLevel(compressionLevel);
+        zipOutputStream.putNextEntry(new ZipEntry(internalPath));
+        compressedStream = zipOutputStream;
+        break;
+    }
+
+    LOGGER.log(Level.INFO,
+               new StringFormat("Opened %s output stream to compressed file <%s>",
+                                compressionCodec,
+                                outputFile));
+    return compressedStream;
+  }
+
+  public CompressionCodec getCompressionCodec()
+  {
+    return compressionCodec;
+  }
+
+  public int getCompressionLevel()
+  {
+    return compressionLevel;
+  }
+
   @Override
   public Writer openNewOutputWriter(final Charset charset,
                                     final boolean appendOutput)
@@ -89,14 +189,7 @@ public final class CompressedFileOutputResource
     {
       throw new IOException("Cannot append to compressed file");
     }
-    final OpenOption[] openOptions = new OpenOption[] {
-                                                        WRITE,
-                                                        CREATE,
-                                                        TRUNCATE_EXISTING };
-    final OutputStream fileStream = newOutputStream(outputFile, openOptions);
-
-    final ZipOutputStream zipOutputStream = new ZipOutputStream(fileStream);
-    zipOutputStream.putNextEntry(new ZipEntry(internalPath));
+    final OutputStream zipOutputStream = openNewOutputStream();
 
     final Writer writer = new OutputStreamWriter(zipOutputStream, charset);
     LOGGER.log(Level.INFO,
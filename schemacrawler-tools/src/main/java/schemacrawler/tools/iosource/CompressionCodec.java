@@ -0,0 +1,53 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2018, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+package schemacrawler.tools.iosource;
+
+
+/**
+ * Codecs for compressed input and output files.
+ *
+ * @author Sualeh Fatehi
+ */
+public enum CompressionCodec
+{
+
+ /**
+  * Single zip file entry, which can be read by any zip tool.
+  */
+ zip,
+ /**
+  * GZIP stream, which avoids the zip file directory.
+  */
+ gzip,
+ /**
+  * Independently compressed blocks, which are compressed and
+  * decompressed in parallel.
+  */
+ block;
+
+}
@@ -33,6 +33,8 @@ import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.Objects.requireNonNull;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.Reader;
 import java.io.Writer;
 import java.nio.charset.Charset;
@@ -42,7 +44,9 @@ import java.util.UUID;
 
 import schemacrawler.schemacrawler.Options;
 import schemacrawler.schemacrawler.SchemaCrawlerException;
+import schemacrawler.tools.iosource.CompressedFileInputResource;
 import schemacrawler.tools.iosource.CompressedFileOutputResource;
+import schemacrawler.tools.iosource.CompressionCodec;
 import schemacrawler.tools.iosource.FileOutputResource;
 import schemacrawler.tools.iosource.InputResource;
 import schemacrawler.tools.iosource.OutputResource;
@@ -62,12 +66,16 @@ public final class OutputOptions
   private final String outputFormatValue;
   private final Charset inputEncodingCharset;
   private final Charset outputEncodingCharset;
+  private final CompressionCodec compressionCodec;
+  private final int compressionLevel;
 
   OutputOptions(final InputResource inputResource,
                 final Charset inputEncodingCharset,
                 final OutputResource outputResource,
                 final Charset outputEncodingCharset,
-                final String outputFormatValue)
+                final String outputFormatValue,
+                final CompressionCodec compressionCodec,
+                final int compressionLevel)
   {
     this.inputResource = requireNonNull(inputResource,
                                         "No input resource provided");
@@ -79,6 +87,26 @@ public final class OutputOptions
                                                 "No output encoding provided");
     this.outputFormatValue = requireNonNull(outputFormatValue,
                                             "No output format value provided");
+    this.compressionCodec = requireNonNull(compressionCodec,
+                                           "No compression codec provided");
+    this.compressionLevel = compressionLevel;
+  }
+
+  /**
+   * Codec for compressed output files.
+   */
+  public CompressionCodec getCompressionCodec()
+  {
+    return compressionCodec;
+  }
+
+  /**
+   * Compression level for compressed output files, from 0 to 9, or -1
+   * for the default level of the codec.
+   */
+  public int getCompressionLevel()
+  {
+    return compressionLevel;
   }
 
   /**
@@ -154,6 +182,24 @@ public final class OutputOptions
     return outputFormatValue;
   }
 
+  /**
+   * Gets a binary input stream. Only compressed input files support
+   * binary input.
+   *
+   * @throws IOException
+   *         If the input resource does not support binary input
+   */
+  public InputStream openNewInputStream()
+    throws IOException
+  {
+    if (inputResource instanceof CompressedFileInputResource)
+    {
+      return ((CompressedFileInputResource) inputResource)
+        .openNewInputStream();
+    }
+    throw new IOException("Cannot read binary input from " + inputResource);
+  }
+
   /**
    * Gets the input reader. If the input resource is null, first set it
    * to a value based off the output format value.
@@ -166,6 +212,24 @@ public final class OutputOptions
     return inputResource.openNewInputReader(inputEncodingCharset);
   }
 
+  /**
+   * Gets a binary output stream. Only compressed output files support
+   * binary output.
+   *
+   * @throws IOException
+   *         If the output resource does not support binary output
+   */
+  public OutputStream openNewOutputStream()
+    throws IOException
+  {
+    if (outputResource instanceof CompressedFileOutputResource)
+    {
+      return ((CompressedFileOutputResource) outputResource)
+        .openNewOutputStream();
+    }
+    throw new IOException("Cannot write binary output to " + outputResource);
+  }
+
   /**
    * Gets the output reader. If the output resource is null, first set
    * it to console output.
@@ -10,12 +10,14 @@ import java.io.Writer;
 import java.nio.charset.Charset;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.zip.Deflater;
 
 import schemacrawler.schemacrawler.Config;
 import schemacrawler.schemacrawler.OptionsBuilder;
 import schemacrawler.tools.iosource.ClasspathInputResource;
 import schemacrawler.tools.iosource.CompressedFileInputResource;
 import schemacrawler.tools.iosource.CompressedFileOutputResource;
+import schemacrawler.tools.iosource.CompressionCodec;
 import schemacrawler.tools.iosource.ConsoleOutputResource;
 import schemacrawler.tools.iosource.FileInputResource;
 import schemacrawler.tools.iosource.FileOutputResource;
@@ -32,6 +34,8 @@ public final class OutputOptionsBuilder
 
   private static final String SC_INPUT_ENCODING = "schemacrawler.encoding.input";
   private static final String SC_OUTPUT_ENCODING = "schemacrawler.encoding.output";
+  private static final String SC_COMPRESSION_CODEC = "schemacrawler.compression.codec";
+  private static final String SC_COMPRESSION_LEVEL = "schemacrawler.compression.level";
 
   public static OutputOptions newOutputOptions()
   {
@@ -76,10 +80,13 @@ public final class OutputOptionsBuilder
   private String outputFormatValue;
   private Charset inputEncodingCharset;
   private Charset outputEncodingCharset;
+  private CompressionCodec compressionCodec;
+  private int compressionLevel;
 
   public OutputOptionsBuilder()
   {
     // Default values are set at the time of building options
+    compressionLevel = Deflater.DEFAULT_COMPRESSION;
   }
 
   public OutputOptionsBuilder(final OutputOptions outputOptions)
@@ -91,6 +98,12 @@ public final class OutputOptionsBuilder
       inputEncodingCharset = outputOptions.getInputCharset();
       outputEncodingCharset = outputOptions.getOutputCharset();
       outputFormatValue = outputOptions.getOutputFormatValue();
+      compressionCodec = outputOptions.getCompressionCodec();
+      compressionLevel = outputOptions.getCompressionLevel();
+    }
+    else
+    {
+      compressionLevel = Deflater.DEFAULT_COMPRESSION;
     }
   }
 
@@ -111,7 +124,11 @@ public final class OutputOptionsBuilder
       .withInputEncoding(configProperties.getStringValue(SC_INPUT_ENCODING,
                                                          UTF_8.name()))
       .withOutputEncoding(configProperties.getStringValue(SC_OUTPUT_ENCODING,
-                                                          UTF_8.name()));
+                                                          UTF_8.name()))
+      .withCompressionCodec(configProperties
+        .getEnumValue(SC_COMPRESSION_CODEC, CompressionCodec.zip))
+      .withCompressionLevel(configProperties
+        .getIntegerValue(SC_COMPRESSION_LEVEL, Deflater.DEFAULT_COMPRESSION));
 
     return this;
   }
@@ -122,6 +139,9 @@ public final class OutputOptionsBuilder
     final Config config = new Config();
     config.setStringValue(SC_INPUT_ENCODING, inputEncodingCharset.name());
     config.setStringValue(SC_OUTPUT_ENCODING, outputEncodingCharset.name());
+    config.setEnumValue(SC_COMPRESSION_CODEC, compressionCodec);
+    config.setStringValue(SC_COMPRESSION_LEVEL,
+                          String.valueOf(compressionLevel));
     return config;
   }
 
@@ -140,12 +160,15 @@ public final class OutputOptionsBuilder
     {
       outputFormatValue = TextOutputFormat.text.name();
     }
+    withCompressionCodec(compressionCodec);
 
     return new OutputOptions(inputResource,
                              inputEncodingCharset,
                              outputResource,
                              outputEncodingCharset,
-                             outputFormatValue);
+                             outputFormatValue,
+                             compressionCodec,
+                             compressionLevel);
   }
 
   /**
@@ -169,8 +192,8 @@ public final class OutputOptionsBuilder
 
   /**
    * Sets the name of the output file for compressed output. It is
-   * important to note that the output encoding should be available at
-   * this point.
+   * important to note that the output encoding, and the compression
+   * codec and level should be available at this point.
    *
    * @param outputFileName
    *        Output file name.
@@ -180,11 +203,56 @@ public final class OutputOptionsBuilder
     throws IOException
   {
     requireNonNull(outputFile, "No output file provided");
+    withCompressionCodec(compressionCodec);
     outputResource = new CompressedFileOutputResource(outputFile,
-                                                      SCHEMACRAWLER_DATA);
+                                                      SCHEMACRAWLER_DATA,
+                                                      compressionCodec,
+                                                      compressionLevel);
+    return this;
+  }
+
+  public OutputOptionsBuilder withCompressionCodec(final CompressionCodec compressionCodec)
+  {
+    if (compressionCodec == null)
+    {
+      this.compressionCodec = CompressionCodec.zip;
+    }
+    else
+    {
+      this.compressionCodec = compressionCodec;
+    }
     return this;
   }
 
+  /**
+   * Sets the compression level for compressed output, from 0 for no
+   * compression to 9 for the best compression. A level of -1 uses the
+   * default level of the codec.
+   *
+   * @param compressionLevel
+   *        Compression level
+   */
+  public OutputOptionsBuilder withCompressionLevel(final int compressionLevel)
+  {
+    if (compressionLevel < Deflater.DEFAULT_COMPRESSION
+        || compressionLevel > Deflater.BEST_COMPRESSION)
+    {
+      throw new IllegalArgumentException("Bad compression level, "
+                                         + compressionLevel);
+    }
+    this.compressionLevel = compressionLevel;
+    return this;
+  }
+
+  /**
+   * Uses the fastest compression level for compressed output, trading
+   * file size for speed.
+   */
+  public OutputOptionsBuilder withFastCompression()
+  {
+    return withCompressionLevel(Deflater.BEST_SPEED);
+  }
+
   public OutputOptionsBuilder withConsoleOutput()
   {
     outputResource = new ConsoleOutputResource();
@@ -44,6 +44,7 @@ import schemacrawler.tools.text.utility.JsonFormattingHelper;
 import schemacrawler.tools.text.utility.org.json.JSONArray;
 import schemacrawler.tools.text.utility.org.json.JSONException;
 import schemacrawler.tools.text.utility.org.json.JSONObject;
+import schemacrawler.tools.text.utility.org.json.JSONStreamingWriter;
 import sf.util.SchemaCrawlerLogger;
 import sf.util.StringFormat;
 
@@ -60,6 +61,8 @@ public abstract class BaseJsonFormatter<O extends BaseTextOptions>
     .getLogger(BaseJsonFormatter.class.getName());
 
   protected final JSONObject jsonRoot;
+  private JSONStreamingWriter jsonStreamingWriter;
+  private String streamedKey;
 
   protected BaseJsonFormatter(final O options,
                               final boolean printVerboseDatabaseInfo,
@@ -88,7 +91,7 @@ public abstract class BaseJsonFormatter<O extends BaseTextOptions>
   public void end()
     throws SchemaCrawlerException
   {
-    ((JsonFormattingHelper) formattingHelper).write(jsonRoot);
+    writeJsonRoot();
 
     if (options.isNoFooter())
     {
@@ -268,6 +271,94 @@ public abstract class BaseJsonFormatter<O extends BaseTextOptions>
   {
   }
 
+  /**
+   * Accumulates a value under a key of the JSON root, writing it out
+   * straight away if values for that key are being streamed.
+   *
+   * @param key
+   *        Key of the JSON root
+   * @param value
+   *        Value to accumulate
+   * @throws JSONException
+   *         On an exception
+   */
+  protected void accumulate(final String key, final Object value)
+    throws JSONException
+  {
+    if (isStreaming(key))
+    {
+      jsonStreamingWriter.accumulate(value);
+    }
+    else
+    {
+      jsonRoot.accumulate(key, value);
+    }
+  }
+
+  /**
+   * Whether values for a key of the JSON root are written out as they
+   * are accumulated.
+   *
+   * @param key
+   *        Key of the JSON root
+   * @return Whether values for the key are streamed
+   */
+  protected boolean isStreaming(final String key)
+  {
+    return jsonStreamingWriter != null && key != null
+           && key.equals(streamedKey);
+  }
+
+  /**
+   * Writes values accumulated under a key of the JSON root as they
+   * arrive, rather than holding them in memory until the end. The
+   * output is the same as if the values had been accumulated into the
+   * JSON root.
+   *
+   * @param key
+   *        Key of the JSON root to stream
+   */
+  protected void stream(final String key)
+  {
+    if (jsonStreamingWriter != null)
+    {
+      return;
+    }
+    streamedKey = key;
+    jsonStreamingWriter = ((JsonFormattingHelper) formattingHelper)
+      .newStreamingWriter(jsonRoot, key);
+  }
+
+  /**
+   * Writes the JSON root to the output.
+   *
+   * @throws SchemaCrawlerException
+   *         On an exception
+   */
+  protected void writeJsonRoot()
+    throws SchemaCrawlerException
+  {
+    if (jsonStreamingWriter != null)
+    {
+      try
+      {
+        jsonStreamingWriter.end();
+      }
+      catch (final JSONException e)
+      {
+        throw new SchemaCrawlerException("Could not write database", e);
+      }
+      finally
+      {
+        jsonStreamingWriter.close();
+      }
+    }
+    else
+    {
+      ((JsonFormattingHelper) formattingHelper).write(jsonRoot);
+    }
+  }
+
   private JSONObject printJdbcDriverProperty(final JdbcDriverProperty driverProperty)
   {
     final JSONObject jsonDriverProperty = new JSONObject();
@@ -0,0 +1,312 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2018, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+
+package schemacrawler.tools.text.operation;
+
+
+import static schemacrawler.tools.text.operation.DataJsonFormatter.toJsonValue;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Level;
+
+import sf.util.SchemaCrawlerLogger;
+import sf.util.StringFormat;
+
+/**
+ * Rows of data that have been read ahead into memory. Rows beyond a
+ * given count are written to a temporary file, and read back when they
+ * are needed.
+ *
+ * @author Sualeh Fatehi
+ */
+final class BufferedDataRows
+  implements DataRows, AutoCloseable
+{
+
+  private static final SchemaCrawlerLogger LOGGER = SchemaCrawlerLogger
+    .getLogger(BufferedDataRows.class.getName());
+
+  /**
+   * A value in a row that was written to a temporary file, that could
+   * not be serialized. It keeps the text of the value for each output
+   * format, so that it is output just as the value itself would be.
+   */
+  static final class SpilledValue
+    implements Serializable
+  {
+
+    private static final long serialVersionUID = 4729016452311254089L;
+
+    private final String text;
+    private final String jsonValue;
+
+    SpilledValue(final Object value)
+    {
+      text = value.toString();
+      jsonValue = String.valueOf(toJsonValue(value));
+    }
+
+    /**
+     * Gets the value that is output as JSON.
+     *
+     * @return Value for JSON
+     */
+    String getJsonValue()
+    {
+      return jsonValue;
+    }
+
+    @Override
+    public String toString()
+    {
+      return text;
+    }
+
+  }
+
+  /**
+   * Reads all the rows of data into a buffer. Values in rows that are
+   * written to a temporary file, that cannot be serialized, are
+   * replaced with their text, so that they are output the same way as
+   * the rows that are held in memory.
+   *
+   * @param dataRows
+   *        Rows of data to read
+   * @param maxRowsInMemory
+   *        Number of rows to hold in memory, before the rest of the rows
+   *        are written to a temporary file
+   * @return Buffered rows of data
+   * @throws SQLException
+   *         On an exception reading the data
+   * @throws IOException
+   *         On an exception writing the temporary file
+   */
+  static BufferedDataRows bufferRows(final DataRows dataRows,
+                                     final int maxRowsInMemory)
+    throws SQLException, IOException
+  {
+    final String[] columnNames = dataRows.getColumnNames();
+    final int width = dataRows.width();
+    final List<Object[]> rows = new ArrayList<>();
+
+    Path spillFile = null;
+    int spilledRowCount = 0;
+    try
+    {
+      ObjectOutputStream out = null;
+      try
+      {
+        final Object[] spillRow = new Object[width];
+        while (dataRows.next())
+        {
+          if (rows.size() < maxRowsInMemory)
+          {
+            final Object[] currentRow = new Object[width];
+            dataRows.row(currentRow);
+            rows.add(currentRow);
+            continue;
+          }
+
+          if (out == null)
+          {
+            spillFile = Files.createTempFile("schemacrawler", ".data");
+            out = new ObjectOutputStream(new BufferedOutputStream(Files
+              .newOutputStream(spillFile)));
+          }
+          dataRows.row(spillRow);
+          for (int i = 0; i < width; i++)
+          {
+            if (!(spillRow[i] == null || spillRow[i] instanceof Serializable))
+            {
+              spillRow[i] = new SpilledValue(spillRow[i]);
+            }
+          }
+          out.writeObject(spillRow);
+          // Do not hold on to rows that have been written
+          out.reset();
+          spilledRowCount++;
+        }
+      }
+      finally
+      {
+        if (out != null)
+        {
+          out.close();
+        }
+      }
+    }
+    catch (final SQLException | IOException | RuntimeException e)
+    {
+      if (spillFile != null)
+      {
+        Files.deleteIfExists(spillFile);
+      }
+      throw e;
+    }
+
+    if (spillFile != null)
+    {
+      LOGGER.log(Level.FINE,
+                 new StringFormat("Wrote %d rows to <%s>",
+                                  spilledRowCount,
+                                  spillFile));
+    }
+    return new BufferedDataRows(columnNames,
+                                rows,
+                                spillFile,
+                                spilledRowCount);
+  }
+
+  private final String[] columnNames;
+  private final List<Object[]> rows;
+  private final Path spillFile;
+  private final int spilledRowCount;
+  private int rowIndex;
+  private Object[] currentRow;
+  private ObjectInputStream spillInput;
+  private boolean closed;
+
+  private BufferedDataRows(final String[] columnNames,
+                           final List<Object[]> rows,
+                           final Path spillFile,
+                           final int spilledRowCount)
+  {
+    this.columnNames = columnNames;
+    this.rows = rows;
+    this.spillFile = spillFile;
+    this.spilledRowCount = spilledRowCount;
+  }
+
+  @Override
+  public synchronized void close()
+  {
+    if (closed)
+    {
+      return;
+    }
+    closed = true;
+
+    rows.clear();
+    currentRow = null;
+    if (spillFile == null)
+    {
+      return;
+    }
+    try
+    {
+      if (spillInput != null)
+      {
+        spillInput.close();
+      }
+      Files.deleteIfExists(spillFile);
+    }
+    catch (final IOException e)
+    {
+      LOGGER.log(Level.WARNING,
+                 new StringFormat("Could not delete <%s>", spillFile),
+                 e);
+    }
+  }
+
+  @Override
+  public String[] getColumnNames()
+  {
+    return columnNames.clone();
+  }
+
+  @Override
+  public synchronized boolean next()
+    throws SQLException
+  {
+    if (closed)
+    {
+      throw new SQLException("Buffered data is closed");
+    }
+
+    if (rowIndex < rows.size())
+    {
+      currentRow = rows.get(rowIndex);
+      // Release rows as they are read
+      rows.set(rowIndex, null);
+      rowIndex++;
+      return true;
+    }
+    else if (rowIndex < rows.size() + spilledRowCount)
+    {
+      try
+      {
+        if (spillInput == null)
+        {
+          spillInput = new ObjectInputStream(new BufferedInputStream(Files
+            .newInputStream(spillFile)));
+        }
+        currentRow = (Object[]) spillInput.readObject();
+      }
+      catch (final IOException | ClassNotFoundException e)
+      {
+        throw new SQLException("Could not read buffered data from "
+                               + spillFile, e);
+      }
+      rowIndex++;
+      return true;
+    }
+    else
+    {
+      currentRow = null;
+      return false;
+    }
+  }
+
+  @Override
+  public synchronized void row(final Object[] currentRow)
+    throws SQLException
+  {
+    if (this.currentRow == null)
+    {
+      throw new SQLException("No current row");
+    }
+    System.arraycopy(this.currentRow, 0, currentRow, 0, columnNames.length);
+  }
+
+  @Override
+  public int width()
+  {
+    return columnNames.length;
+  }
+
+}
@@ -0,0 +1,79 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2018, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+
+package schemacrawler.tools.text.operation;
+
+
+/**
+ * A single row count, which is already known, presented as the result
+ * of a count query.
+ *
+ * @author Sualeh Fatehi
+ */
+final class CountDataRows
+  implements DataRows
+{
+
+  private final long count;
+  private boolean isRead;
+
+  CountDataRows(final long count)
+  {
+    this.count = count;
+  }
+
+  @Override
+  public String[] getColumnNames()
+  {
+    return new String[] { "COUNT" };
+  }
+
+  @Override
+  public boolean next()
+  {
+    if (isRead)
+    {
+      return false;
+    }
+    isRead = true;
+    return true;
+  }
+
+  @Override
+  public void row(final Object[] currentRow)
+  {
+    currentRow[0] = Long.valueOf(count);
+  }
+
+  @Override
+  public int width()
+  {
+    return 1;
+  }
+
+}
@@ -31,18 +31,19 @@ package schemacrawler.tools.text.operation;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Calendar;
 import java.util.Date;
-import java.util.List;
 
 import schemacrawler.schema.Table;
 import schemacrawler.schemacrawler.SchemaCrawlerException;
 import schemacrawler.tools.options.OutputOptions;
 import schemacrawler.tools.text.base.BaseJsonFormatter;
+import schemacrawler.tools.text.utility.JsonFormattingHelper;
 import schemacrawler.tools.text.utility.org.json.JSONArray;
 import schemacrawler.tools.text.utility.org.json.JSONException;
 import schemacrawler.tools.text.utility.org.json.JSONObject;
+import schemacrawler.tools.text.utility.org.json.JSONStreamingArrayWriter;
 import schemacrawler.tools.traversal.DataTraversalHandler;
 import schemacrawler.utility.Query;
 
@@ -53,11 +54,11 @@ import schemacrawler.utility.Query;
  */
 final class DataJsonFormatter
   extends BaseJsonFormatter<OperationOptions>
-  implements DataTraversalHandler
+  implements DataTraversalHandler, DataRowsHandler
 {
 
   private final Operation operation;
-  private final JSONArray jsonDataArray;
+  private final JSONStreamingArrayWriter jsonDataWriter;
 
   /**
    * Text formatting of data.
@@ -83,19 +84,22 @@ final class DataJsonFormatter
           identifierQuoteString);
     this.operation = operation;
 
-    jsonDataArray = new JSONArray();
     try
     {
       if (operation != null)
       {
         jsonRoot.put("description", operation.getDescription());
       }
-      jsonRoot.put("data", jsonDataArray);
     }
     catch (final JSONException e)
     {
       throw new SchemaCrawlerException(e.getMessage(), e);
     }
+
+    // Data is written out as it is read, so only the root is held in
+    // memory
+    jsonDataWriter = ((JsonFormattingHelper) formattingHelper)
+      .newStreamingArrayWriter(jsonRoot, "data", "rows");
   }
 
   /**
@@ -124,6 +128,21 @@ final class DataJsonFormatter
   @Override
   public void handleData(final Table table, final ResultSet rows)
     throws SchemaCrawlerException
+  {
+    handleData(getTableName(table), rows);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void handleData(final Table table, final DataRows rows)
+    throws SchemaCrawlerException
+  {
+    handleData(getTableName(table), rows);
+  }
+
+  private String getTableName(final Table table)
   {
     final String tableName;
     if (table != null)
@@ -141,27 +160,21 @@ final class DataJsonFormatter
     {
       tableName = "";
     }
-
-    handleData(tableName, rows);
+    return tableName;
   }
 
   /**
    * Handles an aggregate operation, such as a count, for a given table.
    *
-   * @param results
+   * @param dataRows
    *        Results
    */
-  private long handleAggregateOperationForTable(final ResultSet results)
+  private long handleAggregateOperationForTable(final DataRows dataRows)
     throws SchemaCrawlerException
   {
     try
     {
-      long aggregate = 0;
-      if (results.next())
-      {
-        aggregate = results.getLong(1);
-      }
-      return aggregate;
+      return dataRows.aggregate();
     }
     catch (final SQLException e)
     {
@@ -169,10 +182,10 @@ final class DataJsonFormatter
     }
   }
 
-  private void handleData(final String title, final ResultSet rows)
+  private void handleData(final String title, final DataRows dataRows)
     throws SchemaCrawlerException
   {
-    if (rows == null)
+    if (dataRows == null)
     {
       return;
     }
@@ -184,77 +197,122 @@ final class DataJsonFormatter
 
       if (operation == Operation.count)
       {
-        final long aggregate = handleAggregateOperationForTable(rows);
+        final long aggregate = handleAggregateOperationForTable(dataRows);
         jsonData.put("value", aggregate);
+        jsonDataWriter.writeElement(jsonData);
       }
       else
       {
         try
         {
-          final DataResultSet dataRows = new DataResultSet(rows,
-                                                           options
-                                                             .isShowLobs());
-
           jsonData.put("columnNames", new JSONArray(dataRows.getColumnNames()));
 
-          final JSONArray jsonRows = iterateRows(dataRows);
-          jsonData.put("rows", jsonRows);
+          jsonDataWriter.beginElement(jsonData);
+          iterateRows(dataRows);
+          jsonDataWriter.endElement();
         }
         catch (final SQLException e)
         {
           throw new SchemaCrawlerException(e.getMessage(), e);
         }
       }
-
-      jsonDataArray.put(jsonData);
     }
     catch (final JSONException e)
     {
+      jsonDataWriter.close();
       throw new SchemaCrawlerException("Could not convert data to JSON", e);
     }
+    catch (final SchemaCrawlerException | RuntimeException e)
+    {
+      // The data cannot be written out, so do not leave the temporary
+      // file behind
+      jsonDataWriter.close();
+      throw e;
+    }
+
+  }
+
+  private void handleData(final String title, final ResultSet rows)
+    throws SchemaCrawlerException
+  {
+    if (rows == null)
+    {
+      return;
+    }
 
+    handleData(title, new DataResultSet(rows, options.isShowLobs()));
   }
 
-  private JSONArray iterateRows(final DataResultSet dataRows)
-    throws SQLException
+  private void iterateRows(final DataRows dataRows)
+    throws SQLException, JSONException
   {
-    final JSONArray jsonRows = new JSONArray();
+    final Object[] currentRow = new Object[dataRows.width()];
     while (dataRows.next())
     {
-      final List<Object> currentRowRaw = dataRows.row();
-      final List<Object> currentRow = new ArrayList<>();
-      for (final Object columnData: currentRowRaw)
+      dataRows.row(currentRow);
+      for (int i = 0; i < currentRow.length; i++)
       {
-        if (columnData == null || columnData instanceof Number
-            || columnData instanceof CharSequence
-            || columnData instanceof Boolean || columnData instanceof Date
-            || columnData instanceof Calendar)
-        {
-          currentRow.add(columnData);
-        }
-        else
-        {
-          final Class<? extends Object> columnDataClass = columnData.getClass();
-          try
-          {
-            if (columnDataClass.getMethod("toString")
-              .getDeclaringClass() != Object.class)
-            {
-              currentRow.add(columnData.toString());
-            }
-            else
-            {
-              currentRow.add(columnDataClass.getSimpleName());
-            }
-          }
-          catch (final NoSuchMethodException | SecurityException e)
-          {
-            currentRow.add(columnDataClass.getSimpleName());
-          }
-        }
+        currentRow[i] = toJsonValue(currentRow[i]);
       }
-      jsonRows.put(new JSONArray(currentRow));
+      jsonDataWriter.accumulate(new JSONArray(Arrays.asList(currentRow)));
     }
-    return jsonRows;
   }
+
+  @Override
+  protected void writeJsonRoot()
+    throws SchemaCrawlerException
+  {
+    try
+    {
+      jsonDataWriter.end();
+    }
+    catch (final JSONException e)
+    {
+      throw new SchemaCrawlerException("Could not convert data to JSON", e);
+    }
+    finally
+    {
+      jsonDataWriter.close();
+    }
+  }
+
+  /**
+   * Converts column data to a value that can be output as JSON.
+   *
+   * @param columnData
+   *        Column data
+   * @return JSON value
+   */
+  static Object toJsonValue(final Object columnData)
+  {
+    if (columnData instanceof BufferedDataRows.SpilledValue)
+    {
+      return ((BufferedDataRows.SpilledValue) columnData).getJsonValue();
+    }
+    if (columnData == null || columnData instanceof Number
+        || columnData instanceof CharSequence || columnData instanceof Boolean
+        || columnData instanceof Date || columnData instanceof Calendar)
+    {
+      return columnData;
+    }
+
+    final Class<? extends Object> columnDataClass = columnData.getClass();
+    try
+    {
+      if (columnDataClass.getMethod("toString")
+        .getDeclaringClass() != Object.class)
+      {
+        return columnData.toString();
+      }
+      else
+      {
+        return columnDataClass.getSimpleName();
+      }
+    }
+    catch (final NoSuchMethodException | SecurityException e)
+    {
+      return columnDataClass.getSimpleName();
+    }
+  }
+
 }
@@ -0,0 +1,266 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2018, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+
+package schemacrawler.tools.text.operation;
+
+
+import static schemacrawler.tools.text.operation.DataJsonFormatter.toJsonValue;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import schemacrawler.SchemaCrawlerInfo;
+import schemacrawler.schema.CrawlInfo;
+import schemacrawler.schema.DatabaseInfo;
+import schemacrawler.schema.JdbcDriverInfo;
+import schemacrawler.schema.Table;
+import schemacrawler.schemacrawler.SchemaCrawlerException;
+import schemacrawler.tools.options.OutputOptions;
+import schemacrawler.tools.text.base.BaseFormatter;
+import schemacrawler.tools.text.utility.JsonFormattingHelper;
+import schemacrawler.tools.text.utility.org.json.JSONException;
+import schemacrawler.tools.text.utility.org.json.JSONObject;
+import schemacrawler.tools.traversal.DataTraversalHandler;
+import schemacrawler.utility.Query;
+
+/**
+ * JSON Lines formatting of data, with one JSON object for each row.
+ *
+ * @author Sualeh Fatehi
+ */
+final class DataJsonLinesFormatter
+  extends BaseFormatter<OperationOptions>
+  implements DataTraversalHandler, DataRowsHandler
+{
+
+  private final Operation operation;
+
+  /**
+   * JSON Lines formatting of data.
+   *
+   * @param operation
+   *        Options for text formatting of data
+   * @param options
+   *        Options for text formatting of data
+   * @param outputOptions
+   *        Options for text formatting of data
+   * @param identifierQuoteString
+   *        Quote character for identifier
+   */
+  DataJsonLinesFormatter(final Operation operation,
+                         final OperationOptions options,
+                         final OutputOptions outputOptions,
+                         final String identifierQuoteString)
+    throws SchemaCrawlerException
+  {
+    super(options,
+          /* printVerboseDatabaseInfo */false,
+          outputOptions,
+          identifierQuoteString);
+    this.operation = operation;
+  }
+
+  @Override
+  public void begin()
+  {
+    // No output required
+  }
+
+  @Override
+  public void handle(final CrawlInfo crawlInfo)
+  {
+    // No output required
+  }
+
+  @Override
+  public void handle(final DatabaseInfo databaseInfo)
+  {
+    // No output required
+  }
+
+  @Override
+  public void handle(final JdbcDriverInfo jdbcDriverInfo)
+  {
+    // No output required
+  }
+
+  @Override
+  public void handle(final SchemaCrawlerInfo schemaCrawlerInfo)
+  {
+    // No output required
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void handleData(final Query query, final ResultSet rows)
+    throws SchemaCrawlerException
+  {
+    String title;
+    if (query != null)
+    {
+      title = query.getName();
+    }
+    else
+    {
+      title = "";
+    }
+
+    handleData(title, rows);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void handleData(final Table table, final ResultSet rows)
+    throws SchemaCrawlerException
+  {
+    handleData(getTableName(table), rows);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void handleData(final Table table, final DataRows rows)
+    throws SchemaCrawlerException
+  {
+    handleData(getTableName(table), rows);
+  }
+
+  private String getTableName(final Table table)
+  {
+    final String tableName;
+    if (table != null)
+    {
+      if (options.isShowUnqualifiedNames())
+      {
+        tableName = table.getName();
+      }
+      else
+      {
+        tableName = table.getFullName();
+      }
+    }
+    else
+    {
+      tableName = "";
+    }
+    return tableName;
+  }
+
+  @Override
+  public void handleHeaderEnd()
+  {
+    // No output required
+  }
+
+  @Override
+  public void handleHeaderStart()
+  {
+    // No output required
+  }
+
+  @Override
+  public void handleInfoEnd()
+  {
+    // No output required
+  }
+
+  @Override
+  public void handleInfoStart()
+  {
+    // No output required
+  }
+
+  private void handleData(final String title, final DataRows dataRows)
+    throws SchemaCrawlerException
+  {
+    if (dataRows == null)
+    {
+      return;
+    }
+
+    final JsonFormattingHelper jsonFormattingHelper = (JsonFormattingHelper) formattingHelper;
+    try
+    {
+      if (operation == Operation.count)
+      {
+        final long aggregate = dataRows.aggregate();
+
+        final JSONObject jsonData = new JSONObject();
+        jsonData.put("title", title);
+        jsonData.put("value", aggregate);
+        jsonFormattingHelper.writeLine(jsonData);
+      }
+      else
+      {
+        final String[] columnNames = dataRows.getColumnNames();
+        final Object[] currentRow = new Object[dataRows.width()];
+        while (dataRows.next())
+        {
+          dataRows.row(currentRow);
+          final JSONObject jsonRow = new JSONObject();
+          for (int i = 0; i < columnNames.length; i++)
+          {
+            final Object value = toJsonValue(currentRow[i]);
+            jsonRow.put(columnNames[i],
+                        value == null? JSONObject.NULL: value);
+          }
+
+          final JSONObject jsonData = new JSONObject();
+          jsonData.put("title", title);
+          jsonData.put("row", jsonRow);
+          jsonFormattingHelper.writeLine(jsonData);
+        }
+      }
+    }
+    catch (final SQLException e)
+    {
+      throw new SchemaCrawlerException("Could not obtain data", e);
+    }
+    catch (final JSONException e)
+    {
+      throw new SchemaCrawlerException("Could not convert data to JSON", e);
+    }
+  }
+
+  private void handleData(final String title, final ResultSet rows)
+    throws SchemaCrawlerException
+  {
+    if (rows == null)
+    {
+      return;
+    }
+
+    handleData(title, new DataResultSet(rows, options.isShowLobs()));
+  }
+
+}
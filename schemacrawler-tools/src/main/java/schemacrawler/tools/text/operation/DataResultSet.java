@@ -43,7 +43,6 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.SQLFeatureNotSupportedException;
 import java.sql.Types;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.logging.Level;
 
@@ -59,14 +58,25 @@ import sf.util.SchemaCrawlerLogger;
  * @author Sualeh Fatehi
  */
 final class DataResultSet
+  implements DataRows
 {
 
   private static final SchemaCrawlerLogger LOGGER = SchemaCrawlerLogger
     .getLogger(DataResultSet.class.getName());
 
+  @FunctionalInterface
+  private interface ColumnReader
+  {
+
+    Object read(int columnIndex)
+      throws SQLException;
+
+  }
+
   private final ResultSet rows;
   private final List<ResultsColumn> resultsColumns;
   private final boolean showLobs;
+  private final ColumnReader[] columnReaders;
 
   public DataResultSet(final ResultSet rows, final boolean showLobs)
     throws SchemaCrawlerException
@@ -74,8 +84,19 @@ final class DataResultSet
     this.rows = requireNonNull(rows, "Cannot use null results");
     this.showLobs = showLobs;
     resultsColumns = new ResultsCrawler(rows).crawl().getColumns();
+
+    // Work out how to read each column once, rather than for every row
+    final int columnCount = resultsColumns.size();
+    columnReaders = new ColumnReader[columnCount];
+    for (int i = 0; i < columnCount; i++)
+    {
+      final int javaSqlType = resultsColumns.get(i).getColumnDataType()
+        .getJavaSqlType().getVendorTypeNumber();
+      columnReaders[i] = newColumnReader(javaSqlType);
+    }
   }
 
+  @Override
   public String[] getColumnNames()
   {
     final int columnCount = resultsColumns.size();
@@ -87,106 +108,116 @@ final class DataResultSet
     return columnNames;
   }
 
+  @Override
   public boolean next()
     throws SQLException
   {
     return rows.next();
   }
 
-  public List<Object> row()
+  @Override
+  public void row(final Object[] currentRow)
     throws SQLException
   {
-    final int columnCount = resultsColumns.size();
-    final List<Object> currentRow = new ArrayList<>(columnCount);
-    for (int i = 0; i < columnCount; i++)
+    for (int i = 0; i < columnReaders.length; i++)
     {
-      currentRow.add(getColumnData(i));
+      currentRow[i] = columnReaders[i].read(i + 1);
     }
-
-    return currentRow;
   }
 
+  @Override
   public int width()
   {
     return resultsColumns.size();
   }
 
-  private Object getColumnData(final int i)
-    throws SQLException
+  private ColumnReader newColumnReader(final int javaSqlType)
   {
-    final int javaSqlType = resultsColumns.get(i).getColumnDataType()
-      .getJavaSqlType().getVendorTypeNumber();
-    Object columnData;
     if (javaSqlType == Types.CLOB)
     {
-      final Clob clob = rows.getClob(i + 1);
-      if (rows.wasNull() || clob == null)
-      {
-        columnData = null;
-      }
-      else
-      {
-        columnData = readClob(clob);
-      }
+      return columnIndex -> {
+        final Clob clob = rows.getClob(columnIndex);
+        if (rows.wasNull() || clob == null)
+        {
+          return null;
+        }
+        else
+        {
+          return readClob(clob);
+        }
+      };
     }
     else if (javaSqlType == Types.NCLOB)
     {
-      final NClob nClob = rows.getNClob(i + 1);
-      if (rows.wasNull() || nClob == null)
-      {
-        columnData = null;
-      }
-      else
-      {
-        columnData = readClob(nClob);
-      }
+      return columnIndex -> {
+        final NClob nClob = rows.getNClob(columnIndex);
+        if (rows.wasNull() || nClob == null)
+        {
+          return null;
+        }
+        else
+        {
+          return readClob(nClob);
+        }
+      };
     }
     else if (javaSqlType == Types.BLOB)
     {
-      final Blob blob = rows.getBlob(i + 1);
-      if (rows.wasNull() || blob == null)
-      {
-        columnData = null;
-      }
-      else
-      {
-        columnData = readBlob(blob);
-      }
+      return columnIndex -> {
+        final Blob blob = rows.getBlob(columnIndex);
+        if (rows.wasNull() || blob == null)
+        {
+          return null;
+        }
+        else
+        {
+          return readBlob(blob);
+        }
+      };
     }
     else if (javaSqlType == Types.LONGVARBINARY)
     {
-      final InputStream stream = rows.getBinaryStream(i + 1);
-      if (rows.wasNull() || stream == null)
-      {
-        columnData = null;
-      }
-      else
-      {
-        columnData = readStream(stream);
-      }
+      return columnIndex -> {
+        final InputStream stream = rows.getBinaryStream(columnIndex);
+        if (rows.wasNull() || stream == null)
+        {
+          return null;
+        }
+        else
+        {
+          return readStream(stream);
+        }
+      };
     }
     else if (javaSqlType == Types.LONGNVARCHAR
              || javaSqlType == Types.LONGVARCHAR)
     {
-      final InputStream stream = rows.getAsciiStream(i + 1);
-      if (rows.wasNull() || stream == null)
-      {
-        columnData = null;
-      }
-      else
-      {
-        columnData = readStream(stream);
-      }
+      return columnIndex -> {
+        final InputStream stream = rows.getAsciiStream(columnIndex);
+        if (rows.wasNull() || stream == null)
+        {
+          return null;
+        }
+        else
+        {
+          return readStream(stream);
+        }
+      };
     }
     else
     {
-      columnData = rows.getObject(i + 1);
-      if (rows.wasNull())
-      {
-        columnData = null;
-      }
+      return columnIndex -> {
+        final Object columnData = rows.getObject(columnIndex);
+        if (rows.wasNull())
+        {
+          return null;
+        }
+        else
+        {
+          return columnData;
+        }
+      };
     }
-    return columnData;
   }
 
   private BinaryData readBlob(final Blob blob)
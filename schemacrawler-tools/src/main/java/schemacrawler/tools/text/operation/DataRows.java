@@ -0,0 +1,102 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2018, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+
+package schemacrawler.tools.text.operation;
+
+
+import java.sql.SQLException;
+
+/**
+ * Rows of data, read one row at a time, either directly from the
+ * database or from a buffer.
+ *
+ * @author Sualeh Fatehi
+ */
+interface DataRows
+{
+
+  /**
+   * Reads the value of an aggregate operation, such as a count, from
+   * the first column of the first row.
+   *
+   * @return Value of the aggregate, or 0 if there are no rows
+   * @throws SQLException
+   *         On an exception reading the row
+   */
+  default long aggregate()
+    throws SQLException
+  {
+    if (!next() || width() == 0)
+    {
+      return 0;
+    }
+
+    final Object[] currentRow = new Object[width()];
+    row(currentRow);
+    final Object value = currentRow[0];
+    if (value == null)
+    {
+      return 0;
+    }
+    else if (value instanceof Number)
+    {
+      return ((Number) value).longValue();
+    }
+    else
+    {
+      try
+      {
+        return Long.parseLong(value.toString().trim());
+      }
+      catch (final NumberFormatException e)
+      {
+        throw new SQLException("Not an aggregate value, " + value, e);
+      }
+    }
+  }
+
+  String[] getColumnNames();
+
+  boolean next()
+    throws SQLException;
+
+  /**
+   * Reads the current row into a buffer, which can be reused for every
+   * row.
+   *
+   * @param currentRow
+   *        Buffer for the current row, at least as long as the width
+   * @throws SQLException
+   *         On an exception reading the row
+   */
+  void row(Object[] currentRow)
+    throws SQLException;
+
+  int width();
+
+}
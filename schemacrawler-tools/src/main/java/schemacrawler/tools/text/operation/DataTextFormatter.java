@@ -33,7 +33,6 @@ import static schemacrawler.tools.analysis.counts.CountsUtility.getRowCountMessa
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.util.List;
 
 import schemacrawler.schema.Table;
 import schemacrawler.schemacrawler.SchemaCrawlerException;
@@ -52,7 +51,7 @@ import sf.util.Color;
  */
 final class DataTextFormatter
   extends BaseTabularFormatter<OperationOptions>
-  implements DataTraversalHandler
+  implements DataTraversalHandler, DataRowsHandler
 {
 
   private int dataBlockCount;
@@ -124,6 +123,21 @@ final class DataTextFormatter
   @Override
   public void handleData(final Table table, final ResultSet rows)
     throws SchemaCrawlerException
+  {
+    handleData(getTableName(table), rows);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void handleData(final Table table, final DataRows rows)
+    throws SchemaCrawlerException
+  {
+    handleData(getTableName(table), rows);
+  }
+
+  private String getTableName(final Table table)
   {
     final String tableName;
     if (table != null)
@@ -141,8 +155,7 @@ final class DataTextFormatter
     {
       tableName = "";
     }
-
-    handleData(tableName, rows);
+    return tableName;
   }
 
   private String getMessage(final double aggregate)
@@ -165,20 +178,17 @@ final class DataTextFormatter
    *
    * @param title
    *        Title
-   * @param results
+   * @param dataRows
    *        Results
    */
   private void handleAggregateOperationForTable(final String title,
-                                                final ResultSet results)
+                                                final DataRows dataRows)
     throws SchemaCrawlerException
   {
     long aggregate = 0;
     try
     {
-      if (results.next())
-      {
-        aggregate = results.getLong(1);
-      }
+      aggregate = dataRows.aggregate();
     }
     catch (final SQLException e)
     {
@@ -189,10 +199,10 @@ final class DataTextFormatter
     formattingHelper.writeNameValueRow(title, message, Alignment.right);
   }
 
-  private void handleData(final String title, final ResultSet rows)
+  private void handleData(final String title, final DataRows dataRows)
     throws SchemaCrawlerException
   {
-    if (rows == null)
+    if (dataRows == null)
     {
       return;
     }
@@ -204,7 +214,7 @@ final class DataTextFormatter
 
     if (operation == Operation.count)
     {
-      handleAggregateOperationForTable(title, rows);
+      handleAggregateOperationForTable(title, dataRows);
     }
     else
     {
@@ -214,9 +224,6 @@ final class DataTextFormatter
       formattingHelper.writeObjectNameRow("", title, "", Color.white);
       try
       {
-        final DataResultSet dataRows = new DataResultSet(rows,
-                                                         options.isShowLobs());
-
         formattingHelper.writeRowHeader(dataRows.getColumnNames());
 
         iterateRows(dataRows);
@@ -231,15 +238,25 @@ final class DataTextFormatter
     dataBlockCount++;
   }
 
-  private void iterateRows(final DataResultSet dataRows)
+  private void handleData(final String title, final ResultSet rows)
+    throws SchemaCrawlerException
+  {
+    if (rows == null)
+    {
+      return;
+    }
+
+    handleData(title, new DataResultSet(rows, options.isShowLobs()));
+  }
+
+  private void iterateRows(final DataRows dataRows)
     throws SQLException
   {
+    final Object[] currentRow = new Object[dataRows.width()];
     while (dataRows.next())
     {
-      final List<Object> currentRow = dataRows.row();
-      final Object[] columnData = currentRow
-        .toArray(new Object[currentRow.size()]);
-      formattingHelper.writeRow(columnData);
+      dataRows.row(currentRow);
+      formattingHelper.writeRow(currentRow);
     }
   }
 
@@ -29,6 +29,10 @@ http://www.gnu.org/licenses/
 package schemacrawler.tools.text.operation;
 
 
+import static schemacrawler.tools.analysis.counts.CountsUtility.getCountsAnalysisKey;
+import static schemacrawler.tools.analysis.counts.CountsUtility.getRowCount;
+import static schemacrawler.tools.analysis.counts.CountsUtility.hasRowCount;
+import static schemacrawler.tools.analysis.counts.CountsUtility.isRowCountEstimated;
 import static schemacrawler.utility.QueryUtility.executeAgainstTable;
 import static sf.util.DatabaseUtility.createStatement;
 import static sf.util.DatabaseUtility.executeSql;
@@ -44,6 +48,7 @@ import java.util.logging.Level;
 import schemacrawler.schema.Catalog;
 import schemacrawler.schema.Table;
 import schemacrawler.schemacrawler.SchemaCrawlerException;
+import schemacrawler.tools.analysis.counts.CountsOptions;
 import schemacrawler.tools.executable.BaseSchemaCrawlerCommand;
 import schemacrawler.tools.options.TextOutputFormat;
 import schemacrawler.tools.traversal.DataTraversalHandler;
@@ -89,8 +94,17 @@ public final class OperationCommand
       return;
     }
 
-    final DataTraversalHandler handler = getDataTraversalHandler();
     final Query query = getQuery();
+    final List<? extends Table> tables;
+    if (query.isQueryOver())
+    {
+      tables = getSortedTables(catalog);
+    }
+    else
+    {
+      tables = Collections.emptyList();
+    }
+    final DataTraversalHandler handler = getDataTraversalHandler();
 
     try (final Statement statement = createStatement(connection);)
     {
@@ -115,18 +129,54 @@ public final class OperationCommand
         final Identifiers identifiers = Identifiers.identifiers()
           .withIdentifierQuoteString(identifierQuoteString).build();
 
-        for (final Table table: getSortedTables(catalog))
+        if (handler instanceof DataRowsHandler && hasCachedRowCounts(tables))
         {
-          final boolean isAlphabeticalSortForTableColumns = operationOptions
-            .isAlphabeticalSortForTableColumns();
+          // Row counts were already obtained by an earlier command in a
+          // chain, so there is no need to count rows again
+          for (final Table table: tables)
+          {
+            ((DataRowsHandler) handler)
+              .handleData(table, new CountDataRows(getRowCount(table)));
+          }
+        }
+        else if (connectionSupplier != null
+                 && operationOptions.getParallelism() > 1
+                 && tables.size() > 1 && handler instanceof DataRowsHandler)
+        {
+          // Run the queries on separate connections, but output the
+          // results in the same order as they would be otherwise
           try (
-              final ResultSet results = executeAgainstTable(query,
-                                                            statement,
-                                                            table,
-                                                            isAlphabeticalSortForTableColumns,
-                                                            identifiers);)
+              final ParallelTableDataReader dataReader = new ParallelTableDataReader(connectionSupplier,
+                                                                                     query,
+                                                                                     tables,
+                                                                                     operationOptions,
+                                                                                     identifiers);)
+          {
+            for (int i = 0; i < tables.size(); i++)
+            {
+              try (final BufferedDataRows dataRows = dataReader.getData(i);)
+              {
+                ((DataRowsHandler) handler).handleData(tables.get(i),
+                                                       dataRows);
+              }
+            }
+          }
+        }
+        else
+        {
+          for (final Table table: tables)
           {
-            handler.handleData(table, results);
+            final boolean isAlphabeticalSortForTableColumns = operationOptions
+              .isAlphabeticalSortForTableColumns();
+            try (
+                final ResultSet results = executeAgainstTable(query,
+                                                              statement,
+                                                              table,
+                                                              isAlphabeticalSortForTableColumns,
+                                                              identifiers);)
+            {
+              handler.handleData(table, results);
+            }
           }
         }
       }
@@ -179,7 +229,15 @@ public final class OperationCommand
     final TextOutputFormat outputFormat = TextOutputFormat
       .fromFormat(outputOptions.getOutputFormatValue());
     final String identifierQuoteString = identifiers.getIdentifierQuoteString();
-    if (outputFormat == TextOutputFormat.json)
+    if (outputFormat == TextOutputFormat.json
+        && operationOptions.isJsonLines())
+    {
+      formatter = new DataJsonLinesFormatter(operation,
+                                             operationOptions,
+                                             outputOptions,
+                                             identifierQuoteString);
+    }
+    else if (outputFormat == TextOutputFormat.json)
     {
       formatter = new DataJsonFormatter(operation,
                                         operationOptions,
@@ -248,6 +306,27 @@ public final class OperationCommand
     return tables;
   }
 
+  /**
+   * Whether exact row counts for all the tables are available from an
+   * earlier analysis of the catalog.
+   */
+  private boolean hasCachedRowCounts(final List<? extends Table> tables)
+  {
+    if (getOperation() != Operation.count || !analysisCache
+      .lookup(catalog, getCountsAnalysisKey(new CountsOptions())).isPresent())
+    {
+      return false;
+    }
+    for (final Table table: tables)
+    {
+      if (!hasRowCount(table) || isRowCountEstimated(table))
+      {
+        return false;
+      }
+    }
+    return true;
+  }
+
   private void loadOperationOptions()
   {
     if (operationOptions == null)
@@ -40,7 +40,31 @@ public final class OperationOptions
   extends BaseTextOptions
 {
 
+  private boolean isJsonLines;
   private boolean isShowLobs;
+  private int parallelism = 1;
+
+  /**
+   * Number of connections to run per-table queries on at the same
+   * time, when the command is given a connection supplier.
+   *
+   * @return Number of tables to query at the same time.
+   */
+  public int getParallelism()
+  {
+    return parallelism;
+  }
+
+  /**
+   * Whether to output data as JSON Lines, with one JSON object for
+   * each row, when the output format is JSON.
+   *
+   * @return Whether to output data as JSON Lines.
+   */
+  public boolean isJsonLines()
+  {
+    return isJsonLines;
+  }
 
   /**
    * Whether to show LOBs.
@@ -52,6 +76,34 @@ public final class OperationOptions
     return isShowLobs;
   }
 
+  /**
+   * Whether to output data as JSON Lines, with one JSON object for
+   * each row, when the output format is JSON.
+   *
+   * @param jsonLines
+   *        Whether to output data as JSON Lines
+   */
+  public void setJsonLines(final boolean jsonLines)
+  {
+    isJsonLines = jsonLines;
+  }
+
+  /**
+   * Number of connections to run per-table queries on at the same
+   * time, when the command is given a connection supplier.
+   *
+   * @param parallelism
+   *        Number of tables to query at the same time
+   */
+  public void setParallelism(final int parallelism)
+  {
+    if (parallelism < 1)
+    {
+      throw new IllegalArgumentException("Parallelism needs to be at least 1");
+    }
+    this.parallelism = parallelism;
+  }
+
   /**
    * Whether to show LOBs.
    *
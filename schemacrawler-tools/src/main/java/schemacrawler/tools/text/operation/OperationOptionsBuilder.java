@@ -41,6 +41,10 @@ public final class OperationOptionsBuilder
   extends BaseTextOptionsBuilder<OperationOptions>
 {
 
+  private static final String JSON_LINES = SCHEMACRAWLER_FORMAT_PREFIX
+                                           + "data.json_lines";
+  private static final String PARALLELISM = SCHEMACRAWLER_FORMAT_PREFIX
+                                            + "data.parallelism";
   private static final String SHOW_LOBS = SCHEMACRAWLER_FORMAT_PREFIX
                                           + "data.show_lobs";
 
@@ -62,11 +66,31 @@ public final class OperationOptionsBuilder
     super.fromConfig(map);
 
     final Config config = new Config(map);
+    options.setJsonLines(config.getBooleanValue(JSON_LINES, false));
+    options.setParallelism(Math.max(1, config.getIntegerValue(PARALLELISM, 1)));
     options.setShowLobs(config.getBooleanValue(SHOW_LOBS, false));
 
     return this;
   }
 
+  /**
+   * Whether to output data as JSON Lines.
+   */
+  public OperationOptionsBuilder jsonLines(final boolean value)
+  {
+    options.setJsonLines(value);
+    return this;
+  }
+
+  /**
+   * Number of tables to query at the same time.
+   */
+  public OperationOptionsBuilder parallelism(final int value)
+  {
+    options.setParallelism(value);
+    return this;
+  }
+
   /**
    * Whether to show LOBs.
    */
@@ -80,6 +104,9 @@ public final class OperationOptionsBuilder
   public Config toConfig()
   {
     final Config config = super.toConfig();
+    config.setBooleanValue(JSON_LINES, options.isJsonLines());
+    config.setStringValue(PARALLELISM,
+                          String.valueOf(options.getParallelism()));
     config.setBooleanValue(SHOW_LOBS, options.isShowLobs());
     return config;
   }
@@ -0,0 +1,296 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2018, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+
+package schemacrawler.tools.text.operation;
+
+
+import static java.util.Objects.requireNonNull;
+import static schemacrawler.utility.QueryUtility.executeAgainstTable;
+import static sf.util.DatabaseUtility.createStatement;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+
+import schemacrawler.schema.Table;
+import schemacrawler.schemacrawler.SchemaCrawlerException;
+import schemacrawler.tools.executable.ConnectionSupplier;
+import schemacrawler.utility.Identifiers;
+import schemacrawler.utility.Query;
+import sf.util.SchemaCrawlerLogger;
+import sf.util.StringFormat;
+
+/**
+ * Runs a query against a list of tables in parallel, each on one of a
+ * fixed number of connections, and hands back the results in the order
+ * of the tables. Results are read ahead into buffers, and buffers with
+ * many rows are written to temporary files until they are needed. At
+ * most twice as many tables as there are connections are read ahead of
+ * the results that have been handed back, so that a slow consumer does
+ * not cause every table to be buffered. Tables are started in table
+ * order by a single thread, which waits for the results of earlier
+ * tables to be handed back before it reads further ahead.
+ *
+ * @author Sualeh Fatehi
+ */
+final class ParallelTableDataReader
+  implements AutoCloseable
+{
+
+  private static final SchemaCrawlerLogger LOGGER = SchemaCrawlerLogger
+    .getLogger(ParallelTableDataReader.class.getName());
+
+  private static final int MAX_ROWS_IN_MEMORY = 10_000;
+
+  private final List<? extends Table> tables;
+  private final BlockingQueue<Connection> connections;
+  private final ExecutorService executorService;
+  private final Semaphore readAhead;
+  private final List<FutureTask<BufferedDataRows>> tableData;
+  private final Thread feeder;
+
+  ParallelTableDataReader(final ConnectionSupplier connectionSupplier,
+                          final Query query,
+                          final List<? extends Table> tables,
+                          final OperationOptions options,
+                          final Identifiers identifiers)
+    throws SchemaCrawlerException
+  {
+    requireNonNull(connectionSupplier, "No connection supplier provided");
+    requireNonNull(query, "No query provided");
+    requireNonNull(options, "No operation options provided");
+    this.tables = requireNonNull(tables, "No tables provided");
+
+    final int parallelism = options.getParallelism();
+    connections = new ArrayBlockingQueue<>(parallelism);
+    executorService = Executors.newFixedThreadPool(parallelism, runnable -> {
+      final Thread thread = new Thread(runnable, "schemacrawler-data");
+      thread.setDaemon(true);
+      return thread;
+    });
+    tableData = new ArrayList<>(tables.size());
+    readAhead = new Semaphore(2 * parallelism);
+    feeder = new Thread(this::startReads, "schemacrawler-data-feeder");
+    feeder.setDaemon(true);
+
+    try
+    {
+      for (int i = 0; i < parallelism; i++)
+      {
+        connections.add(connectionSupplier.get());
+      }
+    }
+    catch (final SQLException e)
+    {
+      close();
+      throw new SchemaCrawlerException("Could not open connections", e);
+    }
+
+    LOGGER.log(Level.INFO,
+               new StringFormat("Running <%s> against %d tables, on %d connections",
+                                query.getName(),
+                                tables.size(),
+                                parallelism));
+    for (final Table table: tables)
+    {
+      tableData.add(new FutureTask<>(() -> readTableData(query,
+                                                         table,
+                                                         options,
+                                                         identifiers)));
+    }
+    feeder.start();
+  }
+
+  @Override
+  public void close()
+  {
+    // Stop starting tables before the running queries are stopped, so
+    // that no more are started after that
+    feeder.interrupt();
+    try
+    {
+      feeder.join();
+    }
+    catch (final InterruptedException e)
+    {
+      Thread.currentThread().interrupt();
+    }
+
+    executorService.shutdownNow();
+    try
+    {
+      // Wait for queries that are already running, so that their
+      // connections and buffers can be released
+      while (!executorService.awaitTermination(1, TimeUnit.MINUTES))
+      {
+        LOGGER.log(Level.INFO, "Waiting for running queries to complete");
+      }
+    }
+    catch (final InterruptedException e)
+    {
+      Thread.currentThread().interrupt();
+    }
+
+    for (final FutureTask<BufferedDataRows> future: tableData)
+    {
+      if (future.isDone() && !future.isCancelled())
+      {
+        try
+        {
+          final BufferedDataRows dataRows = future.get();
+          if (dataRows != null)
+          {
+            dataRows.close();
+          }
+        }
+        catch (final InterruptedException | ExecutionException e)
+        {
+          // Failures were reported when the results were read
+        }
+      }
+    }
+
+    for (final Connection connection: connections)
+    {
+      try
+      {
+        connection.close();
+      }
+      catch (final SQLException e)
+      {
+        LOGGER.log(Level.WARNING, "Could not close connection", e);
+      }
+    }
+    connections.clear();
+  }
+
+  /**
+   * Gets the results of the query for a table, waiting for them if
+   * needed.
+   *
+   * @param index
+   *        Index of the table in the list of tables
+   * @return Results of the query, or null if there are none
+   * @throws SchemaCrawlerException
+   *         On an exception running the query
+   */
+  BufferedDataRows getData(final int index)
+    throws SchemaCrawlerException
+  {
+    final Table table = tables.get(index);
+    try
+    {
+      return tableData.get(index).get();
+    }
+    catch (final InterruptedException e)
+    {
+      Thread.currentThread().interrupt();
+      throw new SchemaCrawlerException("Interrupted while reading data for "
+                                       + table.getFullName(), e);
+    }
+    catch (final ExecutionException e)
+    {
+      throw new SchemaCrawlerException("Could not read data for "
+                                       + table.getFullName(), e.getCause());
+    }
+    finally
+    {
+      // Allow another table to be read ahead
+      readAhead.release();
+    }
+  }
+
+  private BufferedDataRows readTableData(final Query query,
+                                         final Table table,
+                                         final OperationOptions options,
+                                         final Identifiers identifiers)
+    throws Exception
+  {
+    final Connection connection = connections.take();
+    try (final Statement statement = createStatement(connection);
+        final ResultSet results = executeAgainstTable(query,
+                                                      statement,
+                                                      table,
+                                                      options
+                                                        .isAlphabeticalSortForTableColumns(),
+                                                      identifiers);)
+    {
+      if (results == null)
+      {
+        return null;
+      }
+
+      final DataResultSet dataRows = new DataResultSet(results,
+                                                       options.isShowLobs());
+      return BufferedDataRows.bufferRows(dataRows, MAX_ROWS_IN_MEMORY);
+    }
+    finally
+    {
+      // Never blocks, since there are only as many connections as the
+      // capacity of the queue
+      connections.add(connection);
+    }
+  }
+
+  /**
+   * Starts reading tables in table order, each once it may be read
+   * ahead. Since read ahead is only allowed again when the results of
+   * a table are handed back, and results are handed back in table
+   * order, the table that is waited for has always been started, or
+   * can be started straight away.
+   */
+  private void startReads()
+  {
+    try
+    {
+      for (final FutureTask<BufferedDataRows> task: tableData)
+      {
+        readAhead.acquire();
+        executorService.execute(task);
+      }
+    }
+    catch (final InterruptedException | RejectedExecutionException e)
+    {
+      // The reader was closed, so no more tables are started
+    }
+  }
+
+}
@@ -311,8 +311,6 @@ final class SchemaJsonFormatter
 
     try
     {
-      jsonRoot.accumulate("tables", jsonTable);
-
       jsonTable.put("name", table.getName());
       if (!options.isShowUnqualifiedNames())
       {
@@ -432,6 +430,8 @@ final class SchemaJsonFormatter
           jsonTable.put("additionalInformation", jsonAdditionalInformation);
         }
       }
+
+      accumulate("tables", jsonTable);
     }
     catch (final JSONException e)
     {
@@ -506,7 +506,8 @@ final class SchemaJsonFormatter
   public void handleTablesStart()
     throws SchemaCrawlerException
   {
-    // No output required
+    // Tables are written out as they are handled
+    stream("tables");
   }
 
   private JSONArray handleColumnReferences(final BaseForeignKey<? extends ColumnReference> foreignKey)
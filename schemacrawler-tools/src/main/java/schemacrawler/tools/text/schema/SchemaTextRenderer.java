@@ -29,12 +29,21 @@ http://www.gnu.org/licenses/
 package schemacrawler.tools.text.schema;
 
 
+import static schemacrawler.tools.analysis.counts.CountsUtility.getCountsAnalysisKey;
+
+import java.util.ArrayList;
+import java.util.List;
+
 import schemacrawler.schema.Catalog;
 import schemacrawler.schemacrawler.SchemaCrawlerException;
 import schemacrawler.tools.analysis.associations.CatalogWithAssociations;
 import schemacrawler.tools.analysis.counts.CatalogWithCounts;
+import schemacrawler.tools.analysis.counts.CountsOptions;
+import schemacrawler.tools.analysis.counts.CountsOptionsBuilder;
 import schemacrawler.tools.executable.BaseSchemaCrawlerCommand;
+import schemacrawler.tools.options.OutputOptions;
 import schemacrawler.tools.options.TextOutputFormat;
+import schemacrawler.tools.traversal.CompositeSchemaTraversalHandler;
 import schemacrawler.tools.traversal.SchemaTraversalHandler;
 import schemacrawler.tools.traversal.SchemaTraverser;
 import schemacrawler.utility.NamedObjectSort;
@@ -49,10 +58,12 @@ public final class SchemaTextRenderer
 {
 
   private SchemaTextOptions schemaTextOptions;
+  private List<OutputOptions> additionalOutputOptions;
 
   public SchemaTextRenderer(final String command)
   {
     super(command);
+    additionalOutputOptions = new ArrayList<>();
   }
 
   @Override
@@ -63,21 +74,46 @@ public final class SchemaTextRenderer
 
     loadSchemaTextOptions();
 
-    // Determine what decorators to apply to the database
+    // Determine what decorators to apply to the database, reusing the
+    // analysis from any earlier command in a chain
     Catalog aCatalog = catalog;
     if (schemaTextOptions.isShowWeakAssociations())
     {
-      aCatalog = new CatalogWithAssociations(aCatalog);
+      aCatalog = analysisCache.get(catalog,
+                                   CatalogWithAssociations.class.getName(),
+                                   () -> new CatalogWithAssociations(catalog));
     }
     if (schemaTextOptions.isShowRowCounts()
         || schemaCrawlerOptions.isHideEmptyTables())
     {
-      aCatalog = new CatalogWithCounts(aCatalog,
-                                       connection,
-                                       schemaCrawlerOptions);
+      final CountsOptions countsOptions = getCountsOptions();
+      final Catalog countsCatalog = aCatalog;
+      aCatalog = analysisCache
+        .get(catalog,
+             getCountsAnalysisKey(countsOptions),
+             () -> new CatalogWithCounts(countsCatalog,
+                                         connection,
+                                         schemaCrawlerOptions,
+                                         countsOptions,
+                                         informationSchemaViews));
     }
 
-    final SchemaTraversalHandler formatter = getSchemaTraversalHandler();
+    // Write every output from a single traversal of the catalog
+    final SchemaTraversalHandler formatter;
+    if (additionalOutputOptions.isEmpty())
+    {
+      formatter = getSchemaTraversalHandler(outputOptions);
+    }
+    else
+    {
+      final List<SchemaTraversalHandler> formatters = new ArrayList<>();
+      formatters.add(getSchemaTraversalHandler(outputOptions));
+      for (final OutputOptions additionalOutput: additionalOutputOptions)
+      {
+        formatters.add(getSchemaTraversalHandler(additionalOutput));
+      }
+      formatter = new CompositeSchemaTraversalHandler(formatters);
+    }
 
     final SchemaTraverser traverser = new SchemaTraverser();
     traverser.setCatalog(aCatalog);
@@ -93,17 +129,74 @@ public final class SchemaTextRenderer
 
   }
 
+  /**
+   * {@inheritDoc}
+   * <p>
+   * Weak associations and row counts change the catalog, and row counts
+   * use the connection, unless they were already obtained by an earlier
+   * command in a chain.
+   */
+  @Override
+  public boolean isReadOnly()
+  {
+    loadSchemaTextOptions();
+
+    if (schemaTextOptions.isShowWeakAssociations() && !analysisCache
+      .lookup(catalog, CatalogWithAssociations.class.getName()).isPresent())
+    {
+      return false;
+    }
+    if ((schemaTextOptions.isShowRowCounts() || schemaCrawlerOptions.isHideEmptyTables())
+        && !analysisCache
+          .lookup(catalog, getCountsAnalysisKey(getCountsOptions()))
+          .isPresent())
+    {
+      return false;
+    }
+    return true;
+  }
+
+  /**
+   * Outputs that are written in addition to the main output, from the
+   * same traversal of the catalog. Each output has its own format and
+   * file.
+   *
+   * @return Additional output options
+   */
+  public final List<OutputOptions> getAdditionalOutputOptions()
+  {
+    return new ArrayList<>(additionalOutputOptions);
+  }
+
   public final SchemaTextOptions getSchemaTextOptions()
   {
     loadSchemaTextOptions();
     return schemaTextOptions;
   }
 
+  public final void setAdditionalOutputOptions(final List<OutputOptions> additionalOutputOptions)
+  {
+    if (additionalOutputOptions == null)
+    {
+      this.additionalOutputOptions = new ArrayList<>();
+    }
+    else
+    {
+      this.additionalOutputOptions = new ArrayList<>(additionalOutputOptions);
+    }
+  }
+
   public final void setSchemaTextOptions(final SchemaTextOptions schemaTextOptions)
   {
     this.schemaTextOptions = schemaTextOptions;
   }
 
+  private CountsOptions getCountsOptions()
+  {
+    return new CountsOptionsBuilder().fromConfig(additionalConfiguration)
+      .connectionSupplier(connectionSupplier).toOptions();
+  }
+
   private SchemaTextDetailType getSchemaTextDetailType()
   {
     SchemaTextDetailType schemaTextDetailType;
@@ -118,7 +211,7 @@ public final class SchemaTextRenderer
     return schemaTextDetailType;
   }
 
-  private SchemaTraversalHandler getSchemaTraversalHandler()
+  private SchemaTraversalHandler getSchemaTraversalHandler(final OutputOptions outputOptions)
     throws SchemaCrawlerException
   {
     final SchemaTextDetailType schemaTextDetailType = getSchemaTextDetailType();
@@ -28,9 +28,14 @@ http://www.gnu.org/licenses/
 package schemacrawler.tools.text.utility;
 
 
+import java.io.Serializable;
+
 public class BinaryData
+  implements Serializable
 {
 
+  private static final long serialVersionUID = -5349425785613593916L;
+
   private final boolean hasData;
   private final String data;
 
@@ -34,6 +34,8 @@ import schemacrawler.schemacrawler.SchemaCrawlerException;
 import schemacrawler.tools.options.TextOutputFormat;
 import schemacrawler.tools.text.utility.org.json.JSONException;
 import schemacrawler.tools.text.utility.org.json.JSONObject;
+import schemacrawler.tools.text.utility.org.json.JSONStreamingArrayWriter;
+import schemacrawler.tools.text.utility.org.json.JSONStreamingWriter;
 
 public class JsonFormattingHelper
   extends PlainTextFormattingHelper
@@ -45,6 +47,23 @@ public class JsonFormattingHelper
     super(out, outputFormat);
   }
 
+  public JSONStreamingArrayWriter newStreamingArrayWriter(final JSONObject jsonObject,
+                                                          final String arrayKey,
+                                                          final String streamedKey)
+  {
+    return new JSONStreamingArrayWriter(out,
+                                        2,
+                                        jsonObject,
+                                        arrayKey,
+                                        streamedKey);
+  }
+
+  public JSONStreamingWriter newStreamingWriter(final JSONObject jsonObject,
+                                                final String streamedKey)
+  {
+    return new JSONStreamingWriter(out, 2, jsonObject, streamedKey);
+  }
+
   public void write(final JSONObject jsonObject)
     throws SchemaCrawlerException
   {
@@ -58,4 +77,18 @@ public class JsonFormattingHelper
     }
   }
 
+  /**
+   * Writes a JSON object on a line of its own, as in JSON Lines.
+   *
+   * @param jsonObject
+   *        JSON object to write
+   */
+  public void writeLine(final JSONObject jsonObject)
+  {
+    // Print the line separator explicitly, since println flushes the
+    // output
+    out.print(jsonObject.toString());
+    out.print(System.lineSeparator());
+  }
+
 }
@@ -97,7 +97,7 @@ public class JSONObject
    * <code>true</code>. <code>JSONObject.NULL.toString()</code> returns
    * <code>"null"</code>.
    */
-  private static final Object NULL = new Null();
+  public static final Object NULL = new Null();
 
   /**
    * Throw an exception if the object is a NaN or infinite number.
@@ -349,7 +349,7 @@ public class JSONObject
    *        A String
    * @return A String correctly formatted for insertion in a JSON text.
    */
-  private static String quote(final String string)
+  static String quote(final String string)
   {
     if (string == null || string.length() == 0)
     {
@@ -725,7 +725,7 @@ public class JSONObject
    *
    * @return An iterator of the keys.
    */
-  private Iterator keys()
+  Iterator keys()
   {
     return map.keySet().iterator();
   }
@@ -737,7 +737,7 @@ public class JSONObject
    *        A key string.
    * @return An object which is the value, or null if there is no value.
    */
-  private Object opt(final String key)
+  Object opt(final String key)
   {
     return key == null? null: map.get(key);
   }
@@ -900,9 +900,9 @@ public class JSONObject
    * @throws JSONException
    *         If the object contains an invalid number.
    */
-  private void write(final PrintWriter writer,
-                     final int indentFactor,
-                     final int indent)
+  void write(final PrintWriter writer,
+             final int indentFactor,
+             final int indent)
     throws JSONException
   {
     int i;
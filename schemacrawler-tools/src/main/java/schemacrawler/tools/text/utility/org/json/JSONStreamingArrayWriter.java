@@ -0,0 +1,539 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2018, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+
+package schemacrawler.tools.text.utility.org.json;
+
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+
+/**
+ * Writes a JSONObject with an array of objects under one key, with the
+ * same layout as {@link JSONObject#write(Writer, int)}. Each object in
+ * the array is written as soon as it is begun, and the values of one
+ * of its keys are written as they arrive, so that neither the array
+ * nor the values need to be held in memory. Since a single object in
+ * the array is laid out differently from several, the first object is
+ * written to a temporary file, and copied to the output with the
+ * layout for several objects once a second one is begun. The first
+ * value of each object is held back until a second one arrives, since
+ * a single value is not laid out like several.
+ *
+ * @author Sualeh Fatehi
+ */
+public final class JSONStreamingArrayWriter
+  implements AutoCloseable
+{
+
+  private final PrintWriter writer;
+  private final int indentFactor;
+  private final JSONObject jsonObject;
+  private final String arrayKey;
+  private final String streamedKey;
+  private final Set<String> writtenKeys;
+  private Set<String> keyOrder;
+  private PrintWriter out;
+  private Path firstElementFile;
+  private int elementIndent;
+  private int elementCount;
+  private JSONObject element;
+  private Set<String> elementKeyOrder;
+  private int valueIndent;
+  private int valueCount;
+  private Object firstValue;
+
+  public JSONStreamingArrayWriter(final Writer writer,
+                                  final int indentFactor,
+                                  final JSONObject jsonObject,
+                                  final String arrayKey,
+                                  final String streamedKey)
+  {
+    this.writer = new PrintWriter(writer);
+    this.indentFactor = indentFactor;
+    this.jsonObject = jsonObject;
+    this.arrayKey = arrayKey;
+    this.streamedKey = streamedKey;
+    writtenKeys = new HashSet<>();
+  }
+
+  /**
+   * Accumulates a value for the streamed key of the current object in
+   * the array, and writes it out if possible.
+   *
+   * @param value
+   *        Value to accumulate
+   * @throws JSONException
+   *         On an exception
+   */
+  public void accumulate(final Object value)
+    throws JSONException
+  {
+    if (element == null)
+    {
+      throw new JSONException("No object in JSONArray["
+                              + JSONObject.quote(arrayKey) + "] was begun");
+    }
+
+    valueCount++;
+    if (valueCount == 1)
+    {
+      firstValue = value;
+      return;
+    }
+
+    if (valueCount == 2)
+    {
+      out.print("[\n");
+      writeValue(firstValue);
+      firstValue = null;
+    }
+    out.print(",\n");
+    writeValue(value);
+  }
+
+  /**
+   * Begins an object in the array, and writes the keys that precede
+   * the streamed key. Values for the streamed key are accumulated
+   * until the object is ended.
+   *
+   * @param element
+   *        Object in the array, without the streamed key
+   * @throws JSONException
+   *         On an exception
+   */
+  public void beginElement(final JSONObject element)
+    throws JSONException
+  {
+    startElement();
+
+    this.element = element;
+    elementKeyOrder = keyOrder(element, streamedKey);
+    valueCount = 0;
+
+    final int newindent = elementIndent + indentFactor;
+    out.print("{");
+    if (elementKeyOrder.size() == 1)
+    {
+      out.print(JSONObject.quote(streamedKey));
+      out.print(": ");
+      valueIndent = elementIndent;
+    }
+    else
+    {
+      boolean isFirst = true;
+      for (final String key: elementKeyOrder)
+      {
+        out.print(isFirst? "\n": ",\n");
+        isFirst = false;
+        indent(out, newindent);
+        out.print(JSONObject.quote(key));
+        out.print(": ");
+        if (key.equals(streamedKey))
+        {
+          break;
+        }
+        out.print(JSONObject
+          .valueToString(element.opt(key), indentFactor, newindent));
+      }
+      valueIndent = newindent;
+    }
+  }
+
+  /**
+   * Deletes the temporary file for the first object in the array, if
+   * it was not copied to the output.
+   */
+  @Override
+  public void close()
+  {
+    if (out != null && out != writer)
+    {
+      out.close();
+      out = null;
+    }
+    deleteFirstElementFile();
+  }
+
+  /**
+   * Writes the end of the array, and the rest of the object.
+   *
+   * @throws JSONException
+   *         On an exception
+   */
+  public void end()
+    throws JSONException
+  {
+    if (element != null)
+    {
+      throw new JSONException("Object in JSONArray["
+                              + JSONObject.quote(arrayKey)
+                              + "] was not ended");
+    }
+
+    start();
+    if (elementCount == 0)
+    {
+      writer.print("[]");
+    }
+    else if (elementCount == 1)
+    {
+      writer.print("[");
+      copyFirstElement(0);
+      writer.print("]");
+    }
+    else
+    {
+      writer.println();
+      indent(writer, indentFactor);
+      writer.print(']');
+    }
+
+    // Keys that were added after the start of the array need to follow
+    // it in the iteration order of the object
+    final Set<String> endKeyOrder = keyOrder(jsonObject, arrayKey);
+    if (keyOrder.size() == 1)
+    {
+      if (endKeyOrder.size() > 1)
+      {
+        throw new JSONException("Keys were added to JSONObject after "
+                                + JSONObject.quote(arrayKey)
+                                + " was written");
+      }
+      writer.print('}');
+      return;
+    }
+
+    boolean isAfterArrayKey = false;
+    for (final String key: endKeyOrder)
+    {
+      if (key.equals(arrayKey))
+      {
+        isAfterArrayKey = true;
+      }
+      else if (isAfterArrayKey)
+      {
+        writer.println(",");
+        writeMember(key);
+      }
+      else if (!writtenKeys.contains(key))
+      {
+        throw new JSONException("JSONObject[" + JSONObject.quote(key)
+                                + "] was added after "
+                                + JSONObject.quote(arrayKey)
+                                + " was written");
+      }
+    }
+    writer.println();
+    writer.print('}');
+  }
+
+  /**
+   * Writes the values accumulated for the streamed key, and the rest
+   * of the current object in the array.
+   *
+   * @throws JSONException
+   *         On an exception
+   */
+  public void endElement()
+    throws JSONException
+  {
+    if (element == null)
+    {
+      throw new JSONException("No object in JSONArray["
+                              + JSONObject.quote(arrayKey) + "] was begun");
+    }
+
+    if (valueCount == 0)
+    {
+      out.print("[]");
+    }
+    else if (valueCount == 1)
+    {
+      out.print("[");
+      out.print(JSONObject.valueToString(firstValue, indentFactor, valueIndent));
+      out.print("]");
+      firstValue = null;
+    }
+    else
+    {
+      out.print("\n");
+      indent(out, valueIndent);
+      out.print("]");
+    }
+
+    if (elementKeyOrder.size() > 1)
+    {
+      final int newindent = elementIndent + indentFactor;
+      boolean isAfterStreamedKey = false;
+      for (final String key: elementKeyOrder)
+      {
+        if (isAfterStreamedKey)
+        {
+          out.print(",\n");
+          indent(out, newindent);
+          out.print(JSONObject.quote(key));
+          out.print(": ");
+          out.print(JSONObject
+            .valueToString(element.opt(key), indentFactor, newindent));
+        }
+        else if (key.equals(streamedKey))
+        {
+          isAfterStreamedKey = true;
+        }
+      }
+      out.print("\n");
+      indent(out, elementIndent);
+    }
+    out.print("}");
+
+    element = null;
+  }
+
+  /**
+   * Writes a complete object in the array, without a streamed key.
+   *
+   * @param element
+   *        Object in the array
+   * @throws JSONException
+   *         On an exception
+   */
+  public void writeElement(final JSONObject element)
+    throws JSONException
+  {
+    startElement();
+    out.print(JSONObject.valueToString(element, indentFactor, elementIndent));
+  }
+
+  /**
+   * Copies the first object in the array from the temporary file to
+   * the output. Since all indentation in the layout is relative to the
+   * indentation of the object, the object is moved to a deeper level
+   * by adding spaces after each line break.
+   *
+   * @param extraIndent
+   *        Number of spaces to add after each line break
+   */
+  private void copyFirstElement(final int extraIndent)
+    throws JSONException
+  {
+    try
+    {
+      out.close();
+      if (out.checkError())
+      {
+        throw new JSONException("Could not write JSONArray["
+                                + JSONObject.quote(arrayKey) + "]");
+      }
+      out = writer;
+
+      try (final BufferedReader reader = Files
+        .newBufferedReader(firstElementFile, UTF_8);)
+      {
+        int ch;
+        while ((ch = reader.read()) != -1)
+        {
+          writer.write(ch);
+          if (ch == '\n')
+          {
+            indent(writer, extraIndent);
+          }
+        }
+      }
+    }
+    catch (final IOException e)
+    {
+      throw new JSONException(e);
+    }
+    finally
+    {
+      deleteFirstElementFile();
+    }
+  }
+
+  private void deleteFirstElementFile()
+  {
+    if (firstElementFile == null)
+    {
+      return;
+    }
+    try
+    {
+      Files.deleteIfExists(firstElementFile);
+    }
+    catch (final IOException e)
+    {
+      firstElementFile.toFile().deleteOnExit();
+    }
+    firstElementFile = null;
+  }
+
+  private void indent(final PrintWriter out, final int indent)
+  {
+    for (int i = 0; i < indent; i++)
+    {
+      out.print(' ');
+    }
+  }
+
+  private Set<String> keyOrder(final JSONObject jsonObject,
+                               final String lastKey)
+  {
+    // Add keys in the order they were added to the object, so that the
+    // iteration order matches that of the object once the last key is
+    // added to it
+    final Set<String> keyOrder = new HashSet<>();
+    for (final Iterator keys = jsonObject.keys(); keys.hasNext();)
+    {
+      keyOrder.add(keys.next().toString());
+    }
+    keyOrder.add(lastKey);
+    return keyOrder;
+  }
+
+  /**
+   * Writes the keys of the object that precede the array, if they have
+   * not been written yet.
+   */
+  private void start()
+    throws JSONException
+  {
+    if (keyOrder != null)
+    {
+      return;
+    }
+    keyOrder = keyOrder(jsonObject, arrayKey);
+
+    writer.print("{");
+    if (keyOrder.size() == 1)
+    {
+      writer.print(JSONObject.quote(arrayKey));
+      writer.print(": ");
+    }
+    else
+    {
+      for (final String key: keyOrder)
+      {
+        writer.println();
+        if (key.equals(arrayKey))
+        {
+          break;
+        }
+        writeMember(key);
+        writtenKeys.add(key);
+        writer.print(",");
+      }
+      indent(writer, indentFactor);
+      writer.print(JSONObject.quote(arrayKey));
+      writer.print(": ");
+    }
+  }
+
+  private void startElement()
+    throws JSONException
+  {
+    if (element != null)
+    {
+      throw new JSONException("Object in JSONArray["
+                              + JSONObject.quote(arrayKey)
+                              + "] was not ended");
+    }
+
+    start();
+    if (elementCount == 0)
+    {
+      // Write the first object with the layout of a single object in
+      // the array, until it is known whether there are more
+      try
+      {
+        firstElementFile = Files.createTempFile("schemacrawler", ".json");
+        // In case the array is never written out or closed
+        firstElementFile.toFile().deleteOnExit();
+        out = new PrintWriter(Files.newBufferedWriter(firstElementFile,
+                                                      UTF_8));
+      }
+      catch (final IOException e)
+      {
+        throw new JSONException(e);
+      }
+      elementIndent = indentFactor;
+    }
+    else
+    {
+      if (elementCount == 1)
+      {
+        writer.print("[");
+        writer.println();
+        indent(writer, indentFactor * 2);
+        copyFirstElement(indentFactor);
+        elementIndent = indentFactor * 2;
+      }
+      writer.println(",");
+      indent(writer, elementIndent);
+    }
+    elementCount++;
+  }
+
+  private void writeMember(final String key)
+    throws JSONException
+  {
+    indent(writer, indentFactor);
+    writer.print(JSONObject.quote(key));
+    writer.print(": ");
+    final Object value = jsonObject.opt(key);
+    if (value instanceof JSONObject)
+    {
+      ((JSONObject) value).write(writer, indentFactor, indentFactor);
+    }
+    else if (value instanceof JSONArray)
+    {
+      ((JSONArray) value).write(writer, indentFactor, indentFactor);
+    }
+    else
+    {
+      writer.print(JSONObject.valueToString(value));
+    }
+  }
+
+  private void writeValue(final Object value)
+    throws JSONException
+  {
+    indent(out, valueIndent + indentFactor);
+    out.print(JSONObject
+      .valueToString(value, indentFactor, valueIndent + indentFactor));
+  }
+
+}
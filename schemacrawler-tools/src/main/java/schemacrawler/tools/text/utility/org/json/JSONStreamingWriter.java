@@ -0,0 +1,290 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2018, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+
+package schemacrawler.tools.text.utility.org.json;
+
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+
+/**
+ * Writes a JSONObject with the same layout as
+ * {@link JSONObject#write(Writer, int)}, but writes the values
+ * accumulated for one key as they arrive, so that they do not need to
+ * be held in memory. Values are written to a temporary file, since
+ * keys that are added to the object later may precede the streamed key
+ * in the iteration order of the object. The object is written in its
+ * own iteration order at the end, with the values copied in from the
+ * temporary file. The first value is held back until a second one
+ * arrives, since a single accumulated value is not written as an
+ * array.
+ *
+ * @author Sualeh Fatehi
+ */
+public final class JSONStreamingWriter
+  implements AutoCloseable
+{
+
+  private final PrintWriter writer;
+  private final int indentFactor;
+  private final JSONObject jsonObject;
+  private final String streamedKey;
+  private Object firstValue;
+  private Path spillFile;
+  private PrintWriter spill;
+
+  public JSONStreamingWriter(final Writer writer,
+                             final int indentFactor,
+                             final JSONObject jsonObject,
+                             final String streamedKey)
+  {
+    this.writer = new PrintWriter(writer);
+    this.indentFactor = indentFactor;
+    this.jsonObject = jsonObject;
+    this.streamedKey = streamedKey;
+  }
+
+  /**
+   * Accumulates a value for the streamed key, and writes it out if
+   * possible.
+   *
+   * @param value
+   *        Value to accumulate
+   * @throws JSONException
+   *         On an exception
+   */
+  public void accumulate(final Object value)
+    throws JSONException
+  {
+    if (spill != null)
+    {
+      spill.println(",");
+      writeElement(value);
+    }
+    else if (firstValue != null)
+    {
+      beginStreaming();
+      writeElement(firstValue);
+      spill.println(",");
+      writeElement(value);
+      firstValue = null;
+      // Keep the streamed key in the object, without holding the value
+      jsonObject.put(streamedKey, Boolean.TRUE);
+    }
+    else if (jsonObject.opt(streamedKey) != null)
+    {
+      jsonObject.accumulate(streamedKey, value);
+    }
+    else
+    {
+      // Put the first value in the object, so that the streamed key
+      // takes the same place in the iteration order of the object as
+      // it would if all values were accumulated into the object
+      firstValue = value;
+      jsonObject.put(streamedKey, value);
+    }
+  }
+
+  /**
+   * Writes the object, with the values that were streamed.
+   *
+   * @throws JSONException
+   *         On an exception
+   */
+  public void end()
+    throws JSONException
+  {
+    if (spill == null)
+    {
+      jsonObject.write(writer, indentFactor, 0);
+      return;
+    }
+
+    try
+    {
+      spill.close();
+      if (spill.checkError())
+      {
+        throw new JSONException("Could not write values for "
+                                + JSONObject.quote(streamedKey));
+      }
+
+      writer.print("{");
+      if (jsonObject.length() == 1)
+      {
+        writer.print(JSONObject.quote(streamedKey));
+        writer.print(": ");
+        writeStreamedValues();
+      }
+      else
+      {
+        boolean isFirst = true;
+        for (final Iterator keys = jsonObject.keys(); keys.hasNext();)
+        {
+          final String key = keys.next().toString();
+          if (isFirst)
+          {
+            writer.println();
+            isFirst = false;
+          }
+          else
+          {
+            writer.println(",");
+          }
+          writeMember(key);
+        }
+        writer.println();
+      }
+      writer.print('}');
+    }
+    finally
+    {
+      close();
+    }
+  }
+
+  /**
+   * Deletes the temporary file for the streamed values, if the object
+   * was not written out to the end.
+   */
+  @Override
+  public void close()
+  {
+    if (spill != null)
+    {
+      spill.close();
+      spill = null;
+    }
+    if (spillFile != null)
+    {
+      try
+      {
+        Files.deleteIfExists(spillFile);
+      }
+      catch (final IOException e)
+      {
+        spillFile.toFile().deleteOnExit();
+      }
+      spillFile = null;
+    }
+  }
+
+  private void beginStreaming()
+    throws JSONException
+  {
+    try
+    {
+      spillFile = Files.createTempFile("schemacrawler", ".json");
+      // In case the object is never written out or closed
+      spillFile.toFile().deleteOnExit();
+      spill = new PrintWriter(Files.newBufferedWriter(spillFile, UTF_8));
+    }
+    catch (final IOException e)
+    {
+      throw new JSONException(e);
+    }
+  }
+
+  private void indent(final int indent)
+  {
+    for (int i = 0; i < indent; i++)
+    {
+      writer.print(' ');
+    }
+  }
+
+  private void writeElement(final Object value)
+    throws JSONException
+  {
+    for (int i = 0; i < indentFactor * 2; i++)
+    {
+      spill.print(' ');
+    }
+    spill
+      .print(JSONObject.valueToString(value, indentFactor, indentFactor * 2));
+  }
+
+  private void writeMember(final String key)
+    throws JSONException
+  {
+    indent(indentFactor);
+    writer.print(JSONObject.quote(key));
+    writer.print(": ");
+    if (key.equals(streamedKey))
+    {
+      writeStreamedValues();
+      return;
+    }
+
+    final Object value = jsonObject.opt(key);
+    if (value instanceof JSONObject)
+    {
+      ((JSONObject) value).write(writer, indentFactor, indentFactor);
+    }
+    else if (value instanceof JSONArray)
+    {
+      ((JSONArray) value).write(writer, indentFactor, indentFactor);
+    }
+    else
+    {
+      writer.print(JSONObject.valueToString(value));
+    }
+  }
+
+  private void writeStreamedValues()
+    throws JSONException
+  {
+    writer.print("[");
+    writer.println();
+    try (final BufferedReader reader = Files.newBufferedReader(spillFile,
+                                                               UTF_8);)
+    {
+      final char[] buffer = new char[8192];
+      int length;
+      while ((length = reader.read(buffer)) != -1)
+      {
+        writer.write(buffer, 0, length);
+      }
+    }
+    catch (final IOException e)
+    {
+      throw new JSONException(e);
+    }
+    writer.println();
+    indent(indentFactor);
+    writer.print(']');
+  }
+
+}
@@ -0,0 +1,96 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2018, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+package schemacrawler.test;
+
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import schemacrawler.schema.Catalog;
+import schemacrawler.schemacrawler.SchemaCrawlerOptionsBuilder;
+import schemacrawler.test.utility.BaseDatabaseTest;
+import schemacrawler.tools.analysis.CatalogAnalysisCache;
+
+public class CatalogAnalysisCacheTest
+  extends BaseDatabaseTest
+{
+
+  @Test
+  public void analyzeOnce()
+    throws Exception
+  {
+    final Catalog catalog = getCatalog(SchemaCrawlerOptionsBuilder
+      .newSchemaCrawlerOptions());
+    final CatalogAnalysisCache analysisCache = new CatalogAnalysisCache();
+    final AtomicInteger analysisCount = new AtomicInteger();
+
+    assertFalse(analysisCache.lookup(catalog, "analysis").isPresent());
+
+    final Object result = analysisCache
+      .get(catalog, "analysis", analysisCount::incrementAndGet);
+    assertEquals(1, result);
+    assertSame(result,
+               analysisCache.get(catalog,
+                                 "analysis",
+                                 analysisCount::incrementAndGet));
+    assertEquals(1, analysisCount.get());
+    assertTrue(analysisCache.lookup(catalog, "analysis").isPresent());
+
+    analysisCache.clear();
+    assertFalse(analysisCache.lookup(catalog, "analysis").isPresent());
+  }
+
+  @Test
+  public void analyzeEachCatalogAndKey()
+    throws Exception
+  {
+    final Catalog catalog1 = getCatalog(SchemaCrawlerOptionsBuilder
+      .newSchemaCrawlerOptions());
+    final Catalog catalog2 = getCatalog(SchemaCrawlerOptionsBuilder
+      .newSchemaCrawlerOptions());
+    final CatalogAnalysisCache analysisCache = new CatalogAnalysisCache();
+    final AtomicInteger analysisCount = new AtomicInteger();
+
+    analysisCache.get(catalog1, "analysis1", analysisCount::incrementAndGet);
+    analysisCache.get(catalog1, "analysis2", analysisCount::incrementAndGet);
+    analysisCache.get(catalog2, "analysis1", analysisCount::incrementAndGet);
+    assertEquals(3, analysisCount.get());
+
+    assertEquals(2,
+                 analysisCache.<Integer> lookup(catalog1, "analysis2").get()
+                   .intValue());
+    assertFalse(analysisCache.lookup(catalog2, "analysis2").isPresent());
+  }
+
+}
@@ -0,0 +1,137 @@
+package schemacrawler.test;
+
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.zip.Deflater;
+
+import org.junit.Test;
+
+import schemacrawler.tools.iosource.CompressedFileInputResource;
+import schemacrawler.tools.iosource.CompressedFileOutputResource;
+import schemacrawler.tools.iosource.CompressionCodec;
+import schemacrawler.tools.options.OutputOptions;
+import schemacrawler.tools.options.OutputOptionsBuilder;
+import sf.util.IOUtility;
+
+public class CompressedFileResourceTest
+{
+
+  private static final String INTERNAL_PATH = "schemacrawler.data";
+
+  @Test
+  public void blockCompressedRoundTrip()
+    throws Exception
+  {
+    roundTrip(CompressionCodec.block, Deflater.DEFAULT_COMPRESSION);
+  }
+
+  @Test
+  public void blockCompressedRoundTripFast()
+    throws Exception
+  {
+    roundTrip(CompressionCodec.block, Deflater.BEST_SPEED);
+  }
+
+  @Test
+  public void compressionFromOutputOptions()
+    throws Exception
+  {
+    final Path file = IOUtility.createTempFilePath("schemacrawler", "data");
+    final OutputOptions outputOptions = new OutputOptionsBuilder()
+      .withCompressionCodec(CompressionCodec.block).withFastCompression()
+      .withCompressedOutputFile(file).toOptions();
+    assertEquals(CompressionCodec.block, outputOptions.getCompressionCodec());
+
+    final byte[] data = newData(1000);
+    try (final OutputStream out = outputOptions.openNewOutputStream();)
+    {
+      out.write(data);
+    }
+
+    final OutputOptions inputOptions = new OutputOptionsBuilder()
+      .withCompressedInputFile(file).toOptions();
+    assertArrayEquals(data, readAll(inputOptions.openNewInputStream()));
+  }
+
+  @Test
+  public void gzipRoundTrip()
+    throws Exception
+  {
+    roundTrip(CompressionCodec.gzip, Deflater.BEST_SPEED);
+  }
+
+  @Test
+  public void zipRoundTrip()
+    throws Exception
+  {
+    roundTrip(CompressionCodec.zip, Deflater.DEFAULT_COMPRESSION);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void badCompressionLevel()
+    throws Exception
+  {
+    new OutputOptionsBuilder().withCompressionLevel(10);
+  }
+
+  private byte[] newData(final int size)
+  {
+    // Repetitive text, so that the data compresses, spread across
+    // several blocks
+    final Random random = new Random(42);
+    final byte[] data = new byte[size];
+    for (int i = 0; i < size; i++)
+    {
+      data[i] = (byte) ('A' + random.nextInt(8));
+    }
+    return data;
+  }
+
+  private byte[] readAll(final InputStream inputStream)
+    throws IOException
+  {
+    try (final InputStream in = inputStream;
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();)
+    {
+      final byte[] buffer = new byte[4096];
+      int count;
+      while ((count = in.read(buffer)) != -1)
+      {
+        out.write(buffer, 0, count);
+      }
+      return out.toByteArray();
+    }
+  }
+
+  private void roundTrip(final CompressionCodec compressionCodec,
+                         final int compressionLevel)
+    throws Exception
+  {
+    final Path file = IOUtility.createTempFilePath("schemacrawler", "data");
+    final byte[] data = newData(5 * 1024 * 1024 + 17);
+
+    try (final OutputStream out = new CompressedFileOutputResource(file,
+                                                                   INTERNAL_PATH,
+                                                                   compressionCodec,
+                                                                   compressionLevel)
+                                                                     .openNewOutputStream();)
+    {
+      out.write(data, 0, 100);
+      out.write(data[100]);
+      out.write(data, 101, data.length - 101);
+    }
+
+    final CompressedFileInputResource inputResource = new CompressedFileInputResource(file,
+                                                                                      INTERNAL_PATH);
+    assertArrayEquals(data, readAll(inputResource.openNewInputStream()));
+  }
+
+}
@@ -0,0 +1,126 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2018, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+
+package schemacrawler.test;
+
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static schemacrawler.tools.analysis.fingerprint.FingerprintUtility.addFingerprints;
+import static schemacrawler.tools.analysis.fingerprint.FingerprintUtility.getFingerprint;
+import static schemacrawler.tools.analysis.fingerprint.FingerprintUtility.isFingerprintMatch;
+
+import org.junit.Test;
+
+import schemacrawler.schema.Catalog;
+import schemacrawler.schema.Column;
+import schemacrawler.schema.Schema;
+import schemacrawler.schema.Table;
+import schemacrawler.schemacrawler.IncludeAll;
+import schemacrawler.schemacrawler.InclusionRule;
+import schemacrawler.schemacrawler.RegularExpressionExclusionRule;
+import schemacrawler.schemacrawler.SchemaCrawlerOptions;
+import schemacrawler.schemacrawler.SchemaCrawlerOptionsBuilder;
+import schemacrawler.schemacrawler.SchemaInfoLevelBuilder;
+import schemacrawler.test.utility.BaseDatabaseTest;
+
+public class FingerprintTest
+  extends BaseDatabaseTest
+{
+
+  @Test
+  public void fingerprintsAreStable()
+    throws Exception
+  {
+    final Catalog catalog1 = getCatalog(options(new IncludeAll()));
+    final Catalog catalog2 = getCatalog(options(new IncludeAll()));
+
+    final String fingerprint = addFingerprints(catalog1);
+    assertNotNull(fingerprint);
+    assertEquals(fingerprint, addFingerprints(catalog2));
+    assertEquals(fingerprint, getFingerprint(catalog1));
+
+    for (final Table table1: catalog1.getTables())
+    {
+      final Table table2 = catalog2.lookupTable(table1.getSchema(),
+                                                table1.getName())
+        .get();
+      assertTrue(table1.getFullName(), isFingerprintMatch(table1, table2));
+      for (final Column column1: table1.getColumns())
+      {
+        assertTrue(column1.getFullName(),
+                   isFingerprintMatch(column1,
+                                      table2.lookupColumn(column1.getName())
+                                        .get()));
+      }
+    }
+  }
+
+  @Test
+  public void fingerprintsLocateChanges()
+    throws Exception
+  {
+    final Catalog catalog1 = getCatalog(options(new IncludeAll()));
+    final Catalog catalog2 = getCatalog(options(new RegularExpressionExclusionRule(".*\\.COUPONS")));
+
+    assertNotEquals(addFingerprints(catalog1), addFingerprints(catalog2));
+
+    for (final Schema schema1: catalog1.getSchemas())
+    {
+      final Schema schema2 = catalog2.lookupSchema(schema1.getFullName())
+        .get();
+      final boolean isChanged = schema1.getFullName().equals("PUBLIC.BOOKS");
+      assertEquals(schema1.getFullName(),
+                   !isChanged,
+                   isFingerprintMatch(schema1, schema2));
+    }
+  }
+
+  @Test
+  public void noFingerprints()
+    throws Exception
+  {
+    final Catalog catalog1 = getCatalog(options(new IncludeAll()));
+    final Catalog catalog2 = getCatalog(options(new IncludeAll()));
+
+    assertFalse(isFingerprintMatch(catalog1, catalog2));
+  }
+
+  private SchemaCrawlerOptions options(final InclusionRule tableInclusionRule)
+  {
+    return new SchemaCrawlerOptionsBuilder()
+      .withSchemaInfoLevel(SchemaInfoLevelBuilder.maximum().toOptions())
+      .includeSchemas(new RegularExpressionExclusionRule(".*\\.FOR_LINT"))
+      .includeTables(tableInclusionRule)
+      .toOptions();
+  }
+
+}
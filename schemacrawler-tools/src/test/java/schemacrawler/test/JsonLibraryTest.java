@@ -1,11 +1,13 @@
 package schemacrawler.test;
 
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.fail;
 import static schemacrawler.test.utility.TestUtility.clean;
 import static schemacrawler.test.utility.TestUtility.compareOutput;
 
 import java.io.FileWriter;
+import java.io.StringWriter;
 import java.io.Writer;
 import java.nio.file.Path;
 import java.util.ArrayList;
@@ -19,6 +21,8 @@ import schemacrawler.test.utility.TestName;
 import schemacrawler.tools.options.TextOutputFormat;
 import schemacrawler.tools.text.utility.org.json.JSONArray;
 import schemacrawler.tools.text.utility.org.json.JSONObject;
+import schemacrawler.tools.text.utility.org.json.JSONStreamingArrayWriter;
+import schemacrawler.tools.text.utility.org.json.JSONStreamingWriter;
 import sf.util.IOUtility;
 
 public class JsonLibraryTest
@@ -56,6 +60,121 @@ public class JsonLibraryTest
     testJson(jsonObject);
   }
 
+  @Test
+  public void streamedJsonArray()
+    throws Exception
+  {
+    for (int count = 0; count <= 3; count++)
+    {
+      testStreamedJsonArray(count, true);
+      testStreamedJsonArray(count, false);
+    }
+  }
+
+  @Test
+  public void streamedJsonObject()
+    throws Exception
+  {
+    for (int count = 0; count <= 5; count++)
+    {
+      testStreamedJson(count, true);
+      testStreamedJson(count, false);
+    }
+  }
+
+  private JSONObject newJsonTable(final int index)
+    throws Exception
+  {
+    final JSONObject jsonTable = new JSONObject();
+    jsonTable.put("name", "TABLE" + index);
+    final JSONArray jsonColumns = new JSONArray();
+    jsonColumns.put(new JSONObject().put("name", "ID"));
+    jsonColumns.put(new JSONObject().put("name", "NAME"));
+    jsonTable.put("columns", jsonColumns);
+    return jsonTable;
+  }
+
+  private void testStreamedJsonArray(final int dataCount,
+                                     final boolean hasDescription)
+    throws Exception
+  {
+    final JSONObject jsonObject = new JSONObject();
+    final JSONObject jsonStreamedObject = new JSONObject();
+    if (hasDescription)
+    {
+      jsonObject.put("description", "Streamed");
+      jsonStreamedObject.put("description", "Streamed");
+    }
+    final JSONArray jsonDataArray = new JSONArray();
+    jsonObject.put("data", jsonDataArray);
+
+    final StringWriter streamedOut = new StringWriter();
+    final JSONStreamingArrayWriter streamingWriter = new JSONStreamingArrayWriter(streamedOut,
+                                                                                  2,
+                                                                                  jsonStreamedObject,
+                                                                                  "data",
+                                                                                  "rows");
+    for (int i = 0; i < dataCount; i++)
+    {
+      final JSONObject jsonData = new JSONObject();
+      jsonData.put("title", "TABLE" + i);
+      jsonData.put("columnNames", new JSONArray().put("ID").put("NAME"));
+      final JSONArray jsonRows = new JSONArray();
+      streamingWriter.beginElement(jsonData);
+      for (int j = 0; j < i; j++)
+      {
+        final JSONArray jsonRow = new JSONArray().put(j).put("NAME" + j);
+        jsonRows.put(jsonRow);
+        streamingWriter.accumulate(jsonRow);
+      }
+      streamingWriter.endElement();
+      jsonData.put("rows", jsonRows);
+      jsonDataArray.put(jsonData);
+    }
+
+    final StringWriter out = new StringWriter();
+    jsonObject.write(out, 2);
+    streamingWriter.end();
+
+    assertEquals(out.toString(), streamedOut.toString());
+  }
+
+  private void testStreamedJson(final int tableCount, final boolean hasHeader)
+    throws Exception
+  {
+    final JSONObject jsonObject = new JSONObject();
+    final JSONObject jsonStreamedObject = new JSONObject();
+    final StringWriter streamedOut = new StringWriter();
+    final JSONStreamingWriter streamingWriter = new JSONStreamingWriter(streamedOut,
+                                                                        2,
+                                                                        jsonStreamedObject,
+                                                                        "tables");
+
+    if (hasHeader)
+    {
+      jsonObject.put("schemaCrawlerHeaderInfo",
+                     new JSONObject().put("title", "Streamed"));
+      jsonStreamedObject.put("schemaCrawlerHeaderInfo",
+                             new JSONObject().put("title", "Streamed"));
+    }
+    for (int i = 0; i < tableCount; i++)
+    {
+      jsonObject.accumulate("tables", newJsonTable(i));
+      streamingWriter.accumulate(newJsonTable(i));
+    }
+    jsonObject.accumulate("routines", new JSONObject().put("name", "R"));
+    jsonStreamedObject.accumulate("routines",
+                                  new JSONObject().put("name", "R"));
+    jsonObject.put("synonyms", new JSONArray());
+    jsonStreamedObject.put("synonyms", new JSONArray());
+
+    final StringWriter out = new StringWriter();
+    jsonObject.write(out, 2);
+    streamingWriter.end();
+
+    assertEquals(out.toString(), streamedOut.toString());
+  }
+
   private void testJson(final JSONObject jsonObject)
     throws Exception
   {
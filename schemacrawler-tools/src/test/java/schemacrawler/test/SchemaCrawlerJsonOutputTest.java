@@ -34,6 +34,7 @@ import static schemacrawler.test.utility.TestUtility.clean;
 import static schemacrawler.test.utility.TestUtility.compareOutput;
 
 import java.nio.file.Path;
+import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -45,6 +46,8 @@ import schemacrawler.schemacrawler.Config;
 import schemacrawler.schemacrawler.ExcludeAll;
 import schemacrawler.schemacrawler.InclusionRule;
 import schemacrawler.schemacrawler.RegularExpressionExclusionRule;
+import schemacrawler.schemacrawler.RegularExpressionInclusionRule;
+import schemacrawler.schemacrawler.SchemaCrawlerException;
 import schemacrawler.schemacrawler.SchemaCrawlerOptions;
 import schemacrawler.schemacrawler.SchemaCrawlerOptionsBuilder;
 import schemacrawler.schemacrawler.SchemaRetrievalOptionsBuilder;
@@ -55,6 +58,7 @@ import schemacrawler.tools.options.InfoLevel;
 import schemacrawler.tools.options.OutputOptions;
 import schemacrawler.tools.options.OutputOptionsBuilder;
 import schemacrawler.tools.options.TextOutputFormat;
+import schemacrawler.tools.text.operation.OperationOptionsBuilder;
 import schemacrawler.tools.text.schema.SchemaTextDetailType;
 import schemacrawler.tools.text.schema.SchemaTextOptionsBuilder;
 import sf.util.IOUtility;
@@ -75,6 +79,28 @@ public class SchemaCrawlerJsonOutputTest
   @Rule
   public TestName testName = new TestName();
 
+  @Test
+  public void countJsonOutput()
+    throws Exception
+  {
+    dataJsonOutput("count", new Config());
+  }
+
+  @Test
+  public void dumpJsonLinesOutput()
+    throws Exception
+  {
+    dataJsonOutput("dump",
+                   new OperationOptionsBuilder().jsonLines(true).toConfig());
+  }
+
+  @Test
+  public void dumpJsonOutput()
+    throws Exception
+  {
+    dataJsonOutput("dump", new Config());
+  }
+
   @Test
   public void noTableJsonOutput()
     throws Exception
@@ -82,6 +108,16 @@ public class SchemaCrawlerJsonOutputTest
     jsonOutput(fullName -> false, "");
   }
 
+  @Test
+  public void queryJsonOutput()
+    throws Exception
+  {
+    final Config config = new Config();
+    config.put("authors_query",
+               "SELECT ID, FIRSTNAME FROM BOOKS.AUTHORS WHERE ID = 1");
+    dataJsonOutput("authors_query", config);
+  }
+
   @Test
   public void singleTableJsonOutput()
     throws Exception
@@ -89,6 +125,85 @@ public class SchemaCrawlerJsonOutputTest
     jsonOutput(fullName -> fullName.contains("Counts"), "%Counts");
   }
 
+  @Test
+  public void dumpJsonOutputParallel()
+    throws Exception
+  {
+    // Output has to be the same as for the sequential dump
+    final Config config = new OperationOptionsBuilder().parallelism(3)
+      .toConfig();
+    dataJsonOutput("dump", config, "dumpJsonOutput");
+  }
+
+  private void dataJsonOutput(final String command,
+                              final Config operationOptions)
+    throws Exception
+  {
+    dataJsonOutput(command,
+                   operationOptions,
+                   testName.currentMethodName());
+  }
+
+  private void dataJsonOutput(final String command,
+                              final Config operationOptions,
+                              final String referenceName)
+    throws Exception
+  {
+    final List<String> failures = new ArrayList<>();
+    final String referenceFile = referenceName + ".json";
+
+    final Path testOutputFile = IOUtility
+      .createTempFilePath(referenceFile, TextOutputFormat.json.getFormat());
+
+    final OutputOptions outputOptions = OutputOptionsBuilder
+      .newOutputOptions(TextOutputFormat.json, testOutputFile);
+
+    final Config config = loadHsqldbConfig();
+
+    final SchemaRetrievalOptionsBuilder schemaRetrievalOptionsBuilder = new SchemaRetrievalOptionsBuilder()
+      .fromConfig(config);
+
+    final SchemaCrawlerOptionsBuilder schemaCrawlerOptionsBuilder = new SchemaCrawlerOptionsBuilder()
+      .withSchemaInfoLevel(InfoLevel.standard.buildSchemaInfoLevel())
+      .includeSchemas(new RegularExpressionInclusionRule(".*\\.BOOKS"))
+      .includeRoutines(new ExcludeAll());
+    final SchemaCrawlerOptions schemaCrawlerOptions = schemaCrawlerOptionsBuilder
+      .toOptions();
+
+    final SchemaCrawlerExecutable executable = new SchemaCrawlerExecutable(command);
+    executable.setSchemaCrawlerOptions(schemaCrawlerOptions);
+    executable.setOutputOptions(outputOptions);
+    executable.setAdditionalConfiguration(operationOptions);
+    executable.setConnection(getConnection());
+    executable.setConnectionSupplier(() -> {
+      try
+      {
+        return getConnection();
+      }
+      catch (final SchemaCrawlerException e)
+      {
+        throw new SQLException(e);
+      }
+    });
+    executable
+      .setSchemaRetrievalOptions(schemaRetrievalOptionsBuilder.toOptions());
+    executable.execute();
+
+    // JSON Lines output is not a single JSON document, so compare it
+    // as text
+    final boolean isJsonLines = new OperationOptionsBuilder()
+      .fromConfig(operationOptions).toOptions().isJsonLines();
+    failures.addAll(compareOutput(JSON_EXTRA_OUTPUT + referenceFile,
+                                  testOutputFile,
+                                  isJsonLines? "text"
+                                             : outputOptions
+                                               .getOutputFormatValue()));
+    if (failures.size() > 0)
+    {
+      fail(failures.toString());
+    }
+  }
+
   private void jsonOutput(final InclusionRule tableInclusionRule,
                           final String tableName)
     throws Exception
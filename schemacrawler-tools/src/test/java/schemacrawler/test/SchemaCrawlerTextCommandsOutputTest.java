@@ -54,6 +54,7 @@ public class SchemaCrawlerTextCommandsOutputTest
 {
 
   private static final String COMMAND_OUTPUT = "command_output/";
+  private static final String CHAINED_COMMANDS = "brief,count,schema,list";
 
   @BeforeClass
   public static void before()
@@ -62,6 +63,23 @@ public class SchemaCrawlerTextCommandsOutputTest
     clean(COMMAND_OUTPUT);
   }
 
+  @Test
+  public void chainedOutput()
+    throws Exception
+  {
+    textOutputTest(CHAINED_COMMANDS, new Config());
+  }
+
+  @Test
+  public void chainedOutputConcurrently()
+    throws Exception
+  {
+    // Output has to be the same as for commands that run one at a time
+    final Config config = new Config();
+    config.put("schemacrawler.chain.parallelism", "3");
+    textOutputTest(CHAINED_COMMANDS, config, CHAINED_COMMANDS);
+  }
+
   @Test
   public void countOutput()
     throws Exception
@@ -145,6 +163,14 @@ public class SchemaCrawlerTextCommandsOutputTest
 
   private void textOutputTest(final String command, final Config config)
     throws Exception
+  {
+    textOutputTest(command, config, command);
+  }
+
+  private void textOutputTest(final String command,
+                              final Config config,
+                              final String referenceName)
+    throws Exception
   {
     try (final TestWriter writer = new TestWriter(TextOutputFormat.text
       .getFormat());)
@@ -173,7 +199,7 @@ public class SchemaCrawlerTextCommandsOutputTest
       executable.setConnection(getConnection());
       executable.execute();
 
-      writer.assertEquals(COMMAND_OUTPUT + command + ".txt");
+      writer.assertEquals(COMMAND_OUTPUT + referenceName + ".txt");
     }
   }
 
@@ -31,6 +31,7 @@ package schemacrawler.test;
 
 import static org.junit.Assert.assertEquals;
 
+import java.sql.SQLException;
 import java.util.Arrays;
 
 import org.junit.Rule;
@@ -39,7 +40,10 @@ import org.junit.Test;
 import schemacrawler.schema.Catalog;
 import schemacrawler.schema.Schema;
 import schemacrawler.schema.Table;
+import schemacrawler.schemacrawler.InformationSchemaViews;
+import schemacrawler.schemacrawler.InformationSchemaViewsBuilder;
 import schemacrawler.schemacrawler.RegularExpressionExclusionRule;
+import schemacrawler.schemacrawler.SchemaCrawlerException;
 import schemacrawler.schemacrawler.SchemaCrawlerOptions;
 import schemacrawler.schemacrawler.SchemaCrawlerOptionsBuilder;
 import schemacrawler.schemacrawler.SchemaInfoLevelBuilder;
@@ -47,6 +51,9 @@ import schemacrawler.test.utility.BaseDatabaseTest;
 import schemacrawler.test.utility.TestName;
 import schemacrawler.test.utility.TestWriter;
 import schemacrawler.tools.analysis.counts.CatalogWithCounts;
+import schemacrawler.tools.analysis.counts.CountsMode;
+import schemacrawler.tools.analysis.counts.CountsOptions;
+import schemacrawler.tools.analysis.counts.CountsOptionsBuilder;
 import schemacrawler.tools.analysis.counts.CountsUtility;
 import schemacrawler.utility.NamedObjectSort;
 
@@ -60,6 +67,87 @@ public class TableCountsTest
   @Test
   public void tableCounts()
     throws Exception
+  {
+    tableCounts(new CountsOptions(), new InformationSchemaViews());
+  }
+
+  @Test
+  public void tableCountsEstimated()
+    throws Exception
+  {
+    final CountsOptions countsOptions = new CountsOptionsBuilder()
+      .countsMode(CountsMode.estimated).toOptions();
+    tableCounts(countsOptions, tableRowCountsViews());
+  }
+
+  @Test
+  public void tableCountsEstimatedWithFailingQuery()
+    throws Exception
+  {
+    // Falls back to counting rows, so the output is the same as for
+    // exact counts
+    final CountsOptions countsOptions = new CountsOptionsBuilder()
+      .countsMode(CountsMode.estimated).toOptions();
+    final InformationSchemaViews informationSchemaViews = new InformationSchemaViewsBuilder()
+      .withTableRowCountsSql("SELECT TABLE_CATALOG, TABLE_SCHEMA, TABLE_NAME, "
+                             + "ROW_COUNT FROM NO_SUCH_TABLE_STATISTICS")
+      .toOptions();
+    tableCounts(countsOptions, informationSchemaViews);
+  }
+
+  @Test
+  public void tableCountsHybrid()
+    throws Exception
+  {
+    final CountsOptions countsOptions = new CountsOptionsBuilder()
+      .countsMode(CountsMode.hybrid).exactCountThreshold(5).toOptions();
+    tableCounts(countsOptions, tableRowCountsViews());
+  }
+
+  @Test
+  public void tableCountsHybridWithoutEstimates()
+    throws Exception
+  {
+    // Falls back to counting rows, so the output is the same as for
+    // exact counts
+    final CountsOptions countsOptions = new CountsOptionsBuilder()
+      .countsMode(CountsMode.hybrid).exactCountThreshold(5).toOptions();
+    tableCounts(countsOptions, new InformationSchemaViews());
+  }
+
+  @Test
+  public void tableCountsParallel()
+    throws Exception
+  {
+    // Counts on more than one connection, so the output is the same as
+    // for counting one table at a time
+    final CountsOptions countsOptions = new CountsOptionsBuilder()
+      .parallelism(3).queryTimeout(30).connectionSupplier(() -> {
+        try
+        {
+          return getConnection();
+        }
+        catch (final SchemaCrawlerException e)
+        {
+          throw new SQLException(e);
+        }
+      }).toOptions();
+    tableCounts(countsOptions, new InformationSchemaViews());
+  }
+
+  private InformationSchemaViews tableRowCountsViews()
+  {
+    return new InformationSchemaViewsBuilder()
+      .withTableRowCountsSql("SELECT TABLE_CATALOG, TABLE_SCHEMA, TABLE_NAME, "
+                             + "CARDINALITY AS ROW_COUNT "
+                             + "FROM INFORMATION_SCHEMA.SYSTEM_TABLESTATS "
+                             + "WHERE TABLE_SCHEMA IN (${schemanames})")
+      .toOptions();
+  }
+
+  private void tableCounts(final CountsOptions countsOptions,
+                           final InformationSchemaViews informationSchemaViews)
+    throws Exception
   {
     try (final TestWriter out = new TestWriter("text");)
     {
@@ -73,7 +161,9 @@ public class TableCountsTest
       final Catalog baseCatalog = getCatalog(schemaCrawlerOptions);
       final CatalogWithCounts catalog = new CatalogWithCounts(baseCatalog,
                                                               getConnection(),
-                                                              schemaCrawlerOptions);
+                                                              schemaCrawlerOptions,
+                                                              countsOptions,
+                                                              informationSchemaViews);
       final Schema[] schemas = catalog.getSchemas().toArray(new Schema[0]);
       assertEquals("Schema count does not match", 5, schemas.length);
       for (final Schema schema: schemas)
@@ -85,7 +175,14 @@ public class TableCountsTest
         {
           out.println("  table: " + table.getFullName());
           final long count = CountsUtility.getRowCount(table);
-          out.println(String.format("    row count: %d", count));
+          if (CountsUtility.isRowCountEstimated(table))
+          {
+            out.println(String.format("    row count: %d (estimated)", count));
+          }
+          else
+          {
+            out.println(String.format("    row count: %d", count));
+          }
         }
       }
 
@@ -0,0 +1,124 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2018, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+package schemacrawler.tools.analysis.associations;
+
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.junit.Test;
+
+import schemacrawler.schema.Table;
+import schemacrawler.schemacrawler.InclusionRule;
+import schemacrawler.schemacrawler.IncludeAll;
+import schemacrawler.schemacrawler.RegularExpressionInclusionRule;
+import schemacrawler.schemacrawler.SchemaCrawlerOptions;
+import schemacrawler.schemacrawler.SchemaCrawlerOptionsBuilder;
+import schemacrawler.schemacrawler.SchemaInfoLevelBuilder;
+import schemacrawler.test.utility.BaseDatabaseTest;
+
+public class WeakAssociationsAnalyzerTest
+  extends BaseDatabaseTest
+{
+
+  @Test
+  public void allSchemas()
+    throws Exception
+  {
+    assertFalse("No weak associations found",
+                assertSerialAndParallelMatch(new IncludeAll()).isEmpty());
+  }
+
+  @Test
+  public void booksSchema()
+    throws Exception
+  {
+    assertSerialAndParallelMatch(new RegularExpressionInclusionRule(".*\\.BOOKS"));
+  }
+
+  @Test
+  public void forLintSchema()
+    throws Exception
+  {
+    assertSerialAndParallelMatch(new RegularExpressionInclusionRule(".*\\.FOR_LINT"));
+  }
+
+  private List<String> assertSerialAndParallelMatch(final InclusionRule schemaInclusionRule)
+    throws Exception
+  {
+    final SchemaCrawlerOptions schemaCrawlerOptions = new SchemaCrawlerOptionsBuilder()
+      .withSchemaInfoLevel(SchemaInfoLevelBuilder.maximum().toOptions())
+      .includeSchemas(schemaInclusionRule).toOptions();
+
+    // Analyze separate catalogs, since weak associations are saved on
+    // the tables
+    final List<Table> serialTables = new ArrayList<>(getCatalog(schemaCrawlerOptions)
+      .getTables());
+    final List<String> serialWeakAssociations = describe(new WeakAssociationsAnalyzer(serialTables,
+                                                                                      1)
+                                                                                        .analyzeTables());
+
+    final List<Table> parallelTables = new ArrayList<>(getCatalog(schemaCrawlerOptions)
+      .getTables());
+    final List<String> parallelWeakAssociations = describe(new WeakAssociationsAnalyzer(parallelTables,
+                                                                                        4)
+                                                                                          .analyzeTables());
+
+    assertEquals(serialWeakAssociations, parallelWeakAssociations);
+    assertEquals(serialTables.size(), parallelTables.size());
+    for (int i = 0; i < serialTables.size(); i++)
+    {
+      final Table serialTable = serialTables.get(i);
+      final Table parallelTable = parallelTables.get(i);
+      assertEquals(serialTable.getFullName(), parallelTable.getFullName());
+      assertEquals("Weak associations do not match for "
+                   + serialTable.getFullName(),
+                   describe(WeakAssociationsUtility
+                     .getWeakAssociations(serialTable)),
+                   describe(WeakAssociationsUtility
+                     .getWeakAssociations(parallelTable)));
+    }
+
+    return serialWeakAssociations;
+  }
+
+  private List<String> describe(final Collection<WeakAssociationForeignKey> weakAssociations)
+  {
+    final List<String> descriptions = new ArrayList<>();
+    for (final WeakAssociationForeignKey weakFk: weakAssociations)
+    {
+      descriptions.add(weakFk.getName() + " " + weakFk.getColumnReferences());
+    }
+    return descriptions;
+  }
+
+}
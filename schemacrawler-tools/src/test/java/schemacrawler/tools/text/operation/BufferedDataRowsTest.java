@@ -0,0 +1,224 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2018, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+package schemacrawler.tools.text.operation;
+
+
+import static org.junit.Assert.assertEquals;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import schemacrawler.schema.Table;
+import schemacrawler.schemacrawler.SchemaCrawlerException;
+import schemacrawler.tools.options.OutputOptions;
+import schemacrawler.tools.options.OutputOptionsBuilder;
+import schemacrawler.tools.options.TextOutputFormat;
+import schemacrawler.tools.traversal.DataTraversalHandler;
+import sf.util.IOUtility;
+
+public class BufferedDataRowsTest
+{
+
+  private interface FormatterFactory
+  {
+
+    DataTraversalHandler newFormatter(OperationOptions operationOptions,
+                                      OutputOptions outputOptions)
+      throws SchemaCrawlerException;
+
+  }
+
+  /**
+   * Not serializable, so it cannot be written to a temporary file as
+   * it is.
+   */
+  private static final class Point
+  {
+
+    private final int x;
+    private final int y;
+
+    Point(final int x, final int y)
+    {
+      this.x = x;
+      this.y = y;
+    }
+
+    @Override
+    public String toString()
+    {
+      return "(" + x + ", " + y + ")";
+    }
+
+  }
+
+  /**
+   * Not serializable, and without a text representation of its own.
+   */
+  private static final class Shape
+  {
+  }
+
+  private static final String[] COLUMN_NAMES = {
+    "ID", "NAME", "LOCATION", "SHAPE" };
+
+  @Test
+  public void spilledJsonLinesOutput()
+    throws Exception
+  {
+    compareSpilledOutput(TextOutputFormat.json,
+                         true,
+                         (operationOptions,
+                          outputOptions) -> new DataJsonLinesFormatter(Operation.dump,
+                                                                       operationOptions,
+                                                                       outputOptions,
+                                                                       "\""));
+  }
+
+  @Test
+  public void spilledJsonOutput()
+    throws Exception
+  {
+    compareSpilledOutput(TextOutputFormat.json,
+                         false,
+                         (operationOptions,
+                          outputOptions) -> new DataJsonFormatter(Operation.dump,
+                                                                  operationOptions,
+                                                                  outputOptions,
+                                                                  "\""));
+  }
+
+  @Test
+  public void spilledTextOutput()
+    throws Exception
+  {
+    compareSpilledOutput(TextOutputFormat.text,
+                         false,
+                         (operationOptions,
+                          outputOptions) -> new DataTextFormatter(Operation.dump,
+                                                                  operationOptions,
+                                                                  outputOptions,
+                                                                  "\""));
+  }
+
+  private void compareSpilledOutput(final TextOutputFormat outputFormat,
+                                    final boolean isJsonLines,
+                                    final FormatterFactory formatterFactory)
+    throws Exception
+  {
+    final Shape shape = new Shape();
+    final List<Object[]> rows = new ArrayList<>();
+    for (int i = 0; i < 5; i++)
+    {
+      rows.add(new Object[] {
+        i, "Name " + i, new Point(i, i * 2), i % 2 == 0? shape: null });
+    }
+
+    final String expectedOutput = format(outputFormat,
+                                         isJsonLines,
+                                         formatterFactory,
+                                         newDataRows(rows));
+    // Hold two rows in memory, and write the rest to a temporary file
+    try (final BufferedDataRows bufferedDataRows = BufferedDataRows
+      .bufferRows(newDataRows(rows), 2);)
+    {
+      final String spilledOutput = format(outputFormat,
+                                          isJsonLines,
+                                          formatterFactory,
+                                          bufferedDataRows);
+      assertEquals(expectedOutput, spilledOutput);
+    }
+  }
+
+  private String format(final TextOutputFormat outputFormat,
+                        final boolean isJsonLines,
+                        final FormatterFactory formatterFactory,
+                        final DataRows dataRows)
+    throws Exception
+  {
+    final Path testOutputFile = IOUtility
+      .createTempFilePath("spilled", outputFormat.getFormat());
+    final OutputOptions outputOptions = OutputOptionsBuilder
+      .newOutputOptions(outputFormat, testOutputFile);
+    final OperationOptions operationOptions = new OperationOptionsBuilder()
+      .jsonLines(isJsonLines).toOptions();
+
+    final DataTraversalHandler formatter = formatterFactory
+      .newFormatter(operationOptions, outputOptions);
+    formatter.begin();
+    ((DataRowsHandler) formatter).handleData((Table) null, dataRows);
+    formatter.end();
+
+    final String output = new String(Files.readAllBytes(testOutputFile),
+                                     StandardCharsets.UTF_8);
+    Files.delete(testOutputFile);
+    return output;
+  }
+
+  private DataRows newDataRows(final List<Object[]> rows)
+  {
+    return new DataRows()
+    {
+
+      private int rowIndex = -1;
+
+      @Override
+      public String[] getColumnNames()
+      {
+        return Arrays.copyOf(COLUMN_NAMES, COLUMN_NAMES.length);
+      }
+
+      @Override
+      public boolean next()
+      {
+        rowIndex++;
+        return rowIndex < rows.size();
+      }
+
+      @Override
+      public void row(final Object[] currentRow)
+      {
+        System.arraycopy(rows.get(rowIndex), 0, currentRow, 0, width());
+      }
+
+      @Override
+      public int width()
+      {
+        return COLUMN_NAMES.length;
+      }
+
+    };
+  }
+
+}